@@ -4,6 +4,7 @@ plugins {
     `maven-publish`
     id("com.diffplug.spotless") version "6.25.0"
     id("com.github.spotbugs") version "6.4.4"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 
@@ -29,6 +30,10 @@ spotbugs {
     }
 }
 
+jmh {
+    jmhVersion.set("1.37")
+}
+
 apply(from = "gradle/colored-output.gradle.kts")
 
 tasks.withType<JavaCompile> {
@@ -0,0 +1,77 @@
+package zeenea.connector.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the derivation of the field identifiers of a wide table from the table identifier.
+ *
+ * <p>The baseline copies the properties of the table for every field, which was the behavior of
+ * {@link ItemIdentifier#withSuffix(IdentificationProperty)} before it shared them. Run with {@code
+ * -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldIdentifierBenchmark {
+
+  private static final int FIELDS = 10_000;
+
+  private ItemIdentifier table;
+  private String[] names;
+
+  @Setup
+  public void setUp() {
+    table =
+        ItemIdentifier.of(
+            IdentificationProperty.of("database", "warehouse"),
+            IdentificationProperty.of("schema", "public"),
+            IdentificationProperty.of("table", "events"));
+    names = new String[FIELDS];
+    for (int i = 0; i < FIELDS; i++) {
+      names[i] = "column_" + i;
+    }
+  }
+
+  /**
+   * Derives the field identifiers sharing the properties of the table.
+   *
+   * @param blackhole the sink of the identifiers
+   */
+  @Benchmark
+  public void sharedSuffix(Blackhole blackhole) {
+    for (String name : names) {
+      blackhole.consume(table.withSuffix("field", name));
+    }
+  }
+
+  /**
+   * Derives the field identifiers copying the properties of the table.
+   *
+   * @param blackhole the sink of the identifiers
+   */
+  @Benchmark
+  public void copiedSuffix(Blackhole blackhole) {
+    for (String name : names) {
+      List<IdentificationProperty> properties =
+          new ArrayList<>(table.getIdentificationProperties());
+      properties.add(IdentificationProperty.of("field", name));
+      blackhole.consume(ItemIdentifier.of(properties));
+    }
+  }
+}
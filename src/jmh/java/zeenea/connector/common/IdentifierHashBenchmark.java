@@ -0,0 +1,151 @@
+package zeenea.connector.common;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures map lookups keyed by identifiers, as done by lineage resolution and deduplication.
+ *
+ * <p>The baseline wraps the same identifiers in a key recomputing the hash code and comparing
+ * the properties on every call, which was the behavior before hash codes were cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdentifierHashBenchmark {
+
+  private static final int LOOKUPS = 1_000_000;
+
+  @Param({"10000", "1000000"})
+  public int size;
+
+  private Map<ItemReference, Integer> references;
+  private Map<UncachedKey, Integer> baseline;
+  private ItemReference[] probes;
+  private UncachedKey[] baselineProbes;
+
+  @Setup
+  public void setUp() {
+    references = new HashMap<>();
+    baseline = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      ItemReference reference = reference(i);
+      references.put(reference, i);
+      baseline.put(new UncachedKey(reference), i);
+    }
+    probes = new ItemReference[LOOKUPS];
+    baselineProbes = new UncachedKey[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; i++) {
+      // Probes are equal to the keys but distinct objects, as when identifiers are re-extracted.
+      int index = (int) ((i * 2654435761L) % size);
+      probes[i] = reference(index);
+      baselineProbes[i] = new UncachedKey(reference(index));
+    }
+  }
+
+  /**
+   * Looks up identifiers with cached hash codes.
+   *
+   * @param blackhole the sink of the results
+   */
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public void cachedLookup(Blackhole blackhole) {
+    for (ItemReference probe : probes) {
+      blackhole.consume(references.get(probe));
+    }
+  }
+
+  /**
+   * Looks up identifiers recomputing hash codes on every call.
+   *
+   * @param blackhole the sink of the results
+   */
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public void uncachedLookup(Blackhole blackhole) {
+    for (UncachedKey probe : baselineProbes) {
+      blackhole.consume(baseline.get(probe));
+    }
+  }
+
+  private static ItemReference reference(int index) {
+    return ItemReference.of(
+        ItemIdentifier.of(
+            IdentificationProperty.of("database", "warehouse"),
+            IdentificationProperty.of("schema", "schema_" + (index % 100)),
+            IdentificationProperty.of("table", "table_" + index)),
+        DataSourceIdentifier.of(IdentificationProperty.of("host", "db.example.com")));
+  }
+
+  /** Key reproducing the hash code and equality of identifiers without caching. */
+  private static final class UncachedKey {
+
+    private final ItemReference reference;
+
+    private UncachedKey(ItemReference reference) {
+      this.reference = reference;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof UncachedKey)) return false;
+      ItemReference that = ((UncachedKey) o).reference;
+      return same(
+              reference.getItemIdentifier().getIdentificationProperties(),
+              that.getItemIdentifier().getIdentificationProperties())
+          && same(
+              reference.getDataSourceIdentifier().orElseThrow().getIdentificationProperties(),
+              that.getDataSourceIdentifier().orElseThrow().getIdentificationProperties());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          hash(reference.getItemIdentifier().getIdentificationProperties()),
+          hash(reference.getDataSourceIdentifier().orElseThrow().getIdentificationProperties()));
+    }
+
+    private static boolean same(
+        List<IdentificationProperty> properties, List<IdentificationProperty> others) {
+      if (properties.size() != others.size()) return false;
+      for (int i = 0; i < properties.size(); i++) {
+        IdentificationProperty property = properties.get(i);
+        IdentificationProperty other = others.get(i);
+        if (!property.getKey().equals(other.getKey())
+            || !property.getValue().equals(other.getValue())) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static int hash(List<IdentificationProperty> properties) {
+      int hash = 1;
+      for (IdentificationProperty property : properties) {
+        hash = 31 * hash + Objects.hash(property.getKey(), property.getValue());
+      }
+      return hash;
+    }
+  }
+}
@@ -4,8 +4,11 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.jetbrains.annotations.Nullable;
 import zeenea.connector.common.filter.FilterConfiguration;
 import zeenea.connector.exception.InvalidConfigurationException;
+import zeenea.connector.fingerprint.Fingerprint;
+import zeenea.connector.metrics.ConnectorMetrics;
 
 /**
  * The configuration used to create a {@link zeenea.connector.Connection}. Configuration data is
@@ -87,6 +90,26 @@ public interface ConnectionConfiguration {
    */
   FilterConfiguration getFilters();
 
+  /**
+   * Gets the registry receiving the metrics of the connection. Connections can use it to report
+   * their own counters, gauges and histograms.
+   *
+   * @return the metrics registry, recording nothing unless the scanner collects metrics
+   */
+  default ConnectorMetrics getMetrics() {
+    return ConnectorMetrics.noop();
+  }
+
+  /**
+   * Gets a fingerprint of the whole configuration, changing whenever any value of the connection
+   * configuration file changes. Used to tell whether pooled connections are still up to date.
+   *
+   * @return the fingerprint of the configuration, or null if the scanner does not compute one
+   */
+  default @Nullable Fingerprint getFingerprint() {
+    return null;
+  }
+
   /**
    * Gets a Map associated with the specified key.
    *
@@ -7,6 +7,8 @@ import zeenea.connector.common.DataSourceIdentifier;
 import zeenea.connector.common.IdentificationProperty;
 import zeenea.connector.common.ItemIdentifier;
 import zeenea.connector.contact.Contact;
+import zeenea.connector.fingerprint.Fingerprint;
+import zeenea.connector.fingerprint.FingerprintHasher;
 import zeenea.connector.property.*;
 
 /**
@@ -44,6 +46,9 @@ public abstract class Item {
   /** The data source identifier of the item. */
   private final DataSourceIdentifier dataSourceIdentifier;
 
+  /** The content fingerprint of the item, computed on first use. */
+  private Fingerprint fingerprint;
+
   /**
    * Constructs an Item instance using the provided builder.
    *
@@ -133,6 +138,46 @@ public abstract class Item {
     return dataSourceIdentifier;
   }
 
+  /**
+   * Gets the content fingerprint of the item.
+   *
+   * <p>The fingerprint covers the identity, the attributes, the properties, the contacts and the
+   * references of the item, as well as the content specific to its type. It does not depend on the
+   * order of properties, contacts, references or fields, and is stable across JVM runs, so it can
+   * be compared with the fingerprint of a previous run to skip unchanged items.
+   *
+   * @return the 128-bit fingerprint of the item
+   * @see zeenea.connector.fingerprint.FingerprintStore
+   */
+  public final @NotNull Fingerprint fingerprint() {
+    Fingerprint result = fingerprint;
+    if (result == null) {
+      FingerprintHasher hasher =
+          FingerprintHasher.create()
+              .putString(getClass().getName())
+              .putIdentifier(id)
+              .putDataSourceIdentifier(dataSourceIdentifier)
+              .putString(name)
+              .putString(description)
+              .putProperties(properties)
+              .putUnordered(contacts, FingerprintHasher::putContact)
+              .putStrings(glossaryRefs)
+              .putStrings(customItemRefs);
+      hashContent(hasher);
+      result = hasher.fingerprint();
+      fingerprint = result;
+    }
+    return result;
+  }
+
+  /**
+   * Adds the content specific to the type of item to its fingerprint. The content common to all
+   * items is already added by {@link #fingerprint()}.
+   *
+   * @param hasher the hasher computing the fingerprint
+   */
+  protected void hashContent(@NotNull FingerprintHasher hasher) {}
+
   /**
    * Abstract builder class for creating instances of items.
    *
@@ -1,8 +1,9 @@
 package zeenea.connector.common;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import zeenea.connector.exception.ExceptionUtils;
 
 /**
@@ -21,9 +22,18 @@ import zeenea.connector.exception.ExceptionUtils;
  */
 public class DataSourceIdentifier {
 
+  /** Canonical data source identifiers. */
+  private static final Interner<DataSourceIdentifier> POOL = new Interner<>();
+
   /** The list of identification properties. */
   @NotNull private final List<IdentificationProperty> identificationProperties;
 
+  /** The cached hash code, computed on first use. */
+  private int hash;
+
+  /** The index of the identification properties by key, built on first use. */
+  private PropertyIndex index;
+
   /**
    * Private constructor to enforce the use of the builder.
    *
@@ -79,10 +89,11 @@ public class DataSourceIdentifier {
    *     Optional
    */
   public @NotNull Optional<String> getUniquePropertyValue(String key) {
-    List<String> values = getPropertyValues(key);
-    if (values.size() > 1) throw new IllegalStateException("Multiple values found for key: " + key);
-    if (values.isEmpty()) return Optional.empty();
-    return Optional.of(values.get(0));
+    PropertyIndex index = index();
+    int count = index.count(key);
+    if (count > 1) throw new IllegalStateException("Multiple values found for key: " + key);
+    if (count == 0) return Optional.empty();
+    return Optional.of(identificationProperties.get(index.first(key)).getValue());
   }
 
   /**
@@ -92,10 +103,81 @@ public class DataSourceIdentifier {
    * @return a list of property values for the specified key
    */
   public @NotNull List<String> getPropertyValues(String key) {
-    return identificationProperties.stream()
-        .filter(prop -> prop.getKey().equals(key))
-        .map(IdentificationProperty::getValue)
-        .collect(Collectors.toList());
+    PropertyIndex index = index();
+    List<String> values = new ArrayList<>(index.count(key));
+    forEachValue(key, values::add);
+    return values;
+  }
+
+  /**
+   * Gets the value of the first identification property with the specified key, without
+   * allocating.
+   *
+   * @param key the key of the identification property
+   * @return the value of the first property with the key, or null if there is none
+   */
+  public @Nullable String valueAt(String key) {
+    int position = index().first(key);
+    return position < 0 ? null : identificationProperties.get(position).getValue();
+  }
+
+  /**
+   * Passes the values of the identification properties with the specified key to the consumer,
+   * in the order of the properties, without allocating.
+   *
+   * @param key the key of the identification property
+   * @param consumer the consumer of the values
+   */
+  public void forEachValue(String key, @NotNull Consumer<? super String> consumer) {
+    PropertyIndex index = index();
+    for (int position = index.first(key); position >= 0; position = index.next(position)) {
+      consumer.accept(identificationProperties.get(position).getValue());
+    }
+  }
+
+  private PropertyIndex index() {
+    PropertyIndex current = index;
+    if (current == null) {
+      current = PropertyIndex.of(identificationProperties);
+      index = current;
+    }
+    return current;
+  }
+
+  /**
+   * Gets the canonical instance equal to this data source identifier. All canonical instances of
+   * equal identifiers are the same object and hold canonical {@link IdentificationProperty}
+   * instances, so that identifiers repeated over millions of items are stored once.
+   *
+   * <p>Canonical instances are only weakly held by the pool. Like any other instance, they are
+   * compared by value; equal canonical instances are usually the same object, which makes
+   * comparing them cheap.
+   *
+   * @return the canonical data source identifier
+   */
+  public @NotNull DataSourceIdentifier canonical() {
+    if (this instanceof Canonical) {
+      return this;
+    }
+    DataSourceIdentifier existing = POOL.get(this);
+    if (existing != null) {
+      return existing;
+    }
+    IdentificationProperty[] properties =
+        new IdentificationProperty[identificationProperties.size()];
+    for (int i = 0; i < properties.length; i++) {
+      properties[i] = identificationProperties.get(i).canonical();
+    }
+    return POOL.intern(new Canonical(List.of(properties)));
+  }
+
+  /**
+   * Checks if this instance is the canonical instance of its value.
+   *
+   * @return true if this instance was returned by {@link #canonical()}
+   */
+  boolean isCanonical() {
+    return this instanceof Canonical;
   }
 
   /**
@@ -118,6 +200,7 @@ public class DataSourceIdentifier {
     if (this == o) return true;
     if (!(o instanceof DataSourceIdentifier)) return false;
     DataSourceIdentifier that = (DataSourceIdentifier) o;
+    if (hashCode() != that.hashCode()) return false;
     return Objects.equals(identificationProperties, that.identificationProperties);
   }
 
@@ -128,7 +211,12 @@ public class DataSourceIdentifier {
    */
   @Override
   public int hashCode() {
-    return Objects.hashCode(identificationProperties);
+    int h = hash;
+    if (h == 0) {
+      h = Objects.hashCode(identificationProperties);
+      hash = h;
+    }
+    return h;
   }
 
   /**
@@ -141,12 +229,23 @@ public class DataSourceIdentifier {
     return "DataSourceIdentifier{" + "identificationProperties=" + identificationProperties + "}";
   }
 
+  /** The canonical instance of a value, only created by {@link #canonical()}. */
+  private static final class Canonical extends DataSourceIdentifier {
+
+    private Canonical(List<IdentificationProperty> identificationProperties) {
+      super(identificationProperties);
+    }
+  }
+
   /** Builder class for creating instances of DataSourceIdentifier. */
   public static class Builder {
 
     /** The list of identification properties. */
     private List<IdentificationProperty> identificationProperties = new ArrayList<>();
 
+    /** Whether to return the canonical instance. */
+    private boolean canonical;
+
     /**
      * Set a collection of identification properties to the builder.
      *
@@ -159,13 +258,26 @@ public class DataSourceIdentifier {
       return this;
     }
 
+    /**
+     * Sets whether the builder returns the {@link DataSourceIdentifier#canonical() canonical}
+     * instance. Defaults to false.
+     *
+     * @param canonical true to return the canonical instance
+     * @return the builder instance
+     */
+    public Builder canonical(boolean canonical) {
+      this.canonical = canonical;
+      return this;
+    }
+
     /**
      * Builds and returns an DataSourceIdentifier instance.
      *
      * @return the created DataSourceIdentifier instance
      */
     public DataSourceIdentifier build() {
-      return new DataSourceIdentifier(this);
+      DataSourceIdentifier identifier = new DataSourceIdentifier(this);
+      return canonical ? identifier.canonical() : identifier;
     }
   }
 }
@@ -6,12 +6,22 @@ import zeenea.connector.exception.ExceptionUtils;
 
 /** Represents an identification property in the Zeenea Data Catalog. */
 public class IdentificationProperty {
+
+  /** Canonical identification properties. */
+  private static final Interner<IdentificationProperty> POOL = new Interner<>();
+
+  /** Canonical keys and values of identification properties. */
+  private static final Interner<String> STRINGS = new Interner<>();
+
   /** The key of the identification property. */
   @NotNull private final String key;
 
   /** The value of the identification property. */
   @NotNull private final String value;
 
+  /** The cached hash code, computed on first use. */
+  private int hash;
+
   /**
    * Constructs an IdentificationProperty instance using the provided builder.
    *
@@ -24,6 +34,11 @@ public class IdentificationProperty {
     this.value = builder.value;
   }
 
+  private IdentificationProperty(String key, String value) {
+    this.key = key;
+    this.value = value;
+  }
+
   /**
    * Creates a new IdentificationProperty instance with the specified key and value.
    *
@@ -53,6 +68,37 @@ public class IdentificationProperty {
     return value;
   }
 
+  /**
+   * Gets the canonical instance equal to this identification property. All canonical instances
+   * of equal properties are the same object, and share their key and value strings, so that
+   * identical properties repeated over millions of items are stored once.
+   *
+   * <p>Canonical instances are only weakly held by the pool. Like any other instance, they are
+   * compared by value; equal canonical instances are usually the same object, which makes
+   * comparing them cheap.
+   *
+   * @return the canonical identification property
+   */
+  public @NotNull IdentificationProperty canonical() {
+    if (this instanceof Canonical) {
+      return this;
+    }
+    IdentificationProperty existing = POOL.get(this);
+    if (existing != null) {
+      return existing;
+    }
+    return POOL.intern(new Canonical(STRINGS.intern(key), STRINGS.intern(value)));
+  }
+
+  /**
+   * Checks if this instance is the canonical instance of its value.
+   *
+   * @return true if this instance was returned by {@link #canonical()}
+   */
+  boolean isCanonical() {
+    return this instanceof Canonical;
+  }
+
   /**
    * Creates a new builder for an IdentificationProperty instance.
    *
@@ -71,8 +117,9 @@ public class IdentificationProperty {
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
-    if (o == null || getClass() != o.getClass()) return false;
+    if (!(o instanceof IdentificationProperty)) return false;
     IdentificationProperty that = (IdentificationProperty) o;
+    if (hashCode() != that.hashCode()) return false;
     return Objects.equals(key, that.key) && Objects.equals(value, that.value);
   }
 
@@ -83,7 +130,12 @@ public class IdentificationProperty {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(key, value);
+    int h = hash;
+    if (h == 0) {
+      h = Objects.hash(key, value);
+      hash = h;
+    }
+    return h;
   }
 
   /**
@@ -96,6 +148,14 @@ public class IdentificationProperty {
     return "IdentificationProperty{" + "key='" + key + "', value='" + value + "'}";
   }
 
+  /** The canonical instance of a value, only created by {@link #canonical()}. */
+  private static final class Canonical extends IdentificationProperty {
+
+    private Canonical(String key, String value) {
+      super(key, value);
+    }
+  }
+
   /** Builder class for creating instances of IdentificationProperty. */
   public static class Builder {
 
@@ -105,6 +165,9 @@ public class IdentificationProperty {
     /** The value of the identification property. */
     private String value;
 
+    /** Whether to return the canonical instance. */
+    private boolean canonical;
+
     /**
      * Sets the key of the identification property.
      *
@@ -127,13 +190,26 @@ public class IdentificationProperty {
       return this;
     }
 
+    /**
+     * Sets whether the builder returns the {@link IdentificationProperty#canonical() canonical}
+     * instance. Defaults to false.
+     *
+     * @param canonical true to return the canonical instance
+     * @return the Builder instance
+     */
+    public Builder canonical(boolean canonical) {
+      this.canonical = canonical;
+      return this;
+    }
+
     /**
      * Builds and returns the IdentificationProperty instance.
      *
      * @return the created IdentificationProperty instance
      */
     public IdentificationProperty build() {
-      return new IdentificationProperty(this);
+      IdentificationProperty property = new IdentificationProperty(this);
+      return canonical ? property.canonical() : property;
     }
   }
 }
@@ -0,0 +1,398 @@
+package zeenea.connector.common;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Encodes sequences of identifiers into a compact binary form, and back.
+ *
+ * <p>A stream starts with a version header, followed by one record per identifier. Each record is
+ * a type tag and the identification properties of the identifier. A property key is written in
+ * full the first time it appears in the stream and as an index into the keys already written
+ * afterwards, so that the handful of keys used by a connector cost a byte per property. Values and
+ * new keys are written as their UTF-8 bytes, prefixed by their length. Lengths, counts and indexes
+ * are written as unsigned variable-length integers, using 7 bits per byte.
+ *
+ * <p>Decoding reads directly from a {@link ByteBuffer}, which may be a memory-mapped file. Values
+ * are decoded from the bytes of the buffer without intermediate copies when the buffer is backed
+ * by an array, and each key is only decoded once per stream.
+ *
+ * <pre>{@code
+ * try (IdentifierCodec.Encoder encoder = IdentifierCodec.encoder(output)) {
+ *   for (ItemDesignator designator : designators) {
+ *     encoder.writeItemDesignator(designator);
+ *   }
+ * }
+ * IdentifierCodec.decoder(buffer).itemDesignators().forEach(...);
+ * }</pre>
+ */
+public final class IdentifierCodec {
+
+  private static final int VERSION = 1;
+
+  private static final int ITEM_IDENTIFIER = 1;
+  private static final int DATA_SOURCE_IDENTIFIER = 2;
+  private static final int ITEM_DESIGNATOR = 3;
+
+  /** Private constructor to prevent instantiation. */
+  private IdentifierCodec() {}
+
+  /**
+   * Creates an encoder writing to the given output stream. The version header is written
+   * immediately.
+   *
+   * @param output the output stream, closed with the encoder
+   * @return a new Encoder instance
+   * @throws IOException if the header cannot be written
+   */
+  public static @NotNull Encoder encoder(@NotNull OutputStream output) throws IOException {
+    return new Encoder(output);
+  }
+
+  /**
+   * Creates a decoder reading the records from the position of the given buffer to its limit.
+   *
+   * @param buffer the buffer holding an encoded stream
+   * @return a new Decoder instance
+   * @throws IllegalArgumentException if the buffer does not start with a supported header
+   */
+  public static @NotNull Decoder decoder(@NotNull ByteBuffer buffer) {
+    return new Decoder(buffer);
+  }
+
+  /** Writes identifiers to an output stream. Instances are not thread-safe. */
+  public static final class Encoder implements Closeable, Flushable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream output;
+    private final Map<String, Integer> keys = new HashMap<>();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    private Encoder(OutputStream output) throws IOException {
+      this.output = output;
+      writeVarint(VERSION);
+    }
+
+    /**
+     * Writes an item identifier.
+     *
+     * @param identifier the identifier to write
+     * @throws IOException if the record cannot be written
+     */
+    public void writeItemIdentifier(@NotNull ItemIdentifier identifier) throws IOException {
+      writeVarint(ITEM_IDENTIFIER);
+      writeProperties(identifier.getIdentificationProperties());
+    }
+
+    /**
+     * Writes a data source identifier.
+     *
+     * @param identifier the identifier to write
+     * @throws IOException if the record cannot be written
+     */
+    public void writeDataSourceIdentifier(@NotNull DataSourceIdentifier identifier)
+        throws IOException {
+      writeVarint(DATA_SOURCE_IDENTIFIER);
+      writeProperties(identifier.getIdentificationProperties());
+    }
+
+    /**
+     * Writes an item designator.
+     *
+     * @param designator the designator to write
+     * @throws IOException if the record cannot be written
+     */
+    public void writeItemDesignator(@NotNull ItemDesignator designator) throws IOException {
+      writeVarint(ITEM_DESIGNATOR);
+      writeProperties(designator.getItemIdentifier().getIdentificationProperties());
+      writeProperties(designator.getDataSourceIdentifier().getIdentificationProperties());
+    }
+
+    /**
+     * Writes the buffered records to the output stream and flushes it.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+      drain();
+      output.flush();
+    }
+
+    /**
+     * Writes the buffered records and closes the output stream.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+      try {
+        drain();
+      } finally {
+        output.close();
+      }
+    }
+
+    private void writeProperties(List<IdentificationProperty> properties) throws IOException {
+      writeVarint(properties.size());
+      for (IdentificationProperty property : properties) {
+        Integer index = keys.get(property.getKey());
+        if (index == null) {
+          keys.put(property.getKey(), keys.size());
+          writeVarint(0);
+          writeString(property.getKey());
+        } else {
+          writeVarint(index + 1);
+        }
+        writeString(property.getValue());
+      }
+    }
+
+    private void writeString(String value) throws IOException {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarint(bytes.length);
+      if (bytes.length > buffer.length - position) {
+        drain();
+        if (bytes.length > buffer.length) {
+          output.write(bytes);
+          return;
+        }
+      }
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    }
+
+    private void writeVarint(int value) throws IOException {
+      if (buffer.length - position < 5) {
+        drain();
+      }
+      int remaining = value;
+      while ((remaining & ~0x7F) != 0) {
+        buffer[position++] = (byte) ((remaining & 0x7F) | 0x80);
+        remaining >>>= 7;
+      }
+      buffer[position++] = (byte) remaining;
+    }
+
+    private void drain() throws IOException {
+      if (position > 0) {
+        output.write(buffer, 0, position);
+        position = 0;
+      }
+    }
+  }
+
+  /** Reads identifiers from a buffer. Instances are not thread-safe. */
+  public static final class Decoder {
+
+    private final ByteBuffer buffer;
+    private final List<String> keys = new ArrayList<>();
+    private byte[] scratch;
+
+    private Decoder(ByteBuffer buffer) {
+      this.buffer = buffer;
+      if (!buffer.hasRemaining()) {
+        throw new IllegalArgumentException("Missing identifier stream header");
+      }
+      int version = guard(Decoder::readVarint);
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported identifier stream version: " + version);
+      }
+    }
+
+    /**
+     * Checks if there are records left to read.
+     *
+     * @return true if there are records left to read
+     */
+    public boolean hasNext() {
+      return buffer.hasRemaining();
+    }
+
+    /**
+     * Reads the next record as an item identifier.
+     *
+     * @return the item identifier
+     * @throws IllegalArgumentException if the next record is not an item identifier or is invalid
+     * @throws NoSuchElementException if there are no records left
+     */
+    public @NotNull ItemIdentifier readItemIdentifier() {
+      return guard(
+          decoder -> {
+            decoder.expect(ITEM_IDENTIFIER);
+            return ItemIdentifier.of(decoder.readProperties());
+          });
+    }
+
+    /**
+     * Reads the next record as a data source identifier.
+     *
+     * @return the data source identifier
+     * @throws IllegalArgumentException if the next record is not a data source identifier or is
+     *     invalid
+     * @throws NoSuchElementException if there are no records left
+     */
+    public @NotNull DataSourceIdentifier readDataSourceIdentifier() {
+      return guard(
+          decoder -> {
+            decoder.expect(DATA_SOURCE_IDENTIFIER);
+            return DataSourceIdentifier.of(decoder.readProperties());
+          });
+    }
+
+    /**
+     * Reads the next record as an item designator.
+     *
+     * @return the item designator
+     * @throws IllegalArgumentException if the next record is not an item designator or is invalid
+     * @throws NoSuchElementException if there are no records left
+     */
+    public @NotNull ItemDesignator readItemDesignator() {
+      return guard(
+          decoder -> {
+            decoder.expect(ITEM_DESIGNATOR);
+            ItemIdentifier itemIdentifier = ItemIdentifier.of(decoder.readProperties());
+            return ItemDesignator.of(
+                itemIdentifier, DataSourceIdentifier.of(decoder.readProperties()));
+          });
+    }
+
+    /**
+     * Gets a lazy stream of the remaining records, read as item identifiers.
+     *
+     * @return the stream of item identifiers
+     */
+    public @NotNull Stream<ItemIdentifier> itemIdentifiers() {
+      return stream(Decoder::readItemIdentifier);
+    }
+
+    /**
+     * Gets a lazy stream of the remaining records, read as data source identifiers.
+     *
+     * @return the stream of data source identifiers
+     */
+    public @NotNull Stream<DataSourceIdentifier> dataSourceIdentifiers() {
+      return stream(Decoder::readDataSourceIdentifier);
+    }
+
+    /**
+     * Gets a lazy stream of the remaining records, read as item designators.
+     *
+     * @return the stream of item designators
+     */
+    public @NotNull Stream<ItemDesignator> itemDesignators() {
+      return stream(Decoder::readItemDesignator);
+    }
+
+    private <T> Stream<T> stream(Function<Decoder, T> reader) {
+      Spliterator<T> spliterator =
+          new Spliterators.AbstractSpliterator<>(
+              Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+              if (!hasNext()) {
+                return false;
+              }
+              action.accept(reader.apply(Decoder.this));
+              return true;
+            }
+          };
+      return StreamSupport.stream(spliterator, false);
+    }
+
+    private <T> T guard(Function<Decoder, T> reader) {
+      if (!buffer.hasRemaining()) {
+        throw new NoSuchElementException("No identifier left in the stream");
+      }
+      try {
+        return reader.apply(this);
+      } catch (BufferUnderflowException e) {
+        throw new IllegalArgumentException("Truncated identifier stream", e);
+      }
+    }
+
+    private void expect(int type) {
+      int tag = readVarint();
+      if (tag != type) {
+        throw new IllegalArgumentException("Unexpected identifier record type: " + tag);
+      }
+    }
+
+    private List<IdentificationProperty> readProperties() {
+      int size = readVarint();
+      // Each property takes at least a key index and a value length
+      if (size > buffer.remaining() / 2) {
+        throw new IllegalArgumentException("Invalid property count in identifier stream: " + size);
+      }
+      IdentificationProperty[] properties = new IdentificationProperty[size];
+      for (int i = 0; i < size; i++) {
+        int index = readVarint();
+        String key;
+        if (index == 0) {
+          key = readString();
+          keys.add(key);
+        } else if (index <= keys.size()) {
+          key = keys.get(index - 1);
+        } else {
+          throw new IllegalArgumentException("Unknown identification property key: " + index);
+        }
+        properties[i] = IdentificationProperty.of(key, readString());
+      }
+      return List.of(properties);
+    }
+
+    private String readString() {
+      int length = readVarint();
+      if (length > buffer.remaining()) {
+        throw new BufferUnderflowException();
+      }
+      String value;
+      if (buffer.hasArray()) {
+        int offset = buffer.arrayOffset() + buffer.position();
+        value = new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+      } else {
+        if (scratch == null || scratch.length < length) {
+          scratch = new byte[Math.max(length, 256)];
+        }
+        buffer.get(scratch, 0, length);
+        value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+      }
+      return value;
+    }
+
+    private int readVarint() {
+      int value = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        byte b = buffer.get();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          if (value < 0) {
+            throw new IllegalArgumentException("Invalid length in identifier stream");
+          }
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Invalid length in identifier stream");
+    }
+  }
+}
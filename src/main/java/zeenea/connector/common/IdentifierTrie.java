@@ -0,0 +1,386 @@
+package zeenea.connector.common;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Map from item identifiers to values, indexed by the ordered sequence of their identification
+ * properties.
+ *
+ * <p>Identifiers sharing a prefix, such as the tables of a schema, share the nodes of that prefix,
+ * and each node knows the number of values below it. Looking up, counting or removing all the
+ * identifiers under a prefix therefore costs a walk down the prefix, whatever the number of
+ * identifiers below it.
+ *
+ * <pre>{@code
+ * IdentifierTrie<Item> items = new IdentifierTrie<>();
+ * items.put(item.getId(), item);
+ * int tables = items.countUnder(List.of(IdentificationProperty.of("schema", "public")));
+ * }</pre>
+ *
+ * <p>Instances are not thread-safe, and must not be modified while iterating.
+ *
+ * @param <V> the type of the values
+ */
+public final class IdentifierTrie<V> {
+
+  /** Number of children above which a node indexes its children by property. */
+  private static final int SCAN_LIMIT = 8;
+
+  private final Node<V> root = new Node<>(null);
+
+  /**
+   * Gets the number of identifiers in this trie.
+   *
+   * @return the number of identifiers
+   */
+  public int size() {
+    return root.count;
+  }
+
+  /**
+   * Checks if this trie holds no identifier.
+   *
+   * @return true if this trie is empty
+   */
+  public boolean isEmpty() {
+    return root.count == 0;
+  }
+
+  /**
+   * Associates a value with an identifier.
+   *
+   * @param identifier the identifier
+   * @param value the value
+   * @return the value previously associated with the identifier, or null if there was none
+   */
+  public @Nullable V put(@NotNull ItemIdentifier identifier, @NotNull V value) {
+    Objects.requireNonNull(value, "value");
+    List<IdentificationProperty> properties = identifier.getIdentificationProperties();
+    Node<V> node = root;
+    for (IdentificationProperty property : properties) {
+      Node<V> child = node.child(property);
+      if (child == null) {
+        child = node.addChild(property);
+      }
+      node = child;
+    }
+    V previous = node.value;
+    node.identifier = identifier;
+    node.value = value;
+    if (previous == null) {
+      for (Node<V> walk = node; walk != null; walk = walk.parent) {
+        walk.count++;
+      }
+    }
+    return previous;
+  }
+
+  /**
+   * Gets the value associated with an identifier.
+   *
+   * @param identifier the identifier
+   * @return the value, or null if there is none
+   */
+  public @Nullable V get(@NotNull ItemIdentifier identifier) {
+    Node<V> node = find(identifier.getIdentificationProperties());
+    return node == null ? null : node.value;
+  }
+
+  /**
+   * Checks if a value is associated with an identifier.
+   *
+   * @param identifier the identifier
+   * @return true if a value is associated with the identifier
+   */
+  public boolean containsKey(@NotNull ItemIdentifier identifier) {
+    return get(identifier) != null;
+  }
+
+  /**
+   * Removes the value associated with an identifier. The identifiers under it are kept.
+   *
+   * @param identifier the identifier
+   * @return the removed value, or null if there was none
+   */
+  public @Nullable V remove(@NotNull ItemIdentifier identifier) {
+    Node<V> node = find(identifier.getIdentificationProperties());
+    if (node == null || node.value == null) {
+      return null;
+    }
+    V previous = node.value;
+    node.value = null;
+    node.identifier = null;
+    detach(node, 1);
+    return previous;
+  }
+
+  /**
+   * Gets the number of identifiers starting with the given properties, including the identifier
+   * made of the properties themselves.
+   *
+   * @param prefix the leading identification properties
+   * @return the number of identifiers under the prefix
+   */
+  public int countUnder(@NotNull List<IdentificationProperty> prefix) {
+    Node<V> node = find(prefix);
+    return node == null ? 0 : node.count;
+  }
+
+  /**
+   * Removes all the identifiers starting with the given properties, including the identifier made
+   * of the properties themselves.
+   *
+   * @param prefix the leading identification properties
+   * @return the number of removed identifiers
+   */
+  public int removeUnder(@NotNull List<IdentificationProperty> prefix) {
+    Node<V> node = find(prefix);
+    if (node == null || node.count == 0) {
+      return 0;
+    }
+    int removed = node.count;
+    if (node == root) {
+      root.clear();
+    } else {
+      detach(node, removed);
+    }
+    return removed;
+  }
+
+  /**
+   * Passes the identifiers starting with the given properties, and their values, to the action.
+   * Identifiers are visited depth-first, children in insertion order.
+   *
+   * @param prefix the leading identification properties
+   * @param action the action to perform on each identifier and its value
+   */
+  public void forEachUnder(
+      @NotNull List<IdentificationProperty> prefix,
+      @NotNull BiConsumer<? super ItemIdentifier, ? super V> action) {
+    Iterator<Node<V>> nodes = new NodeIterator<>(find(prefix));
+    while (nodes.hasNext()) {
+      Node<V> node = nodes.next();
+      action.accept(node.identifier, node.value);
+    }
+  }
+
+  /**
+   * Gets a lazy stream of the identifiers starting with the given properties, and their values.
+   * Identifiers are visited depth-first, children in insertion order.
+   *
+   * @param prefix the leading identification properties
+   * @return the stream of entries under the prefix
+   */
+  public @NotNull Stream<Map.Entry<ItemIdentifier, V>> entriesUnder(
+      @NotNull List<IdentificationProperty> prefix) {
+    Node<V> start = find(prefix);
+    Iterator<Node<V>> nodes = new NodeIterator<>(start);
+    Iterator<Map.Entry<ItemIdentifier, V>> entries =
+        new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return nodes.hasNext();
+          }
+
+          @Override
+          public Map.Entry<ItemIdentifier, V> next() {
+            Node<V> node = nodes.next();
+            return new AbstractMap.SimpleImmutableEntry<>(node.identifier, node.value);
+          }
+        };
+    int size = start == null ? 0 : start.count;
+    return StreamSupport.stream(
+        Spliterators.spliterator(
+            entries, size, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+        false);
+  }
+
+  /** Removes all the identifiers. */
+  public void clear() {
+    root.clear();
+  }
+
+  private Node<V> find(List<IdentificationProperty> properties) {
+    Node<V> node = root;
+    for (int i = 0; i < properties.size() && node != null; i++) {
+      node = node.child(properties.get(i));
+    }
+    return node;
+  }
+
+  /** Updates the counts above a node that lost values, and prunes the nodes left empty. */
+  private void detach(Node<V> node, int removed) {
+    Node<V> walk = node;
+    while (walk != null) {
+      Node<V> parent = walk.parent;
+      walk.count -= removed;
+      if (walk.count == 0 && parent != null) {
+        parent.removeChild(walk);
+      }
+      walk = parent;
+    }
+  }
+
+  /** A node of the trie, reached from its parent by one identification property. */
+  private static final class Node<V> {
+
+    private final IdentificationProperty property;
+    private Node<V> parent;
+
+    /** The identifier ending at this node, or null if no value is associated with it. */
+    private ItemIdentifier identifier;
+
+    private V value;
+
+    /** The number of values in the subtree rooted at this node. */
+    private int count;
+
+    /** The children in insertion order, while there are few of them. */
+    private Node<V>[] children;
+
+    private int childCount;
+
+    /** The children by property, once there are many of them. */
+    private Map<IdentificationProperty, Node<V>> index;
+
+    private Node(IdentificationProperty property) {
+      this.property = property;
+    }
+
+    private Node<V> child(IdentificationProperty property) {
+      if (index != null) {
+        return index.get(property);
+      }
+      for (int i = 0; i < childCount; i++) {
+        if (children[i].property.equals(property)) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Node<V> addChild(IdentificationProperty property) {
+      Node<V> child = new Node<>(property);
+      child.parent = this;
+      if (index != null) {
+        index.put(property, child);
+      } else if (childCount < SCAN_LIMIT) {
+        if (children == null) {
+          children = new Node[2];
+        } else if (childCount == children.length) {
+          children = Arrays.copyOf(children, childCount * 2);
+        }
+        children[childCount++] = child;
+      } else {
+        index = new LinkedHashMap<>();
+        for (int i = 0; i < childCount; i++) {
+          index.put(children[i].property, children[i]);
+        }
+        index.put(property, child);
+        children = null;
+        childCount = 0;
+      }
+      return child;
+    }
+
+    private void removeChild(Node<V> child) {
+      child.parent = null;
+      if (index != null) {
+        index.remove(child.property);
+        return;
+      }
+      for (int i = 0; i < childCount; i++) {
+        if (children[i] == child) {
+          System.arraycopy(children, i + 1, children, i, childCount - i - 1);
+          children[--childCount] = null;
+          return;
+        }
+      }
+    }
+
+    private Iterator<Node<V>> children() {
+      if (index != null) {
+        return index.values().iterator();
+      }
+      if (childCount == 0) {
+        return Collections.emptyIterator();
+      }
+      return Arrays.asList(children).subList(0, childCount).iterator();
+    }
+
+    private void clear() {
+      identifier = null;
+      value = null;
+      count = 0;
+      children = null;
+      childCount = 0;
+      index = null;
+    }
+  }
+
+  /** Depth-first iterator over the nodes holding a value in a subtree. */
+  private static final class NodeIterator<V> implements Iterator<Node<V>> {
+
+    private final Deque<Iterator<Node<V>>> stack = new ArrayDeque<>();
+    private Node<V> next;
+
+    private NodeIterator(Node<V> start) {
+      if (start != null) {
+        stack.push(List.of(start).iterator());
+      }
+      advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Node<V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      Node<V> current = next;
+      advance();
+      return current;
+    }
+
+    private void advance() {
+      next = null;
+      while (next == null && !stack.isEmpty()) {
+        Iterator<Node<V>> top = stack.peek();
+        if (!top.hasNext()) {
+          stack.pop();
+          continue;
+        }
+        Node<V> node = top.next();
+        if (node.count == 0) {
+          continue;
+        }
+        stack.push(node.children());
+        if (node.value != null) {
+          next = node;
+        }
+      }
+    }
+  }
+}
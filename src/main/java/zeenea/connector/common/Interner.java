@@ -0,0 +1,84 @@
+package zeenea.connector.common;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Pool of canonical instances, returning one shared instance for all equal values.
+ *
+ * <p>The pool only holds weak references, so a canonical instance is reclaimed once no one uses
+ * it. Entries are spread over independently locked stripes to limit contention.
+ *
+ * @param <T> the type of the pooled values, with consistent equals and hashCode
+ */
+final class Interner<T> {
+
+  private static final int STRIPES = 16;
+
+  private final Map<T, WeakReference<T>>[] stripes;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  Interner() {
+    this.stripes = new Map[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new WeakHashMap<>();
+    }
+  }
+
+  /**
+   * Gets the canonical instance equal to the candidate, making the candidate canonical if there is
+   * none.
+   *
+   * @param candidate the value to intern
+   * @return the canonical instance
+   */
+  @NotNull
+  T intern(@NotNull T candidate) {
+    Map<T, WeakReference<T>> stripe = stripeOf(candidate);
+    synchronized (stripe) {
+      WeakReference<T> reference = stripe.get(candidate);
+      T existing = reference == null ? null : reference.get();
+      if (existing != null) {
+        return existing;
+      }
+      stripe.put(candidate, new WeakReference<>(candidate));
+      return candidate;
+    }
+  }
+
+  /**
+   * Gets the canonical instance equal to the value, without adding it.
+   *
+   * @param value the value to look up
+   * @return the canonical instance, or null if there is none
+   */
+  T get(@NotNull T value) {
+    Map<T, WeakReference<T>> stripe = stripeOf(value);
+    synchronized (stripe) {
+      WeakReference<T> reference = stripe.get(value);
+      return reference == null ? null : reference.get();
+    }
+  }
+
+  /**
+   * Gets the number of canonical instances still referenced.
+   *
+   * @return the number of pooled values
+   */
+  int size() {
+    int size = 0;
+    for (Map<T, WeakReference<T>> stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.size();
+      }
+    }
+    return size;
+  }
+
+  private Map<T, WeakReference<T>> stripeOf(T value) {
+    int hash = value.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+  }
+}
@@ -1,8 +1,9 @@
 package zeenea.connector.common;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import zeenea.connector.exception.ExceptionUtils;
 
 /**
@@ -22,9 +23,18 @@ import zeenea.connector.exception.ExceptionUtils;
  */
 public class ItemIdentifier {
 
+  /** Canonical item identifiers. */
+  private static final Interner<ItemIdentifier> POOL = new Interner<>();
+
   /** The list of identification properties. */
   @NotNull private final List<IdentificationProperty> identificationProperties;
 
+  /** The cached hash code, computed on first use. */
+  private int hash;
+
+  /** The index of the identification properties by key, built on first use. */
+  private PropertyIndex index;
+
   /**
    * Private constructor to enforce the use of the builder.
    *
@@ -40,6 +50,15 @@ public class ItemIdentifier {
     this.identificationProperties = List.copyOf(identificationProperties);
   }
 
+  /**
+   * Constructor sharing an immutable list of identification properties.
+   *
+   * @param identificationProperties the immutable list of identification properties
+   */
+  private ItemIdentifier(@NotNull PropertyList identificationProperties) {
+    this.identificationProperties = identificationProperties;
+  }
+
   /**
    * Creates a new ItemIdentifier instance with the specified list of identification properties.
    *
@@ -77,10 +96,11 @@ public class ItemIdentifier {
    *     Optional
    */
   public @NotNull Optional<String> getUniquePropertyValue(String key) {
-    List<String> values = getPropertyValues(key);
-    if (values.size() > 1) throw new IllegalStateException("Multiple values found for key: " + key);
-    if (values.isEmpty()) return Optional.empty();
-    return Optional.of(values.get(0));
+    PropertyIndex index = index();
+    int count = index.count(key);
+    if (count > 1) throw new IllegalStateException("Multiple values found for key: " + key);
+    if (count == 0) return Optional.empty();
+    return Optional.of(identificationProperties.get(index.first(key)).getValue());
   }
 
   /**
@@ -90,10 +110,45 @@ public class ItemIdentifier {
    * @return a list of property values for the specified key
    */
   public @NotNull List<String> getPropertyValues(String key) {
-    return identificationProperties.stream()
-        .filter(prop -> prop.getKey().equals(key))
-        .map(IdentificationProperty::getValue)
-        .collect(Collectors.toList());
+    PropertyIndex index = index();
+    List<String> values = new ArrayList<>(index.count(key));
+    forEachValue(key, values::add);
+    return values;
+  }
+
+  /**
+   * Gets the value of the first identification property with the specified key, without
+   * allocating.
+   *
+   * @param key the key of the identification property
+   * @return the value of the first property with the key, or null if there is none
+   */
+  public @Nullable String valueAt(String key) {
+    int position = index().first(key);
+    return position < 0 ? null : identificationProperties.get(position).getValue();
+  }
+
+  /**
+   * Passes the values of the identification properties with the specified key to the consumer,
+   * in the order of the properties, without allocating.
+   *
+   * @param key the key of the identification property
+   * @param consumer the consumer of the values
+   */
+  public void forEachValue(String key, @NotNull Consumer<? super String> consumer) {
+    PropertyIndex index = index();
+    for (int position = index.first(key); position >= 0; position = index.next(position)) {
+      consumer.accept(identificationProperties.get(position).getValue());
+    }
+  }
+
+  private PropertyIndex index() {
+    PropertyIndex current = index;
+    if (current == null) {
+      current = PropertyIndex.of(identificationProperties);
+      index = current;
+    }
+    return current;
   }
 
   /**
@@ -103,9 +158,7 @@ public class ItemIdentifier {
    * @return a new ItemIdentifier instance with the specified prefix
    */
   public ItemIdentifier withPrefix(IdentificationProperty identificationProperty) {
-    var idEntries = new ArrayList<>(Collections.singletonList(identificationProperty));
-    idEntries.addAll(this.identificationProperties);
-    return ItemIdentifier.of(idEntries);
+    return derive(PropertyList.withPrefix(identificationProperty, identificationProperties));
   }
 
   /**
@@ -126,9 +179,7 @@ public class ItemIdentifier {
    * @return a new ItemIdentifier instance with the specified suffix
    */
   public ItemIdentifier withSuffix(IdentificationProperty identificationProperty) {
-    var idEntries = new ArrayList<>(this.identificationProperties);
-    idEntries.add(identificationProperty);
-    return ItemIdentifier.of(idEntries);
+    return derive(PropertyList.withSuffix(identificationProperties, identificationProperty));
   }
 
   /**
@@ -142,6 +193,49 @@ public class ItemIdentifier {
     return withSuffix(IdentificationProperty.of(key, value));
   }
 
+  private static ItemIdentifier derive(List<IdentificationProperty> identificationProperties) {
+    if (identificationProperties instanceof PropertyList) {
+      return new ItemIdentifier((PropertyList) identificationProperties);
+    }
+    return new ItemIdentifier(identificationProperties);
+  }
+
+  /**
+   * Gets the canonical instance equal to this item identifier. All canonical instances of equal
+   * identifiers are the same object and hold canonical {@link IdentificationProperty} instances,
+   * so that identifiers repeated over millions of items are stored once.
+   *
+   * <p>Canonical instances are only weakly held by the pool. Like any other instance, they are
+   * compared by value; equal canonical instances are usually the same object, which makes
+   * comparing them cheap.
+   *
+   * @return the canonical item identifier
+   */
+  public @NotNull ItemIdentifier canonical() {
+    if (this instanceof Canonical) {
+      return this;
+    }
+    ItemIdentifier existing = POOL.get(this);
+    if (existing != null) {
+      return existing;
+    }
+    IdentificationProperty[] properties =
+        new IdentificationProperty[identificationProperties.size()];
+    for (int i = 0; i < properties.length; i++) {
+      properties[i] = identificationProperties.get(i).canonical();
+    }
+    return POOL.intern(new Canonical(List.of(properties)));
+  }
+
+  /**
+   * Checks if this instance is the canonical instance of its value.
+   *
+   * @return true if this instance was returned by {@link #canonical()}
+   */
+  boolean isCanonical() {
+    return this instanceof Canonical;
+  }
+
   /**
    * Creates a new builder for the ItemIdentifier class.
    *
@@ -162,6 +256,7 @@ public class ItemIdentifier {
     if (this == o) return true;
     if (!(o instanceof ItemIdentifier)) return false;
     ItemIdentifier that = (ItemIdentifier) o;
+    if (hashCode() != that.hashCode()) return false;
     return Objects.equals(identificationProperties, that.identificationProperties);
   }
 
@@ -172,7 +267,12 @@ public class ItemIdentifier {
    */
   @Override
   public int hashCode() {
-    return Objects.hashCode(identificationProperties);
+    int h = hash;
+    if (h == 0) {
+      h = Objects.hashCode(identificationProperties);
+      hash = h;
+    }
+    return h;
   }
 
   /**
@@ -185,11 +285,22 @@ public class ItemIdentifier {
     return "ItemIdentifier{" + "identificationProperties=" + identificationProperties + "}";
   }
 
+  /** The canonical instance of a value, only created by {@link #canonical()}. */
+  private static final class Canonical extends ItemIdentifier {
+
+    private Canonical(List<IdentificationProperty> identificationProperties) {
+      super(identificationProperties);
+    }
+  }
+
   /** Builder class for creating instances of ItemIdentifier. */
   public static class Builder {
 
     private List<IdentificationProperty> identificationProperties = new ArrayList<>();
 
+    /** Whether to return the canonical instance. */
+    private boolean canonical;
+
     /**
      * Set a collection of identification properties to the builder.
      *
@@ -202,13 +313,26 @@ public class ItemIdentifier {
       return this;
     }
 
+    /**
+     * Sets whether the builder returns the {@link ItemIdentifier#canonical() canonical} instance.
+     * Defaults to false.
+     *
+     * @param canonical true to return the canonical instance
+     * @return the builder instance
+     */
+    public Builder canonical(boolean canonical) {
+      this.canonical = canonical;
+      return this;
+    }
+
     /**
      * Builds and returns an ItemIdentifier instance.
      *
      * @return the created ItemIdentifier instance
      */
     public ItemIdentifier build() {
-      return new ItemIdentifier(this);
+      ItemIdentifier identifier = new ItemIdentifier(this);
+      return canonical ? identifier.canonical() : identifier;
     }
   }
 }
@@ -13,6 +13,9 @@ public class ItemReference {
   /** The data source identifier associated with the item */
   @Nullable private final DataSourceIdentifier dataSourceIdentifier;
 
+  /** The cached hash code, computed on first use. */
+  private int hash;
+
   /**
    * Constructs an ItemReference instance using the provided builder.
    *
@@ -94,6 +97,7 @@ public class ItemReference {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     ItemReference that = (ItemReference) o;
+    if (hashCode() != that.hashCode()) return false;
     return Objects.equals(itemIdentifier, that.itemIdentifier)
         && Objects.equals(dataSourceIdentifier, that.dataSourceIdentifier);
   }
@@ -105,7 +109,12 @@ public class ItemReference {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(itemIdentifier, dataSourceIdentifier);
+    int h = hash;
+    if (h == 0) {
+      h = Objects.hash(itemIdentifier, dataSourceIdentifier);
+      hash = h;
+    }
+    return h;
   }
 
   /**
@@ -0,0 +1,136 @@
+package zeenea.connector.common;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Index of the positions of identification properties by key.
+ *
+ * <p>Identifiers usually hold a handful of properties, so keys are found by a linear scan of the
+ * distinct keys, and a hash map is only kept for identifiers with many distinct keys. Positions
+ * sharing a key are chained in list order, so that walking them does not allocate.
+ */
+final class PropertyIndex {
+
+  /** Number of distinct keys above which a hash map replaces the linear scan. */
+  private static final int SCAN_LIMIT = 8;
+
+  /** The distinct keys, in order of first occurrence. */
+  private final String[] keys;
+
+  /** The position of the first property for each distinct key. */
+  private final int[] firsts;
+
+  /** The number of properties for each distinct key. */
+  private final int[] counts;
+
+  /** The position of the next property with the same key for each property, or -1. */
+  private final int[] nexts;
+
+  /** The slot of each distinct key, only for identifiers with many distinct keys. */
+  private final Map<String, Integer> slots;
+
+  private PropertyIndex(
+      String[] keys, int[] firsts, int[] counts, int[] nexts, Map<String, Integer> slots) {
+    this.keys = keys;
+    this.firsts = firsts;
+    this.counts = counts;
+    this.nexts = nexts;
+    this.slots = slots;
+  }
+
+  /**
+   * Creates the index of the given identification properties.
+   *
+   * @param properties the identification properties to index
+   * @return the index of the properties
+   */
+  static PropertyIndex of(@NotNull List<IdentificationProperty> properties) {
+    int size = properties.size();
+    String[] keys = new String[size];
+    int[] firsts = new int[size];
+    int[] counts = new int[size];
+    int[] lasts = new int[size];
+    int[] nexts = new int[size];
+    Map<String, Integer> slots = size > SCAN_LIMIT ? new HashMap<>() : null;
+    int distinct = 0;
+    for (int position = 0; position < size; position++) {
+      String key = properties.get(position).getKey();
+      nexts[position] = -1;
+      int slot = slotOf(key, keys, distinct, slots);
+      if (slot < 0) {
+        if (slots != null) {
+          slots.put(key, distinct);
+        }
+        keys[distinct] = key;
+        firsts[distinct] = position;
+        counts[distinct] = 1;
+        lasts[distinct] = position;
+        distinct++;
+      } else {
+        nexts[lasts[slot]] = position;
+        lasts[slot] = position;
+        counts[slot]++;
+      }
+    }
+    return new PropertyIndex(
+        Arrays.copyOf(keys, distinct),
+        Arrays.copyOf(firsts, distinct),
+        Arrays.copyOf(counts, distinct),
+        nexts,
+        distinct > SCAN_LIMIT ? slots : null);
+  }
+
+  /**
+   * Gets the position of the first property with the given key.
+   *
+   * @param key the key of the identification property
+   * @return the position of the first property, or -1 if there is none
+   */
+  int first(String key) {
+    int slot = slotOf(key);
+    return slot < 0 ? -1 : firsts[slot];
+  }
+
+  /**
+   * Gets the position of the next property with the same key as the property at the given
+   * position.
+   *
+   * @param position the position of a property
+   * @return the position of the next property, or -1 if there is none
+   */
+  int next(int position) {
+    return nexts[position];
+  }
+
+  /**
+   * Gets the number of properties with the given key.
+   *
+   * @param key the key of the identification property
+   * @return the number of properties
+   */
+  int count(String key) {
+    int slot = slotOf(key);
+    return slot < 0 ? 0 : counts[slot];
+  }
+
+  private int slotOf(String key) {
+    return slotOf(key, keys, keys.length, slots);
+  }
+
+  private static int slotOf(String key, String[] keys, int distinct, Map<String, Integer> slots) {
+    if (slots != null) {
+      Integer slot = slots.get(key);
+      return slot == null ? -1 : slot;
+    }
+    for (int slot = 0; slot < distinct; slot++) {
+      if (keys[slot].equals(key)) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,101 @@
+package zeenea.connector.common;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable list of identification properties made of another list and one more property, before
+ * or after it.
+ *
+ * <p>The other list is shared rather than copied, so that deriving the identifiers of the fields
+ * of a table from the table identifier does not copy its properties for every field. Chains of
+ * derived lists are flattened once they get deep, so that accessing a property stays cheap.
+ */
+final class PropertyList extends AbstractList<IdentificationProperty> implements RandomAccess {
+
+  /** Number of chained lists above which a derived list is flattened. */
+  private static final int MAX_DEPTH = 8;
+
+  /** The shared list. */
+  private final List<IdentificationProperty> base;
+
+  /** The added property. */
+  private final IdentificationProperty property;
+
+  /** Whether the property comes before the shared list. */
+  private final boolean prefix;
+
+  private final int size;
+
+  /** The number of chained lists, including this one. */
+  private final int depth;
+
+  private PropertyList(
+      List<IdentificationProperty> base, IdentificationProperty property, boolean prefix) {
+    this.base = base;
+    this.property = property;
+    this.prefix = prefix;
+    this.size = base.size() + 1;
+    this.depth = depthOf(base) + 1;
+  }
+
+  /**
+   * Creates a list made of the property followed by the given immutable list.
+   *
+   * @param property the first property
+   * @param base the following properties, which must be immutable
+   * @return the list of properties
+   */
+  static List<IdentificationProperty> withPrefix(
+      @NotNull IdentificationProperty property, @NotNull List<IdentificationProperty> base) {
+    return of(base, property, true);
+  }
+
+  /**
+   * Creates a list made of the given immutable list followed by the property.
+   *
+   * @param base the first properties, which must be immutable
+   * @param property the last property
+   * @return the list of properties
+   */
+  static List<IdentificationProperty> withSuffix(
+      @NotNull List<IdentificationProperty> base, @NotNull IdentificationProperty property) {
+    return of(base, property, false);
+  }
+
+  private static List<IdentificationProperty> of(
+      List<IdentificationProperty> base, IdentificationProperty property, boolean prefix) {
+    Objects.requireNonNull(property, "identificationProperty");
+    if (depthOf(base) < MAX_DEPTH) {
+      return new PropertyList(base, property, prefix);
+    }
+    IdentificationProperty[] properties = new IdentificationProperty[base.size() + 1];
+    int offset = prefix ? 1 : 0;
+    for (int i = 0; i < base.size(); i++) {
+      properties[i + offset] = base.get(i);
+    }
+    properties[prefix ? 0 : base.size()] = property;
+    return List.of(properties);
+  }
+
+  private static int depthOf(List<IdentificationProperty> list) {
+    return list instanceof PropertyList ? ((PropertyList) list).depth : 0;
+  }
+
+  @Override
+  public IdentificationProperty get(int index) {
+    Objects.checkIndex(index, size);
+    if (prefix) {
+      return index == 0 ? property : base.get(index - 1);
+    }
+    return index == size - 1 ? property : base.get(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+}
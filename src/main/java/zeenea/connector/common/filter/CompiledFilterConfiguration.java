@@ -0,0 +1,352 @@
+package zeenea.connector.common.filter;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Filter configuration evaluating all its rules on a property in a single pass.
+ *
+ * <p>The rules of all the filters are grouped by property key. For each key, the GLOB rules are
+ * compiled into one automaton matching a value against all of them at once. The same automaton
+ * also matches the literal prefix of each REGEX rule, so that a regular expression is only run on
+ * the values starting with its prefix. Each key is looked up and evaluated once per call to {@link
+ * #accepts(Map)}, and the filters are indexed by their first rule, so that only the filters whose
+ * first rule matches are checked.
+ *
+ * <p>Rules are evaluated with the semantics of {@link java.nio.file.FileSystem#getPathMatcher}:
+ * GLOB rules use its glob syntax, and REGEX rules must match the whole value. The filters are
+ * evaluated in order, and the first one whose rules all match decides whether the properties are
+ * accepted, according to its {@link FilterAction}. A rule on a missing property matches if its
+ * filter action is {@link FilterAction#ACCEPT ACCEPT}. When no filter matches, the properties are
+ * only accepted if there is no ACCEPT filter.
+ *
+ * <pre>Example : <br>
+ * CompiledFilterConfiguration filter =
+ *     CompiledFilterConfiguration.compile(configuration.getFilters());
+ * inventory.filter(entry -&gt; filter.accepts(properties(entry)));
+ * </pre>
+ *
+ * <p>Instances are immutable and thread-safe.
+ */
+public final class CompiledFilterConfiguration implements FilterConfiguration {
+
+  @NotNull private final List<Filter> filters;
+  private final KeyMatcher[] keys;
+  private final int[][] filterRules;
+  private final boolean[] filterAccepts;
+  private final int[] ruleKeys;
+
+  /** For each rule, the filters whose first rule it is, in order. */
+  private final int[][] guardedFilters;
+
+  /** For each key, the ACCEPT filters whose first rule is on the key, in order. */
+  private final int[][] acceptFiltersByKey;
+
+  /** The first filter without rules, or the number of filters if there is none. */
+  private final int firstUnconditional;
+
+  private final boolean acceptsUnmatched;
+
+  private CompiledFilterConfiguration(List<Filter> filters) {
+    this.filters = List.copyOf(filters);
+    this.filterRules = new int[this.filters.size()][];
+    this.filterAccepts = new boolean[this.filters.size()];
+    Map<String, Integer> keyIds = new HashMap<>();
+    List<KeyMatcher.Builder> builders = new ArrayList<>();
+    Map<List<Object>, Integer> ruleIds = new HashMap<>();
+    List<Integer> ruleKeyList = new ArrayList<>();
+    boolean hasAcceptFilter = false;
+    int unconditional = this.filters.size();
+    for (int f = 0; f < this.filters.size(); f++) {
+      Filter filter = this.filters.get(f);
+      filterAccepts[f] = filter.getAction() == FilterAction.ACCEPT;
+      hasAcceptFilter |= filterAccepts[f];
+      List<Rule> rules = filter.getRules();
+      int[] ids = new int[rules.size()];
+      for (int r = 0; r < rules.size(); r++) {
+        Rule rule = rules.get(r);
+        List<Object> signature = List.of(rule.getKey(), rule.getType(), rule.getValue());
+        Integer id = ruleIds.get(signature);
+        if (id == null) {
+          id = ruleIds.size();
+          ruleIds.put(signature, id);
+          Integer keyId = keyIds.get(rule.getKey());
+          if (keyId == null) {
+            keyId = builders.size();
+            keyIds.put(rule.getKey(), keyId);
+            builders.add(new KeyMatcher.Builder(rule.getKey()));
+          }
+          builders.get(keyId).add(rule, id);
+          ruleKeyList.add(keyId);
+        }
+        ids[r] = id;
+      }
+      filterRules[f] = ids;
+      if (ids.length == 0 && unconditional == this.filters.size()) {
+        unconditional = f;
+      }
+    }
+    this.keys = builders.stream().map(KeyMatcher.Builder::build).toArray(KeyMatcher[]::new);
+    this.ruleKeys = KeyMatcher.toArray(ruleKeyList);
+    this.firstUnconditional = unconditional;
+    this.acceptsUnmatched = !hasAcceptFilter;
+    List<List<Integer>> byRule = new ArrayList<>();
+    ruleKeyList.forEach(key -> byRule.add(new ArrayList<>()));
+    List<List<Integer>> byKey = new ArrayList<>();
+    builders.forEach(key -> byKey.add(new ArrayList<>()));
+    for (int f = 0; f < filterRules.length; f++) {
+      if (filterRules[f].length > 0) {
+        int guard = filterRules[f][0];
+        byRule.get(guard).add(f);
+        if (filterAccepts[f]) {
+          byKey.get(ruleKeys[guard]).add(f);
+        }
+      }
+    }
+    this.guardedFilters = byRule.stream().map(KeyMatcher::toArray).toArray(int[][]::new);
+    this.acceptFiltersByKey = byKey.stream().map(KeyMatcher::toArray).toArray(int[][]::new);
+  }
+
+  /**
+   * Compiles the filters of a configuration.
+   *
+   * @param configuration the filter configuration to compile
+   * @return the compiled configuration, or the configuration itself if it is already compiled
+   * @throws PatternSyntaxException if a rule holds an invalid pattern
+   */
+  public static @NotNull CompiledFilterConfiguration compile(
+      @NotNull FilterConfiguration configuration) {
+    if (configuration instanceof CompiledFilterConfiguration) {
+      return (CompiledFilterConfiguration) configuration;
+    }
+    return compile(configuration.getFilters());
+  }
+
+  /**
+   * Compiles a list of filters.
+   *
+   * @param filters the filters, in evaluation order
+   * @return the compiled configuration
+   * @throws PatternSyntaxException if a rule holds an invalid pattern
+   */
+  public static @NotNull CompiledFilterConfiguration compile(@NotNull List<Filter> filters) {
+    return new CompiledFilterConfiguration(filters);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean accepts(Map<String, String> filteredProperties) {
+    boolean[] missing = new boolean[keys.length];
+    boolean[] matched = new boolean[ruleKeys.length];
+    int[] hits = new int[ruleKeys.length];
+    int hitCount = 0;
+    for (int key = 0; key < keys.length; key++) {
+      String value = filteredProperties.get(keys[key].key);
+      if (value == null) {
+        missing[key] = true;
+      } else {
+        hitCount = keys[key].evaluate(value, matched, hits, hitCount);
+      }
+    }
+    // Only the filters whose first rule matches may match, the first of them decides.
+    int decisive = firstUnconditional;
+    for (int key = 0; key < keys.length; key++) {
+      if (missing[key]) {
+        decisive = firstMatching(acceptFiltersByKey[key], decisive, missing, matched);
+      }
+    }
+    for (int i = 0; i < hitCount; i++) {
+      decisive = firstMatching(guardedFilters[hits[i]], decisive, missing, matched);
+    }
+    return decisive < filterAccepts.length ? filterAccepts[decisive] : acceptsUnmatched;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public FilterDecision decide(Map<String, String> knownProperties) {
+    boolean[] unbound = new boolean[keys.length];
+    boolean[] matched = new boolean[ruleKeys.length];
+    int[] hits = new int[ruleKeys.length];
+    for (int key = 0; key < keys.length; key++) {
+      String value = knownProperties.get(keys[key].key);
+      if (value == null) {
+        unbound[key] = true;
+      } else {
+        keys[key].evaluate(value, matched, hits, 0);
+      }
+    }
+    Set<FilterAction> outcomes = EnumSet.noneOf(FilterAction.class);
+    for (int f = 0; f < filterRules.length; f++) {
+      boolean bound = true;
+      boolean matches = true;
+      for (int rule : filterRules[f]) {
+        if (unbound[ruleKeys[rule]]) {
+          bound = false;
+        } else if (!matched[rule]) {
+          matches = false;
+          break;
+        }
+      }
+      if (matches) {
+        outcomes.add(filterAccepts[f] ? FilterAction.ACCEPT : FilterAction.REJECT);
+        if (bound) {
+          return FilterDecision.of(outcomes);
+        }
+      }
+    }
+    outcomes.add(acceptsUnmatched ? FilterAction.ACCEPT : FilterAction.REJECT);
+    return FilterDecision.of(outcomes);
+  }
+
+  /** Gets the first of the candidate filters matching before the given one, if any. */
+  private int firstMatching(int[] candidates, int before, boolean[] missing, boolean[] matched) {
+    for (int f : candidates) {
+      if (f >= before) {
+        break;
+      }
+      if (matches(f, missing, matched)) {
+        return f;
+      }
+    }
+    return before;
+  }
+
+  private boolean matches(int filter, boolean[] missing, boolean[] matched) {
+    for (int rule : filterRules[filter]) {
+      if (missing[ruleKeys[rule]] ? !filterAccepts[filter] : !matched[rule]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Filter> getFilters() {
+    return filters;
+  }
+
+  /** The rules on one property key. */
+  private static final class KeyMatcher {
+
+    /** Characters of a regular expression that end its literal prefix. */
+    private static final String REGEX_META = ".[]()*+?{}^$\\|";
+
+    private final String key;
+
+    /**
+     * Automaton of the GLOB rules, followed by one entry per REGEX rule matching the values
+     * starting with the literal prefix of the regular expression.
+     */
+    private final GlobAutomaton automaton;
+
+    private final int[] globRules;
+    private final Pattern[] regexes;
+    private final int[] regexRules;
+
+    private KeyMatcher(Builder builder) {
+      this.key = builder.key;
+      this.globRules = toArray(builder.globRules);
+      this.regexes = builder.regexes.toArray(new Pattern[0]);
+      this.regexRules = toArray(builder.regexRules);
+      List<String> entries = new ArrayList<>(builder.globs);
+      for (Pattern regex : regexes) {
+        entries.add(escapeGlob(literalPrefix(regex.pattern())) + "**");
+      }
+      this.automaton = GlobAutomaton.compile(entries);
+    }
+
+    /**
+     * Marks the rules on this key matching the value, and appends them to the hits.
+     *
+     * @return the new number of hits
+     */
+    private int evaluate(String value, boolean[] matched, int[] hits, int hitCount) {
+      BitSet entries = automaton.match(value);
+      for (int i = entries.nextSetBit(0); i >= 0; i = entries.nextSetBit(i + 1)) {
+        int rule;
+        if (i < globRules.length) {
+          rule = globRules[i];
+        } else {
+          int regex = i - globRules.length;
+          if (!regexes[regex].matcher(value).matches()) {
+            continue;
+          }
+          rule = regexRules[regex];
+        }
+        matched[rule] = true;
+        hits[hitCount++] = rule;
+      }
+      return hitCount;
+    }
+
+    /** Gets the characters any value matching the regular expression starts with. */
+    private static String literalPrefix(String regex) {
+      if (regex.indexOf('|') >= 0) {
+        return "";
+      }
+      int end = 0;
+      while (end < regex.length() && REGEX_META.indexOf(regex.charAt(end)) < 0) {
+        end++;
+      }
+      if (end < regex.length() && end > 0 && "*?{".indexOf(regex.charAt(end)) >= 0) {
+        // The quantifier makes the last literal character optional.
+        end--;
+      }
+      return regex.substring(0, end);
+    }
+
+    private static String escapeGlob(String literal) {
+      StringBuilder glob = new StringBuilder();
+      for (int i = 0; i < literal.length(); i++) {
+        char c = literal.charAt(i);
+        if ("*?[]{},\\".indexOf(c) >= 0) {
+          glob.append('\\');
+        }
+        glob.append(c);
+      }
+      return glob.toString();
+    }
+
+    private static int[] toArray(List<Integer> values) {
+      return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Collects the rules on one property key. */
+    private static final class Builder {
+      private final String key;
+      private final List<String> globs = new ArrayList<>();
+      private final List<Integer> globRules = new ArrayList<>();
+      private final List<Pattern> regexes = new ArrayList<>();
+      private final List<Integer> regexRules = new ArrayList<>();
+
+      private Builder(String key) {
+        this.key = key;
+      }
+
+      private void add(Rule rule, int id) {
+        String value = Objects.requireNonNull(rule.getValue(), "rule value");
+        if (rule.getType() == RuleType.GLOB) {
+          globs.add(value);
+          globRules.add(id);
+        } else {
+          regexes.add(Pattern.compile(value));
+          regexRules.add(id);
+        }
+      }
+
+      private KeyMatcher build() {
+        return new KeyMatcher(this);
+      }
+    }
+  }
+}
@@ -1,7 +1,9 @@
 package zeenea.connector.common.filter;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Interface representing a configuration for filters. This interface provides a method to retrieve
@@ -22,6 +24,46 @@ public interface FilterConfiguration {
    */
   boolean accepts(Map<String, String> filteredProperties);
 
+  /**
+   * Decide whether all the items with the given properties are accepted, before the other
+   * properties are known. The keys missing from the given properties are not bound yet: the items
+   * may have any value for them, or no value at all.
+   *
+   * <p>Use it while traversing a hierarchy, to skip a database or a schema without listing its
+   * children when the decision does not depend on them.
+   *
+   * @param knownProperties the properties known so far. The key is the name of the property, and
+   *     the value is the property value presented as a string.
+   * @return ACCEPT_ALL or REJECT_ALL if {@link #accepts(Map)} gives the same result whatever the
+   *     other properties, UNDECIDED otherwise
+   */
+  default FilterDecision decide(Map<String, String> knownProperties) {
+    Set<FilterAction> outcomes = EnumSet.noneOf(FilterAction.class);
+    boolean hasAcceptFilter = false;
+    for (Filter filter : getFilters()) {
+      hasAcceptFilter |= filter.getAction() == FilterAction.ACCEPT;
+      boolean bound = true;
+      boolean matches = true;
+      for (Rule rule : filter.getRules()) {
+        String value = knownProperties.get(rule.getKey());
+        if (value == null) {
+          bound = false;
+        } else if (!rule.matches(value)) {
+          matches = false;
+          break;
+        }
+      }
+      if (matches) {
+        outcomes.add(filter.getAction());
+        if (bound) {
+          return FilterDecision.of(outcomes);
+        }
+      }
+    }
+    outcomes.add(hasAcceptFilter ? FilterAction.REJECT : FilterAction.ACCEPT);
+    return FilterDecision.of(outcomes);
+  }
+
   /**
    * Get the list of filters defined in this configuration.
    *
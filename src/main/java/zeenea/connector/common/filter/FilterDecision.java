@@ -0,0 +1,27 @@
+package zeenea.connector.common.filter;
+
+import java.util.Set;
+
+/**
+ * Enum representing the decision of a filter configuration on partially known properties. Either
+ * all the items with these properties are accepted, or they are all rejected, or the decision
+ * depends on properties not known yet.
+ */
+public enum FilterDecision {
+  ACCEPT_ALL,
+  REJECT_ALL,
+  UNDECIDED;
+
+  /**
+   * Returns the decision for the possible actions of the filters.
+   *
+   * @param outcomes the actions the filter configuration may end with
+   * @return ACCEPT_ALL or REJECT_ALL if there is a single possible action, UNDECIDED otherwise
+   */
+  static FilterDecision of(Set<FilterAction> outcomes) {
+    if (outcomes.size() != 1) {
+      return UNDECIDED;
+    }
+    return outcomes.contains(FilterAction.ACCEPT) ? ACCEPT_ALL : REJECT_ALL;
+  }
+}
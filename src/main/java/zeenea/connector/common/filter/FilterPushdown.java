@@ -0,0 +1,681 @@
+package zeenea.connector.common.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import zeenea.connector.common.SqlDialect;
+
+/**
+ * Translates a filter configuration into a SQL condition, so that a source database filters the
+ * items before listing them.
+ *
+ * <p>Each rule key is mapped to a SQL expression holding the property, usually a column of the
+ * catalog of the database. GLOB rules are translated into {@code LIKE}, {@code =} or {@code IN}
+ * conditions when possible, REGEX rules into simple {@code LIKE} conditions when possible, and both
+ * into the regular expression operator of the dialect otherwise: {@code ~}, {@code RLIKE}, {@code
+ * REGEXP_LIKE}, {@code SIMILAR TO}... A regular expression is only translated if it uses the
+ * syntax common to all the regular expression engines: literals, {@code .}, character classes,
+ * groups, alternatives and quantifiers. A {@code NULL} value stands for a missing property.
+ *
+ * <p>A rule that cannot be translated exactly, because its key is not mapped, its pattern cannot be
+ * expressed, or the comparisons of the dialect are case-insensitive, is approximated so that the
+ * condition still holds for all the accepted items. The items selected by the condition must then
+ * be checked with the {@linkplain Result#getResidual() residual filter configuration}.
+ *
+ * <pre>Example : <br>
+ * FilterPushdown.Result pushdown =
+ *     FilterPushdown.of(SqlDialect.POSTGRES, Map.of("schema", "table_schema"))
+ *         .translate(configuration);
+ * String query = "SELECT table_schema, table_name FROM information_schema.tables"
+ *     + pushdown.getPredicate().map(predicate -&gt; " WHERE " + predicate).orElse("");
+ * // then keep the rows for which pushdown.getResidual().accepts(properties) is true
+ * </pre>
+ *
+ * <p>Instances are immutable and thread-safe.
+ */
+public final class FilterPushdown {
+
+  /** Condition always true. */
+  private static final String TRUE = "1 = 1";
+
+  /** Condition always false. */
+  private static final String FALSE = "1 = 0";
+
+  /** Maximum number of alternatives a glob pattern is expanded into for {@code LIKE}. */
+  private static final int MAX_ALTERNATIVES = 32;
+
+  /** Characters of a regular expression to escape to be read literally. */
+  private static final String REGEX_META = ".[]()*+?{}^$\\|";
+
+  @NotNull private final SqlDialect dialect;
+  @Nullable private final Syntax syntax;
+  @NotNull private final Map<String, String> columns;
+
+  private FilterPushdown(SqlDialect dialect, Map<String, String> columns) {
+    this.dialect = Objects.requireNonNull(dialect, "dialect");
+    this.syntax = Syntax.of(dialect);
+    this.columns = Map.copyOf(Objects.requireNonNull(columns, "columns"));
+  }
+
+  /**
+   * Creates a translator of filter configurations.
+   *
+   * @param dialect the SQL dialect of the source database
+   * @param columns the SQL expression holding the property of each rule key, rules on other keys
+   *     are not translated
+   * @return the translator
+   */
+  public static @NotNull FilterPushdown of(
+      @NotNull SqlDialect dialect, @NotNull Map<String, String> columns) {
+    return new FilterPushdown(dialect, columns);
+  }
+
+  /**
+   * Gets the SQL dialect of the conditions.
+   *
+   * @return the SQL dialect
+   */
+  public @NotNull SqlDialect getDialect() {
+    return dialect;
+  }
+
+  /**
+   * Translates a filter configuration into a SQL condition.
+   *
+   * @param configuration the filter configuration
+   * @return the condition and the residual filter configuration
+   * @throws PatternSyntaxException if a rule holds an invalid pattern
+   */
+  public @NotNull Result translate(@NotNull FilterConfiguration configuration) {
+    List<Filter> filters = configuration.getFilters();
+    boolean hasAcceptFilter =
+        filters.stream().anyMatch(filter -> filter.getAction() == FilterAction.ACCEPT);
+    // The first matching filter decides: fold the filters from the last one.
+    String predicate = hasAcceptFilter ? FALSE : TRUE;
+    boolean exact = true;
+    for (int f = filters.size() - 1; f >= 0; f--) {
+      Filter filter = filters.get(f);
+      boolean accept = filter.getAction() == FilterAction.ACCEPT;
+      List<String> conditions = new ArrayList<>();
+      boolean filterExact = true;
+      for (Rule rule : filter.getRules()) {
+        Condition condition = translate(rule, accept);
+        filterExact &= condition != null && condition.exact;
+        if (condition != null) {
+          conditions.add(condition.sql);
+        }
+      }
+      if (accept) {
+        predicate = or(and(conditions), predicate);
+      } else if (filterExact) {
+        predicate = and(List.of(not(conditions), predicate));
+      }
+      exact &= filterExact;
+    }
+    // The configuration itself keeps the matching of the scanner for the rows selected by the SQL.
+    FilterConfiguration residual =
+        exact ? CompiledFilterConfiguration.compile(List.of()) : configuration;
+    return new Result(TRUE.equals(predicate) ? null : predicate, residual, exact);
+  }
+
+  /** Translates a rule, or returns null if it cannot be translated at all. */
+  private @Nullable Condition translate(Rule rule, boolean accept) {
+    String column = columns.get(rule.getKey());
+    if (column == null || syntax == null || rule.getValue() == null) {
+      return null;
+    }
+    Pattern pattern = rule.getType() == RuleType.REGEX ? compile(rule.getValue()) : null;
+    Condition condition;
+    if (rule.getType() == RuleType.GLOB) {
+      condition = translate(column, globToLike(rule.getValue()), globToRegex(rule.getValue()));
+    } else if (pattern != null) {
+      Like like = new Like();
+      String regex = regexToRegex(pattern.pattern(), like);
+      if (regex == null) {
+        like.invalidate();
+      }
+      condition = translate(column, List.of(like), regex);
+    } else {
+      condition = null;
+    }
+    if (condition == null) {
+      return null;
+    }
+    // A missing property matches in ACCEPT filters only.
+    String sql =
+        accept
+            ? "(" + column + " IS NULL OR " + condition.sql + ")"
+            : "(" + column + " IS NOT NULL AND " + condition.sql + ")";
+    return new Condition(sql, condition.exact);
+  }
+
+  /** Translates a pattern expressed as LIKE alternatives and as a regular expression. */
+  private @Nullable Condition translate(
+      String column, @Nullable List<Like> likes, @Nullable String regex) {
+    if (likes != null && likes.stream().allMatch(Like::isValid) && syntax.exactLike) {
+      return new Condition(like(column, likes), true);
+    }
+    if (regex != null && syntax.regex != null) {
+      return new Condition(String.format(syntax.regex, column, literal("^(" + regex + ")$")), true);
+    }
+    if (regex != null && syntax.similarTo) {
+      String similar = regexToSimilar(regex);
+      if (similar != null) {
+        return new Condition(column + " SIMILAR TO " + literal(similar) + " ESCAPE '!'", true);
+      }
+    }
+    if (likes != null && likes.stream().allMatch(Like::isValid)) {
+      return new Condition(like(column, likes), false);
+    }
+    return null;
+  }
+
+  private String like(String column, List<Like> likes) {
+    if (likes.stream().noneMatch(like -> like.wildcard)) {
+      if (likes.size() == 1) {
+        return column + " = " + literal(likes.get(0).plain.toString());
+      }
+      return likes.stream()
+          .map(like -> literal(like.plain.toString()))
+          .collect(Collectors.joining(", ", column + " IN (", ")"));
+    }
+    List<String> alternatives = new ArrayList<>();
+    for (Like like : likes) {
+      String sql = column + " LIKE " + literal(like.pattern.toString());
+      // Always set the escape character, some dialects escape with a backslash by default.
+      if (syntax.escapeClause) {
+        sql += " ESCAPE '!'";
+      }
+      if (like.slashFree) {
+        sql = "(" + sql + " AND " + column + " NOT LIKE '%/%')";
+      }
+      alternatives.add(sql);
+    }
+    return alternatives.size() == 1
+        ? alternatives.get(0)
+        : "(" + String.join(" OR ", alternatives) + ")";
+  }
+
+  /** Quotes a string literal. */
+  private String literal(String value) {
+    String quoted = value.replace("'", "''");
+    if (syntax.backslashLiterals) {
+      quoted = quoted.replace("\\", "\\\\");
+    }
+    return "'" + quoted + "'";
+  }
+
+  /** Expands a glob pattern into LIKE alternatives, or returns null if it cannot be. */
+  private @Nullable List<Like> globToLike(String glob) {
+    List<Like> likes = new ArrayList<>(List.of(new Like()));
+    List<Like> group = null;
+    List<Like> current = likes;
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      if (c == '\\') {
+        if (i + 1 == glob.length()) {
+          return null;
+        }
+        char escaped = glob.charAt(++i);
+        current.forEach(like -> like.literal(escaped));
+      } else if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+        i++;
+        current.forEach(Like::anyCharacters);
+      } else if (c == '*') {
+        current.forEach(Like::anyNameCharacters);
+      } else if (c == '?') {
+        current.forEach(Like::anyNameCharacter);
+      } else if (c == '[' || c == '{' && group != null) {
+        return null;
+      } else if (c == '{') {
+        group = new ArrayList<>();
+        current = copies(likes);
+      } else if (c == ',' && group != null) {
+        group.addAll(current);
+        current = copies(likes);
+      } else if (c == '}' && group != null) {
+        group.addAll(current);
+        likes = group;
+        current = likes;
+        group = null;
+        if (likes.size() > MAX_ALTERNATIVES) {
+          return null;
+        }
+      } else {
+        current.forEach(like -> like.literal(c));
+      }
+    }
+    return group == null ? likes : null;
+  }
+
+  private List<Like> copies(List<Like> likes) {
+    return likes.stream().map(Like::new).collect(Collectors.toCollection(ArrayList::new));
+  }
+
+  /** Translates a glob pattern into a regular expression, or returns null if it cannot be. */
+  private static @Nullable String globToRegex(String glob) {
+    StringBuilder regex = new StringBuilder();
+    boolean grouping = false;
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      if (c == '\\') {
+        if (i + 1 == glob.length()) {
+          return null;
+        }
+        appendLiteral(regex, glob.charAt(++i));
+      } else if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+        i++;
+        regex.append(".*");
+      } else if (c == '*') {
+        regex.append("[^/]*");
+      } else if (c == '?') {
+        regex.append("[^/]");
+      } else if (c == '[') {
+        int end = glob.indexOf(']', i + 1);
+        boolean negated = end > i + 1 && glob.charAt(i + 1) == '!';
+        String members = end < 0 ? null : glob.substring(negated ? i + 2 : i + 1, end);
+        if (members == null || !isPortableClass(members) || members.indexOf('/') >= 0) {
+          return null;
+        }
+        // Character classes of globs never match the name separator.
+        regex.append(negated ? "[^/" : "[").append(members).append(']');
+        i = end;
+      } else if (c == '{') {
+        if (grouping) {
+          return null;
+        }
+        grouping = true;
+        regex.append('(');
+      } else if (c == ',' && grouping) {
+        regex.append('|');
+      } else if (c == '}' && grouping) {
+        grouping = false;
+        regex.append(')');
+      } else {
+        appendLiteral(regex, c);
+      }
+    }
+    return grouping ? null : regex.toString();
+  }
+
+  /**
+   * Translates a regular expression into the syntax common to all the regular expression engines,
+   * or returns null if it uses other constructs. Also fills the LIKE pattern if the regular
+   * expression is only made of literals, {@code .} and {@code .*}, or invalidates it.
+   */
+  private static @Nullable String regexToRegex(String pattern, Like like) {
+    StringBuilder regex = new StringBuilder();
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      int next = i + 1 < pattern.length() ? pattern.charAt(i + 1) : -1;
+      if (c == '\\') {
+        if (next < 0 || Character.isLetterOrDigit(next)) {
+          return null;
+        }
+        appendLiteral(regex, (char) next);
+        like.literal((char) next);
+        i++;
+      } else if (c == '.' && next == '*') {
+        regex.append(".*");
+        like.anyCharacters();
+        i++;
+      } else if (c == '.') {
+        regex.append('.');
+        like.anyCharacter();
+      } else if (c == '[') {
+        int end = pattern.indexOf(']', i + 2);
+        boolean negated = next == '^';
+        if (end < 0 || !isPortableClass(pattern.substring(negated ? i + 2 : i + 1, end))) {
+          return null;
+        }
+        regex.append(pattern, i, end + 1);
+        like.invalidate();
+        i = end;
+      } else if (c == '(' && next == '?' || c == '^' || c == '$') {
+        return null;
+      } else if (c == '{') {
+        int end = pattern.indexOf('}', i);
+        if (end < 0 || !pattern.substring(i + 1, end).matches("[0-9]+(,[0-9]*)?")) {
+          return null;
+        }
+        regex.append(pattern, i, end + 1);
+        like.invalidate();
+        i = end;
+      } else if ("()|*+?".indexOf(c) >= 0) {
+        regex.append(c);
+        like.invalidate();
+      } else {
+        regex.append(c);
+        like.literal(c);
+      }
+      // Lazy and possessive quantifiers are not portable.
+      if ("*+?}".indexOf(regex.charAt(regex.length() - 1)) >= 0
+          && i + 1 < pattern.length()
+          && (pattern.charAt(i + 1) == '?' || pattern.charAt(i + 1) == '+')) {
+        return null;
+      }
+    }
+    return regex.toString();
+  }
+
+  /** Translates a portable regular expression into a SIMILAR TO pattern escaped with {@code !}. */
+  private static @Nullable String regexToSimilar(String regex) {
+    StringBuilder similar = new StringBuilder();
+    for (int i = 0; i < regex.length(); i++) {
+      char c = regex.charAt(i);
+      if (c == '[') {
+        int end = regex.indexOf(']', i);
+        if (regex.charAt(i + 1) == '^') {
+          return null;
+        }
+        similar.append(regex, i, end + 1);
+        i = end;
+      } else if (c == '\\') {
+        char escaped = regex.charAt(++i);
+        if (escaped == '^' || escaped == '$') {
+          return null;
+        }
+        if ("%_!|*+?{}()[]".indexOf(escaped) >= 0) {
+          similar.append('!');
+        }
+        similar.append(escaped);
+      } else if (c == '.') {
+        similar.append('_');
+      } else if (c == '%' || c == '_' || c == '!') {
+        similar.append('!').append(c);
+      } else {
+        similar.append(c);
+      }
+    }
+    return similar.toString();
+  }
+
+  /** Checks that a character class is made of letters, digits, ranges, {@code _} and spaces. */
+  private static boolean isPortableClass(String members) {
+    return members.matches("([\\p{Alnum}_ ](-\\p{Alnum})?)+");
+  }
+
+  private static void appendLiteral(StringBuilder regex, char c) {
+    if (REGEX_META.indexOf(c) >= 0) {
+      regex.append('\\');
+    }
+    regex.append(c);
+  }
+
+  private static @Nullable Pattern compile(String regex) {
+    try {
+      return Pattern.compile(regex);
+    } catch (PatternSyntaxException e) {
+      return null;
+    }
+  }
+
+  private static String and(List<String> conditions) {
+    if (conditions.contains(FALSE)) {
+      return FALSE;
+    }
+    List<String> operands =
+        conditions.stream()
+            .filter(condition -> !TRUE.equals(condition))
+            .collect(Collectors.toList());
+    return operands.isEmpty() ? TRUE : String.join(" AND ", operands);
+  }
+
+  private static String or(String first, String second) {
+    if (TRUE.equals(first) || TRUE.equals(second)) {
+      return TRUE;
+    }
+    if (FALSE.equals(second)) {
+      return first;
+    }
+    return FALSE.equals(first) ? second : "(" + first + " OR " + second + ")";
+  }
+
+  /** Negates translated rules, which are enclosed in parentheses. */
+  private static String not(List<String> rules) {
+    if (rules.isEmpty()) {
+      return FALSE;
+    }
+    return rules.size() == 1 ? "NOT " + rules.get(0) : "NOT (" + and(rules) + ")";
+  }
+
+  /** A SQL condition and the filter configuration still to check on the selected items. */
+  public static final class Result {
+
+    @Nullable private final String predicate;
+    @NotNull private final FilterConfiguration residual;
+    private final boolean exact;
+
+    private Result(
+        @Nullable String predicate, @NotNull FilterConfiguration residual, boolean exact) {
+      this.predicate = predicate;
+      this.residual = residual;
+      this.exact = exact;
+    }
+
+    /**
+     * Gets the SQL condition holding for all the accepted items, to use in a WHERE clause.
+     *
+     * @return the condition, or empty if it would select all the items
+     */
+    public @NotNull Optional<String> getPredicate() {
+      return Optional.ofNullable(predicate);
+    }
+
+    /**
+     * Gets the filter configuration to check on the items selected by the condition. It accepts
+     * all the items if the condition is exact, and is the translated configuration itself
+     * otherwise.
+     *
+     * @return the residual filter configuration
+     */
+    public @NotNull FilterConfiguration getResidual() {
+      return residual;
+    }
+
+    /**
+     * Checks whether the condition selects exactly the accepted items.
+     *
+     * @return true if there is no need to check the residual filter configuration
+     */
+    public boolean isExact() {
+      return exact;
+    }
+  }
+
+  /** A translated rule. */
+  private static final class Condition {
+    private final String sql;
+
+    /** Whether the condition selects exactly the matching values, or more values. */
+    private final boolean exact;
+
+    private Condition(String sql, boolean exact) {
+      this.sql = sql;
+      this.exact = exact;
+    }
+  }
+
+  /** A LIKE pattern being built, escaped with {@code !} or with a backslash. */
+  private final class Like {
+    private final StringBuilder pattern;
+
+    /** The unescaped pattern, used when it has no wildcard. */
+    private final StringBuilder plain;
+
+    private boolean wildcard;
+
+    /** Whether the matching values must not contain the name separator. */
+    private boolean slashFree;
+
+    private boolean anyCharacters;
+    private boolean valid = true;
+
+    private Like() {
+      this.pattern = new StringBuilder();
+      this.plain = new StringBuilder();
+    }
+
+    private Like(Like like) {
+      this.pattern = new StringBuilder(like.pattern);
+      this.plain = new StringBuilder(like.plain);
+      this.wildcard = like.wildcard;
+      this.slashFree = like.slashFree;
+      this.anyCharacters = like.anyCharacters;
+      this.valid = like.valid;
+    }
+
+    private void literal(char c) {
+      char escape = syntax.escapeClause ? '!' : '\\';
+      if (c == '%' || c == '_' || c == escape || c == '[' && syntax.bracketLike) {
+        pattern.append(escape);
+      }
+      pattern.append(c);
+      plain.append(c);
+      // A separator in the value is allowed by ** only.
+      if (c == '/' && slashFree) {
+        invalidate();
+      }
+    }
+
+    private void anyCharacter() {
+      pattern.append('_');
+      wildcard = true;
+    }
+
+    private void anyCharacters() {
+      pattern.append('%');
+      wildcard = true;
+      anyCharacters = true;
+      if (slashFree) {
+        invalidate();
+      }
+    }
+
+    private void anyNameCharacter() {
+      anyCharacter();
+      nameOnly();
+    }
+
+    private void anyNameCharacters() {
+      pattern.append('%');
+      wildcard = true;
+      nameOnly();
+    }
+
+    private void nameOnly() {
+      if (anyCharacters || plain.indexOf("/") >= 0) {
+        invalidate();
+      }
+      slashFree = true;
+    }
+
+    private void invalidate() {
+      valid = false;
+    }
+
+    private boolean isValid() {
+      return valid;
+    }
+  }
+
+  /** The syntax of the conditions of a dialect. */
+  private static final class Syntax {
+
+    /** Whether LIKE and = compare the case of the characters. */
+    private final boolean exactLike;
+
+    /** Whether LIKE accepts an ESCAPE clause, otherwise it escapes with a backslash. */
+    private final boolean escapeClause;
+
+    /** Whether backslashes escape characters in string literals. */
+    private final boolean backslashLiterals;
+
+    /** Whether LIKE reads character classes between brackets. */
+    private final boolean bracketLike;
+
+    /** Format of the regular expression condition, with the column and the pattern. */
+    @Nullable private final String regex;
+
+    /** Whether SIMILAR TO is the regular expression operator. */
+    private final boolean similarTo;
+
+    private Syntax(
+        boolean exactLike,
+        boolean escapeClause,
+        boolean backslashLiterals,
+        boolean bracketLike,
+        @Nullable String regex,
+        boolean similarTo) {
+      this.exactLike = exactLike;
+      this.escapeClause = escapeClause;
+      this.backslashLiterals = backslashLiterals;
+      this.bracketLike = bracketLike;
+      this.regex = regex;
+      this.similarTo = similarTo;
+    }
+
+    private static Syntax standard(@Nullable String regex) {
+      return new Syntax(true, true, false, false, regex, false);
+    }
+
+    /** Gets the syntax of a dialect, or null if it cannot express conditions on names. */
+    private static @Nullable Syntax of(SqlDialect dialect) {
+      switch (dialect) {
+        case ANSI:
+          return new Syntax(true, true, false, false, null, true);
+        case ATHENA:
+        case TRINO:
+          return standard("regexp_like(%s, %s)");
+        case BIGQUERY:
+          return new Syntax(true, false, true, false, "REGEXP_CONTAINS(%s, %s)", false);
+        case CLICKHOUSE:
+          return new Syntax(true, false, true, false, "match(%s, %s)", false);
+        case DATABRICKS:
+        case SPARKSQL:
+          return new Syntax(true, true, true, false, "%s RLIKE %s", false);
+        case HIVE:
+          return new Syntax(true, false, true, false, "%s RLIKE %s", false);
+        case IMPALA:
+          return new Syntax(true, false, true, false, "%s REGEXP %s", false);
+        case STARROCKS:
+          return new Syntax(true, false, true, false, "regexp(%s, %s)", false);
+        case DB2:
+        case ORACLE:
+        case VERTICA:
+          return standard("REGEXP_LIKE(%s, %s)");
+        case DUCKDB:
+          return standard("regexp_matches(%s, %s)");
+        case EXASOL:
+          return standard("%s REGEXP_LIKE %s");
+        case GREENPLUM:
+        case MATERIALIZE:
+        case POSTGRES:
+          return standard("%s ~ %s");
+        case REDSHIFT:
+          return new Syntax(true, true, true, false, "%s ~ %s", false);
+        case SNOWFLAKE:
+          return new Syntax(true, true, true, false, "REGEXP_LIKE(%s, %s)", false);
+        case MARIADB:
+          return new Syntax(false, true, true, false, null, false);
+        case MYSQL:
+          return new Syntax(false, true, true, false, "REGEXP_LIKE(%s, %s, 'c')", false);
+        case SQLITE:
+          return new Syntax(false, true, false, false, null, false);
+        case TERADATA:
+          return new Syntax(false, true, false, false, "REGEXP_SIMILAR(%s, %s, 'c') = 1", false);
+        case TSQL:
+          return new Syntax(false, true, false, true, null, false);
+        default:
+          return null;
+      }
+    }
+  }
+}
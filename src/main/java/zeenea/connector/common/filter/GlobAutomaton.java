@@ -0,0 +1,377 @@
+package zeenea.connector.common.filter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Automaton matching a value against many glob patterns at once.
+ *
+ * <p>The patterns follow the glob syntax of {@link java.nio.file.FileSystem#getPathMatcher}: {@code
+ * *} matches any characters but {@code /}, {@code **} matches any characters, {@code ?} matches one
+ * character but {@code /}, {@code [...]} matches one character of a class, {@code {a,b}} matches
+ * one of the alternatives, and {@code \} escapes the next character.
+ *
+ * <p>The patterns are compiled together into one nondeterministic automaton, which is turned into a
+ * deterministic automaton lazily, while matching values. Matching a value is then a single pass
+ * over its characters, whatever the number of patterns. Once the deterministic automaton reaches
+ * {@link #MAX_STATES} states, new states are computed on the fly without being cached.
+ *
+ * <p>Instances are thread-safe.
+ */
+final class GlobAutomaton {
+
+  /** Maximum number of cached deterministic states. */
+  static final int MAX_STATES = 10_000;
+
+  private static final int ASCII = 128;
+
+  private final NState[] nfa;
+  private final Map<StateKey, DState> states = new ConcurrentHashMap<>();
+  private final DState start;
+
+  private GlobAutomaton(NState[] nfa, int[] starts) {
+    this.nfa = nfa;
+    this.start = state(closure(starts));
+  }
+
+  /**
+   * Compiles glob patterns into an automaton.
+   *
+   * @param globs the glob patterns, identified by their position in the list
+   * @return the automaton
+   * @throws PatternSyntaxException if a pattern is invalid
+   */
+  static GlobAutomaton compile(List<String> globs) {
+    Builder builder = new Builder();
+    int[] starts = new int[globs.size()];
+    for (int i = 0; i < globs.size(); i++) {
+      starts[i] = builder.compile(globs.get(i), i);
+    }
+    return new GlobAutomaton(builder.states.toArray(new NState[0]), starts);
+  }
+
+  /**
+   * Gets the patterns matching the whole value.
+   *
+   * @param value the value to match
+   * @return the positions of the matching patterns, which must not be modified
+   */
+  BitSet match(String value) {
+    DState state = start;
+    for (int i = 0; i < value.length() && !state.dead; ) {
+      int c = value.codePointAt(i);
+      i += Character.charCount(c);
+      state = next(state, c);
+    }
+    return state.accepts;
+  }
+
+  private DState next(DState state, int c) {
+    DState next = c < ASCII ? state.ascii.get(c) : state.others.get(c);
+    if (next != null) {
+      return next;
+    }
+    int[] targets = new int[state.positions.length];
+    int count = 0;
+    for (int position : state.positions) {
+      NState nState = nfa[position];
+      if (nState.edge != null && nState.edge.test(c)) {
+        targets[count++] = nState.next;
+      }
+    }
+    next = state(closure(Arrays.copyOf(targets, count)));
+    if (states.size() < MAX_STATES) {
+      if (c < ASCII) {
+        state.ascii.set(c, next);
+      } else {
+        state.others.put(c, next);
+      }
+    }
+    return next;
+  }
+
+  private DState state(int[] positions) {
+    StateKey key = new StateKey(positions);
+    DState state = states.get(key);
+    if (state != null) {
+      return state;
+    }
+    BitSet accepts = new BitSet();
+    for (int position : positions) {
+      if (nfa[position].accept >= 0) {
+        accepts.set(nfa[position].accept);
+      }
+    }
+    state = new DState(positions, accepts);
+    if (states.size() >= MAX_STATES) {
+      return state;
+    }
+    DState existing = states.putIfAbsent(key, state);
+    return existing == null ? state : existing;
+  }
+
+  /** Gets the sorted positions reachable from the given positions through epsilon edges. */
+  private int[] closure(int[] positions) {
+    BitSet reached = new BitSet(nfa.length);
+    Deque<Integer> pending = new ArrayDeque<>();
+    for (int position : positions) {
+      if (!reached.get(position)) {
+        reached.set(position);
+        pending.push(position);
+      }
+    }
+    while (!pending.isEmpty()) {
+      for (int target : nfa[pending.pop()].epsilons) {
+        if (!reached.get(target)) {
+          reached.set(target);
+          pending.push(target);
+        }
+      }
+    }
+    return reached.stream().toArray();
+  }
+
+  /** Predicate on a character. */
+  private interface CharPredicate {
+    boolean test(int c);
+  }
+
+  /** A state of the nondeterministic automaton. */
+  private static final class NState {
+    private int[] epsilons = new int[0];
+    private CharPredicate edge;
+    private int next = -1;
+    private int accept = -1;
+
+    private void epsilon(int target) {
+      epsilons = Arrays.copyOf(epsilons, epsilons.length + 1);
+      epsilons[epsilons.length - 1] = target;
+    }
+  }
+
+  /** A state of the deterministic automaton: a set of states of the nondeterministic one. */
+  private static final class DState {
+    private final int[] positions;
+    private final BitSet accepts;
+    private final boolean dead;
+    private final AtomicReferenceArray<DState> ascii = new AtomicReferenceArray<>(ASCII);
+    private final Map<Integer, DState> others = new ConcurrentHashMap<>();
+
+    private DState(int[] positions, BitSet accepts) {
+      this.positions = positions;
+      this.accepts = accepts;
+      this.dead = positions.length == 0;
+    }
+  }
+
+  /** Key of a deterministic state in the cache. */
+  private static final class StateKey {
+    private final int[] positions;
+    private final int hash;
+
+    private StateKey(int[] positions) {
+      this.positions = positions;
+      this.hash = Arrays.hashCode(positions);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof StateKey)) return false;
+      return Arrays.equals(positions, ((StateKey) o).positions);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /** Thompson construction of the nondeterministic automaton of glob patterns. */
+  private static final class Builder {
+
+    private final List<NState> states = new ArrayList<>();
+    private String glob;
+    private int index;
+    private boolean grouping;
+
+    /** Compiles a pattern, and returns its start position. */
+    private int compile(String pattern, int id) {
+      glob = pattern;
+      index = 0;
+      grouping = false;
+      int start = newState();
+      int end = sequence(start, false);
+      states.get(end).accept = id;
+      return start;
+    }
+
+    /** Compiles a sequence starting at the given position, and returns its end position. */
+    private int sequence(int from, boolean inGroup) {
+      int current = from;
+      while (index < glob.length()) {
+        char c = glob.charAt(index);
+        if (inGroup && (c == ',' || c == '}')) {
+          return current;
+        }
+        index++;
+        switch (c) {
+          case '*':
+            current = star(current);
+            break;
+          case '?':
+            current = edge(current, GlobAutomaton::notSlash);
+            break;
+          case '[':
+            current = edge(current, characterClass());
+            break;
+          case '{':
+            current = group(current);
+            break;
+          case '\\':
+            if (index >= glob.length()) {
+              throw new PatternSyntaxException("No character to escape", glob, index - 1);
+            }
+            current = literal(current, glob.codePointAt(index));
+            index += Character.charCount(glob.codePointAt(index));
+            break;
+          default:
+            index--;
+            int codePoint = glob.codePointAt(index);
+            index += Character.charCount(codePoint);
+            current = literal(current, codePoint);
+        }
+      }
+      return current;
+    }
+
+    private int group(int from) {
+      if (grouping) {
+        throw new PatternSyntaxException("Cannot nest groups", glob, index - 1);
+      }
+      grouping = true;
+      int end = newState();
+      while (true) {
+        int alternative = newState();
+        states.get(from).epsilon(alternative);
+        int last = sequence(alternative, true);
+        states.get(last).epsilon(end);
+        if (index >= glob.length()) {
+          throw new PatternSyntaxException("Missing '}'", glob, index - 1);
+        }
+        if (glob.charAt(index++) == '}') {
+          grouping = false;
+          return end;
+        }
+      }
+    }
+
+    private int star(int from) {
+      if (index < glob.length() && glob.charAt(index) == '*') {
+        index++;
+        return loop(from, c -> true);
+      }
+      return loop(from, GlobAutomaton::notSlash);
+    }
+
+    private CharPredicate characterClass() {
+      boolean negated = index < glob.length() && glob.charAt(index) == '!';
+      if (negated) {
+        index++;
+      }
+      List<int[]> ranges = new ArrayList<>();
+      int last = -1;
+      boolean rangePending = false;
+      while (true) {
+        if (index >= glob.length()) {
+          throw new PatternSyntaxException("Missing ']'", glob, index - 1);
+        }
+        int c = glob.codePointAt(index);
+        index += Character.charCount(c);
+        if (c == ']') {
+          break;
+        }
+        if (c == '\\' && index < glob.length()) {
+          c = glob.codePointAt(index);
+          index += Character.charCount(c);
+        } else if (c == '-' && last >= 0 && !rangePending) {
+          rangePending = true;
+          continue;
+        }
+        if (rangePending) {
+          if (c < last) {
+            throw new PatternSyntaxException("Invalid range", glob, index - 1);
+          }
+          ranges.get(ranges.size() - 1)[1] = c;
+          rangePending = false;
+          last = -1;
+        } else {
+          ranges.add(new int[] {c, c});
+          last = c;
+        }
+      }
+      if (rangePending) {
+        ranges.add(new int[] {'-', '-'});
+      }
+      int[][] bounds = ranges.toArray(new int[0][]);
+      return c -> {
+        if (c == '/') {
+          return false;
+        }
+        boolean inClass = false;
+        for (int[] bound : bounds) {
+          if (c >= bound[0] && c <= bound[1]) {
+            inClass = true;
+            break;
+          }
+        }
+        return inClass != negated;
+      };
+    }
+
+    private int literal(int from, int codePoint) {
+      return edge(from, c -> c == codePoint);
+    }
+
+    private int edge(int from, CharPredicate predicate) {
+      int to = newState();
+      NState state = states.get(from);
+      if (state.edge != null) {
+        int split = newState();
+        state.epsilon(split);
+        state = states.get(split);
+      }
+      state.edge = predicate;
+      state.next = to;
+      return to;
+    }
+
+    private int loop(int from, CharPredicate predicate) {
+      int loop = newState();
+      states.get(from).epsilon(loop);
+      NState state = states.get(loop);
+      state.edge = predicate;
+      state.next = loop;
+      int to = newState();
+      state.epsilon(to);
+      return to;
+    }
+
+    private int newState() {
+      states.add(new NState());
+      return states.size() - 1;
+    }
+  }
+
+  private static boolean notSlash(int c) {
+    return c != '/';
+  }
+}
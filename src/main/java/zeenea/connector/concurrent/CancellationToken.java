@@ -0,0 +1,193 @@
+package zeenea.connector.concurrent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A signal telling a connector to stop working on a request.
+ *
+ * <p>Connectors can poll {@link #isCancelled()} between calls to the source, or register a callback
+ * with {@link #onCancel(Runnable)} to abort a blocking call, for example with {@code
+ * Statement.cancel()}. A token can be cancelled explicitly, or automatically when a {@link
+ * Deadline} passes with {@link #cancelAt(Deadline)}.
+ *
+ * <pre>Example : <br>
+ * try (CancellationToken.Registration registration =
+ *     request.getCancellationToken().onCancel(statement::cancel)) {
+ *   return statement.executeQuery(sql);
+ * }
+ * </pre>
+ */
+public final class CancellationToken {
+
+  private static final Logger log = LoggerFactory.getLogger(CancellationToken.class);
+
+  private final Set<Registration> registrations = new LinkedHashSet<>();
+  private volatile boolean cancelled;
+  private Deadline scheduledDeadline;
+  private ScheduledFuture<?> scheduledCancellation;
+
+  private CancellationToken() {}
+
+  /**
+   * Creates a new token, not cancelled.
+   *
+   * @return a new CancellationToken instance
+   */
+  public static @NotNull CancellationToken create() {
+    return new CancellationToken();
+  }
+
+  /**
+   * Checks if this token has been cancelled.
+   *
+   * @return true if the token has been cancelled
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Throws if this token has been cancelled.
+   *
+   * @throws CancellationException if the token has been cancelled
+   */
+  public void throwIfCancelled() {
+    if (cancelled) {
+      throw new CancellationException("Request cancelled");
+    }
+  }
+
+  /**
+   * Cancels this token and runs the registered callbacks, in registration order, on the calling
+   * thread. A failing callback is logged and does not prevent the others from running. Cancelling
+   * a cancelled token has no effect.
+   */
+  public void cancel() {
+    List<Registration> callbacks;
+    synchronized (this) {
+      if (cancelled) {
+        return;
+      }
+      cancelled = true;
+      if (scheduledCancellation != null) {
+        scheduledCancellation.cancel(false);
+        scheduledCancellation = null;
+      }
+      callbacks = new ArrayList<>(registrations);
+      registrations.clear();
+    }
+    for (Registration registration : callbacks) {
+      try {
+        registration.callback.run();
+      } catch (RuntimeException e) {
+        log.warn("Cancellation callback failed", e);
+      }
+    }
+  }
+
+  /**
+   * Registers a callback run when this token is cancelled. If the token is already cancelled, the
+   * callback runs immediately on the calling thread.
+   *
+   * @param callback the callback aborting the work in progress
+   * @return a registration to close once the work is done, to remove the callback
+   */
+  public @NotNull Registration onCancel(@NotNull Runnable callback) {
+    Registration registration = new Registration(this, Objects.requireNonNull(callback));
+    synchronized (this) {
+      if (!cancelled) {
+        registrations.add(registration);
+        return registration;
+      }
+    }
+    callback.run();
+    return registration;
+  }
+
+  /**
+   * Cancels this token when the given deadline passes. Only the earliest deadline is kept, so
+   * calling this method again with a later deadline has no effect.
+   *
+   * @param deadline the deadline
+   * @return the token instance
+   */
+  public @NotNull CancellationToken cancelAt(@NotNull Deadline deadline) {
+    Objects.requireNonNull(deadline, "deadline");
+    if (deadline.isInfinite()) {
+      return this;
+    }
+    synchronized (this) {
+      if (cancelled || (scheduledDeadline != null && scheduledDeadline.compareTo(deadline) <= 0)) {
+        return this;
+      }
+      if (scheduledCancellation != null) {
+        scheduledCancellation.cancel(false);
+      }
+      scheduledDeadline = deadline;
+      scheduledCancellation =
+          Timer.INSTANCE.schedule(
+              this::cancel, deadline.remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+    return this;
+  }
+
+  /**
+   * Returns a string representation of this token.
+   *
+   * @return a string representation of this token
+   */
+  @Override
+  public String toString() {
+    return "CancellationToken{cancelled=" + cancelled + "}";
+  }
+
+  /** A callback registered on a token, removed when closed. */
+  public static final class Registration implements AutoCloseable {
+
+    private final CancellationToken token;
+    private final Runnable callback;
+
+    private Registration(CancellationToken token, Runnable callback) {
+      this.token = token;
+      this.callback = callback;
+    }
+
+    /** Removes the callback from the token, if it has not run yet. */
+    @Override
+    public void close() {
+      synchronized (token) {
+        token.registrations.remove(this);
+      }
+    }
+  }
+
+  /** Daemon thread cancelling tokens whose deadline passed. */
+  private static final class Timer {
+
+    private static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+    private static ScheduledThreadPoolExecutor create() {
+      ScheduledThreadPoolExecutor executor =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                Thread thread = new Thread(runnable, "zeenea-cancellation-timer");
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.setRemoveOnCancelPolicy(true);
+      return executor;
+    }
+  }
+}
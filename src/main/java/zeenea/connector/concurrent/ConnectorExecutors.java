@@ -0,0 +1,146 @@
+package zeenea.connector.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Provides the executors used by the SDK, and by connectors, to run blocking I/O such as JDBC
+ * queries or HTTP calls.
+ *
+ * <p>On Java 21 and later, I/O executors start a new virtual thread per task, so thousands of
+ * blocking calls can be in flight without as many platform threads. On earlier runtimes, they fall
+ * back to a bounded pool of daemon platform threads.
+ *
+ * <p>The SDK is compiled for Java 11, so virtual threads are looked up reflectively once, when this
+ * class is initialized.
+ */
+public final class ConnectorExecutors {
+
+  /** Default maximum number of platform threads of an I/O executor. */
+  public static final int DEFAULT_MAX_PLATFORM_THREADS = 32;
+
+  private static final VirtualThreads VIRTUAL_THREADS = VirtualThreads.lookup();
+
+  /** Private constructor to prevent instantiation. */
+  private ConnectorExecutors() {}
+
+  /**
+   * Checks if the running JVM supports virtual threads.
+   *
+   * @return true if I/O executors run tasks on virtual threads
+   */
+  public static boolean isVirtualThreadSupported() {
+    return VIRTUAL_THREADS != null;
+  }
+
+  /**
+   * Creates an executor for blocking I/O tasks, with at most {@value
+   * #DEFAULT_MAX_PLATFORM_THREADS} platform threads when virtual threads are not supported.
+   *
+   * @param name the prefix of the thread names
+   * @return a new executor, to be shut down by the caller
+   */
+  public static @NotNull ExecutorService newIoExecutor(@NotNull String name) {
+    return newIoExecutor(name, DEFAULT_MAX_PLATFORM_THREADS);
+  }
+
+  /**
+   * Creates an executor for blocking I/O tasks.
+   *
+   * <p>With virtual threads, every task runs on its own thread and {@code maxPlatformThreads} is
+   * ignored: callers are expected to bound the number of submitted tasks themselves. Without
+   * virtual threads, tasks are queued on a pool of at most {@code maxPlatformThreads} daemon
+   * threads, released after one minute of inactivity.
+   *
+   * @param name the prefix of the thread names
+   * @param maxPlatformThreads the maximum number of platform threads, must be greater than 0
+   * @return a new executor, to be shut down by the caller
+   */
+  public static @NotNull ExecutorService newIoExecutor(
+      @NotNull String name, int maxPlatformThreads) {
+    if (maxPlatformThreads < 1) {
+      throw new IllegalArgumentException("maxPlatformThreads must be greater than 0");
+    }
+    if (VIRTUAL_THREADS != null) {
+      return newVirtualThreadPerTaskExecutor(name);
+    }
+    return newPlatformExecutor(name, maxPlatformThreads);
+  }
+
+  /**
+   * Creates an executor for blocking I/O tasks running on a bounded pool of daemon platform
+   * threads, whatever the Java version.
+   *
+   * @param name the prefix of the thread names
+   * @param maxThreads the maximum number of threads, must be greater than 0
+   * @return a new executor, to be shut down by the caller
+   */
+  public static @NotNull ExecutorService newPlatformExecutor(@NotNull String name, int maxThreads) {
+    if (maxThreads < 1) {
+      throw new IllegalArgumentException("maxThreads must be greater than 0");
+    }
+    AtomicInteger counter = new AtomicInteger();
+    ThreadFactory threadFactory =
+        runnable -> {
+          Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        };
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            1,
+            TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(),
+            threadFactory);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+    try {
+      Object builder = VIRTUAL_THREADS.ofVirtual.invoke(null);
+      builder = VIRTUAL_THREADS.name.invoke(builder, name + "-", 1L);
+      ThreadFactory threadFactory = (ThreadFactory) VIRTUAL_THREADS.factory.invoke(builder);
+      return (ExecutorService) VIRTUAL_THREADS.newThreadPerTaskExecutor.invoke(null, threadFactory);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Cannot create a virtual thread executor", e);
+    }
+  }
+
+  /** Virtual thread methods of Java 21, resolved reflectively. */
+  private static final class VirtualThreads {
+
+    private final Method ofVirtual;
+    private final Method name;
+    private final Method factory;
+    private final Method newThreadPerTaskExecutor;
+
+    private VirtualThreads() throws ReflectiveOperationException {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      this.ofVirtual = Thread.class.getMethod("ofVirtual");
+      this.name = builderClass.getMethod("name", String.class, long.class);
+      this.factory = builderClass.getMethod("factory");
+      this.newThreadPerTaskExecutor =
+          Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      // Fails on runtimes where virtual threads are a disabled preview feature
+      ofVirtual.invoke(null);
+    }
+
+    private static VirtualThreads lookup() {
+      try {
+        return new VirtualThreads();
+      } catch (ReflectiveOperationException | LinkageError e) {
+        return null;
+      }
+    }
+  }
+}
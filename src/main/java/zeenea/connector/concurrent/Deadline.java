@@ -0,0 +1,150 @@
+package zeenea.connector.concurrent;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A point in time after which a request should stop, measured with {@link System#nanoTime()} so it
+ * is not affected by changes of the wall clock.
+ *
+ * <pre>Example : <br>
+ * Deadline deadline = request.getDeadline();
+ * if (!deadline.isInfinite()) {
+ *   statement.setQueryTimeout((int) Math.max(1, deadline.remaining(TimeUnit.SECONDS)));
+ * }
+ * </pre>
+ */
+public final class Deadline implements Comparable<Deadline> {
+
+  /** Timeouts longer than this are considered infinite, to keep nano time arithmetic exact. */
+  private static final long MAX_TIMEOUT_NANOS = Long.MAX_VALUE / 4;
+
+  private static final Deadline NONE = new Deadline(0, true);
+
+  private final long nanoTime;
+  private final boolean infinite;
+
+  private Deadline(long nanoTime, boolean infinite) {
+    this.nanoTime = nanoTime;
+    this.infinite = infinite;
+  }
+
+  /**
+   * Gets the deadline that never expires.
+   *
+   * @return the infinite deadline
+   */
+  public static @NotNull Deadline none() {
+    return NONE;
+  }
+
+  /**
+   * Creates a deadline expiring after the given timeout, from now.
+   *
+   * @param timeout the timeout, a zero or negative timeout gives an expired deadline
+   * @return a new Deadline instance
+   */
+  public static @NotNull Deadline after(@NotNull Duration timeout) {
+    Objects.requireNonNull(timeout, "timeout");
+    if (timeout.compareTo(Duration.ofNanos(MAX_TIMEOUT_NANOS)) > 0) {
+      return NONE;
+    }
+    return new Deadline(System.nanoTime() + Math.max(0, timeout.toNanos()), false);
+  }
+
+  /**
+   * Checks if this deadline never expires.
+   *
+   * @return true if this is the infinite deadline
+   */
+  public boolean isInfinite() {
+    return infinite;
+  }
+
+  /**
+   * Checks if this deadline has passed.
+   *
+   * @return true if the deadline has passed
+   */
+  public boolean isExpired() {
+    return !infinite && nanoTime - System.nanoTime() <= 0;
+  }
+
+  /**
+   * Gets the time left before this deadline, rounded down to the given unit.
+   *
+   * @param unit the unit of the result
+   * @return the time left, 0 if the deadline has passed, or {@link Long#MAX_VALUE} if it is
+   *     infinite
+   */
+  public long remaining(@NotNull TimeUnit unit) {
+    if (infinite) {
+      return Long.MAX_VALUE;
+    }
+    return unit.convert(Math.max(0, nanoTime - System.nanoTime()), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Gets the earliest of this deadline and another one.
+   *
+   * @param other the other deadline
+   * @return the deadline expiring first
+   */
+  public @NotNull Deadline min(@NotNull Deadline other) {
+    return compareTo(other) <= 0 ? this : other;
+  }
+
+  /**
+   * Compares this deadline with another one, the earliest first.
+   *
+   * @param other the deadline to compare with
+   * @return a negative integer, zero, or a positive integer as this deadline expires before, at
+   *     the same time as, or after the other one
+   */
+  @Override
+  public int compareTo(@NotNull Deadline other) {
+    if (infinite || other.infinite) {
+      return Boolean.compare(infinite, other.infinite);
+    }
+    return Long.signum(nanoTime - other.nanoTime);
+  }
+
+  /**
+   * Checks if this deadline is equal to another object.
+   *
+   * @param o the object to compare with
+   * @return true if this deadline is equal to the specified object, otherwise false
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    Deadline deadline = (Deadline) o;
+    return nanoTime == deadline.nanoTime && infinite == deadline.infinite;
+  }
+
+  /**
+   * Computes the hash code for this deadline.
+   *
+   * @return the hash code of this deadline
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(nanoTime, infinite);
+  }
+
+  /**
+   * Returns a string representation of this deadline.
+   *
+   * @return a string representation of this deadline
+   */
+  @Override
+  public String toString() {
+    if (infinite) {
+      return "Deadline{none}";
+    }
+    return "Deadline{remaining=" + Duration.ofNanos(remaining(TimeUnit.NANOSECONDS)) + "}";
+  }
+}
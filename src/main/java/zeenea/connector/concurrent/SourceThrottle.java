@@ -0,0 +1,343 @@
+package zeenea.connector.concurrent;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import zeenea.connector.ConnectionConfiguration;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.exception.InvalidConfigurationException;
+
+/**
+ * Limits the calls made to each data source of a connection, so that parallel extraction does not
+ * overload one source while others are idle.
+ *
+ * <p>Every {@link DataSourceIdentifier} gets its own limits:
+ *
+ * <ul>
+ *   <li>at most {@code maxInFlight} calls run at the same time;
+ *   <li>calls start at a rate of at most {@code permitsPerSecond}, with bursts of up to {@code
+ *       burst} calls after an idle period (token bucket).
+ * </ul>
+ *
+ * <p>Calls to different data sources never wait for each other. A zero limit disables it.
+ *
+ * <pre>Example : <br>
+ * SourceThrottle throttle = SourceThrottle.fromConfiguration(configuration);
+ * try (SourceThrottle.Permit permit = throttle.acquire(designator.getDataSourceIdentifier())) {
+ *   client.fetch(designator);
+ * }
+ * </pre>
+ */
+public final class SourceThrottle {
+
+  /** Configuration key of the maximum number of concurrent calls per data source. */
+  public static final String MAX_IN_FLIGHT_KEY = "throttle.max_in_flight";
+
+  /** Configuration key of the maximum number of calls started per second per data source. */
+  public static final String PERMITS_PER_SECOND_KEY = "throttle.permits_per_second";
+
+  /** Configuration key of the maximum number of calls started at once after an idle period. */
+  public static final String BURST_KEY = "throttle.burst";
+
+  private static final SourceThrottle UNLIMITED = builder().build();
+
+  private static final Permit NO_PERMIT = () -> {};
+
+  /** Key of the calls not bound to a data source. */
+  private static final Object NO_DATA_SOURCE = new Object();
+
+  private final int maxInFlight;
+  private final double permitsPerSecond;
+  private final int burst;
+  private final ConcurrentMap<Object, Limiter> limiters = new ConcurrentHashMap<>();
+
+  private SourceThrottle(Builder builder) {
+    this.maxInFlight = builder.maxInFlight;
+    this.permitsPerSecond = builder.permitsPerSecond;
+    this.burst = builder.burst > 0 ? builder.burst : 1;
+  }
+
+  /**
+   * Gets the throttle that never waits.
+   *
+   * @return the unlimited throttle
+   */
+  public static @NotNull SourceThrottle unlimited() {
+    return UNLIMITED;
+  }
+
+  /**
+   * Creates a throttle from the {@value #MAX_IN_FLIGHT_KEY}, {@value #PERMITS_PER_SECOND_KEY} and
+   * {@value #BURST_KEY} keys of a connection configuration. Missing keys disable the related
+   * limit.
+   *
+   * @param configuration the configuration of the connection
+   * @return a new SourceThrottle instance
+   * @throws InvalidConfigurationException if a value is not a number or is negative
+   */
+  public static @NotNull SourceThrottle fromConfiguration(
+      @NotNull ConnectionConfiguration configuration) {
+    Objects.requireNonNull(configuration, "configuration");
+    return builder()
+        .maxInFlight(toInt(MAX_IN_FLIGHT_KEY, configuration.getLongOptional(MAX_IN_FLIGHT_KEY)))
+        .permitsPerSecond(
+            toInt(PERMITS_PER_SECOND_KEY, configuration.getLongOptional(PERMITS_PER_SECOND_KEY)))
+        .burst(toInt(BURST_KEY, configuration.getLongOptional(BURST_KEY)))
+        .build();
+  }
+
+  private static int toInt(String key, Optional<Long> value) {
+    long number = value.orElse(0L);
+    if (number < 0 || number > Integer.MAX_VALUE) {
+      throw new InvalidConfigurationException(key + " must be a positive integer");
+    }
+    return (int) number;
+  }
+
+  /**
+   * Creates a new builder for the SourceThrottle class.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the maximum number of concurrent calls per data source.
+   *
+   * @return the maximum number of calls in flight, 0 if unlimited
+   */
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  /**
+   * Gets the maximum number of calls started per second per data source.
+   *
+   * @return the rate limit, 0 if unlimited
+   */
+  public double getPermitsPerSecond() {
+    return permitsPerSecond;
+  }
+
+  /**
+   * Checks if this throttle never waits.
+   *
+   * @return true if both limits are disabled
+   */
+  public boolean isUnlimited() {
+    return maxInFlight == 0 && permitsPerSecond == 0;
+  }
+
+  /**
+   * Waits until a call to the given data source may start.
+   *
+   * @param dataSource the data source called, null for calls not bound to a data source
+   * @return the permit to close when the call ends
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public @NotNull Permit acquire(@Nullable DataSourceIdentifier dataSource)
+      throws InterruptedException {
+    try {
+      return acquire(dataSource, Deadline.none());
+    } catch (TimeoutException e) {
+      throw new IllegalStateException("Unexpected timeout without deadline", e);
+    }
+  }
+
+  /**
+   * Waits until a call to the given data source may start, or until the deadline passes.
+   *
+   * @param dataSource the data source called, null for calls not bound to a data source
+   * @param deadline the time after which the call should not start anymore
+   * @return the permit to close when the call ends
+   * @throws InterruptedException if the thread is interrupted while waiting
+   * @throws TimeoutException if the call could not start before the deadline
+   */
+  public @NotNull Permit acquire(
+      @Nullable DataSourceIdentifier dataSource, @NotNull Deadline deadline)
+      throws InterruptedException, TimeoutException {
+    Objects.requireNonNull(deadline, "deadline");
+    if (isUnlimited()) {
+      return NO_PERMIT;
+    }
+    Object key = dataSource != null ? dataSource : NO_DATA_SOURCE;
+    return limiters.computeIfAbsent(key, ignored -> new Limiter()).acquire(deadline);
+  }
+
+  /**
+   * Gets the number of calls to the given data source currently running.
+   *
+   * @param dataSource the data source
+   * @return the number of permits not yet closed
+   */
+  public int inFlight(@NotNull DataSourceIdentifier dataSource) {
+    Limiter limiter = limiters.get(dataSource);
+    return limiter == null || maxInFlight == 0
+        ? 0
+        : maxInFlight - limiter.concurrency.availablePermits();
+  }
+
+  /**
+   * Returns a string representation of this SourceThrottle.
+   *
+   * @return a string representation of this SourceThrottle
+   */
+  @Override
+  public String toString() {
+    return "SourceThrottle{"
+        + "maxInFlight="
+        + maxInFlight
+        + ", permitsPerSecond="
+        + permitsPerSecond
+        + ", burst="
+        + burst
+        + "}";
+  }
+
+  /** Allows a call to a data source, released when closed. */
+  @FunctionalInterface
+  public interface Permit extends AutoCloseable {
+
+    /** Releases the permit. Closing a permit more than once has no effect. */
+    @Override
+    void close();
+  }
+
+  /** The limits of one data source. */
+  private final class Limiter {
+
+    private final Semaphore concurrency = maxInFlight > 0 ? new Semaphore(maxInFlight, true) : null;
+    private final long intervalNanos =
+        permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+
+    /** The theoretical start time of the next call, before the burst allowance is applied. */
+    private long nextFreeNanos = System.nanoTime();
+
+    private Permit acquire(Deadline deadline) throws InterruptedException, TimeoutException {
+      long timeout = deadline.remaining(TimeUnit.NANOSECONDS);
+      if (concurrency != null && !concurrency.tryAcquire(timeout, TimeUnit.NANOSECONDS)) {
+        throw new TimeoutException("Too many calls in flight");
+      }
+      try {
+        long wait = reserve(deadline);
+        if (wait > 0) {
+          TimeUnit.NANOSECONDS.sleep(wait);
+        }
+      } catch (InterruptedException | TimeoutException | RuntimeException e) {
+        if (concurrency != null) {
+          concurrency.release();
+        }
+        throw e;
+      }
+      return concurrency == null ? NO_PERMIT : new ReleasingPermit(concurrency);
+    }
+
+    /**
+     * Reserves the next start slot of the token bucket.
+     *
+     * @return the time to wait before starting the call, in nanoseconds
+     */
+    private synchronized long reserve(Deadline deadline) throws TimeoutException {
+      if (intervalNanos == 0) {
+        return 0;
+      }
+      long now = System.nanoTime();
+      long earliest = nextFreeNanos - (burst - 1) * intervalNanos;
+      long wait = Math.max(0, earliest - now);
+      if (wait > deadline.remaining(TimeUnit.NANOSECONDS)) {
+        throw new TimeoutException("Rate limit exceeded");
+      }
+      nextFreeNanos = Math.max(nextFreeNanos, now) + intervalNanos;
+      return wait;
+    }
+  }
+
+  /** Permit releasing one slot of a semaphore once. */
+  private static final class ReleasingPermit implements Permit {
+
+    private final Semaphore semaphore;
+    private boolean released;
+
+    private ReleasingPermit(Semaphore semaphore) {
+      this.semaphore = semaphore;
+    }
+
+    @Override
+    public synchronized void close() {
+      if (!released) {
+        released = true;
+        semaphore.release();
+      }
+    }
+  }
+
+  /** Builder class for creating instances of SourceThrottle. */
+  public static class Builder {
+
+    private int maxInFlight;
+    private double permitsPerSecond;
+    private int burst = 1;
+
+    /** Private constructor to prevent direct instantiation. */
+    private Builder() {}
+
+    /**
+     * Sets the maximum number of concurrent calls per data source.
+     *
+     * @param maxInFlight the maximum number of calls in flight, 0 for no limit
+     * @return the builder instance
+     */
+    public Builder maxInFlight(int maxInFlight) {
+      if (maxInFlight < 0) {
+        throw new IllegalArgumentException("maxInFlight must be positive");
+      }
+      this.maxInFlight = maxInFlight;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of calls started per second per data source.
+     *
+     * @param permitsPerSecond the rate limit, 0 for no limit
+     * @return the builder instance
+     */
+    public Builder permitsPerSecond(double permitsPerSecond) {
+      if (!(permitsPerSecond >= 0)) {
+        throw new IllegalArgumentException("permitsPerSecond must be positive");
+      }
+      this.permitsPerSecond = permitsPerSecond;
+      return this;
+    }
+
+    /**
+     * Sets the number of calls that may start at once after an idle period. Defaults to 1.
+     *
+     * @param burst the burst size, 0 for the default
+     * @return the builder instance
+     */
+    public Builder burst(int burst) {
+      if (burst < 0) {
+        throw new IllegalArgumentException("burst must be positive");
+      }
+      this.burst = burst;
+      return this;
+    }
+
+    /**
+     * Builds and returns a SourceThrottle object.
+     *
+     * @return a new SourceThrottle instance
+     */
+    public SourceThrottle build() {
+      return new SourceThrottle(this);
+    }
+  }
+}
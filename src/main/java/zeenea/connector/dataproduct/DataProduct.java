@@ -6,6 +6,7 @@ import org.jetbrains.annotations.Nullable;
 import zeenea.connector.Item;
 import zeenea.connector.dataset.Dataset;
 import zeenea.connector.exception.ExceptionUtils;
+import zeenea.connector.fingerprint.FingerprintHasher;
 import zeenea.connector.process.DataProcess;
 
 /** Represents a data product which is a specialized type of Item. */
@@ -75,6 +76,49 @@ public final class DataProduct extends Item {
     return Optional.ofNullable(specification);
   }
 
+  /**
+   * Adds the ports, internal components and specification of this DataProduct to its fingerprint.
+   *
+   * @param hasher the hasher computing the fingerprint
+   */
+  @Override
+  protected void hashContent(@NotNull FingerprintHasher hasher) {
+    hasher
+        .putUnordered(inputPorts, DataProduct::hashInputPort)
+        .putUnordered(outputPorts, DataProduct::hashOutputPort)
+        .putUnordered(
+            internalComponents, (itemHasher, item) -> itemHasher.putFingerprint(item.fingerprint()))
+        .putString(specification);
+  }
+
+  private static void hashInputPort(FingerprintHasher hasher, InputPort port) {
+    hasher
+        .putIdentifier(port.getId())
+        .putString(port.getName())
+        .putString(port.getDescription().orElse(null))
+        .putUnordered(port.getInputs(), FingerprintHasher::putReference)
+        .putUnordered(port.getOutputs(), FingerprintHasher::putIdentifier)
+        .putStrings(port.getGlossaryRefs())
+        .putStrings(port.getCustomItemRefs());
+  }
+
+  @SuppressWarnings("removal")
+  private static void hashOutputPort(FingerprintHasher hasher, OutputPort port) {
+    hasher
+        .putIdentifier(port.getId())
+        .putString(port.getName())
+        .putString(port.getDescription().orElse(null))
+        .putEnum(port.getDataContract().getType())
+        .putString(port.getDataContract().getSource())
+        .putUnordered(
+            port.getDatasets(), (itemHasher, item) -> itemHasher.putFingerprint(item.fingerprint()))
+        .putProperties(port.getProperties())
+        .putUnordered(port.getContacts(), FingerprintHasher::putContact)
+        .putStrings(port.getGlossaryRefs())
+        .putStrings(port.getCustomItemRefs())
+        .putUnordered(port.getDatasetReferences(), FingerprintHasher::putReference);
+  }
+
   /**
    * Checks if this DataProduct is equal to another object.
    *
@@ -1,6 +1,10 @@
 package zeenea.connector.datasampling;
 
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
 import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.concurrent.CancellationToken;
+import zeenea.connector.concurrent.Deadline;
 
 /** Element to request a Data Sample */
 public class DataSampleRequest {
@@ -10,9 +14,35 @@ public class DataSampleRequest {
   /** The number of samples to collect */
   private final int sampleSize;
 
+  /** The deadline after which the sampling should stop */
+  @NotNull private final Deadline deadline;
+
+  /** The token telling the connector to stop the sampling */
+  @NotNull private final CancellationToken cancellationToken;
+
   public DataSampleRequest(ItemDesignator itemDesignator, int sampleSize) {
+    this(itemDesignator, sampleSize, Deadline.none(), CancellationToken.create());
+  }
+
+  /**
+   * Creates a request that should stop when the deadline passes or the token is cancelled. The
+   * token is cancelled when the deadline passes.
+   *
+   * @param itemDesignator the item designator to sample data from
+   * @param sampleSize the number of samples to collect
+   * @param deadline the deadline after which the sampling should stop
+   * @param cancellationToken the token telling the connector to stop the sampling
+   */
+  public DataSampleRequest(
+      ItemDesignator itemDesignator,
+      int sampleSize,
+      @NotNull Deadline deadline,
+      @NotNull CancellationToken cancellationToken) {
     this.itemDesignator = itemDesignator;
     this.sampleSize = sampleSize;
+    this.deadline = Objects.requireNonNull(deadline, "deadline");
+    this.cancellationToken =
+        Objects.requireNonNull(cancellationToken, "cancellationToken").cancelAt(deadline);
   }
 
   public ItemDesignator getItemDesignator() {
@@ -22,4 +52,31 @@ public class DataSampleRequest {
   public int getSampleSize() {
     return sampleSize;
   }
+
+  /**
+   * Gets the deadline after which the sampling should stop.
+   *
+   * @return the deadline, infinite if the request has no timeout
+   */
+  public @NotNull Deadline getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Gets the token telling the connector to stop the sampling.
+   *
+   * @return the cancellation token
+   */
+  public @NotNull CancellationToken getCancellationToken() {
+    return cancellationToken;
+  }
+
+  /**
+   * Checks if the sampling should stop, because the request was cancelled or its deadline passed.
+   *
+   * @return true if the sampling should stop
+   */
+  public boolean isCancelled() {
+    return cancellationToken.isCancelled() || deadline.isExpired();
+  }
 }
@@ -10,12 +10,15 @@ public class DataSampleResponse {
   /** The sampling result */
   @Nullable private final DataSample sample;
 
+  /** Whether the sampling stopped before the requested sample size was collected */
+  private final boolean partial;
+
   /**
    * Returns an empty DataSampleResponse with no sample. This can be used when sampling fails or is
    * not applicable, allowing the caller to handle the absence of a sample gracefully.
    */
   public DataSampleResponse() {
-    this.sample = null;
+    this(null, false);
   }
 
   /**
@@ -24,10 +27,32 @@ public class DataSampleResponse {
    * @param sample that can not be null
    */
   public DataSampleResponse(@NotNull DataSample sample) {
+    this(sample, false);
+  }
+
+  /**
+   * Returns a DataSampleResponse with the provided sample, possibly partial when the request was
+   * cancelled or its deadline passed before the requested sample size was collected.
+   *
+   * @param sample the sample collected so far, may be null
+   * @param partial true if the sampling stopped early
+   */
+  public DataSampleResponse(@Nullable DataSample sample, boolean partial) {
     this.sample = sample;
+    this.partial = partial;
   }
 
   public Optional<DataSample> getSample() {
     return Optional.ofNullable(sample);
   }
+
+  /**
+   * Checks if the sampling stopped before the requested sample size was collected, because the
+   * request was cancelled or its deadline passed.
+   *
+   * @return true if the sample is a partial result
+   */
+  public boolean isPartial() {
+    return partial;
+  }
 }
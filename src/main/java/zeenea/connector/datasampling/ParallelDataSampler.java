@@ -0,0 +1,203 @@
+package zeenea.connector.datasampling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.concurrent.ConnectorExecutors;
+import zeenea.connector.concurrent.SourceThrottle;
+
+/**
+ * Runs {@link DataSampleConnection#collectDataSample(DataSampleRequest)} concurrently for a list of
+ * requests.
+ *
+ * <p>At most {@code parallelism} requests are in flight at any time. A request that fails is
+ * logged and answered with an empty {@link DataSampleResponse}, so one unreadable dataset does not
+ * prevent the others from being sampled. A request that is cancelled, or whose deadline passed,
+ * before it starts or while it fails is answered with an empty partial response.
+ *
+ * <p>Each request acquires a permit of the {@link Builder#throttle(SourceThrottle) throttle} for
+ * the data source of its item before calling the connection. A request that cannot start before
+ * its deadline is answered with an empty partial response.
+ */
+public final class ParallelDataSampler {
+
+  private static final Logger log = LoggerFactory.getLogger(ParallelDataSampler.class);
+
+  /** Default number of requests sampled concurrently. */
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  /** The maximum number of requests sampled concurrently. */
+  private final int parallelism;
+
+  /** The executor running the sampling tasks, or null to create one per call. */
+  private final ExecutorService executor;
+
+  /** The throttle limiting the calls made to each data source. */
+  private final SourceThrottle throttle;
+
+  private ParallelDataSampler(Builder builder) {
+    this.parallelism = builder.parallelism;
+    this.executor = builder.executor;
+    this.throttle = builder.throttle;
+  }
+
+  /**
+   * Collects the data samples of the given requests.
+   *
+   * @param connection the connection performing the actual sampling
+   * @param requests the requests to sample
+   * @return the responses, in the order of the requests
+   */
+  public @NotNull List<DataSampleResponse> collect(
+      @NotNull DataSampleConnection connection, @NotNull List<DataSampleRequest> requests) {
+    Objects.requireNonNull(connection, "connection");
+    Objects.requireNonNull(requests, "requests");
+    ExecutorService workers =
+        executor != null
+            ? executor
+            : ConnectorExecutors.newIoExecutor("zeenea-sampling", parallelism);
+    try {
+      return collect(connection, requests, workers);
+    } finally {
+      if (executor == null) {
+        workers.shutdownNow();
+      }
+    }
+  }
+
+  private List<DataSampleResponse> collect(
+      DataSampleConnection connection, List<DataSampleRequest> requests, ExecutorService workers) {
+    ExecutorCompletionService<DataSampleResponse> completion =
+        new ExecutorCompletionService<>(workers);
+    List<Future<DataSampleResponse>> futures = new ArrayList<>(requests.size());
+    try {
+      for (int completed = 0; completed < requests.size(); completed++) {
+        while (futures.size() < requests.size() && futures.size() - completed < parallelism) {
+          DataSampleRequest request = requests.get(futures.size());
+          futures.add(completion.submit(() -> sample(connection, request)));
+        }
+        completion.take();
+      }
+      List<DataSampleResponse> responses = new ArrayList<>(futures.size());
+      for (Future<DataSampleResponse> future : futures) {
+        responses.add(future.get());
+      }
+      return responses;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      futures.forEach(future -> future.cancel(true));
+      throw new CompletionException(e);
+    } catch (ExecutionException e) {
+      futures.forEach(future -> future.cancel(true));
+      throw new CompletionException(e.getCause());
+    }
+  }
+
+  private DataSampleResponse sample(DataSampleConnection connection, DataSampleRequest request)
+      throws InterruptedException {
+    if (request.isCancelled()) {
+      return new DataSampleResponse(null, true);
+    }
+    ItemDesignator designator = request.getItemDesignator();
+    DataSourceIdentifier dataSource =
+        designator != null ? designator.getDataSourceIdentifier() : null;
+    try (SourceThrottle.Permit permit = throttle.acquire(dataSource, request.getDeadline())) {
+      DataSampleResponse response = connection.collectDataSample(request);
+      return response != null ? response : new DataSampleResponse(null, request.isCancelled());
+    } catch (TimeoutException e) {
+      log.debug("Data sample of {} not started before its deadline", designator, e);
+      return new DataSampleResponse(null, true);
+    } catch (RuntimeException e) {
+      if (request.isCancelled()) {
+        log.debug("Data sample of {} cancelled", designator, e);
+        return new DataSampleResponse(null, true);
+      }
+      log.warn("Failed to collect data sample of {}", designator, e);
+      return new DataSampleResponse();
+    }
+  }
+
+  /**
+   * Creates a new builder for the ParallelDataSampler class.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for creating instances of ParallelDataSampler. */
+  public static class Builder {
+
+    /** The maximum number of requests sampled concurrently. */
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    /** The executor running the sampling tasks. */
+    private ExecutorService executor;
+
+    /** The throttle limiting the calls made to each data source. */
+    private SourceThrottle throttle = SourceThrottle.unlimited();
+
+    /** Private constructor to prevent direct instantiation. */
+    private Builder() {}
+
+    /**
+     * Sets the maximum number of requests sampled concurrently.
+     *
+     * @param parallelism the maximum number of requests in flight, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder parallelism(int parallelism) {
+      if (parallelism < 1) {
+        throw new IllegalArgumentException("parallelism must be greater than 0");
+      }
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets the executor running the sampling tasks. The executor is not shut down by the sampler.
+     * When not set, an {@link ConnectorExecutors#newIoExecutor(String, int) I/O executor} is
+     * created for each call.
+     *
+     * @param executor the executor
+     * @return the builder instance
+     */
+    public Builder executor(@NotNull ExecutorService executor) {
+      this.executor = Objects.requireNonNull(executor, "executor");
+      return this;
+    }
+
+    /**
+     * Sets the throttle limiting the calls made to each data source. Defaults to {@link
+     * SourceThrottle#unlimited()}.
+     *
+     * @param throttle the throttle
+     * @return the builder instance
+     */
+    public Builder throttle(@NotNull SourceThrottle throttle) {
+      this.throttle = Objects.requireNonNull(throttle, "throttle");
+      return this;
+    }
+
+    /**
+     * Builds and returns a ParallelDataSampler object.
+     *
+     * @return a new ParallelDataSampler instance
+     */
+    public ParallelDataSampler build() {
+      return new ParallelDataSampler(this);
+    }
+  }
+}
@@ -11,6 +11,7 @@ import zeenea.connector.common.QueryReference;
 import zeenea.connector.common.powerquery.PowerQueryReference;
 import zeenea.connector.exception.ExceptionUtils;
 import zeenea.connector.field.Field;
+import zeenea.connector.fingerprint.FingerprintHasher;
 
 /** Represents a dataset which is a specialized type of Item. */
 public final class Dataset extends Item {
@@ -163,6 +164,53 @@ public final class Dataset extends Item {
     return nestedImport;
   }
 
+  /**
+   * Adds the fields, keys and lineage of this Dataset to its fingerprint.
+   *
+   * @param hasher the hasher computing the fingerprint
+   */
+  @Override
+  protected void hashContent(@NotNull FingerprintHasher hasher) {
+    hasher
+        .putUnordered(fields, FingerprintHasher::putField)
+        .putOrdered(primaryKeys, FingerprintHasher::putString)
+        .putOrdered(primaryKeyIdentifiers, FingerprintHasher::putIdentifier)
+        .putUnordered(foreignKeys, Dataset::hashForeignKey)
+        .putUnordered(sourceDatasets, FingerprintHasher::putReference)
+        .putUnordered(sourceQueries, FingerprintHasher::putQuery)
+        .putUnordered(sourcePowerQueries, Dataset::hashPowerQuery)
+        .putBoolean(nestedImport);
+  }
+
+  @SuppressWarnings("removal")
+  private static void hashForeignKey(FingerprintHasher hasher, ForeignKey foreignKey) {
+    hasher
+        .putString(foreignKey.getName())
+        .putString(foreignKey.getTargetDataset())
+        .putIdentifier(foreignKey.getTargetDatasetIdentifier())
+        .putOrdered(foreignKey.getSourceFields(), FingerprintHasher::putString)
+        .putOrdered(foreignKey.getSourceFieldIdentifiers(), FingerprintHasher::putIdentifier)
+        .putOrdered(foreignKey.getTargetFields(), FingerprintHasher::putString)
+        .putOrdered(foreignKey.getTargetFieldIdentifiers(), FingerprintHasher::putIdentifier);
+  }
+
+  private static void hashPowerQuery(FingerprintHasher hasher, PowerQueryReference powerQuery) {
+    hasher
+        .putString(powerQuery.getPowerQuery())
+        .putUnordered(
+            powerQuery.getDsns(),
+            (dsnHasher, dsn) ->
+                dsnHasher
+                    .putString(dsn.getName())
+                    .putEnum(dsn.getEngine())
+                    .putUnordered(
+                        dsn.getAttributes(),
+                        (attributeHasher, attribute) ->
+                            attributeHasher
+                                .putString(attribute.getName())
+                                .putString(attribute.getValue())));
+  }
+
   /**
    * Checks if this Dataset is equal to another object.
    *
@@ -0,0 +1,124 @@
+package zeenea.connector.fingerprint;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a 128-bit content fingerprint. Two items with the same content have the same
+ * fingerprint, whatever the order of their unordered collections, across JVM runs.
+ *
+ * @see zeenea.connector.Item#fingerprint()
+ * @see FingerprintHasher
+ */
+public final class Fingerprint {
+
+  /** Number of bytes of a fingerprint. */
+  public static final int BYTES = 16;
+
+  /** The most significant 64 bits of the fingerprint. */
+  private final long high;
+
+  /** The least significant 64 bits of the fingerprint. */
+  private final long low;
+
+  private Fingerprint(long high, long low) {
+    this.high = high;
+    this.low = low;
+  }
+
+  /**
+   * Creates a new Fingerprint instance from its two halves.
+   *
+   * @param high the most significant 64 bits
+   * @param low the least significant 64 bits
+   * @return a new Fingerprint instance
+   */
+  public static Fingerprint of(long high, long low) {
+    return new Fingerprint(high, low);
+  }
+
+  /**
+   * Parses a fingerprint from its hexadecimal representation.
+   *
+   * @param hex the 32 hexadecimal digits of the fingerprint
+   * @return the parsed Fingerprint
+   * @throws IllegalArgumentException if {@code hex} is not a valid fingerprint
+   */
+  public static Fingerprint fromHexString(@NotNull String hex) {
+    if (hex.length() != BYTES * 2) {
+      throw new IllegalArgumentException("Invalid fingerprint: " + hex);
+    }
+    try {
+      return new Fingerprint(
+          Long.parseUnsignedLong(hex.substring(0, 16), 16),
+          Long.parseUnsignedLong(hex.substring(16), 16));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid fingerprint: " + hex, e);
+    }
+  }
+
+  /**
+   * Gets the most significant 64 bits of the fingerprint.
+   *
+   * @return the high half
+   */
+  public long getHigh() {
+    return high;
+  }
+
+  /**
+   * Gets the least significant 64 bits of the fingerprint.
+   *
+   * @return the low half
+   */
+  public long getLow() {
+    return low;
+  }
+
+  /**
+   * Gets the hexadecimal representation of the fingerprint.
+   *
+   * @return 32 lowercase hexadecimal digits
+   */
+  public @NotNull String toHexString() {
+    return hex(high) + hex(low);
+  }
+
+  private static String hex(long value) {
+    String digits = Long.toHexString(value);
+    return "0".repeat(16 - digits.length()) + digits;
+  }
+
+  /**
+   * Checks if this Fingerprint is equal to another object.
+   *
+   * @param o the object to compare with
+   * @return true if this Fingerprint is equal to the specified object, otherwise false
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    Fingerprint that = (Fingerprint) o;
+    return high == that.high && low == that.low;
+  }
+
+  /**
+   * Computes the hash code for this Fingerprint.
+   *
+   * @return the hash code of this Fingerprint
+   */
+  @Override
+  public int hashCode() {
+    return (int) low;
+  }
+
+  /**
+   * Returns a string representation of this Fingerprint.
+   *
+   * @return a string representation of this Fingerprint
+   */
+  @Override
+  public String toString() {
+    return "Fingerprint{" + toHexString() + "}";
+  }
+}
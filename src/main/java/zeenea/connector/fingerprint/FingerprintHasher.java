@@ -0,0 +1,350 @@
+package zeenea.connector.fingerprint;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemReference;
+import zeenea.connector.common.QueryReference;
+import zeenea.connector.contact.Contact;
+import zeenea.connector.field.Field;
+import zeenea.connector.property.InstantPropertyValue;
+import zeenea.connector.property.LongTextPropertyValue;
+import zeenea.connector.property.NumberPropertyValue;
+import zeenea.connector.property.PropertyValue;
+import zeenea.connector.property.StringPropertyValue;
+import zeenea.connector.property.TagPropertyValue;
+import zeenea.connector.property.UrlPropertyValue;
+
+/**
+ * Accumulates the content of an object and computes its {@link Fingerprint}.
+ *
+ * <p>Values are written with their length or a type marker, so that distinct sequences of values
+ * never produce the same input, and null values are distinguished from empty ones. Unordered
+ * collections are hashed element by element and the element fingerprints are summed, which makes
+ * the result independent of the iteration order while still counting duplicates.
+ *
+ * <pre>Example : <br>
+ * Fingerprint fingerprint =
+ *     FingerprintHasher.create()
+ *         .putString(table.getName())
+ *         .putUnordered(table.getColumns(), (hasher, column) -&gt; hasher.putString(column))
+ *         .fingerprint();
+ * </pre>
+ */
+public final class FingerprintHasher {
+
+  private static final byte NULL = 0;
+  private static final byte PRESENT = 1;
+
+  private byte[] buffer = new byte[256];
+  private int size;
+
+  private FingerprintHasher() {}
+
+  /**
+   * Creates a new empty hasher.
+   *
+   * @return a new FingerprintHasher instance
+   */
+  public static FingerprintHasher create() {
+    return new FingerprintHasher();
+  }
+
+  /**
+   * Adds a string to the content.
+   *
+   * @param value the string, may be null
+   * @return the hasher instance
+   */
+  public FingerprintHasher putString(@Nullable String value) {
+    if (value == null) {
+      return putByte(NULL);
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    putByte(PRESENT);
+    putInt(bytes.length);
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, size, bytes.length);
+    size += bytes.length;
+    return this;
+  }
+
+  /**
+   * Adds a boolean to the content.
+   *
+   * @param value the boolean
+   * @return the hasher instance
+   */
+  public FingerprintHasher putBoolean(boolean value) {
+    return putByte(value ? (byte) 1 : (byte) 0);
+  }
+
+  /**
+   * Adds an int to the content.
+   *
+   * @param value the int
+   * @return the hasher instance
+   */
+  public FingerprintHasher putInt(int value) {
+    ensureCapacity(Integer.BYTES);
+    for (int i = 0; i < Integer.BYTES; i++) {
+      buffer[size++] = (byte) (value >>> (i * 8));
+    }
+    return this;
+  }
+
+  /**
+   * Adds a long to the content.
+   *
+   * @param value the long
+   * @return the hasher instance
+   */
+  public FingerprintHasher putLong(long value) {
+    ensureCapacity(Long.BYTES);
+    for (int i = 0; i < Long.BYTES; i++) {
+      buffer[size++] = (byte) (value >>> (i * 8));
+    }
+    return this;
+  }
+
+  /**
+   * Adds an enum constant to the content, by name.
+   *
+   * @param value the enum constant, may be null
+   * @return the hasher instance
+   */
+  public FingerprintHasher putEnum(@Nullable Enum<?> value) {
+    return putString(value == null ? null : value.name());
+  }
+
+  /**
+   * Adds a fingerprint, for example the one of a nested item, to the content.
+   *
+   * @param value the fingerprint, may be null
+   * @return the hasher instance
+   */
+  public FingerprintHasher putFingerprint(@Nullable Fingerprint value) {
+    if (value == null) {
+      return putByte(NULL);
+    }
+    return putByte(PRESENT).putLong(value.getHigh()).putLong(value.getLow());
+  }
+
+  /**
+   * Adds the elements of a collection to the content, in iteration order.
+   *
+   * @param values the elements, may be null
+   * @param hashFunction the function adding one element to the hasher
+   * @param <T> the type of the elements
+   * @return the hasher instance
+   */
+  public <T> FingerprintHasher putOrdered(
+      @Nullable Collection<? extends T> values,
+      @NotNull BiConsumer<FingerprintHasher, ? super T> hashFunction) {
+    if (values == null) {
+      return putByte(NULL);
+    }
+    putByte(PRESENT).putInt(values.size());
+    for (T value : values) {
+      hashFunction.accept(this, value);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the elements of a collection to the content, regardless of their iteration order.
+   *
+   * @param values the elements, may be null
+   * @param hashFunction the function adding one element to the hasher
+   * @param <T> the type of the elements
+   * @return the hasher instance
+   */
+  public <T> FingerprintHasher putUnordered(
+      @Nullable Collection<? extends T> values,
+      @NotNull BiConsumer<FingerprintHasher, ? super T> hashFunction) {
+    if (values == null) {
+      return putByte(NULL);
+    }
+    long high = 0;
+    long low = 0;
+    FingerprintHasher element = new FingerprintHasher();
+    for (T value : values) {
+      element.size = 0;
+      hashFunction.accept(element, value);
+      Fingerprint fingerprint = element.fingerprint();
+      high += fingerprint.getHigh();
+      low += fingerprint.getLow();
+    }
+    return putByte(PRESENT).putInt(values.size()).putLong(high).putLong(low);
+  }
+
+  /**
+   * Adds strings to the content, regardless of their iteration order.
+   *
+   * @param values the strings, may be null
+   * @return the hasher instance
+   */
+  public FingerprintHasher putStrings(@Nullable Collection<String> values) {
+    return putUnordered(values, FingerprintHasher::putString);
+  }
+
+  /**
+   * Adds properties to the content, regardless of their iteration order.
+   *
+   * @param properties the properties by code, may be null
+   * @return the hasher instance
+   */
+  public FingerprintHasher putProperties(@Nullable Map<String, PropertyValue> properties) {
+    return putUnordered(
+        properties == null ? null : properties.entrySet(),
+        (hasher, entry) -> hasher.putString(entry.getKey()).putPropertyValue(entry.getValue()));
+  }
+
+  /**
+   * Adds a property value to the content.
+   *
+   * @param value the property value, may be null
+   * @return the hasher instance
+   */
+  public FingerprintHasher putPropertyValue(@Nullable PropertyValue value) {
+    if (value == null) {
+      return putByte(NULL);
+    }
+    putString(value.getClass().getName());
+    if (value instanceof StringPropertyValue) {
+      return putString(((StringPropertyValue) value).getValue());
+    }
+    if (value instanceof LongTextPropertyValue) {
+      return putString(((LongTextPropertyValue) value).getValue());
+    }
+    if (value instanceof NumberPropertyValue) {
+      return putString(((NumberPropertyValue) value).getValue().toString());
+    }
+    if (value instanceof InstantPropertyValue) {
+      InstantPropertyValue instant = (InstantPropertyValue) value;
+      return putLong(instant.getValue().getEpochSecond()).putInt(instant.getValue().getNano());
+    }
+    if (value instanceof UrlPropertyValue) {
+      UrlPropertyValue url = (UrlPropertyValue) value;
+      return putString(url.getValue().toString()).putString(url.getLabel().orElse(null));
+    }
+    if (value instanceof TagPropertyValue) {
+      return putStrings(((TagPropertyValue) value).getValue());
+    }
+    return putString(value.toString());
+  }
+
+  /**
+   * Adds an item identifier to the content. The order of its identification properties matters,
+   * as it does for {@link ItemIdentifier#equals(Object)}.
+   *
+   * @param identifier the identifier, may be null
+   * @return the hasher instance
+   */
+  public FingerprintHasher putIdentifier(@Nullable ItemIdentifier identifier) {
+    return putOrdered(
+        identifier == null ? null : identifier.getIdentificationProperties(),
+        FingerprintHasher::putIdentificationProperty);
+  }
+
+  /**
+   * Adds a data source identifier to the content.
+   *
+   * @param identifier the identifier, may be null
+   * @return the hasher instance
+   */
+  public FingerprintHasher putDataSourceIdentifier(@Nullable DataSourceIdentifier identifier) {
+    return putOrdered(
+        identifier == null ? null : identifier.getIdentificationProperties(),
+        FingerprintHasher::putIdentificationProperty);
+  }
+
+  private void putIdentificationProperty(IdentificationProperty property) {
+    putString(property.getKey()).putString(property.getValue());
+  }
+
+  /**
+   * Adds an item reference to the content.
+   *
+   * @param reference the reference
+   * @return the hasher instance
+   */
+  public FingerprintHasher putReference(@NotNull ItemReference reference) {
+    return putIdentifier(reference.getItemIdentifier())
+        .putDataSourceIdentifier(reference.getDataSourceIdentifier().orElse(null));
+  }
+
+  /**
+   * Adds a query reference to the content.
+   *
+   * @param query the query reference
+   * @return the hasher instance
+   */
+  public FingerprintHasher putQuery(@NotNull QueryReference query) {
+    return putString(query.getSqlQuery())
+        .putEnum(query.getSqlDialect())
+        .putDataSourceIdentifier(query.getDataSourceIdentifier().orElse(null));
+  }
+
+  /**
+   * Adds a contact to the content.
+   *
+   * @param contact the contact
+   * @return the hasher instance
+   */
+  public FingerprintHasher putContact(@NotNull Contact contact) {
+    return putString(contact.getEmail())
+        .putString(contact.getName().orElse(null))
+        .putString(contact.getPhoneNumber().orElse(null))
+        .putString(contact.getRole());
+  }
+
+  /**
+   * Adds a field to the content.
+   *
+   * @param field the field
+   * @return the hasher instance
+   */
+  public FingerprintHasher putField(@NotNull Field field) {
+    return putIdentifier(field.getId())
+        .putString(field.getName())
+        .putEnum(field.getDataType())
+        .putString(field.getNativeType())
+        .putInt(field.getNativeIndex())
+        .putBoolean(field.isNullable())
+        .putBoolean(field.isMultivalued())
+        .putString(field.getDescription().orElse(null))
+        .putProperties(field.getProperties())
+        .putUnordered(field.getSourceField(), FingerprintHasher::putReference)
+        .putStrings(field.getGlossaryRefs())
+        .putStrings(field.getCustomItemRefs());
+  }
+
+  /**
+   * Computes the fingerprint of the content added so far.
+   *
+   * @return the fingerprint of the content
+   */
+  public @NotNull Fingerprint fingerprint() {
+    return Murmur3.hash128(buffer, size);
+  }
+
+  private FingerprintHasher putByte(byte value) {
+    ensureCapacity(1);
+    buffer[size++] = value;
+    return this;
+  }
+
+  private void ensureCapacity(int additional) {
+    if (size + additional > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package zeenea.connector.fingerprint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import zeenea.connector.ConnectionConfiguration;
+import zeenea.connector.Item;
+
+/**
+ * Remembers the {@link Item#fingerprint() fingerprints} of the items sent by the previous run of a
+ * connection, so that items whose content did not change can be dropped before being sent again.
+ *
+ * <p>The fingerprints of a connection are stored in the {@value #FOLDER} folder of the {@link
+ * ConnectionConfiguration#getScannerHomeFolder() scanner home folder}, in a file named after the
+ * connection code. Items are keyed by a fingerprint of their identifier and data source, so the
+ * file holds 32 bytes per item whatever the size of the identifiers.
+ *
+ * <p>Fingerprints recorded during a run only replace the stored ones on {@link #commit()}, which
+ * should be called once the items have been successfully delivered. Items that were not seen during
+ * the run are forgotten, so a removed item is sent again if it reappears.
+ *
+ * <pre>Example : <br>
+ * FingerprintStore store = FingerprintStore.of(configuration);
+ * try (Stream&lt;Item&gt; items = store.dropUnchanged(connection.synchronize())) {
+ *   items.forEach(scanner::publish);
+ * }
+ * store.commit();
+ * </pre>
+ */
+public final class FingerprintStore {
+
+  /** Name of the folder holding the fingerprints, relative to the scanner home folder. */
+  public static final String FOLDER = "item-fingerprints";
+
+  private static final int FORMAT_VERSION = 1;
+
+  @NotNull private final Path file;
+
+  /** The fingerprints of the previous run, by item key. */
+  @NotNull private final Map<Fingerprint, Fingerprint> previous;
+
+  /** The fingerprints recorded during this run, by item key. */
+  @NotNull private final Map<Fingerprint, Fingerprint> current = new ConcurrentHashMap<>();
+
+  FingerprintStore(@NotNull Path file) {
+    this.file = Objects.requireNonNull(file, "file");
+    this.previous = load(file);
+  }
+
+  /**
+   * Opens the fingerprint store of a connection, loading the fingerprints of its previous run.
+   *
+   * @param configuration the configuration of the connection
+   * @return a new FingerprintStore instance
+   */
+  public static FingerprintStore of(@NotNull ConnectionConfiguration configuration) {
+    String fileName =
+        configuration.getConnectionCode().replaceAll("[^A-Za-z0-9._-]", "_") + ".fingerprints";
+    return new FingerprintStore(
+        configuration.getScannerHomeFolder().resolve(FOLDER).resolve(fileName));
+  }
+
+  /**
+   * Gets the path of the file holding the fingerprints.
+   *
+   * @return the fingerprint file
+   */
+  public @NotNull Path getFile() {
+    return file;
+  }
+
+  /**
+   * Records the fingerprint of an item and checks if it matches the previous run.
+   *
+   * @param item the item about to be sent
+   * @return true if the item was sent by the previous run with the same content
+   */
+  public boolean isUnchanged(@NotNull Item item) {
+    Fingerprint key = key(item);
+    Fingerprint fingerprint = item.fingerprint();
+    current.put(key, fingerprint);
+    return fingerprint.equals(previous.get(key));
+  }
+
+  /**
+   * Drops the items whose content did not change since the previous run, recording the
+   * fingerprint of every item.
+   *
+   * @param items the items about to be sent
+   * @param <T> the type of the items
+   * @return the items that are new or changed
+   */
+  public @NotNull <T extends Item> Stream<T> dropUnchanged(@NotNull Stream<T> items) {
+    return items.filter(item -> !isUnchanged(item));
+  }
+
+  /**
+   * Gets the number of items recorded during this run.
+   *
+   * @return the number of recorded items
+   */
+  public int size() {
+    return current.size();
+  }
+
+  /**
+   * Replaces the stored fingerprints with the ones recorded during this run. The file is replaced
+   * atomically, so a crash never leaves a truncated store.
+   */
+  public void commit() {
+    Map<Fingerprint, Fingerprint> snapshot = new HashMap<>(current);
+    try {
+      Files.createDirectories(file.getParent());
+      Path temporary =
+          Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+      try (DataOutputStream output =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(snapshot.size());
+        for (Map.Entry<Fingerprint, Fingerprint> entry : snapshot.entrySet()) {
+          write(output, entry.getKey());
+          write(output, entry.getValue());
+        }
+      }
+      Files.move(
+          temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Removes the stored fingerprints, so that the next run sends every item. */
+  public void clear() {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Fingerprint key(Item item) {
+    return FingerprintHasher.create()
+        .putIdentifier(item.getId())
+        .putDataSourceIdentifier(item.getDataSourceIdentifier())
+        .fingerprint();
+  }
+
+  private static Map<Fingerprint, Fingerprint> load(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return Collections.emptyMap();
+    }
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (input.readInt() != FORMAT_VERSION) {
+        return Collections.emptyMap();
+      }
+      int size = input.readInt();
+      Map<Fingerprint, Fingerprint> fingerprints = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+      for (int i = 0; i < size; i++) {
+        fingerprints.put(read(input), read(input));
+      }
+      return fingerprints;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void write(DataOutputStream output, Fingerprint fingerprint) throws IOException {
+    output.writeLong(fingerprint.getHigh());
+    output.writeLong(fingerprint.getLow());
+  }
+
+  private static Fingerprint read(DataInputStream input) throws IOException {
+    return Fingerprint.of(input.readLong(), input.readLong());
+  }
+}
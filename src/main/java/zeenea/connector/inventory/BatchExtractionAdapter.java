@@ -0,0 +1,173 @@
+package zeenea.connector.inventory;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.NotNull;
+import zeenea.connector.Item;
+import zeenea.connector.common.ItemDesignator;
+
+/**
+ * Splits the item-at-a-time stream of an {@link ExtractionRequest} into batches handed to {@link
+ * BatchExtractionConnection#extractBatch(List)}.
+ *
+ * <p>A batch is closed when it holds {@link Builder#maxBatchSize(int) maxBatchSize} designators,
+ * or when its estimated cost reaches {@link Builder#maxBatchCost(long) maxBatchCost}. A single
+ * designator whose cost exceeds the maximum is extracted alone. Designators of different data
+ * sources are never mixed in the same batch.
+ *
+ * <pre>Example : <br>
+ * BatchExtractionAdapter.builder()
+ *     .maxBatchSize(500)
+ *     .maxBatchCost(20_000)
+ *     .costEstimator(designator -&gt; columnCount(designator))
+ *     .build();
+ * </pre>
+ */
+public final class BatchExtractionAdapter {
+
+  /** Default maximum number of designators per batch. */
+  public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+  private final int maxBatchSize;
+  private final long maxBatchCost;
+  @NotNull private final ToLongFunction<ItemDesignator> costEstimator;
+
+  /**
+   * Constructs a BatchExtractionAdapter instance using the provided builder.
+   *
+   * @param builder the builder used to create the BatchExtractionAdapter instance
+   */
+  private BatchExtractionAdapter(Builder builder) {
+    if (builder.maxBatchSize < 1) {
+      throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+    }
+    if (builder.maxBatchCost < 1) {
+      throw new IllegalArgumentException("maxBatchCost must be greater than 0");
+    }
+    this.maxBatchSize = builder.maxBatchSize;
+    this.maxBatchCost = builder.maxBatchCost;
+    this.costEstimator = Objects.requireNonNull(builder.costEstimator, "costEstimator");
+  }
+
+  /**
+   * Creates a new builder for the BatchExtractionAdapter class.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the maximum number of designators per batch.
+   *
+   * @return the maximum batch size
+   */
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /**
+   * Gets the maximum estimated cost of a batch.
+   *
+   * @return the maximum batch cost
+   */
+  public long getMaxBatchCost() {
+    return maxBatchCost;
+  }
+
+  /**
+   * Cuts a stream of designators into batches. The source stream is consumed lazily and closed
+   * with the returned stream.
+   *
+   * @param designators the designators to group
+   * @return a Stream of batches
+   */
+  public @NotNull Stream<List<ItemDesignator>> batches(
+      @NotNull Stream<ItemDesignator> designators) {
+    Iterator<List<ItemDesignator>> batches =
+        new DesignatorBatcher(
+            designators.iterator(),
+            ItemDesignator::getDataSourceIdentifier,
+            maxBatchSize,
+            maxBatchCost,
+            costEstimator);
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(batches, Spliterator.NONNULL | Spliterator.ORDERED),
+            false)
+        .onClose(designators::close);
+  }
+
+  /**
+   * Extracts the requested items by calling {@link BatchExtractionConnection#extractBatch(List)}
+   * once per batch. Batches are extracted lazily, as the response stream is consumed, and no
+   * batch is started once the request is cancelled.
+   *
+   * @param connection the connection performing the actual extraction
+   * @param request the request holding the items to extract
+   * @return a response whose stream concatenates the items extracted by every batch
+   */
+  public @NotNull ExtractionResponse extract(
+      @NotNull BatchExtractionConnection connection, @NotNull ExtractionRequest request) {
+    Objects.requireNonNull(connection, "connection");
+    Stream<Item> items = batches(request.getItemsToExtract()).flatMap(connection::extractBatch);
+    return ExtractionResponse.of(request, items);
+  }
+
+  /** Builder class for creating instances of BatchExtractionAdapter. */
+  public static class Builder {
+
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private long maxBatchCost = Long.MAX_VALUE;
+    private ToLongFunction<ItemDesignator> costEstimator = designator -> 1L;
+
+    /**
+     * Sets the maximum number of designators per batch.
+     *
+     * @param maxBatchSize the maximum batch size, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder maxBatchSize(int maxBatchSize) {
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum estimated cost of a batch. Unbounded by default.
+     *
+     * @param maxBatchCost the maximum batch cost, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder maxBatchCost(long maxBatchCost) {
+      this.maxBatchCost = maxBatchCost;
+      return this;
+    }
+
+    /**
+     * Sets the function estimating the cost of extracting a designator, for example its expected
+     * number of fields. Each designator costs 1 by default.
+     *
+     * @param costEstimator the cost estimator
+     * @return the builder instance
+     */
+    public Builder costEstimator(@NotNull ToLongFunction<ItemDesignator> costEstimator) {
+      this.costEstimator = costEstimator;
+      return this;
+    }
+
+    /**
+     * Builds and returns the BatchExtractionAdapter instance.
+     *
+     * @return the created BatchExtractionAdapter instance
+     */
+    public BatchExtractionAdapter build() {
+      return new BatchExtractionAdapter(this);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package zeenea.connector.inventory;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import zeenea.connector.Item;
+import zeenea.connector.common.ItemDesignator;
+
+/**
+ * Interface representing an inventory connection able to extract several items in one call to the
+ * source, such as a single JDBC metadata query or a single REST catalog request.
+ *
+ * <p>The default {@link #extractItems(ExtractionRequest)} cuts the requested items into batches
+ * with the adapter returned by {@link #getBatchExtractionAdapter()} and calls {@link
+ * #extractBatch(List)} once per batch.
+ *
+ * @see BatchExtractionAdapter
+ */
+public interface BatchExtractionConnection extends InventoryConnection {
+
+  /**
+   * Extracts a batch of items.
+   *
+   * <p>All designators of a batch share the same data source identifier. Designators that cannot be
+   * found in the source are expected to be skipped.
+   *
+   * @param batch the designators of the items to extract, never empty
+   * @return a Stream of Item objects representing the extracted items
+   */
+  @NotNull
+  Stream<Item> extractBatch(@NotNull List<ItemDesignator> batch);
+
+  /**
+   * Gets the adapter used to cut the requested items into batches. Override to tune the batch size
+   * or to provide a cost estimator.
+   *
+   * @return the batch extraction adapter
+   */
+  default @NotNull BatchExtractionAdapter getBatchExtractionAdapter() {
+    return BatchExtractionAdapter.builder().build();
+  }
+
+  /**
+   * Extracts items by batches, as defined by {@link #getBatchExtractionAdapter()}.
+   *
+   * @param request a Request Wrapper holding a Stream of objects containing an ItemIdentifier and
+   *     DatasSourceIdentifier representing the items to extract
+   * @return a Response Wrapper containing Stream of Item objects representing the extracted items
+   */
+  @Override
+  default ExtractionResponse extractItems(ExtractionRequest request) {
+    return getBatchExtractionAdapter().extract(this, request);
+  }
+}
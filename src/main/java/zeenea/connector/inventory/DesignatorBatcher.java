@@ -0,0 +1,95 @@
+package zeenea.connector.inventory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import zeenea.connector.common.ItemDesignator;
+
+/**
+ * Cuts a sequence of designators into batches bounded by a number of designators and by an
+ * estimated cost. Designators of different partitions are never put in the same batch.
+ *
+ * <p>Each partition keeps one open batch. A batch is emitted as soon as it is full; the remaining
+ * open batches are emitted, in partition encounter order, once the source is exhausted.
+ */
+final class DesignatorBatcher implements Iterator<List<ItemDesignator>> {
+
+  private final Iterator<ItemDesignator> designators;
+  private final Function<ItemDesignator, ?> partitioner;
+  private final int maxSize;
+  private final long maxCost;
+  private final ToLongFunction<ItemDesignator> costEstimator;
+  private final Map<Object, OpenBatch> openBatches = new LinkedHashMap<>();
+  private final Deque<List<ItemDesignator>> readyBatches = new ArrayDeque<>();
+
+  DesignatorBatcher(
+      Iterator<ItemDesignator> designators,
+      Function<ItemDesignator, ?> partitioner,
+      int maxSize,
+      long maxCost,
+      ToLongFunction<ItemDesignator> costEstimator) {
+    this.designators = designators;
+    this.partitioner = partitioner;
+    this.maxSize = maxSize;
+    this.maxCost = maxCost;
+    this.costEstimator = costEstimator;
+  }
+
+  DesignatorBatcher(
+      Iterator<ItemDesignator> designators, Function<ItemDesignator, ?> partitioner, int maxSize) {
+    this(designators, partitioner, maxSize, Long.MAX_VALUE, designator -> 0L);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (readyBatches.isEmpty() && designators.hasNext()) {
+      add(designators.next());
+    }
+    if (readyBatches.isEmpty() && !openBatches.isEmpty()) {
+      openBatches.values().forEach(batch -> readyBatches.add(batch.designators));
+      openBatches.clear();
+    }
+    return !readyBatches.isEmpty();
+  }
+
+  @Override
+  public List<ItemDesignator> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return readyBatches.poll();
+  }
+
+  private void add(ItemDesignator designator) {
+    Object partition = partitioner.apply(designator);
+    long cost = Math.max(0L, costEstimator.applyAsLong(designator));
+    OpenBatch batch = openBatches.get(partition);
+    if (batch != null && batch.cost + cost > maxCost) {
+      readyBatches.add(batch.designators);
+      batch = null;
+    }
+    if (batch == null) {
+      batch = new OpenBatch();
+      openBatches.put(partition, batch);
+    }
+    batch.designators.add(designator);
+    batch.cost += cost;
+    if (batch.designators.size() >= maxSize || batch.cost >= maxCost) {
+      readyBatches.add(batch.designators);
+      openBatches.remove(partition);
+    }
+  }
+
+  /** Batch still accepting designators, with its accumulated cost. */
+  private static final class OpenBatch {
+    private final List<ItemDesignator> designators = new ArrayList<>();
+    private long cost;
+  }
+}
@@ -0,0 +1,235 @@
+package zeenea.connector.inventory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zeenea.connector.Item;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.fingerprint.Fingerprint;
+import zeenea.connector.fingerprint.FingerprintHasher;
+
+/**
+ * File tier of {@link ExtractionCache}: one file per item, named after a fingerprint of its
+ * designator, holding the storage time followed by the encoded item. An in-memory index of the
+ * file sizes, in access order, evicts the least recently used files when the folder exceeds its
+ * maximum size.
+ */
+final class DiskItemCache {
+
+  private static final Logger log = LoggerFactory.getLogger(DiskItemCache.class);
+
+  private static final String EXTENSION = ".item";
+  private static final String TEMPORARY_EXTENSION = ".tmp";
+
+  private final Path folder;
+  private final ItemCodec codec;
+  private final long maxBytes;
+  private final Duration ttl;
+  private final Clock clock;
+  private final LinkedHashMap<Fingerprint, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+
+  DiskItemCache(Path folder, ItemCodec codec, long maxBytes, Duration ttl, Clock clock) {
+    this.folder = folder;
+    this.codec = codec;
+    this.maxBytes = maxBytes;
+    this.ttl = ttl;
+    this.clock = clock;
+    loadIndex();
+  }
+
+  /**
+   * Reads the item cached for a designator.
+   *
+   * @param designator the designator of the item
+   * @return the cached item, or null if it is missing, expired or unreadable
+   */
+  synchronized Item get(ItemDesignator designator) {
+    Fingerprint key = key(designator);
+    if (!sizes.containsKey(key)) {
+      return null;
+    }
+    Path file = file(key);
+    try {
+      ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+      long storedAt = content.getLong();
+      if (clock.millis() - storedAt >= ttl.toMillis()) {
+        remove(key);
+        return null;
+      }
+      byte[] encoded = Arrays.copyOfRange(content.array(), Long.BYTES, content.capacity());
+      return codec.decode(encoded);
+    } catch (IOException | RuntimeException e) {
+      remove(key);
+      return null;
+    }
+  }
+
+  /**
+   * Writes an item, evicting the least recently used items if the folder grows too large. A failed
+   * write is logged and leaves the item out of the file tier.
+   *
+   * @param designator the designator of the item
+   * @param item the item to cache
+   * @return the number of evicted items
+   */
+  synchronized int put(ItemDesignator designator, Item item) {
+    Fingerprint key = key(designator);
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (DataOutputStream output = new DataOutputStream(bytes)) {
+        output.writeLong(clock.millis());
+        output.write(codec.encode(item));
+      }
+      if (bytes.size() > maxBytes) {
+        // The previous version of the item must not be served instead of the rejected one
+        remove(key);
+        return 0;
+      }
+      Files.createDirectories(folder);
+      Path temporary = Files.createTempFile(folder, key.toHexString(), TEMPORARY_EXTENSION);
+      try {
+        Files.write(temporary, bytes.toByteArray());
+        Files.move(
+            temporary,
+            file(key),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException | RuntimeException e) {
+        deleteQuietly(temporary);
+        throw e;
+      }
+      Long previous = sizes.put(key, (long) bytes.size());
+      totalBytes += bytes.size() - (previous == null ? 0 : previous);
+    } catch (IOException | RuntimeException e) {
+      // The item stays in the heap tier, only the file tier misses it
+      log.warn("Failed to cache item {} on disk", designator.getItemIdentifier(), e);
+      Long previous = sizes.remove(key);
+      if (previous != null) {
+        totalBytes -= previous;
+      }
+      deleteQuietly(file(key));
+      return 0;
+    }
+    int evicted = 0;
+    Iterator<Map.Entry<Fingerprint, Long>> eldest = sizes.entrySet().iterator();
+    while (totalBytes > maxBytes && eldest.hasNext()) {
+      Map.Entry<Fingerprint, Long> entry = eldest.next();
+      if (!entry.getKey().equals(key)) {
+        totalBytes -= entry.getValue();
+        eldest.remove();
+        // A file left behind is indexed again, and evicted, on the next load
+        deleteQuietly(file(entry.getKey()));
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * Removes the item cached for a designator.
+   *
+   * @param designator the designator of the item
+   */
+  synchronized void invalidate(ItemDesignator designator) {
+    remove(key(designator));
+  }
+
+  /** Removes every cached item. */
+  synchronized void invalidateAll() {
+    List<Fingerprint> keys = List.copyOf(sizes.keySet());
+    keys.forEach(this::remove);
+  }
+
+  private void remove(Fingerprint key) {
+    Long size = sizes.remove(key);
+    if (size != null) {
+      totalBytes -= size;
+    }
+    delete(key);
+  }
+
+  private void delete(Fingerprint key) {
+    try {
+      Files.deleteIfExists(file(key));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void loadIndex() {
+    if (!Files.isDirectory(folder)) {
+      return;
+    }
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(folder)) {
+      files = listing.collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    // Left behind by writes interrupted before their move
+    files.stream()
+        .filter(file -> file.getFileName().toString().endsWith(TEMPORARY_EXTENSION))
+        .forEach(DiskItemCache::deleteQuietly);
+    files =
+        files.stream()
+            .filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+            .sorted(Comparator.comparing(DiskItemCache::lastModified))
+            .collect(Collectors.toList());
+    for (Path file : files) {
+      String name = file.getFileName().toString();
+      try {
+        long size = Files.size(file);
+        String hex = name.substring(0, name.length() - EXTENSION.length());
+        sizes.put(Fingerprint.fromHexString(hex), size);
+        totalBytes += size;
+      } catch (IOException | IllegalArgumentException e) {
+        // Not a cache entry, or deleted concurrently: ignore it
+      }
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.debug("Failed to delete cache file {}", file, e);
+    }
+  }
+
+  private static long lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file).toMillis();
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private Path file(Fingerprint key) {
+    return folder.resolve(key.toHexString() + EXTENSION);
+  }
+
+  private static Fingerprint key(ItemDesignator designator) {
+    return FingerprintHasher.create()
+        .putIdentifier(designator.getItemIdentifier())
+        .putDataSourceIdentifier(designator.getDataSourceIdentifier())
+        .fingerprint();
+  }
+}
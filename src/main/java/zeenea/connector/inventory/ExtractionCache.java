@@ -0,0 +1,424 @@
+package zeenea.connector.inventory;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import zeenea.connector.ConnectionConfiguration;
+import zeenea.connector.Item;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.property.PropertyDefinition;
+
+/**
+ * Decorates an {@link InventoryConnection} with a cache of extracted items, keyed by {@link
+ * ItemDesignator}, so that items extracted again within their time to live are not requested from
+ * the source.
+ *
+ * <p>Items are kept in an in-heap tier holding at most {@link Builder#maxEntries(int) maxEntries}
+ * items, and optionally in a file tier holding at most {@link Builder#maxDiskBytes(long)
+ * maxDiskBytes} bytes. Both tiers evict the least recently used items first. The file tier needs an
+ * {@link ItemCodec} and survives restarts of the scanner.
+ *
+ * <p>Inventories are never cached. Extracted items are matched to their designator by identifier,
+ * and items that match no requested designator are returned but not cached.
+ *
+ * <pre>Example : <br>
+ * ExtractionCache cache =
+ *     ExtractionCache.builder()
+ *         .connection(connection)
+ *         .ttl(Duration.ofHours(1))
+ *         .disk(configuration, codec)
+ *         .build();
+ * </pre>
+ */
+public final class ExtractionCache implements InventoryConnection {
+
+  /** Name of the folder holding the file tier, relative to the scanner home folder. */
+  public static final String FOLDER = "extraction-cache";
+
+  /** Default maximum number of items of the in-heap tier. */
+  public static final int DEFAULT_MAX_ENTRIES = 1_000;
+
+  /** Default maximum size of the file tier, in bytes. */
+  public static final long DEFAULT_MAX_DISK_BYTES = 256L * 1024 * 1024;
+
+  /** Default time to live of cached items. */
+  public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+  @NotNull private final InventoryConnection connection;
+  @NotNull private final Duration ttl;
+  @NotNull private final Clock clock;
+  @NotNull private final Map<ItemDesignator, CachedItem> entries;
+  @Nullable private final DiskItemCache disk;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private ExtractionCache(Builder builder) {
+    this.connection = Objects.requireNonNull(builder.connection, "connection");
+    this.ttl = builder.ttl;
+    this.clock = builder.clock;
+    int maxEntries = builder.maxEntries;
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<ItemDesignator, CachedItem> eldest) {
+            if (size() > maxEntries) {
+              evictions.increment();
+              return true;
+            }
+            return false;
+          }
+        };
+    this.disk =
+        builder.diskFolder == null
+            ? null
+            : new DiskItemCache(
+                builder.diskFolder, builder.codec, builder.maxDiskBytes, ttl, clock);
+  }
+
+  /**
+   * Creates a new builder for the ExtractionCache class.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Retrieves the inventory of the decorated connection, which is never cached.
+   *
+   * @return a Stream of ItemInventory objects representing the inventory
+   */
+  @Override
+  public Stream<ItemInventory> inventory() {
+    return connection.inventory();
+  }
+
+  /**
+   * Extracts the requested items, serving cached items and requesting only the missing ones from
+   * the decorated connection. The designators of the request are read before returning.
+   *
+   * @param request the request holding the items to extract
+   * @return the response holding the cached and the extracted items
+   */
+  @Override
+  public ExtractionResponse extractItems(ExtractionRequest request) {
+    List<Item> cached = new ArrayList<>();
+    Map<ItemIdentifier, List<ItemDesignator>> missing = new HashMap<>();
+    List<ItemDesignator> toExtract = new ArrayList<>();
+    try (Stream<ItemDesignator> designators = request.getItemsToExtract()) {
+      designators.forEach(
+          designator -> {
+            Item item = get(designator);
+            if (item != null) {
+              hits.increment();
+              cached.add(item);
+            } else {
+              misses.increment();
+              toExtract.add(designator);
+              missing
+                  .computeIfAbsent(designator.getItemIdentifier(), id -> new ArrayList<>(1))
+                  .add(designator);
+            }
+          });
+    }
+    if (toExtract.isEmpty()) {
+      return ExtractionResponse.of(request, cached.stream());
+    }
+    Stream<Item> extracted =
+        Stream.of(toExtract)
+            .flatMap(
+                designators ->
+                    connection
+                        .extractItems(request.withItemsToExtract(designators.stream()))
+                        .getExtractedItems())
+            .peek(item -> put(missing, item));
+    return ExtractionResponse.of(request, Stream.concat(cached.stream(), extracted));
+  }
+
+  /**
+   * Removes the cached item of a designator from both tiers.
+   *
+   * @param designator the designator of the item
+   */
+  public void invalidate(@NotNull ItemDesignator designator) {
+    synchronized (entries) {
+      entries.remove(designator);
+    }
+    if (disk != null) {
+      disk.invalidate(designator);
+    }
+  }
+
+  /** Removes every cached item from both tiers. */
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+    }
+    if (disk != null) {
+      disk.invalidateAll();
+    }
+  }
+
+  /**
+   * Gets the number of requested items served from the cache.
+   *
+   * @return the number of cache hits
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Gets the number of requested items extracted by the decorated connection.
+   *
+   * @return the number of cache misses
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Gets the number of items evicted to respect the maximum size of a tier.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * Gets the data sources of the decorated connection.
+   *
+   * @return the list of data sources
+   */
+  @Override
+  public List<DataSource> getDataSources() {
+    return connection.getDataSources();
+  }
+
+  /**
+   * Gets the properties of the decorated connection.
+   *
+   * @return the set of property definitions
+   */
+  @Override
+  public Set<PropertyDefinition> getProperties() {
+    return connection.getProperties();
+  }
+
+  /**
+   * Closes the decorated connection. Items cached on disk are kept for the next connection.
+   *
+   * @throws Exception if the decorated connection cannot be closed
+   */
+  @Override
+  public void close() throws Exception {
+    connection.close();
+  }
+
+  private Item get(ItemDesignator designator) {
+    long now = clock.millis();
+    synchronized (entries) {
+      CachedItem entry = entries.get(designator);
+      if (entry != null) {
+        if (entry.expiresAt > now) {
+          return entry.item;
+        }
+        entries.remove(designator);
+      }
+    }
+    if (disk == null) {
+      return null;
+    }
+    Item item = disk.get(designator);
+    if (item != null) {
+      putInHeap(designator, item, now);
+    }
+    return item;
+  }
+
+  private void put(Map<ItemIdentifier, List<ItemDesignator>> missing, Item item) {
+    ItemDesignator designator = designatorOf(missing.get(item.getId()), item);
+    if (designator == null) {
+      return;
+    }
+    putInHeap(designator, item, clock.millis());
+    if (disk != null) {
+      evictions.add(disk.put(designator, item));
+    }
+  }
+
+  private void putInHeap(ItemDesignator designator, Item item, long now) {
+    synchronized (entries) {
+      entries.put(designator, new CachedItem(item, now + ttl.toMillis()));
+    }
+  }
+
+  private static ItemDesignator designatorOf(List<ItemDesignator> candidates, Item item) {
+    if (candidates == null) {
+      return null;
+    }
+    if (candidates.size() == 1) {
+      return candidates.get(0);
+    }
+    return candidates.stream()
+        .filter(
+            candidate -> candidate.getDataSourceIdentifier().equals(item.getDataSourceIdentifier()))
+        .findFirst()
+        .orElse(null);
+  }
+
+  /** Item of the in-heap tier, with its expiration time. */
+  private static final class CachedItem {
+    private final Item item;
+    private final long expiresAt;
+
+    private CachedItem(Item item, long expiresAt) {
+      this.item = item;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /** Builder class for creating instances of ExtractionCache. */
+  public static class Builder {
+
+    /** The decorated connection. */
+    private InventoryConnection connection;
+
+    /** The maximum number of items of the in-heap tier. */
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    /** The time to live of cached items. */
+    private Duration ttl = DEFAULT_TTL;
+
+    /** The folder of the file tier, or null to keep items in heap only. */
+    private Path diskFolder;
+
+    /** The codec of the file tier. */
+    private ItemCodec codec;
+
+    /** The maximum size of the file tier, in bytes. */
+    private long maxDiskBytes = DEFAULT_MAX_DISK_BYTES;
+
+    /** The clock used to expire items. */
+    private Clock clock = Clock.systemUTC();
+
+    /** Private constructor to prevent direct instantiation. */
+    private Builder() {}
+
+    /**
+     * Sets the decorated connection.
+     *
+     * @param connection the connection extracting the items missing from the cache
+     * @return the builder instance
+     */
+    public Builder connection(@NotNull InventoryConnection connection) {
+      this.connection = Objects.requireNonNull(connection, "connection");
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of items of the in-heap tier.
+     *
+     * @param maxEntries the maximum number of items, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder maxEntries(int maxEntries) {
+      if (maxEntries < 1) {
+        throw new IllegalArgumentException("maxEntries must be greater than 0");
+      }
+      this.maxEntries = maxEntries;
+      return this;
+    }
+
+    /**
+     * Sets the time to live of cached items, in both tiers.
+     *
+     * @param ttl the time to live, must be positive
+     * @return the builder instance
+     */
+    public Builder ttl(@NotNull Duration ttl) {
+      if (ttl.isNegative() || ttl.isZero()) {
+        throw new IllegalArgumentException("ttl must be positive");
+      }
+      this.ttl = ttl;
+      return this;
+    }
+
+    /**
+     * Enables the file tier in the given folder.
+     *
+     * @param folder the folder holding the cached items
+     * @param codec the codec converting items to and from bytes
+     * @return the builder instance
+     */
+    public Builder disk(@NotNull Path folder, @NotNull ItemCodec codec) {
+      this.diskFolder = Objects.requireNonNull(folder, "folder");
+      this.codec = Objects.requireNonNull(codec, "codec");
+      return this;
+    }
+
+    /**
+     * Enables the file tier in the {@value #FOLDER} folder of the scanner home folder, in a
+     * sub-folder named after the connection code.
+     *
+     * @param configuration the configuration of the connection
+     * @param codec the codec converting items to and from bytes
+     * @return the builder instance
+     */
+    public Builder disk(@NotNull ConnectionConfiguration configuration, @NotNull ItemCodec codec) {
+      String folderName = configuration.getConnectionCode().replaceAll("[^A-Za-z0-9._-]", "_");
+      return disk(configuration.getScannerHomeFolder().resolve(FOLDER).resolve(folderName), codec);
+    }
+
+    /**
+     * Sets the maximum size of the file tier.
+     *
+     * @param maxDiskBytes the maximum size in bytes, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder maxDiskBytes(long maxDiskBytes) {
+      if (maxDiskBytes < 1) {
+        throw new IllegalArgumentException("maxDiskBytes must be greater than 0");
+      }
+      this.maxDiskBytes = maxDiskBytes;
+      return this;
+    }
+
+    /**
+     * Sets the clock used to expire items.
+     *
+     * @param clock the clock
+     * @return the builder instance
+     */
+    public Builder clock(@NotNull Clock clock) {
+      this.clock = Objects.requireNonNull(clock, "clock");
+      return this;
+    }
+
+    /**
+     * Builds and returns an ExtractionCache object.
+     *
+     * @return a new ExtractionCache instance
+     */
+    public ExtractionCache build() {
+      return new ExtractionCache(this);
+    }
+  }
+}
@@ -1,8 +1,11 @@
 package zeenea.connector.inventory;
 
+import java.util.Objects;
 import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
 import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.concurrent.CancellationToken;
+import zeenea.connector.concurrent.Deadline;
 
 /** A request to extract items, from the connector */
 public class ExtractionRequest {
@@ -13,11 +16,75 @@ public class ExtractionRequest {
    */
   @NotNull private final Stream<ItemDesignator> itemsToExtract;
 
+  /** The deadline after which the extraction should stop */
+  @NotNull private final Deadline deadline;
+
+  /** The token telling the connector to stop the extraction */
+  @NotNull private final CancellationToken cancellationToken;
+
   public ExtractionRequest(@NotNull Stream<ItemDesignator> itemsToExtract) {
+    this(itemsToExtract, Deadline.none(), CancellationToken.create());
+  }
+
+  /**
+   * Creates a request that should stop when the deadline passes or the token is cancelled. The
+   * token is cancelled when the deadline passes.
+   *
+   * @param itemsToExtract the designators of the items to extract
+   * @param deadline the deadline after which the extraction should stop
+   * @param cancellationToken the token telling the connector to stop the extraction
+   */
+  public ExtractionRequest(
+      @NotNull Stream<ItemDesignator> itemsToExtract,
+      @NotNull Deadline deadline,
+      @NotNull CancellationToken cancellationToken) {
     this.itemsToExtract = itemsToExtract;
+    this.deadline = Objects.requireNonNull(deadline, "deadline");
+    this.cancellationToken =
+        Objects.requireNonNull(cancellationToken, "cancellationToken").cancelAt(deadline);
   }
 
   public @NotNull Stream<ItemDesignator> getItemsToExtract() {
     return itemsToExtract;
   }
+
+  /**
+   * Gets the deadline after which the extraction should stop.
+   *
+   * @return the deadline, infinite if the request has no timeout
+   */
+  public @NotNull Deadline getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Gets the token telling the connector to stop the extraction.
+   *
+   * @return the cancellation token
+   */
+  public @NotNull CancellationToken getCancellationToken() {
+    return cancellationToken;
+  }
+
+  /**
+   * Checks if the extraction should stop, because the request was cancelled or its deadline
+   * passed.
+   *
+   * @return true if the extraction should stop
+   */
+  public boolean isCancelled() {
+    return cancellationToken.isCancelled() || deadline.isExpired();
+  }
+
+  /**
+   * Creates a request for other items, sharing the deadline and the cancellation token of this
+   * request. Use it to split a request into several calls to the source.
+   *
+   * @param itemsToExtract the designators of the items to extract
+   * @return a new ExtractionRequest instance
+   */
+  public @NotNull ExtractionRequest withItemsToExtract(
+      @NotNull Stream<ItemDesignator> itemsToExtract) {
+    return new ExtractionRequest(itemsToExtract, deadline, cancellationToken);
+  }
 }
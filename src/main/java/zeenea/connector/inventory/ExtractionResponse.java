@@ -1,6 +1,12 @@
 package zeenea.connector.inventory;
 
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.jetbrains.annotations.NotNull;
 import zeenea.connector.Item;
 
@@ -9,11 +15,100 @@ public class ExtractionResponse {
   /** Item that have been extracted */
   @NotNull private final Stream<Item> extractedItems;
 
+  /** Whether the extraction stopped before every item was extracted */
+  @NotNull private final AtomicBoolean partial;
+
   public ExtractionResponse(@NotNull Stream<Item> extractedItems) {
+    this(extractedItems, new AtomicBoolean());
+  }
+
+  private ExtractionResponse(@NotNull Stream<Item> extractedItems, AtomicBoolean partial) {
     this.extractedItems = extractedItems;
+    this.partial = partial;
+  }
+
+  /**
+   * Creates a response whose stream stops as soon as the request is cancelled or its deadline
+   * passes. The response is then marked as {@link #isPartial() partial}. A failure of the stream
+   * after the request was cancelled, such as the one raised by a cancelled JDBC statement, also
+   * ends the stream as partial instead of being rethrown.
+   *
+   * @param request the request being answered
+   * @param extractedItems the items extracted for the request
+   * @return a new ExtractionResponse instance
+   */
+  public static @NotNull ExtractionResponse of(
+      @NotNull ExtractionRequest request, @NotNull Stream<Item> extractedItems) {
+    Objects.requireNonNull(request, "request");
+    AtomicBoolean partial = new AtomicBoolean();
+    Stream<Item> items =
+        StreamSupport.stream(
+                new CancellableSpliterator(request, extractedItems.spliterator(), partial), false)
+            .onClose(extractedItems::close);
+    return new ExtractionResponse(items, partial);
   }
 
   public @NotNull Stream<Item> getExtractedItems() {
     return extractedItems;
   }
+
+  /**
+   * Creates a response with other items, sharing the {@link #isPartial() partial} marker of this
+   * response. Use it to decorate the items of a response, for example to count them.
+   *
+   * @param extractedItems the items, usually derived from the items of this response
+   * @return a new ExtractionResponse instance
+   */
+  public @NotNull ExtractionResponse withExtractedItems(@NotNull Stream<Item> extractedItems) {
+    return new ExtractionResponse(extractedItems, partial);
+  }
+
+  /**
+   * Checks if the extraction stopped before every item was extracted, because the request was
+   * cancelled or its deadline passed. Only meaningful once the stream of extracted items has been
+   * consumed.
+   *
+   * @return true if the extracted items are a partial result
+   */
+  public boolean isPartial() {
+    return partial.get();
+  }
+
+  /** Stops the extracted items when the request is cancelled. */
+  private static final class CancellableSpliterator extends Spliterators.AbstractSpliterator<Item> {
+
+    private final ExtractionRequest request;
+    private final Spliterator<Item> source;
+    private final AtomicBoolean partial;
+
+    private CancellableSpliterator(
+        ExtractionRequest request, Spliterator<Item> source, AtomicBoolean partial) {
+      super(Long.MAX_VALUE, source.characteristics() & (ORDERED | NONNULL));
+      this.request = request;
+      this.source = source;
+      this.partial = partial;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Item> action) {
+      if (partial.get()) {
+        return false;
+      }
+      if (request.isCancelled()) {
+        partial.set(true);
+        return false;
+      }
+      try {
+        if (source.tryAdvance(action)) {
+          return true;
+        }
+      } catch (RuntimeException e) {
+        if (!request.isCancelled()) {
+          throw e;
+        }
+      }
+      partial.set(request.isCancelled());
+      return false;
+    }
+  }
 }
@@ -0,0 +1,103 @@
+package zeenea.connector.inventory;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import zeenea.connector.common.ItemInventory;
+
+/**
+ * Result of an incremental inventory: the changes since the requested checkpoint, and the
+ * checkpoint to persist for the next run.
+ *
+ * <p>When {@link #isFull()} is true, the changes list every existing item as {@link
+ * InventoryChange.Type#ADDED ADDED}, and any previously known item missing from them must be
+ * considered removed.
+ *
+ * @see IncrementalInventoryConnection
+ */
+public final class IncrementalInventory {
+
+  /** The changes since the requested checkpoint. */
+  @NotNull private final Stream<InventoryChange> changes;
+
+  /** The checkpoint to persist once the changes are consumed. */
+  @NotNull private final InventoryCheckpoint checkpoint;
+
+  /** Whether the changes are a full inventory. */
+  private final boolean full;
+
+  private IncrementalInventory(
+      Stream<InventoryChange> changes, InventoryCheckpoint checkpoint, boolean full) {
+    this.changes = Objects.requireNonNull(changes, "changes");
+    this.checkpoint = Objects.requireNonNull(checkpoint, "checkpoint");
+    this.full = full;
+  }
+
+  /**
+   * Creates an incremental result holding only the changes since the requested checkpoint.
+   *
+   * @param changes the changes since the requested checkpoint
+   * @param checkpoint the checkpoint to persist for the next run
+   * @return a new IncrementalInventory instance
+   */
+  public static IncrementalInventory delta(
+      @NotNull Stream<InventoryChange> changes, @NotNull InventoryCheckpoint checkpoint) {
+    return new IncrementalInventory(changes, checkpoint, false);
+  }
+
+  /**
+   * Creates a full result, where every existing item is reported as added.
+   *
+   * @param items every item of the source
+   * @param checkpoint the checkpoint to persist for the next run
+   * @return a new IncrementalInventory instance
+   */
+  public static IncrementalInventory full(
+      @NotNull Stream<ItemInventory> items, @NotNull InventoryCheckpoint checkpoint) {
+    return new IncrementalInventory(items.map(InventoryChange::added), checkpoint, true);
+  }
+
+  /**
+   * Runs an inventory from a checkpoint, falling back to a full inventory when the connection does
+   * not implement {@link IncrementalInventoryConnection}.
+   *
+   * @param connection the connection to inventory
+   * @param since the checkpoint returned by the previous run, or null for a first run
+   * @return the inventory result
+   */
+  public static IncrementalInventory of(
+      @NotNull InventoryConnection connection, @Nullable InventoryCheckpoint since) {
+    if (connection instanceof IncrementalInventoryConnection) {
+      return ((IncrementalInventoryConnection) connection).inventory(since);
+    }
+    return full(connection.inventory(), InventoryCheckpoint.empty());
+  }
+
+  /**
+   * Gets the changes since the requested checkpoint.
+   *
+   * @return a Stream of changes
+   */
+  public @NotNull Stream<InventoryChange> getChanges() {
+    return changes;
+  }
+
+  /**
+   * Gets the checkpoint to persist once the changes are fully consumed.
+   *
+   * @return the next checkpoint
+   */
+  public @NotNull InventoryCheckpoint getCheckpoint() {
+    return checkpoint;
+  }
+
+  /**
+   * Checks if the changes are a full inventory rather than a delta.
+   *
+   * @return true if the changes list every existing item
+   */
+  public boolean isFull() {
+    return full;
+  }
+}
@@ -0,0 +1,28 @@
+package zeenea.connector.inventory;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Interface representing an inventory connection able to list only the items added, changed or
+ * removed since a previous inventory.
+ *
+ * <p>The scanner persists the checkpoint returned by each run, encoded with {@link
+ * InventoryCheckpointCodec}, and hands it back to the next run. Callers that do not know whether a
+ * connection supports increments should use {@link IncrementalInventory#of(InventoryConnection,
+ * InventoryCheckpoint)}.
+ */
+public interface IncrementalInventoryConnection extends InventoryConnection {
+
+  /**
+   * Retrieves the inventory changes since the given checkpoint.
+   *
+   * <p>When {@code since} is null, empty, or can no longer be used (for example an expired change
+   * token), implementations should return a {@link IncrementalInventory#full full} inventory.
+   *
+   * @param since the checkpoint returned by the previous run, or null for a first run
+   * @return the changes since the checkpoint, and the checkpoint of this run
+   */
+  @NotNull
+  IncrementalInventory inventory(@Nullable InventoryCheckpoint since);
+}
@@ -0,0 +1,112 @@
+package zeenea.connector.inventory;
+
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+import zeenea.connector.common.ItemInventory;
+
+/** Represents an inventory entry that was added, changed or removed since a checkpoint. */
+public final class InventoryChange {
+
+  /** Kind of change applied to an inventory entry. */
+  public enum Type {
+    /** The item appeared in the source. */
+    ADDED,
+    /** The item still exists, but its metadata or its labels changed. */
+    CHANGED,
+    /** The item no longer exists in the source. */
+    REMOVED
+  }
+
+  /** The kind of change. */
+  @NotNull private final Type type;
+
+  /** The inventory entry affected by the change. */
+  @NotNull private final ItemInventory item;
+
+  private InventoryChange(Type type, ItemInventory item) {
+    this.type = Objects.requireNonNull(type, "type");
+    this.item = Objects.requireNonNull(item, "item");
+  }
+
+  /**
+   * Creates a change for an item that appeared in the source.
+   *
+   * @param item the added item
+   * @return a new InventoryChange instance
+   */
+  public static InventoryChange added(@NotNull ItemInventory item) {
+    return new InventoryChange(Type.ADDED, item);
+  }
+
+  /**
+   * Creates a change for an item whose metadata or labels changed.
+   *
+   * @param item the changed item
+   * @return a new InventoryChange instance
+   */
+  public static InventoryChange changed(@NotNull ItemInventory item) {
+    return new InventoryChange(Type.CHANGED, item);
+  }
+
+  /**
+   * Creates a change for an item that no longer exists in the source.
+   *
+   * @param item the removed item
+   * @return a new InventoryChange instance
+   */
+  public static InventoryChange removed(@NotNull ItemInventory item) {
+    return new InventoryChange(Type.REMOVED, item);
+  }
+
+  /**
+   * Gets the kind of change.
+   *
+   * @return the kind of change
+   */
+  public @NotNull Type getType() {
+    return type;
+  }
+
+  /**
+   * Gets the inventory entry affected by the change.
+   *
+   * @return the inventory entry
+   */
+  public @NotNull ItemInventory getItem() {
+    return item;
+  }
+
+  /**
+   * Checks if this InventoryChange is equal to another object.
+   *
+   * @param o the object to compare with
+   * @return true if this InventoryChange is equal to the specified object, otherwise false
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    InventoryChange that = (InventoryChange) o;
+    return type == that.type && item.equals(that.item);
+  }
+
+  /**
+   * Computes the hash code for this InventoryChange.
+   *
+   * @return the hash code of this InventoryChange
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, item);
+  }
+
+  /**
+   * Returns a string representation of this InventoryChange.
+   *
+   * @return a string representation of this InventoryChange
+   */
+  @Override
+  public String toString() {
+    return "InventoryChange{" + "type=" + type + ", item=" + item + "}";
+  }
+}
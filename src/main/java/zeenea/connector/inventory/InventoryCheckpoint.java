@@ -0,0 +1,187 @@
+package zeenea.connector.inventory;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import zeenea.connector.exception.ExceptionUtils;
+
+/**
+ * Opaque position of an inventory, returned by an {@link IncrementalInventoryConnection} and
+ * persisted by the scanner between runs.
+ *
+ * <p>A checkpoint holds an optional watermark, typically the last modification time seen in the
+ * source, and connector-defined change tokens such as a per-schema change sequence or a REST
+ * delta link. Use {@link InventoryCheckpointCodec} to turn it into a string.
+ *
+ * <pre>Example : <br>
+ * InventoryCheckpoint.builder()
+ *     .watermark(Instant.parse("2024-01-01T00:00:00Z"))
+ *     .token("deltaLink", "https://example.com/delta?token=abc")
+ *     .build();
+ * </pre>
+ */
+public final class InventoryCheckpoint {
+
+  private static final InventoryCheckpoint EMPTY = builder().build();
+
+  /** The watermark of the inventory. */
+  @Nullable private final Instant watermark;
+
+  /** The change tokens of the inventory. */
+  @NotNull private final Map<String, String> tokens;
+
+  /**
+   * Constructs an InventoryCheckpoint instance using the provided builder.
+   *
+   * @param builder the builder used to create the InventoryCheckpoint instance
+   */
+  private InventoryCheckpoint(Builder builder) {
+    this.watermark = builder.watermark;
+    this.tokens = Map.copyOf(builder.tokens);
+  }
+
+  /**
+   * Gets a checkpoint holding neither watermark nor tokens.
+   *
+   * @return the empty checkpoint
+   */
+  public static InventoryCheckpoint empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a new builder for the InventoryCheckpoint class.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the watermark of the inventory.
+   *
+   * @return an Optional containing the watermark if present, otherwise an empty Optional
+   */
+  public Optional<Instant> getWatermark() {
+    return Optional.ofNullable(watermark);
+  }
+
+  /**
+   * Gets the change tokens of the inventory.
+   *
+   * @return an unmodifiable map of the change tokens
+   */
+  public @NotNull Map<String, String> getTokens() {
+    return tokens;
+  }
+
+  /**
+   * Gets a change token of the inventory.
+   *
+   * @param key the key of the token
+   * @return an Optional containing the token if present, otherwise an empty Optional
+   */
+  public Optional<String> getToken(String key) {
+    return Optional.ofNullable(tokens.get(key));
+  }
+
+  /**
+   * Checks if this checkpoint holds neither watermark nor tokens.
+   *
+   * @return true if the checkpoint is empty
+   */
+  public boolean isEmpty() {
+    return watermark == null && tokens.isEmpty();
+  }
+
+  /**
+   * Checks if this InventoryCheckpoint is equal to another object.
+   *
+   * @param o the object to compare with
+   * @return true if this InventoryCheckpoint is equal to the specified object, otherwise false
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    InventoryCheckpoint that = (InventoryCheckpoint) o;
+    return Objects.equals(watermark, that.watermark) && Objects.equals(tokens, that.tokens);
+  }
+
+  /**
+   * Computes the hash code for this InventoryCheckpoint.
+   *
+   * @return the hash code of this InventoryCheckpoint
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(watermark, tokens);
+  }
+
+  /**
+   * Returns a string representation of this InventoryCheckpoint.
+   *
+   * @return a string representation of this InventoryCheckpoint
+   */
+  @Override
+  public String toString() {
+    return "InventoryCheckpoint{" + "watermark=" + watermark + ", tokens=" + tokens + "}";
+  }
+
+  /** Builder class for creating instances of InventoryCheckpoint. */
+  public static class Builder {
+
+    private Instant watermark;
+
+    private final Map<String, String> tokens = new LinkedHashMap<>();
+
+    /**
+     * Sets the watermark of the inventory.
+     *
+     * @param watermark the watermark
+     * @return the builder instance
+     */
+    public Builder watermark(@Nullable Instant watermark) {
+      this.watermark = watermark;
+      return this;
+    }
+
+    /**
+     * Adds a change token to the checkpoint.
+     *
+     * @param key the key of the token
+     * @param value the value of the token
+     * @return the builder instance
+     */
+    public Builder token(@NotNull String key, @NotNull String value) {
+      ExceptionUtils.requireNonNullOrEmpty("key", key);
+      this.tokens.put(key, Objects.requireNonNull(value, "value"));
+      return this;
+    }
+
+    /**
+     * Adds change tokens to the checkpoint.
+     *
+     * @param tokens the tokens to add
+     * @return the builder instance
+     */
+    public Builder tokens(@NotNull Map<String, String> tokens) {
+      tokens.forEach(this::token);
+      return this;
+    }
+
+    /**
+     * Builds and returns the InventoryCheckpoint instance.
+     *
+     * @return the created InventoryCheckpoint instance
+     */
+    public InventoryCheckpoint build() {
+      return new InventoryCheckpoint(this);
+    }
+  }
+}
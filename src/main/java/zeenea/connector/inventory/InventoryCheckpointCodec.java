@@ -0,0 +1,110 @@
+package zeenea.connector.inventory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Encodes {@link InventoryCheckpoint} instances into URL-safe strings, and back.
+ *
+ * <p>The encoded form is versioned so that checkpoints persisted by a previous release of the SDK
+ * can still be read. Tokens are written in key order, so equal checkpoints always have the same
+ * encoded form. Keys and values are written as length-prefixed UTF-8 bytes, so that long tokens
+ * such as delta links are not limited in size.
+ */
+public final class InventoryCheckpointCodec {
+
+  private static final int VERSION = 1;
+
+  /** Private constructor to prevent instantiation. */
+  private InventoryCheckpointCodec() {}
+
+  /**
+   * Encodes a checkpoint.
+   *
+   * @param checkpoint the checkpoint to encode
+   * @return the encoded checkpoint
+   */
+  public static @NotNull String encode(@NotNull InventoryCheckpoint checkpoint) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(VERSION);
+      Instant watermark = checkpoint.getWatermark().orElse(null);
+      out.writeBoolean(watermark != null);
+      if (watermark != null) {
+        out.writeLong(watermark.getEpochSecond());
+        out.writeInt(watermark.getNano());
+      }
+      Map<String, String> tokens = new TreeMap<>(checkpoint.getTokens());
+      out.writeInt(tokens.size());
+      for (Map.Entry<String, String> token : tokens.entrySet()) {
+        writeString(out, token.getKey());
+        writeString(out, token.getValue());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+  }
+
+  /**
+   * Decodes a checkpoint.
+   *
+   * @param encoded the encoded checkpoint, as returned by {@link #encode(InventoryCheckpoint)}
+   * @return the decoded checkpoint
+   * @throws IllegalArgumentException if the value is not a valid encoded checkpoint
+   */
+  public static @NotNull InventoryCheckpoint decode(@NotNull String encoded) {
+    byte[] bytes;
+    try {
+      bytes = Base64.getUrlDecoder().decode(encoded);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid inventory checkpoint", e);
+    }
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      int version = in.readUnsignedByte();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported inventory checkpoint version: " + version);
+      }
+      InventoryCheckpoint.Builder builder = InventoryCheckpoint.builder();
+      if (in.readBoolean()) {
+        builder.watermark(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        builder.token(readString(in), readString(in));
+      }
+      if (in.available() > 0) {
+        throw new IllegalArgumentException("Invalid inventory checkpoint");
+      }
+      return builder.build();
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Invalid inventory checkpoint", e);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > in.available()) {
+      throw new IllegalArgumentException("Invalid inventory checkpoint");
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,131 @@
+package zeenea.connector.inventory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import zeenea.connector.ConnectionConfiguration;
+import zeenea.connector.common.ItemInventory;
+
+/**
+ * Persists the last committed cursor of a paginated inventory, so that an interrupted inventory
+ * resumes where it stopped instead of listing the whole source again.
+ *
+ * <p>The cursor of a connection is stored in the {@value #FOLDER} folder of the {@link
+ * ConnectionConfiguration#getScannerHomeFolder() scanner home folder}, in a file named after the
+ * connection code. Files are replaced atomically, so a crash never leaves a truncated cursor.
+ *
+ * <pre>Example : <br>
+ * InventoryCursorStore store = InventoryCursorStore.of(configuration);
+ * try (Stream&lt;ItemInventory&gt; items = store.inventory(connection)) {
+ *   items.forEach(scanner::publish);
+ * }
+ * </pre>
+ */
+public final class InventoryCursorStore {
+
+  /** Name of the folder holding the cursors, relative to the scanner home folder. */
+  public static final String FOLDER = "inventory-cursors";
+
+  @NotNull private final Path file;
+
+  InventoryCursorStore(@NotNull Path file) {
+    this.file = Objects.requireNonNull(file, "file");
+  }
+
+  /**
+   * Creates the cursor store of a connection.
+   *
+   * @param configuration the configuration of the connection
+   * @return a new InventoryCursorStore instance
+   */
+  public static InventoryCursorStore of(@NotNull ConnectionConfiguration configuration) {
+    String fileName =
+        configuration.getConnectionCode().replaceAll("[^A-Za-z0-9._-]", "_") + ".cursor";
+    return new InventoryCursorStore(
+        configuration.getScannerHomeFolder().resolve(FOLDER).resolve(fileName));
+  }
+
+  /**
+   * Gets the path of the file holding the cursor.
+   *
+   * @return the cursor file
+   */
+  public @NotNull Path getFile() {
+    return file;
+  }
+
+  /**
+   * Loads the last committed cursor.
+   *
+   * @return an Optional containing the cursor, or an empty Optional if no inventory is in progress
+   */
+  public Optional<String> load() {
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Files.readString(file, StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Commits a cursor, replacing the previous one.
+   *
+   * @param cursor the cursor from which the inventory must be resumed
+   */
+  public void commit(@NotNull String cursor) {
+    Objects.requireNonNull(cursor, "cursor");
+    try {
+      Files.createDirectories(file.getParent());
+      Path temporary =
+          Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+      Files.writeString(temporary, cursor, StandardCharsets.UTF_8);
+      Files.move(
+          temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Removes the committed cursor, so that the next inventory starts from the beginning. */
+  public void clear() {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Streams the inventory of a connection, starting from the last committed cursor.
+   *
+   * <p>The cursor of the following page is committed once every entry of a page has been consumed,
+   * and the store is cleared when the last page has been consumed. Entries of the pages consumed
+   * before an interruption are not listed again.
+   *
+   * @param connection the connection to inventory
+   * @return a Stream of ItemInventory objects representing the remaining inventory
+   */
+  public @NotNull Stream<ItemInventory> inventory(
+      @NotNull PaginatedInventoryConnection connection) {
+    return InventoryPages.stream(
+        connection,
+        load().orElse(null),
+        page -> {
+          if (page.isLast()) {
+            clear();
+          } else {
+            commit(page.getNextCursor().orElseThrow());
+          }
+        });
+  }
+}
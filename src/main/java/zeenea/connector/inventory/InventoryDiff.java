@@ -0,0 +1,218 @@
+package zeenea.connector.inventory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.NotNull;
+import zeenea.connector.common.ItemInventory;
+
+/**
+ * Compares two inventories and reports the entries that were added, removed or relabelled between
+ * them.
+ *
+ * <p>Both inventories are sorted by data source and item identifier with an external merge sort:
+ * at most {@link Builder#maxEntriesInMemory(int) maxEntriesInMemory} entries per inventory are held
+ * in memory, the others are spilled to temporary files. The sorted inventories are then merged, so
+ * memory use stays bounded whatever the size of the catalog.
+ *
+ * <p>An entry present in both inventories is reported as {@link InventoryChange.Type#CHANGED
+ * CHANGED} when its label identifier differs. When an inventory lists the same item twice, only its
+ * first occurrence is kept.
+ *
+ * <pre>Example : <br>
+ * InventoryDiff diff = InventoryDiff.builder().tempFolder(workFolder).build();
+ * try (Stream&lt;InventoryChange&gt; changes = diff.compare(previousRun, connection.inventory())) {
+ *   changes.forEach(scanner::apply);
+ * }
+ * </pre>
+ */
+public final class InventoryDiff {
+
+  /** Default maximum number of entries per inventory sorted in memory. */
+  public static final int DEFAULT_MAX_ENTRIES_IN_MEMORY = 100_000;
+
+  @NotNull private final Path tempFolder;
+  private final int maxEntriesInMemory;
+
+  private InventoryDiff(Builder builder) {
+    this.tempFolder = builder.tempFolder;
+    this.maxEntriesInMemory = builder.maxEntriesInMemory;
+  }
+
+  /**
+   * Creates a new builder for the InventoryDiff class.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Compares two inventories. Both inventories are consumed and sorted before returning, and the
+   * changes are then computed as the returned stream is consumed.
+   *
+   * <p>The returned stream must be closed to delete its temporary files. Removed entries are the
+   * ones of the previous inventory, added and changed entries the ones of the current inventory.
+   *
+   * @param previous the entries of the previous inventory
+   * @param current the entries of the current inventory
+   * @return a Stream of changes from the previous to the current inventory
+   */
+  public @NotNull Stream<InventoryChange> compare(
+      @NotNull Stream<ItemInventory> previous, @NotNull Stream<ItemInventory> current) {
+    Objects.requireNonNull(previous, "previous");
+    Objects.requireNonNull(current, "current");
+    Path folder;
+    try {
+      Files.createDirectories(tempFolder);
+      folder = Files.createTempDirectory(tempFolder, "inventory-diff");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    InventorySorter sorter = new InventorySorter(folder, maxEntriesInMemory);
+    InventorySorter.Sorted sortedPrevious = null;
+    try {
+      try (previous) {
+        sortedPrevious = sorter.sort(previous);
+      }
+      InventorySorter.Sorted sortedCurrent;
+      try (current) {
+        sortedCurrent = sorter.sort(current);
+      }
+      DiffIterator iterator = new DiffIterator(sortedPrevious, sortedCurrent);
+      InventorySorter.Sorted closedPrevious = sortedPrevious;
+      return StreamSupport.stream(
+              Spliterators.spliteratorUnknownSize(
+                  iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+              false)
+          .onClose(
+              () -> {
+                closedPrevious.close();
+                sortedCurrent.close();
+                deleteFolder(folder);
+              });
+    } catch (RuntimeException e) {
+      if (sortedPrevious != null) {
+        sortedPrevious.close();
+      }
+      deleteFolder(folder);
+      throw e;
+    }
+  }
+
+  private static void deleteFolder(Path folder) {
+    try {
+      Files.deleteIfExists(folder);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Merges two sorted inventories into changes. */
+  private static final class DiffIterator implements Iterator<InventoryChange> {
+
+    private final InventorySorter.Sorted previous;
+    private final InventorySorter.Sorted current;
+    private InventorySorter.Record previousRecord;
+    private InventorySorter.Record currentRecord;
+    private InventoryChange next;
+
+    private DiffIterator(InventorySorter.Sorted previous, InventorySorter.Sorted current) {
+      this.previous = previous;
+      this.current = current;
+      this.previousRecord = previous.hasNext() ? previous.next() : null;
+      this.currentRecord = current.hasNext() ? current.next() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && (previousRecord != null || currentRecord != null)) {
+        int comparison =
+            previousRecord == null
+                ? 1
+                : currentRecord == null ? -1 : previousRecord.compareKey(currentRecord);
+        if (comparison < 0) {
+          next = InventoryChange.removed(previousRecord.toItemInventory());
+          previousRecord = previous.hasNext() ? previous.next() : null;
+        } else if (comparison > 0) {
+          next = InventoryChange.added(currentRecord.toItemInventory());
+          currentRecord = current.hasNext() ? current.next() : null;
+        } else {
+          if (!previousRecord.sameLabel(currentRecord)) {
+            next = InventoryChange.changed(currentRecord.toItemInventory());
+          }
+          previousRecord = previous.hasNext() ? previous.next() : null;
+          currentRecord = current.hasNext() ? current.next() : null;
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public InventoryChange next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      InventoryChange change = next;
+      next = null;
+      return change;
+    }
+  }
+
+  /** Builder class for creating instances of InventoryDiff. */
+  public static class Builder {
+
+    /** The folder in which temporary files are created. */
+    private Path tempFolder = Path.of(System.getProperty("java.io.tmpdir"));
+
+    /** The maximum number of entries per inventory sorted in memory. */
+    private int maxEntriesInMemory = DEFAULT_MAX_ENTRIES_IN_MEMORY;
+
+    /** Private constructor to prevent direct instantiation. */
+    private Builder() {}
+
+    /**
+     * Sets the folder in which temporary files are created. Defaults to the system temporary
+     * folder.
+     *
+     * @param tempFolder the folder of temporary files
+     * @return the builder instance
+     */
+    public Builder tempFolder(@NotNull Path tempFolder) {
+      this.tempFolder = Objects.requireNonNull(tempFolder, "tempFolder");
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of entries per inventory sorted in memory before spilling to disk.
+     *
+     * @param maxEntriesInMemory the maximum number of entries, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder maxEntriesInMemory(int maxEntriesInMemory) {
+      if (maxEntriesInMemory < 1) {
+        throw new IllegalArgumentException("maxEntriesInMemory must be greater than 0");
+      }
+      this.maxEntriesInMemory = maxEntriesInMemory;
+      return this;
+    }
+
+    /**
+     * Builds and returns an InventoryDiff object.
+     *
+     * @return a new InventoryDiff instance
+     */
+    public InventoryDiff build() {
+      return new InventoryDiff(this);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package zeenea.connector.inventory;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import zeenea.connector.common.ItemInventory;
+
+/**
+ * Represents a page of inventory entries, with the cursor of the following page.
+ *
+ * @see PaginatedInventoryConnection
+ */
+public final class InventoryPage {
+
+  /** The inventory entries of the page. */
+  @NotNull private final List<ItemInventory> items;
+
+  /** The cursor of the following page, null on the last page. */
+  @Nullable private final String nextCursor;
+
+  private InventoryPage(List<ItemInventory> items, String nextCursor) {
+    this.items = List.copyOf(items);
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Creates a page followed by other pages.
+   *
+   * @param items the inventory entries of the page
+   * @param nextCursor the cursor of the following page
+   * @return a new InventoryPage instance
+   */
+  public static InventoryPage of(@NotNull List<ItemInventory> items, @NotNull String nextCursor) {
+    return new InventoryPage(items, Objects.requireNonNull(nextCursor, "nextCursor"));
+  }
+
+  /**
+   * Creates the last page of an inventory.
+   *
+   * @param items the inventory entries of the page
+   * @return a new InventoryPage instance
+   */
+  public static InventoryPage last(@NotNull List<ItemInventory> items) {
+    return new InventoryPage(items, null);
+  }
+
+  /**
+   * Gets the inventory entries of the page.
+   *
+   * @return the inventory entries
+   */
+  public @NotNull List<ItemInventory> getItems() {
+    return items;
+  }
+
+  /**
+   * Gets the cursor of the following page.
+   *
+   * @return an Optional containing the next cursor, or an empty Optional on the last page
+   */
+  public Optional<String> getNextCursor() {
+    return Optional.ofNullable(nextCursor);
+  }
+
+  /**
+   * Checks if this page is the last one of the inventory.
+   *
+   * @return true if no page follows
+   */
+  public boolean isLast() {
+    return nextCursor == null;
+  }
+
+  /**
+   * Returns a string representation of this InventoryPage.
+   *
+   * @return a string representation of this InventoryPage
+   */
+  @Override
+  public String toString() {
+    return "InventoryPage{" + "items=" + items + ", nextCursor='" + nextCursor + "'}";
+  }
+}
@@ -0,0 +1,78 @@
+package zeenea.connector.inventory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import zeenea.connector.common.ItemInventory;
+
+/** Walks the pages of a {@link PaginatedInventoryConnection} lazily. */
+final class InventoryPages implements Iterator<ItemInventory> {
+
+  private final PaginatedInventoryConnection connection;
+  private final Consumer<InventoryPage> onPageConsumed;
+  private InventoryPage page;
+  private Iterator<ItemInventory> items = Collections.emptyIterator();
+  private String cursor;
+  private boolean started;
+
+  private InventoryPages(
+      PaginatedInventoryConnection connection,
+      String cursor,
+      Consumer<InventoryPage> onPageConsumed) {
+    this.connection = connection;
+    this.cursor = cursor;
+    this.onPageConsumed = onPageConsumed;
+  }
+
+  /**
+   * Streams the inventory entries from the given cursor.
+   *
+   * @param connection the connection listing the pages
+   * @param cursor the cursor of the first page to fetch, or null to start from the beginning
+   * @param onPageConsumed called once every entry of a page has been consumed
+   * @return a Stream of inventory entries
+   */
+  static Stream<ItemInventory> stream(
+      PaginatedInventoryConnection connection,
+      String cursor,
+      Consumer<InventoryPage> onPageConsumed) {
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            new InventoryPages(connection, cursor, onPageConsumed),
+            Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!items.hasNext()) {
+      if (page != null) {
+        onPageConsumed.accept(page);
+        if (page.isLast()) {
+          page = null;
+          return false;
+        }
+        cursor = page.getNextCursor().orElseThrow();
+      } else if (started) {
+        return false;
+      }
+      started = true;
+      page = connection.inventoryPage(cursor);
+      items = page.getItems().iterator();
+    }
+    return true;
+  }
+
+  @Override
+  public ItemInventory next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return items.next();
+  }
+}
@@ -0,0 +1,365 @@
+package zeenea.connector.inventory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import zeenea.connector.Item;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.common.filter.FilterConfiguration;
+import zeenea.connector.concurrent.ConnectorExecutors;
+
+/**
+ * Overlaps the inventory and the extraction of a connection: accepted inventory entries are
+ * extracted while the inventory is still being listed.
+ *
+ * <p>The inventory runs on a background thread and hands the designators of the entries accepted
+ * by the {@link FilterConfiguration} to the consuming thread through a queue of at most {@link
+ * Builder#queueCapacity(int) queueCapacity} entries. When the queue is full, the inventory waits
+ * for the extraction. Each extraction call receives the designators available at that time, up to
+ * {@link Builder#chunkSize(int) chunkSize}, so extraction never waits for a full chunk while the
+ * inventory is slow.
+ *
+ * <pre>Example : <br>
+ * InventoryPipeline pipeline =
+ *     InventoryPipeline.builder().filter(configuration.getFilters()).build();
+ * try (Stream&lt;Item&gt; items = pipeline.extract(connection)) {
+ *   items.forEach(scanner::publish);
+ * }
+ * </pre>
+ */
+public final class InventoryPipeline {
+
+  /** Default maximum number of designators waiting for extraction. */
+  public static final int DEFAULT_QUEUE_CAPACITY = 1_000;
+
+  /** Default maximum number of designators per extraction call. */
+  public static final int DEFAULT_CHUNK_SIZE = 100;
+
+  private static final Object END = new Object();
+
+  @Nullable private final FilterConfiguration filter;
+  @NotNull private final Function<ItemInventory, Map<String, String>> filteredProperties;
+  private final int queueCapacity;
+  private final int chunkSize;
+  @Nullable private final ParallelExtractionEngine engine;
+  @Nullable private final ExecutorService executor;
+
+  private InventoryPipeline(Builder builder) {
+    this.filter = builder.filter;
+    this.filteredProperties = builder.filteredProperties;
+    this.queueCapacity = builder.queueCapacity;
+    this.chunkSize = builder.chunkSize;
+    this.engine = builder.engine;
+    this.executor = builder.executor;
+  }
+
+  /**
+   * Creates a new builder for the InventoryPipeline class.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the properties checked by the filter for an inventory entry: the identification
+   * properties of its label identifier, then of its item identifier.
+   *
+   * @param entry the inventory entry
+   * @return the properties by key
+   */
+  public static @NotNull Map<String, String> identificationProperties(
+      @NotNull ItemInventory entry) {
+    Map<String, String> properties = new HashMap<>();
+    putAll(properties, entry.getLabelIdentifier().getIdentificationProperties());
+    putAll(properties, entry.getItemIdentifier().getIdentificationProperties());
+    return properties;
+  }
+
+  private static void putAll(
+      Map<String, String> properties, List<IdentificationProperty> identificationProperties) {
+    for (IdentificationProperty property : identificationProperties) {
+      properties.put(property.getKey(), property.getValue());
+    }
+  }
+
+  /**
+   * Lists the inventory of a connection and extracts the accepted entries as they are listed.
+   *
+   * <p>The returned stream must be closed, or fully consumed, to stop the inventory thread. An
+   * inventory failure is rethrown to the stream consumer, wrapped in a {@link CompletionException}
+   * if it is not a runtime exception.
+   *
+   * @param connection the connection to inventory and extract
+   * @return a Stream of the extracted items
+   */
+  public @NotNull Stream<Item> extract(@NotNull InventoryConnection connection) {
+    Objects.requireNonNull(connection, "connection");
+    ExecutorService workers =
+        executor != null ? executor : ConnectorExecutors.newIoExecutor("zeenea-inventory", 1);
+    BlockingQueue<Object> queue = new LinkedBlockingQueue<>(queueCapacity);
+    Future<?> inventory = workers.submit(() -> produce(connection, queue));
+    ChunkIterator chunks = new ChunkIterator(queue);
+    Stream<List<ItemDesignator>> chunkStream =
+        StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED | Spliterator.NONNULL),
+            false);
+    Stream<Item> items;
+    if (engine != null) {
+      // A single request lets the engine extract the chunks of all the designators concurrently.
+      ExtractionRequest request = new ExtractionRequest(chunkStream.flatMap(List::stream));
+      items = engine.extract(connection, request).getExtractedItems();
+    } else {
+      items = chunkStream.flatMap(chunk -> extractChunk(connection, chunk));
+    }
+    return items.onClose(
+        () -> {
+          inventory.cancel(true);
+          if (executor == null) {
+            workers.shutdownNow();
+          }
+        });
+  }
+
+  private void produce(InventoryConnection connection, BlockingQueue<Object> queue) {
+    try {
+      try (Stream<ItemInventory> entries = connection.inventory()) {
+        Iterator<ItemInventory> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+          ItemInventory entry = iterator.next();
+          if (filter == null || filter.accepts(filteredProperties.apply(entry))) {
+            queue.put(
+                ItemDesignator.of(entry.getItemIdentifier(), entry.getDataSourceIdentifier()));
+          }
+        }
+      }
+      queue.put(END);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Throwable e) {
+      // The failure follows the accepted designators, so that they are extracted first.
+      try {
+        queue.put(new Failure(e));
+      } catch (InterruptedException interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private Stream<Item> extractChunk(InventoryConnection connection, List<ItemDesignator> chunk) {
+    return connection.extractItems(new ExtractionRequest(chunk.stream())).getExtractedItems();
+  }
+
+  /** Takes the available designators from the queue, waiting only for the first of a chunk. */
+  private final class ChunkIterator implements Iterator<List<ItemDesignator>> {
+
+    private final BlockingQueue<Object> queue;
+    private final List<Object> drained = new ArrayList<>();
+    private List<ItemDesignator> next;
+    private boolean ended;
+
+    /** The inventory failure, thrown once the designators before it are consumed. */
+    private Failure failure;
+
+    private ChunkIterator(BlockingQueue<Object> queue) {
+      this.queue = queue;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null && !ended) {
+        try {
+          drained.add(queue.take());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new CompletionException(e);
+        }
+        queue.drainTo(drained, chunkSize - 1);
+        List<ItemDesignator> chunk = new ArrayList<>(drained.size());
+        for (Object element : drained) {
+          if (element == END) {
+            ended = true;
+          } else if (element instanceof Failure) {
+            ended = true;
+            failure = (Failure) element;
+          } else {
+            chunk.add((ItemDesignator) element);
+          }
+        }
+        drained.clear();
+        if (!chunk.isEmpty()) {
+          next = chunk;
+        }
+      }
+      if (next == null && failure != null) {
+        Failure pending = failure;
+        failure = null;
+        throw pending.rethrow();
+      }
+      return next != null;
+    }
+
+    @Override
+    public List<ItemDesignator> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      List<ItemDesignator> chunk = next;
+      next = null;
+      return chunk;
+    }
+  }
+
+  /** Inventory failure signal. */
+  private static final class Failure {
+    private final Throwable cause;
+
+    private Failure(Throwable cause) {
+      this.cause = cause;
+    }
+
+    private RuntimeException rethrow() {
+      if (cause instanceof RuntimeException) {
+        return (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      return new CompletionException(cause);
+    }
+  }
+
+  /** Builder class for creating instances of InventoryPipeline. */
+  public static class Builder {
+
+    /** The filter deciding which entries are extracted, or null to extract every entry. */
+    private FilterConfiguration filter;
+
+    /** The function computing the properties checked by the filter. */
+    private Function<ItemInventory, Map<String, String>> filteredProperties =
+        InventoryPipeline::identificationProperties;
+
+    /** The maximum number of designators waiting for extraction. */
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    /** The maximum number of designators per extraction call. */
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /** The engine running extraction calls, or null to call the connection directly. */
+    private ParallelExtractionEngine engine;
+
+    /** The executor running the inventory. */
+    private ExecutorService executor;
+
+    /** Private constructor to prevent direct instantiation. */
+    private Builder() {}
+
+    /**
+     * Sets the filter deciding which inventory entries are extracted. When not set, every entry is
+     * extracted.
+     *
+     * @param filter the filter configuration of the connection
+     * @return the builder instance
+     */
+    public Builder filter(@Nullable FilterConfiguration filter) {
+      this.filter = filter;
+      return this;
+    }
+
+    /**
+     * Sets the function computing the properties checked by the filter for an inventory entry.
+     * Defaults to {@link #identificationProperties(ItemInventory)}.
+     *
+     * @param filteredProperties the function computing the properties by key
+     * @return the builder instance
+     */
+    public Builder filteredProperties(
+        @NotNull Function<ItemInventory, Map<String, String>> filteredProperties) {
+      this.filteredProperties = Objects.requireNonNull(filteredProperties, "filteredProperties");
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of designators waiting for extraction.
+     *
+     * @param queueCapacity the capacity of the queue, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder queueCapacity(int queueCapacity) {
+      if (queueCapacity < 1) {
+        throw new IllegalArgumentException("queueCapacity must be greater than 0");
+      }
+      this.queueCapacity = queueCapacity;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of designators per extraction call. Not used with an {@link
+     * #engine(ParallelExtractionEngine) engine}, which cuts the designators into its own chunks.
+     *
+     * @param chunkSize the maximum chunk size, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder chunkSize(int chunkSize) {
+      if (chunkSize < 1) {
+        throw new IllegalArgumentException("chunkSize must be greater than 0");
+      }
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
+    /**
+     * Sets the engine running extraction calls concurrently. All the accepted designators are
+     * handed to the engine in a single request, as they are listed. When not set, extraction calls
+     * run one at a time on the consuming thread.
+     *
+     * @param engine the extraction engine
+     * @return the builder instance
+     */
+    public Builder engine(@NotNull ParallelExtractionEngine engine) {
+      this.engine = Objects.requireNonNull(engine, "engine");
+      return this;
+    }
+
+    /**
+     * Sets the executor running the inventory. The executor is not shut down by the pipeline. When
+     * not set, an {@link ConnectorExecutors#newIoExecutor(String, int) I/O executor} is created for
+     * each pipeline run.
+     *
+     * @param executor the executor
+     * @return the builder instance
+     */
+    public Builder executor(@NotNull ExecutorService executor) {
+      this.executor = Objects.requireNonNull(executor, "executor");
+      return this;
+    }
+
+    /**
+     * Builds and returns an InventoryPipeline object.
+     *
+     * @return a new InventoryPipeline instance
+     */
+    public InventoryPipeline build() {
+      return new InventoryPipeline(this);
+    }
+  }
+}
@@ -0,0 +1,387 @@
+package zeenea.connector.inventory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.common.LabelIdentifier;
+
+/**
+ * External merge sort of inventory entries, used by {@link InventoryDiff}.
+ *
+ * <p>Entries are encoded to a binary key, made of their data source and item identifiers, and a
+ * binary label. At most {@code maxEntriesInMemory} entries are sorted in memory at a time, then
+ * spilled to a run file. Runs are merged at most {@value #MAX_FAN_IN} at a time, so memory use only
+ * depends on {@code maxEntriesInMemory}. Entries with the same key are reduced to the first one.
+ */
+final class InventorySorter {
+
+  /** Maximum number of runs merged at once. */
+  static final int MAX_FAN_IN = 64;
+
+  private static final Comparator<Record> BY_KEY = Record::compareKey;
+
+  private final Path folder;
+  private final int maxEntriesInMemory;
+  private int runCount;
+
+  InventorySorter(Path folder, int maxEntriesInMemory) {
+    this.folder = folder;
+    this.maxEntriesInMemory = maxEntriesInMemory;
+  }
+
+  /**
+   * Sorts inventory entries by key.
+   *
+   * @param entries the entries to sort, consumed before returning
+   * @return the sorted entries, without duplicate keys
+   */
+  Sorted sort(Stream<ItemInventory> entries) {
+    List<Run> runs = new ArrayList<>();
+    List<Record> buffer = new ArrayList<>();
+    try {
+      Iterator<ItemInventory> iterator = entries.iterator();
+      while (iterator.hasNext()) {
+        buffer.add(Record.of(iterator.next()));
+        if (buffer.size() >= maxEntriesInMemory) {
+          runs.add(spill(buffer));
+          buffer.clear();
+        }
+      }
+      buffer.sort(BY_KEY);
+      if (runs.isEmpty()) {
+        return new Sorted(buffer.iterator(), List.of());
+      }
+      if (!buffer.isEmpty()) {
+        runs.add(spill(buffer));
+        buffer.clear();
+      }
+      while (runs.size() > MAX_FAN_IN) {
+        runs = mergePass(runs);
+      }
+      return new Sorted(new MergingIterator(runs), runs);
+    } catch (IOException e) {
+      runs.forEach(Run::delete);
+      throw new UncheckedIOException(e);
+    } catch (RuntimeException e) {
+      runs.forEach(Run::delete);
+      throw e;
+    }
+  }
+
+  private Run spill(List<Record> records) throws IOException {
+    records.sort(BY_KEY);
+    Run run = new Run(folder.resolve("run-" + runCount++ + ".bin"));
+    try (DataOutputStream output = run.openOutput()) {
+      for (Record record : records) {
+        record.write(output);
+        run.size++;
+      }
+    }
+    return run;
+  }
+
+  private List<Run> mergePass(List<Run> runs) throws IOException {
+    List<Run> merged = new ArrayList<>();
+    for (int start = 0; start < runs.size(); start += MAX_FAN_IN) {
+      List<Run> group = runs.subList(start, Math.min(runs.size(), start + MAX_FAN_IN));
+      Run run = new Run(folder.resolve("run-" + runCount++ + ".bin"));
+      MergingIterator iterator = new MergingIterator(group);
+      try (DataOutputStream output = run.openOutput()) {
+        while (iterator.hasNext()) {
+          iterator.next().write(output);
+          run.size++;
+        }
+      } finally {
+        iterator.close();
+        group.forEach(Run::delete);
+      }
+      merged.add(run);
+    }
+    return merged;
+  }
+
+  /** Sorted entries, backed by run files deleted on close. */
+  static final class Sorted implements Iterator<Record>, Closeable {
+
+    private final Iterator<Record> records;
+    private final List<Run> runs;
+    private byte[] lastKey;
+    private Record next;
+
+    private Sorted(Iterator<Record> records, List<Run> runs) {
+      this.records = records;
+      this.runs = runs;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && records.hasNext()) {
+        Record record = records.next();
+        if (lastKey == null || !Arrays.equals(lastKey, record.key)) {
+          lastKey = record.key;
+          next = record;
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public Record next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Record record = next;
+      next = null;
+      return record;
+    }
+
+    @Override
+    public void close() {
+      if (records instanceof MergingIterator) {
+        ((MergingIterator) records).close();
+      }
+      runs.forEach(Run::delete);
+    }
+  }
+
+  /** An inventory entry, encoded as a sort key and a label. */
+  static final class Record {
+
+    private final byte[] key;
+    private final byte[] label;
+
+    private Record(byte[] key, byte[] label) {
+      this.key = key;
+      this.label = label;
+    }
+
+    static Record of(ItemInventory entry) {
+      ByteArrayOutputStream key = new ByteArrayOutputStream();
+      ByteArrayOutputStream label = new ByteArrayOutputStream();
+      try (DataOutputStream keyOutput = new DataOutputStream(key);
+          DataOutputStream labelOutput = new DataOutputStream(label)) {
+        DataSourceIdentifier dataSource = entry.getDataSourceIdentifier();
+        writeProperties(
+            keyOutput, dataSource == null ? null : dataSource.getIdentificationProperties());
+        writeProperties(keyOutput, entry.getItemIdentifier().getIdentificationProperties());
+        writeProperties(labelOutput, entry.getLabelIdentifier().getIdentificationProperties());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return new Record(key.toByteArray(), label.toByteArray());
+    }
+
+    int compareKey(Record other) {
+      return Arrays.compareUnsigned(key, other.key);
+    }
+
+    boolean sameLabel(Record other) {
+      return Arrays.equals(label, other.label);
+    }
+
+    ItemInventory toItemInventory() {
+      try (DataInputStream keyInput = new DataInputStream(new ByteArrayInputStream(key));
+          DataInputStream labelInput = new DataInputStream(new ByteArrayInputStream(label))) {
+        List<IdentificationProperty> dataSource = readProperties(keyInput);
+        ItemInventory.Builder builder =
+            ItemInventory.builder()
+                .itemIdentifier(ItemIdentifier.of(readProperties(keyInput)))
+                .labelIdentifier(LabelIdentifier.of(readProperties(labelInput)));
+        if (dataSource != null) {
+          builder.dataSourceIdentifier(DataSourceIdentifier.of(dataSource));
+        }
+        return builder.build();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void write(DataOutputStream output) throws IOException {
+      output.writeInt(key.length);
+      output.write(key);
+      output.writeInt(label.length);
+      output.write(label);
+    }
+
+    private static Record read(DataInputStream input) throws IOException {
+      byte[] key = new byte[input.readInt()];
+      input.readFully(key);
+      byte[] label = new byte[input.readInt()];
+      input.readFully(label);
+      return new Record(key, label);
+    }
+
+    private static void writeProperties(
+        DataOutputStream output, List<IdentificationProperty> properties) throws IOException {
+      if (properties == null) {
+        output.writeInt(-1);
+        return;
+      }
+      output.writeInt(properties.size());
+      for (IdentificationProperty property : properties) {
+        writeString(output, property.getKey());
+        writeString(output, property.getValue());
+      }
+    }
+
+    private static List<IdentificationProperty> readProperties(DataInputStream input)
+        throws IOException {
+      int size = input.readInt();
+      if (size < 0) {
+        return null;
+      }
+      List<IdentificationProperty> properties = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        properties.add(IdentificationProperty.of(readString(input), readString(input)));
+      }
+      return properties;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      output.writeInt(bytes.length);
+      output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+      byte[] bytes = new byte[input.readInt()];
+      input.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+  /** A sorted run file. */
+  private static final class Run {
+
+    private final Path file;
+    private long size;
+
+    private Run(Path file) {
+      this.file = file;
+    }
+
+    private DataOutputStream openOutput() throws IOException {
+      return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    }
+
+    private DataInputStream openInput() throws IOException {
+      return new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+    }
+
+    private void delete() {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /** Reads the records of a run file one at a time. */
+  private static final class RunCursor {
+
+    private final DataInputStream input;
+    private final int order;
+    private long remaining;
+    private Record current;
+
+    private RunCursor(Run run, int order) throws IOException {
+      this.input = run.openInput();
+      this.order = order;
+      this.remaining = run.size;
+    }
+
+    private boolean advance() throws IOException {
+      if (remaining == 0) {
+        current = null;
+        return false;
+      }
+      remaining--;
+      current = Record.read(input);
+      return true;
+    }
+  }
+
+  /**
+   * Merges sorted runs, keeping one record per run in memory. Records with the same key are
+   * returned in the order of their runs, so the first occurrence of a key comes first.
+   */
+  private static final class MergingIterator implements Iterator<Record>, Closeable {
+
+    private final List<RunCursor> cursors = new ArrayList<>();
+    private final PriorityQueue<RunCursor> queue =
+        new PriorityQueue<>(
+            Comparator.<RunCursor, Record>comparing(cursor -> cursor.current, BY_KEY)
+                .thenComparingInt(cursor -> cursor.order));
+
+    private MergingIterator(List<Run> runs) throws IOException {
+      try {
+        for (Run run : runs) {
+          RunCursor cursor = new RunCursor(run, cursors.size());
+          cursors.add(cursor);
+          if (cursor.advance()) {
+            queue.add(cursor);
+          }
+        }
+      } catch (IOException e) {
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !queue.isEmpty();
+    }
+
+    @Override
+    public Record next() {
+      RunCursor cursor = queue.poll();
+      if (cursor == null) {
+        throw new NoSuchElementException();
+      }
+      Record record = cursor.current;
+      try {
+        if (cursor.advance()) {
+          queue.add(cursor);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return record;
+    }
+
+    @Override
+    public void close() {
+      for (RunCursor cursor : cursors) {
+        try {
+          cursor.input.close();
+        } catch (IOException e) {
+          // Nothing left to read from this run
+        }
+      }
+      queue.clear();
+    }
+  }
+}
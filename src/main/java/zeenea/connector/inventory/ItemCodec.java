@@ -0,0 +1,33 @@
+package zeenea.connector.inventory;
+
+import java.io.IOException;
+import org.jetbrains.annotations.NotNull;
+import zeenea.connector.Item;
+
+/**
+ * Converts extracted items to and from bytes, so that {@link ExtractionCache} can keep them on
+ * disk. Connectors provide the codec because only they know which item types and attributes they
+ * produce.
+ */
+public interface ItemCodec {
+
+  /**
+   * Encodes an item.
+   *
+   * @param item the item to encode
+   * @return the encoded item
+   * @throws IOException if the item cannot be encoded
+   */
+  @NotNull
+  byte[] encode(@NotNull Item item) throws IOException;
+
+  /**
+   * Decodes an item previously encoded by {@link #encode(Item)}.
+   *
+   * @param bytes the encoded item
+   * @return the decoded item
+   * @throws IOException if the bytes cannot be decoded
+   */
+  @NotNull
+  Item decode(@NotNull byte[] bytes) throws IOException;
+}
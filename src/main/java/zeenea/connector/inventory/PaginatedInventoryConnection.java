@@ -0,0 +1,35 @@
+package zeenea.connector.inventory;
+
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import zeenea.connector.common.ItemInventory;
+
+/**
+ * Interface representing an inventory connection that lists items page by page, each page carrying
+ * a cursor from which the inventory can be resumed.
+ *
+ * <p>Cursors must stay valid across connections, so that an inventory interrupted by a scanner
+ * restart can be resumed with {@link InventoryCursorStore#inventory(PaginatedInventoryConnection)}.
+ */
+public interface PaginatedInventoryConnection extends InventoryConnection {
+
+  /**
+   * Retrieves a page of the inventory.
+   *
+   * @param cursor the cursor returned with the previous page, or null for the first page
+   * @return the page located at the cursor
+   */
+  @NotNull
+  InventoryPage inventoryPage(@Nullable String cursor);
+
+  /**
+   * Retrieves the whole inventory by walking every page from the first one.
+   *
+   * @return a Stream of ItemInventory objects representing the inventory
+   */
+  @Override
+  default Stream<ItemInventory> inventory() {
+    return InventoryPages.stream(this, null, page -> {});
+  }
+}
@@ -0,0 +1,453 @@
+package zeenea.connector.inventory;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.NotNull;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.concurrent.CancellationToken;
+import zeenea.connector.concurrent.ConnectorExecutors;
+import zeenea.connector.concurrent.SourceThrottle;
+
+/**
+ * Runs {@link InventoryConnection#extractItems(ExtractionRequest)} concurrently on partitions of
+ * the requested items.
+ *
+ * <p>Designators are grouped by a partition key (the {@link
+ * ItemDesignator#getDataSourceIdentifier() data source identifier} by default) and each partition
+ * is cut into chunks of at most {@link Builder#chunkSize(int) chunkSize} designators. Every chunk
+ * is extracted by its own call to the delegate connection on a bounded executor, and the results
+ * are merged into a single response stream.
+ *
+ * <p>The request stream is consumed lazily: at most {@link Builder#maxPendingChunks(int)} chunks
+ * are in flight or waiting to be consumed at any time, which bounds the memory used by extracted
+ * items that have not been read yet.
+ *
+ * <p>Every chunk request shares the deadline and the cancellation token of the original request.
+ * When the request is cancelled, pending chunks are cancelled and the response ends as {@link
+ * ExtractionResponse#isPartial() partial}.
+ *
+ * <p>Each chunk acquires a permit of the {@link Builder#throttle(SourceThrottle) throttle} for the
+ * data source of its first designator before calling the delegate, so the limits apply per data
+ * source with the default partitioner. A chunk that cannot start before the deadline of the request
+ * cancels the request.
+ *
+ * <p>The delegate connection must support concurrent calls to {@code extractItems}.
+ *
+ * <pre>Example : <br>
+ * ParallelExtractionEngine engine =
+ *     ParallelExtractionEngine.builder().parallelism(8).chunkSize(200).build();
+ * ExtractionResponse response = engine.extract(connection, request);
+ * </pre>
+ */
+public final class ParallelExtractionEngine {
+
+  /** Ordering guarantee applied to the merged response stream. */
+  public enum Ordering {
+    /**
+     * Items are returned as soon as their chunk is extracted. Items of a chunk stay together, but
+     * chunks may be returned in any order.
+     */
+    UNORDERED,
+
+    /**
+     * Chunks are returned in the order they were submitted. Within a partition, items follow the
+     * order of the request stream.
+     */
+    ORDERED
+  }
+
+  /** Default number of concurrent extraction tasks. */
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  /** Default maximum number of designators sent to the delegate in one call. */
+  public static final int DEFAULT_CHUNK_SIZE = 100;
+
+  private final int parallelism;
+  private final int chunkSize;
+  private final int maxPendingChunks;
+  @NotNull private final Ordering ordering;
+  @NotNull private final Function<ItemDesignator, ?> partitioner;
+  private final ExecutorService executor;
+  @NotNull private final SourceThrottle throttle;
+
+  /**
+   * Constructs a ParallelExtractionEngine instance using the provided builder.
+   *
+   * @param builder the builder used to create the ParallelExtractionEngine instance
+   */
+  private ParallelExtractionEngine(Builder builder) {
+    if (builder.parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be greater than 0");
+    }
+    if (builder.chunkSize < 1) {
+      throw new IllegalArgumentException("chunkSize must be greater than 0");
+    }
+    this.parallelism = builder.parallelism;
+    this.chunkSize = builder.chunkSize;
+    this.maxPendingChunks =
+        builder.maxPendingChunks > 0 ? builder.maxPendingChunks : builder.parallelism * 2;
+    this.ordering = Objects.requireNonNull(builder.ordering, "ordering");
+    this.partitioner = Objects.requireNonNull(builder.partitioner, "partitioner");
+    this.executor = builder.executor;
+    this.throttle = Objects.requireNonNull(builder.throttle, "throttle");
+  }
+
+  /**
+   * Creates a new builder for the ParallelExtractionEngine class.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the maximum number of concurrent extraction tasks.
+   *
+   * @return the parallelism
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Gets the maximum number of designators sent to the delegate in one call.
+   *
+   * @return the chunk size
+   */
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Gets the ordering guarantee of the merged response stream.
+   *
+   * @return the ordering
+   */
+  public @NotNull Ordering getOrdering() {
+    return ordering;
+  }
+
+  /**
+   * Gets the throttle limiting the calls made to each data source.
+   *
+   * @return the throttle
+   */
+  public @NotNull SourceThrottle getThrottle() {
+    return throttle;
+  }
+
+  /**
+   * Extracts the requested items with the given connection, running chunks concurrently.
+   *
+   * <p>The returned stream must be closed, or fully consumed, to release the worker threads
+   * created for this extraction. At most {@code maxPendingChunks} tasks are submitted at a time.
+   * When the engine creates its own executor, at most {@code parallelism} of them call the
+   * connection at a time, also when they run on virtual threads.
+   *
+   * @param connection the connection performing the actual extraction
+   * @param request the request holding the items to extract
+   * @return a response whose stream merges the items extracted by every chunk
+   */
+  public @NotNull ExtractionResponse extract(
+      @NotNull InventoryConnection connection, @NotNull ExtractionRequest request) {
+    Objects.requireNonNull(connection, "connection");
+    Objects.requireNonNull(request, "request");
+    ExecutorService workers =
+        executor != null
+            ? executor
+            : ConnectorExecutors.newIoExecutor("zeenea-extraction", parallelism);
+    MergingIterator iterator = new MergingIterator(connection, request, workers);
+    CancellationToken.Registration registration =
+        request.getCancellationToken().onCancel(iterator::cancelPending);
+    Stream<Item> items =
+        StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+            .onClose(registration::close)
+            .onClose(iterator::close)
+            .onClose(request.getItemsToExtract()::close);
+    return ExtractionResponse.of(request, items);
+  }
+
+  /**
+   * Pulls designators on demand, submits full chunks, and hands back extracted items according to
+   * the configured ordering.
+   */
+  private final class MergingIterator implements Iterator<Item> {
+
+    private final InventoryConnection connection;
+    private final ExtractionRequest request;
+    private final DesignatorBatcher chunks;
+    private final ExecutorService workers;
+
+    /** Bounds the running tasks of the executor created by the engine, null for a given one. */
+    private final Semaphore running;
+
+    private final Deque<Future<List<Item>>> submitted = new ConcurrentLinkedDeque<>();
+    private final LinkedBlockingQueue<Future<List<Item>>> completed = new LinkedBlockingQueue<>();
+    private Iterator<Item> current = Collections.emptyIterator();
+    private boolean closed;
+
+    private MergingIterator(
+        InventoryConnection connection, ExtractionRequest request, ExecutorService workers) {
+      this.connection = connection;
+      this.request = request;
+      this.chunks =
+          new DesignatorBatcher(request.getItemsToExtract().iterator(), partitioner, chunkSize);
+      this.workers = workers;
+      this.running = executor == null ? new Semaphore(parallelism) : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext()) {
+        if (closed) {
+          return false;
+        }
+        fill();
+        if (submitted.isEmpty()) {
+          close();
+          return false;
+        }
+        current = awaitNextChunk().iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public Item next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+
+    /** Submits chunks until the pending limit is reached or the request stream is exhausted. */
+    private void fill() {
+      while (submitted.size() < maxPendingChunks) {
+        if (request.isCancelled() || !chunks.hasNext()) {
+          return;
+        }
+        submit(chunks.next());
+      }
+    }
+
+    private void submit(List<ItemDesignator> chunk) {
+      ChunkTask task = new ChunkTask(chunk);
+      submitted.add(task);
+      workers.execute(task);
+    }
+
+    private List<Item> awaitNextChunk() {
+      Future<List<Item>> future;
+      try {
+        if (ordering == Ordering.ORDERED) {
+          future = submitted.poll();
+        } else {
+          future = completed.take();
+          submitted.remove(future);
+        }
+        return future.get();
+      } catch (CancellationException e) {
+        close();
+        return Collections.emptyList();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        close();
+        throw new CompletionException(e);
+      } catch (ExecutionException e) {
+        close();
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new CompletionException(e.getCause());
+      }
+    }
+
+    /** Waits for the throttle, cancelling the request if the deadline would pass first. */
+    private SourceThrottle.Permit acquire(DataSourceIdentifier dataSource)
+        throws InterruptedException {
+      try {
+        return throttle.acquire(dataSource, request.getDeadline());
+      } catch (TimeoutException e) {
+        request.getCancellationToken().cancel();
+        throw new CancellationException(e.getMessage());
+      }
+    }
+
+    /** Cancels the chunks in flight, called when the request is cancelled. */
+    private void cancelPending() {
+      submitted.forEach(future -> future.cancel(true));
+    }
+
+    private void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      submitted.forEach(future -> future.cancel(true));
+      submitted.clear();
+      completed.clear();
+      if (executor == null) {
+        workers.shutdownNow();
+      }
+    }
+
+    /** Extraction task reporting its own completion, used for unordered merging. */
+    private final class ChunkTask extends FutureTask<List<Item>> {
+
+      private ChunkTask(List<ItemDesignator> chunk) {
+        super(
+            () -> {
+              // Virtual thread executors start every submitted task at once.
+              if (running != null) {
+                running.acquire();
+              }
+              ExtractionRequest chunkRequest = request.withItemsToExtract(chunk.stream());
+              try (SourceThrottle.Permit permit = acquire(chunk.get(0).getDataSourceIdentifier());
+                  Stream<Item> items = connection.extractItems(chunkRequest).getExtractedItems()) {
+                return items.collect(Collectors.toList());
+              } finally {
+                if (running != null) {
+                  running.release();
+                }
+              }
+            });
+      }
+
+      @Override
+      protected void done() {
+        // Ordered merging polls the submitted tasks, queuing them would retain their results.
+        if (ordering == Ordering.UNORDERED) {
+          completed.add(this);
+        }
+      }
+    }
+  }
+
+  /** Builder class for creating instances of ParallelExtractionEngine. */
+  public static class Builder {
+
+    private int parallelism = DEFAULT_PARALLELISM;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int maxPendingChunks;
+    private Ordering ordering = Ordering.UNORDERED;
+    private Function<ItemDesignator, ?> partitioner = ItemDesignator::getDataSourceIdentifier;
+    private ExecutorService executor;
+    private SourceThrottle throttle = SourceThrottle.unlimited();
+
+    /**
+     * Sets the maximum number of concurrent extraction tasks. Ignored when an executor is
+     * provided.
+     *
+     * @param parallelism the parallelism, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder parallelism(int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of designators sent to the delegate in one call.
+     *
+     * @param chunkSize the chunk size, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder chunkSize(int chunkSize) {
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of chunks being extracted or waiting to be consumed. Defaults to
+     * twice the parallelism.
+     *
+     * @param maxPendingChunks the maximum number of pending chunks
+     * @return the builder instance
+     */
+    public Builder maxPendingChunks(int maxPendingChunks) {
+      this.maxPendingChunks = maxPendingChunks;
+      return this;
+    }
+
+    /**
+     * Sets the ordering guarantee of the merged response stream.
+     *
+     * @param ordering the ordering
+     * @return the builder instance
+     */
+    public Builder ordering(@NotNull Ordering ordering) {
+      this.ordering = ordering;
+      return this;
+    }
+
+    /**
+     * Sets the function computing the partition key of a designator. Designators of different
+     * partitions are never sent in the same chunk.
+     *
+     * @param partitioner the partition key function
+     * @return the builder instance
+     */
+    public Builder partitionBy(@NotNull Function<ItemDesignator, ?> partitioner) {
+      this.partitioner = partitioner;
+      return this;
+    }
+
+    /**
+     * Sets the executor running the extraction tasks. The executor is not shut down by the
+     * engine. When not set, an {@link ConnectorExecutors#newIoExecutor(String, int) I/O executor}
+     * is created for each extraction.
+     *
+     * @param executor the executor
+     * @return the builder instance
+     */
+    public Builder executor(@NotNull ExecutorService executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Sets the throttle limiting the calls made to each data source. Defaults to {@link
+     * SourceThrottle#unlimited()}.
+     *
+     * @param throttle the throttle
+     * @return the builder instance
+     */
+    public Builder throttle(@NotNull SourceThrottle throttle) {
+      this.throttle = throttle;
+      return this;
+    }
+
+    /**
+     * Builds and returns the ParallelExtractionEngine instance.
+     *
+     * @return the created ParallelExtractionEngine instance
+     */
+    public ParallelExtractionEngine build() {
+      return new ParallelExtractionEngine(this);
+    }
+  }
+}
@@ -0,0 +1,363 @@
+package zeenea.connector.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.NotNull;
+import zeenea.connector.Connection;
+import zeenea.connector.ConnectionConfiguration;
+import zeenea.connector.Item;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.datasampling.DataSampleRequest;
+import zeenea.connector.inventory.ExtractionRequest;
+import zeenea.connector.inventory.ExtractionResponse;
+
+/**
+ * Wraps a {@link Connection} so that its operations report metrics to a {@link ConnectorMetrics},
+ * without changes to the connector code.
+ *
+ * <p>The wrapper implements every interface of the wrapped connection, so {@code instanceof}
+ * checks on the result behave as on the connection itself. The following operations are measured,
+ * every other method is forwarded as is:
+ *
+ * <ul>
+ *   <li>{@code inventory()}, {@code extractItems(ExtractionRequest)} and {@code synchronize()}:
+ *       the duration from the call to the end of the returned stream, the time taken to produce
+ *       each item and the number of items, both tagged with the data source of the item;
+ *   <li>{@code collectDataSample(DataSampleRequest)}: the duration of the call, tagged with the
+ *       data source of the sampled item.
+ * </ul>
+ *
+ * <p>Every metric is tagged with the connection code and the operation name. Failures are counted
+ * in {@value #OPERATION_ERRORS} and the number of operations in progress is reported by the
+ * {@value #OPERATION_ACTIVE} gauge. Item throughput is the {@value #ITEMS} count divided by the
+ * total of {@value #OPERATION_DURATION}.
+ *
+ * <p>{@link #instrument(Connection, ConnectionConfiguration)} also emits the Flight Recorder events
+ * {@link ConnectorInventoryEvent}, {@link ItemExtractEvent} and {@link DataSampleEvent}, which can
+ * be enabled with {@code jcmd <pid> JFR.start}. {@link #recordEvents} emits these events only.
+ *
+ * <pre>Example : <br>
+ * Connection connection =
+ *     ConnectionInstrumentation.instrument(connector.newConnection(configuration), configuration);
+ * </pre>
+ */
+public final class ConnectionInstrumentation {
+
+  /** Histogram of the durations of the operations. */
+  public static final String OPERATION_DURATION = "connector.operation.duration";
+
+  /** Counter of the failed operations. */
+  public static final String OPERATION_ERRORS = "connector.operation.errors";
+
+  /** Gauge of the operations in progress. */
+  public static final String OPERATION_ACTIVE = "connector.operation.active";
+
+  /** Counter of the items produced by the operations. */
+  public static final String ITEMS = "connector.items";
+
+  /** Histogram of the time taken to produce each item. */
+  public static final String ITEM_LATENCY = "connector.item.latency";
+
+  /** Tag holding the connection code. */
+  public static final String CONNECTION_TAG = "connection";
+
+  /** Tag holding the operation name. */
+  public static final String OPERATION_TAG = "operation";
+
+  /** Tag holding the data source identification properties. */
+  public static final String DATA_SOURCE_TAG = "dataSource";
+
+  static final String INVENTORY = "inventory";
+  static final String EXTRACT_ITEMS = "extractItems";
+  static final String SYNCHRONIZE = "synchronize";
+  static final String COLLECT_DATA_SAMPLE = "collectDataSample";
+
+  /** Private constructor to prevent instantiation. */
+  private ConnectionInstrumentation() {}
+
+  /**
+   * Wraps a connection so that it reports metrics to {@link ConnectionConfiguration#getMetrics()},
+   * tagged with {@link ConnectionConfiguration#getConnectionCode()}, and emits the Flight Recorder
+   * events {@link ConnectorInventoryEvent}, {@link ItemExtractEvent} and {@link DataSampleEvent}.
+   *
+   * @param connection the connection to instrument
+   * @param configuration the configuration of the connection
+   * @return the instrumented connection
+   */
+  public static @NotNull Connection instrument(
+      @NotNull Connection connection, @NotNull ConnectionConfiguration configuration) {
+    return wrap(
+        connection,
+        MetricsRecorder.factory(configuration.getMetrics(), configuration.getConnectionCode()),
+        EventRecorders.factory(configuration.getConnectorId(), configuration.getConnectionCode()));
+  }
+
+  /**
+   * Wraps a connection so that it reports metrics to the given registry.
+   *
+   * @param connection the connection to instrument
+   * @param metrics the registry receiving the metrics
+   * @param connectionCode the code of the connection, used as tag
+   * @return the instrumented connection
+   */
+  public static @NotNull Connection instrument(
+      @NotNull Connection connection,
+      @NotNull ConnectorMetrics metrics,
+      @NotNull String connectionCode) {
+    Objects.requireNonNull(metrics, "metrics");
+    Objects.requireNonNull(connectionCode, "connectionCode");
+    return wrap(connection, MetricsRecorder.factory(metrics, connectionCode));
+  }
+
+  /**
+   * Wraps a connection so that it emits the Flight Recorder events {@link
+   * ConnectorInventoryEvent}, {@link ItemExtractEvent} and {@link DataSampleEvent}. Events are
+   * only built while a recording enables them, so the overhead is negligible otherwise.
+   *
+   * @param connection the connection to instrument
+   * @param connectorId the identifier of the connector, recorded in the events
+   * @param connectionCode the code of the connection, recorded in the events
+   * @return the instrumented connection
+   */
+  public static @NotNull Connection recordEvents(
+      @NotNull Connection connection, @NotNull String connectorId, @NotNull String connectionCode) {
+    Objects.requireNonNull(connectorId, "connectorId");
+    Objects.requireNonNull(connectionCode, "connectionCode");
+    return wrap(connection, EventRecorders.factory(connectorId, connectionCode));
+  }
+
+  private static Connection wrap(
+      Connection connection, OperationRecorder.Factory... recorderFactories) {
+    Objects.requireNonNull(connection, "connection");
+    Set<Class<?>> interfaces = new LinkedHashSet<>();
+    for (Class<?> type = connection.getClass(); type != null; type = type.getSuperclass()) {
+      collectInterfaces(type, interfaces);
+    }
+    return (Connection)
+        Proxy.newProxyInstance(
+            connection.getClass().getClassLoader(),
+            interfaces.toArray(new Class<?>[0]),
+            new Handler(connection, List.of(recorderFactories)));
+  }
+
+  private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+    for (Class<?> candidate : type.getInterfaces()) {
+      if (interfaces.add(candidate)) {
+        collectInterfaces(candidate, interfaces);
+      }
+    }
+  }
+
+  /**
+   * Formats identification properties as a compact tag or event value.
+   *
+   * @param properties the identification properties
+   * @return the properties as comma separated {@code key=value} pairs
+   */
+  static String describe(List<IdentificationProperty> properties) {
+    return properties.stream()
+        .map(property -> property.getKey() + "=" + property.getValue())
+        .collect(Collectors.joining(","));
+  }
+
+  /** Forwards calls to the connection, recording the instrumented operations. */
+  private static final class Handler implements InvocationHandler {
+
+    private final Connection connection;
+    private final List<OperationRecorder.Factory> recorderFactories;
+
+    private Handler(Connection connection, List<OperationRecorder.Factory> recorderFactories) {
+      this.connection = connection;
+      this.recorderFactories = recorderFactories;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      int parameterCount = method.getParameterCount();
+      if (method.getDeclaringClass() == Object.class) {
+        return invokeObjectMethod(proxy, name, args);
+      }
+      if (parameterCount == 0 && (name.equals(INVENTORY) || name.equals(SYNCHRONIZE))) {
+        return recordStream(name, method, args, Function.identity());
+      }
+      if (parameterCount == 1
+          && name.equals(EXTRACT_ITEMS)
+          && method.getParameterTypes()[0] == ExtractionRequest.class) {
+        return recordStream(
+            name, method, args, (ExtractionResponse response) -> response.getExtractedItems());
+      }
+      if (parameterCount == 1
+          && name.equals(COLLECT_DATA_SAMPLE)
+          && method.getParameterTypes()[0] == DataSampleRequest.class) {
+        return recordCall(name, method, args);
+      }
+      return forward(method, args);
+    }
+
+    private Object invokeObjectMethod(Object proxy, String name, Object[] args) {
+      switch (name) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return "Instrumented" + connection;
+      }
+    }
+
+    private Object recordCall(String operation, Method method, Object[] args) throws Throwable {
+      Recording recording = new Recording(operation, args[0]);
+      try {
+        return forward(method, args);
+      } catch (Throwable e) {
+        recording.fail();
+        throw e;
+      } finally {
+        recording.end();
+      }
+    }
+
+    /**
+     * Records an operation returning a stream, directly or wrapped in a response.
+     *
+     * @param <R> the type returned by the operation
+     * @param <T> the type of the elements of the stream
+     */
+    @SuppressWarnings("unchecked")
+    private <R, T> Object recordStream(
+        String operation, Method method, Object[] args, Function<R, Stream<T>> streamOf)
+        throws Throwable {
+      Recording recording = new Recording(operation, args == null ? null : args[0]);
+      R result;
+      try {
+        result = (R) forward(method, args);
+      } catch (Throwable e) {
+        recording.fail();
+        recording.end();
+        throw e;
+      }
+      if (result == null) {
+        recording.end();
+        return null;
+      }
+      Stream<T> source = streamOf.apply(result);
+      RecordingSpliterator<T> spliterator =
+          new RecordingSpliterator<>(source.spliterator(), recording);
+      Stream<T> recordedStream =
+          StreamSupport.stream(spliterator, false)
+              .onClose(source::close)
+              .onClose(recording::end);
+      if (result instanceof ExtractionResponse) {
+        return ((ExtractionResponse) result).withExtractedItems((Stream<Item>) recordedStream);
+      }
+      return recordedStream;
+    }
+
+    private Object forward(Method method, Object[] args) throws Throwable {
+      try {
+        return method.invoke(connection, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+
+    /** The recorders of one call to an operation. */
+    private final class Recording {
+
+      private final List<OperationRecorder> recorders = new ArrayList<>(recorderFactories.size());
+      private boolean ended;
+
+      private Recording(String operation, Object argument) {
+        for (OperationRecorder.Factory factory : recorderFactories) {
+          OperationRecorder recorder = factory.start(operation, argument);
+          if (recorder != null) {
+            recorders.add(recorder);
+          }
+        }
+      }
+
+      private void beforeElement() {
+        for (OperationRecorder recorder : recorders) {
+          recorder.beforeElement();
+        }
+      }
+
+      private void element(Object element, long latencyNanos) {
+        for (OperationRecorder recorder : recorders) {
+          recorder.element(element, latencyNanos);
+        }
+      }
+
+      private void fail() {
+        for (OperationRecorder recorder : recorders) {
+          recorder.fail();
+        }
+      }
+
+      private void end() {
+        if (ended) {
+          return;
+        }
+        ended = true;
+        for (OperationRecorder recorder : recorders) {
+          recorder.end();
+        }
+      }
+    }
+  }
+
+  /** Measures the time taken to produce each element of a stream. */
+  private static final class RecordingSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private final Spliterator<T> source;
+    private final Handler.Recording recording;
+    private long last = System.nanoTime();
+
+    private RecordingSpliterator(Spliterator<T> source, Handler.Recording recording) {
+      super(source.estimateSize(), source.characteristics() & (ORDERED | NONNULL));
+      this.source = source;
+      this.recording = recording;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      boolean advanced;
+      recording.beforeElement();
+      try {
+        advanced = source.tryAdvance(element -> record(element, action));
+      } catch (RuntimeException | Error e) {
+        recording.fail();
+        recording.end();
+        throw e;
+      }
+      if (!advanced) {
+        recording.end();
+      }
+      return advanced;
+    }
+
+    private void record(T element, Consumer<? super T> action) {
+      long now = System.nanoTime();
+      if (element != null) {
+        recording.element(element, now - last);
+      }
+      action.accept(element);
+      last = System.nanoTime();
+    }
+  }
+}
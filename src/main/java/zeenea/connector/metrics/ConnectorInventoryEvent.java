@@ -0,0 +1,30 @@
+package zeenea.connector.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering a call to {@code inventory()}, from the call to the end of the
+ * returned stream. Emitted by connections instrumented by {@link ConnectionInstrumentation}.
+ */
+@Name("zeenea.connector.Inventory")
+@Label("Connector Inventory")
+@Category({"Zeenea", "Connector"})
+@Description("Inventory of a connection, from the call to the end of the returned stream")
+public final class ConnectorInventoryEvent extends Event {
+
+  @Label("Connector Id")
+  String connectorId;
+
+  @Label("Connection Code")
+  String connectionCode;
+
+  @Label("Item Count")
+  long itemCount;
+
+  @Label("Failed")
+  boolean failed;
+}
@@ -0,0 +1,57 @@
+package zeenea.connector.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Registry of the metrics reported by a connection, obtained with {@link
+ * zeenea.connector.ConnectionConfiguration#getMetrics()}.
+ *
+ * <p>The scanner provides the implementation and exports the metrics. Asking twice for the same
+ * {@link MetricId} returns the same metric, so connectors can either keep metrics in fields or
+ * look them up when needed.
+ *
+ * <pre>Example : <br>
+ * Counter rows = configuration.getMetrics().counter(MetricId.of("jdbc.rows", "table", name));
+ * rows.add(rowCount);
+ * </pre>
+ *
+ * @see ConnectionInstrumentation
+ */
+public interface ConnectorMetrics {
+
+  /**
+   * Gets the metrics registry that records nothing.
+   *
+   * @return the no-op metrics registry
+   */
+  static @NotNull ConnectorMetrics noop() {
+    return NoopConnectorMetrics.INSTANCE;
+  }
+
+  /**
+   * Gets or creates a counter.
+   *
+   * @param id the identifier of the counter
+   * @return the counter
+   */
+  @NotNull
+  Counter counter(@NotNull MetricId id);
+
+  /**
+   * Gets or creates a gauge.
+   *
+   * @param id the identifier of the gauge
+   * @return the gauge
+   */
+  @NotNull
+  Gauge gauge(@NotNull MetricId id);
+
+  /**
+   * Gets or creates a latency histogram.
+   *
+   * @param id the identifier of the histogram
+   * @return the histogram
+   */
+  @NotNull
+  LatencyHistogram histogram(@NotNull MetricId id);
+}
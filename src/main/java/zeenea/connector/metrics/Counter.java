@@ -0,0 +1,24 @@
+package zeenea.connector.metrics;
+
+/** A monotonically increasing count, such as a number of extracted items. */
+public interface Counter {
+
+  /**
+   * Adds an amount to the count.
+   *
+   * @param amount the amount to add, should not be negative
+   */
+  void add(long amount);
+
+  /** Adds one to the count. */
+  default void increment() {
+    add(1);
+  }
+
+  /**
+   * Gets the current count.
+   *
+   * @return the current count
+   */
+  long getCount();
+}
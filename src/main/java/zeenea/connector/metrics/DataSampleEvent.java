@@ -0,0 +1,36 @@
+package zeenea.connector.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering a call to {@code collectDataSample()}. Emitted by connections
+ * instrumented by {@link ConnectionInstrumentation}.
+ */
+@Name("zeenea.connector.DataSample")
+@Label("Data Sample")
+@Category({"Zeenea", "Connector"})
+@Description("Collection of a data sample")
+public final class DataSampleEvent extends Event {
+
+  @Label("Connector Id")
+  String connectorId;
+
+  @Label("Connection Code")
+  String connectionCode;
+
+  @Label("Item Identifier")
+  String itemIdentifier;
+
+  @Label("Data Source")
+  String dataSource;
+
+  @Label("Sample Size")
+  int sampleSize;
+
+  @Label("Failed")
+  boolean failed;
+}
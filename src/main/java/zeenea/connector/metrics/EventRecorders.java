@@ -0,0 +1,187 @@
+package zeenea.connector.metrics;
+
+import static zeenea.connector.metrics.ConnectionInstrumentation.describe;
+
+import zeenea.connector.Item;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.datasampling.DataSampleRequest;
+
+/**
+ * Emits the Flight Recorder events of instrumented connections.
+ *
+ * <p>Whether an event is enabled is checked when the call starts, so calls made while no recording
+ * is running only cost one short-lived event allocation.
+ */
+final class EventRecorders {
+
+  /** Private constructor to prevent instantiation. */
+  private EventRecorders() {}
+
+  static OperationRecorder.Factory factory(String connectorId, String connectionCode) {
+    return (operation, argument) -> {
+      switch (operation) {
+        case ConnectionInstrumentation.INVENTORY:
+          return InventoryRecorder.start(connectorId, connectionCode);
+        case ConnectionInstrumentation.EXTRACT_ITEMS:
+        case ConnectionInstrumentation.SYNCHRONIZE:
+          return ItemRecorder.start(connectorId, connectionCode, operation);
+        case ConnectionInstrumentation.COLLECT_DATA_SAMPLE:
+          return DataSampleRecorder.start(
+              connectorId, connectionCode, (DataSampleRequest) argument);
+        default:
+          return null;
+      }
+    };
+  }
+
+  /** Emits one {@link ConnectorInventoryEvent} per call. */
+  private static final class InventoryRecorder implements OperationRecorder {
+
+    private final ConnectorInventoryEvent event;
+
+    private InventoryRecorder(ConnectorInventoryEvent event) {
+      this.event = event;
+    }
+
+    private static OperationRecorder start(String connectorId, String connectionCode) {
+      ConnectorInventoryEvent event = new ConnectorInventoryEvent();
+      if (!event.isEnabled()) {
+        return null;
+      }
+      event.connectorId = connectorId;
+      event.connectionCode = connectionCode;
+      event.begin();
+      return new InventoryRecorder(event);
+    }
+
+    @Override
+    public void beforeElement() {}
+
+    @Override
+    public void element(Object element, long latencyNanos) {
+      event.itemCount++;
+    }
+
+    @Override
+    public void fail() {
+      event.failed = true;
+    }
+
+    @Override
+    public void end() {
+      event.end();
+      if (event.shouldCommit()) {
+        event.commit();
+      }
+    }
+  }
+
+  /** Emits one {@link ItemExtractEvent} per produced item. */
+  private static final class ItemRecorder implements OperationRecorder {
+
+    private final String connectorId;
+    private final String connectionCode;
+    private final String operation;
+    private ItemExtractEvent event;
+
+    private ItemRecorder(String connectorId, String connectionCode, String operation) {
+      this.connectorId = connectorId;
+      this.connectionCode = connectionCode;
+      this.operation = operation;
+    }
+
+    private static OperationRecorder start(
+        String connectorId, String connectionCode, String operation) {
+      if (!new ItemExtractEvent().isEnabled()) {
+        return null;
+      }
+      return new ItemRecorder(connectorId, connectionCode, operation);
+    }
+
+    @Override
+    public void beforeElement() {
+      event = new ItemExtractEvent();
+      event.begin();
+    }
+
+    @Override
+    public void element(Object element, long latencyNanos) {
+      if (event == null) {
+        return;
+      }
+      event.end();
+      if (event.shouldCommit()) {
+        Item item = (Item) element;
+        event.connectorId = connectorId;
+        event.connectionCode = connectionCode;
+        event.operation = operation;
+        event.itemIdentifier = describe(item.getId().getIdentificationProperties());
+        event.dataSource =
+            item.getDataSourceIdentifier() == null
+                ? null
+                : describe(item.getDataSourceIdentifier().getIdentificationProperties());
+        event.commit();
+      }
+      event = null;
+    }
+
+    @Override
+    public void fail() {}
+
+    @Override
+    public void end() {
+      event = null;
+    }
+  }
+
+  /** Emits one {@link DataSampleEvent} per call. */
+  private static final class DataSampleRecorder implements OperationRecorder {
+
+    private final DataSampleEvent event;
+
+    private DataSampleRecorder(DataSampleEvent event) {
+      this.event = event;
+    }
+
+    private static OperationRecorder start(
+        String connectorId, String connectionCode, DataSampleRequest request) {
+      DataSampleEvent event = new DataSampleEvent();
+      if (!event.isEnabled()) {
+        return null;
+      }
+      event.connectorId = connectorId;
+      event.connectionCode = connectionCode;
+      if (request != null) {
+        ItemDesignator designator = request.getItemDesignator();
+        if (designator != null) {
+          event.itemIdentifier =
+              describe(designator.getItemIdentifier().getIdentificationProperties());
+          event.dataSource =
+              describe(designator.getDataSourceIdentifier().getIdentificationProperties());
+        }
+        event.sampleSize = request.getSampleSize();
+      }
+      event.begin();
+      return new DataSampleRecorder(event);
+    }
+
+    @Override
+    public void beforeElement() {}
+
+    @Override
+    public void element(Object element, long latencyNanos) {}
+
+    @Override
+    public void fail() {
+      event.failed = true;
+    }
+
+    @Override
+    public void end() {
+      event.end();
+      if (event.shouldCommit()) {
+        event.commit();
+      }
+    }
+  }
+}
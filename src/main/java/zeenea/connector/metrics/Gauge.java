@@ -0,0 +1,26 @@
+package zeenea.connector.metrics;
+
+/** A value that goes up and down, such as a number of operations in progress. */
+public interface Gauge {
+
+  /**
+   * Sets the value.
+   *
+   * @param value the new value
+   */
+  void set(long value);
+
+  /**
+   * Adds an amount to the value.
+   *
+   * @param delta the amount to add, may be negative
+   */
+  void add(long delta);
+
+  /**
+   * Gets the current value.
+   *
+   * @return the current value
+   */
+  long getValue();
+}
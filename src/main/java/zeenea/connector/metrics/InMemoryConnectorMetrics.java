@@ -0,0 +1,116 @@
+package zeenea.connector.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Metrics registry keeping every metric in memory, for scanners without a metrics backend and for
+ * tests. Counters and histograms use striped adders, so recording from many threads does not
+ * contend on a single lock.
+ */
+public final class InMemoryConnectorMetrics implements ConnectorMetrics {
+
+  private final Map<MetricId, Counter> counters = new ConcurrentHashMap<>();
+  private final Map<MetricId, Gauge> gauges = new ConcurrentHashMap<>();
+  private final Map<MetricId, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+  /** Creates an empty registry. */
+  public InMemoryConnectorMetrics() {}
+
+  @Override
+  public @NotNull Counter counter(@NotNull MetricId id) {
+    return counters.computeIfAbsent(Objects.requireNonNull(id, "id"), key -> new AdderCounter());
+  }
+
+  @Override
+  public @NotNull Gauge gauge(@NotNull MetricId id) {
+    return gauges.computeIfAbsent(Objects.requireNonNull(id, "id"), key -> new AtomicGauge());
+  }
+
+  @Override
+  public @NotNull LatencyHistogram histogram(@NotNull MetricId id) {
+    return histograms.computeIfAbsent(
+        Objects.requireNonNull(id, "id"), key -> new LogLinearHistogram());
+  }
+
+  /**
+   * Gets the counters created so far.
+   *
+   * @return an unmodifiable snapshot of the counters, sorted by name
+   */
+  public @NotNull Map<MetricId, Counter> getCounters() {
+    return snapshot(counters);
+  }
+
+  /**
+   * Gets the gauges created so far.
+   *
+   * @return an unmodifiable snapshot of the gauges, sorted by name
+   */
+  public @NotNull Map<MetricId, Gauge> getGauges() {
+    return snapshot(gauges);
+  }
+
+  /**
+   * Gets the histograms created so far.
+   *
+   * @return an unmodifiable snapshot of the histograms, sorted by name
+   */
+  public @NotNull Map<MetricId, LatencyHistogram> getHistograms() {
+    return snapshot(histograms);
+  }
+
+  private static <T> Map<MetricId, T> snapshot(Map<MetricId, T> metrics) {
+    Map<MetricId, T> sorted = new TreeMap<>(InMemoryConnectorMetrics::compare);
+    sorted.putAll(metrics);
+    return Collections.unmodifiableMap(sorted);
+  }
+
+  private static int compare(MetricId left, MetricId right) {
+    int byName = left.getName().compareTo(right.getName());
+    return byName != 0 ? byName : left.toString().compareTo(right.toString());
+  }
+
+  /** Counter backed by a striped adder. */
+  private static final class AdderCounter implements Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    @Override
+    public void add(long amount) {
+      count.add(amount);
+    }
+
+    @Override
+    public long getCount() {
+      return count.sum();
+    }
+  }
+
+  /** Gauge backed by an atomic long. */
+  private static final class AtomicGauge implements Gauge {
+
+    private final AtomicLong value = new AtomicLong();
+
+    @Override
+    public void set(long value) {
+      this.value.set(value);
+    }
+
+    @Override
+    public void add(long delta) {
+      value.addAndGet(delta);
+    }
+
+    @Override
+    public long getValue() {
+      return value.get();
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package zeenea.connector.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering the production of one item by {@code extractItems()} or {@code
+ * synchronize()}, from the request of the item to its delivery. Emitted by connections
+ * instrumented by {@link ConnectionInstrumentation}.
+ */
+@Name("zeenea.connector.ItemExtract")
+@Label("Item Extract")
+@Category({"Zeenea", "Connector"})
+@Description("Production of one item by extractItems or synchronize")
+public final class ItemExtractEvent extends Event {
+
+  @Label("Connector Id")
+  String connectorId;
+
+  @Label("Connection Code")
+  String connectionCode;
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Item Identifier")
+  String itemIdentifier;
+
+  @Label("Data Source")
+  String dataSource;
+}
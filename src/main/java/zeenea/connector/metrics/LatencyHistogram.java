@@ -0,0 +1,53 @@
+package zeenea.connector.metrics;
+
+import java.time.Duration;
+import org.jetbrains.annotations.NotNull;
+
+/** A distribution of durations, such as the durations of the calls to an operation. */
+public interface LatencyHistogram {
+
+  /**
+   * Records a duration.
+   *
+   * @param nanos the duration in nanoseconds, negative durations are recorded as 0
+   */
+  void record(long nanos);
+
+  /**
+   * Records a duration.
+   *
+   * @param duration the duration
+   */
+  default void record(@NotNull Duration duration) {
+    record(duration.toNanos());
+  }
+
+  /**
+   * Gets the number of recorded durations.
+   *
+   * @return the number of recorded durations
+   */
+  long getCount();
+
+  /**
+   * Gets the sum of the recorded durations.
+   *
+   * @return the sum of the recorded durations in nanoseconds
+   */
+  long getTotalNanos();
+
+  /**
+   * Gets the longest recorded duration.
+   *
+   * @return the longest recorded duration in nanoseconds, 0 if none was recorded
+   */
+  long getMaxNanos();
+
+  /**
+   * Gets an estimate of a percentile of the recorded durations.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @return the estimated percentile in nanoseconds, 0 if no duration was recorded
+   */
+  long getPercentileNanos(double percentile);
+}
@@ -0,0 +1,109 @@
+package zeenea.connector.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Identifies a metric by its name and its tags. Tags are sorted by key, so the order in which they
+ * are given does not matter.
+ */
+public final class MetricId {
+
+  @NotNull private final String name;
+  @NotNull private final SortedMap<String, String> tags;
+
+  private MetricId(@NotNull String name, @NotNull SortedMap<String, String> tags) {
+    this.name = name;
+    this.tags = Collections.unmodifiableSortedMap(tags);
+  }
+
+  /**
+   * Creates a metric identifier.
+   *
+   * @param name the name of the metric
+   * @param keyValues the tags of the metric, as alternating keys and values
+   * @return a new MetricId instance
+   */
+  public static MetricId of(@NotNull String name, @NotNull String... keyValues) {
+    Objects.requireNonNull(name, "name");
+    if (keyValues.length % 2 != 0) {
+      throw new IllegalArgumentException("keyValues must hold pairs of keys and values");
+    }
+    SortedMap<String, String> tags = new TreeMap<>();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      tags.put(
+          Objects.requireNonNull(keyValues[i], "key"),
+          Objects.requireNonNull(keyValues[i + 1], "value"));
+    }
+    return new MetricId(name, tags);
+  }
+
+  /**
+   * Creates a metric identifier with an additional tag, replacing any tag with the same key.
+   *
+   * @param key the key of the tag
+   * @param value the value of the tag
+   * @return a new MetricId instance
+   */
+  public MetricId withTag(@NotNull String key, @NotNull String value) {
+    SortedMap<String, String> newTags = new TreeMap<>(tags);
+    newTags.put(Objects.requireNonNull(key, "key"), Objects.requireNonNull(value, "value"));
+    return new MetricId(name, newTags);
+  }
+
+  /**
+   * Gets the name of the metric.
+   *
+   * @return the name of the metric
+   */
+  public @NotNull String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the tags of the metric, sorted by key.
+   *
+   * @return an unmodifiable map of the tags
+   */
+  public @NotNull Map<String, String> getTags() {
+    return tags;
+  }
+
+  /**
+   * Checks if this metric identifier is equal to another object.
+   *
+   * @param o the object to compare with
+   * @return true if this metric identifier is equal to the specified object, otherwise false
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    MetricId metricId = (MetricId) o;
+    return name.equals(metricId.name) && tags.equals(metricId.tags);
+  }
+
+  /**
+   * Computes the hash code for this metric identifier.
+   *
+   * @return the hash code of this metric identifier
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, tags);
+  }
+
+  /**
+   * Returns a string representation of this metric identifier.
+   *
+   * @return a string representation of this metric identifier
+   */
+  @Override
+  public String toString() {
+    return name + tags;
+  }
+}
@@ -0,0 +1,104 @@
+package zeenea.connector.metrics;
+
+import static zeenea.connector.metrics.ConnectionInstrumentation.CONNECTION_TAG;
+import static zeenea.connector.metrics.ConnectionInstrumentation.DATA_SOURCE_TAG;
+import static zeenea.connector.metrics.ConnectionInstrumentation.ITEMS;
+import static zeenea.connector.metrics.ConnectionInstrumentation.ITEM_LATENCY;
+import static zeenea.connector.metrics.ConnectionInstrumentation.OPERATION_ACTIVE;
+import static zeenea.connector.metrics.ConnectionInstrumentation.OPERATION_DURATION;
+import static zeenea.connector.metrics.ConnectionInstrumentation.OPERATION_ERRORS;
+import static zeenea.connector.metrics.ConnectionInstrumentation.OPERATION_TAG;
+import static zeenea.connector.metrics.ConnectionInstrumentation.describe;
+
+import java.util.HashMap;
+import java.util.Map;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.datasampling.DataSampleRequest;
+
+/** Reports the measurements of one call to a {@link ConnectorMetrics} registry. */
+final class MetricsRecorder implements OperationRecorder {
+
+  private static final String NO_DATA_SOURCE = "none";
+
+  private final ConnectorMetrics metrics;
+  private final String connectionCode;
+  private final String operation;
+  private final String dataSource;
+  private final Gauge active;
+  private final long start = System.nanoTime();
+  private final Map<DataSourceIdentifier, Counter> items = new HashMap<>();
+  private final Map<DataSourceIdentifier, LatencyHistogram> itemLatencies = new HashMap<>();
+
+  private MetricsRecorder(
+      ConnectorMetrics metrics, String connectionCode, String operation, Object argument) {
+    this.metrics = metrics;
+    this.connectionCode = connectionCode;
+    this.operation = operation;
+    this.dataSource =
+        argument instanceof DataSampleRequest
+                && ((DataSampleRequest) argument).getItemDesignator() != null
+            ? tag(((DataSampleRequest) argument).getItemDesignator().getDataSourceIdentifier())
+            : null;
+    this.active = metrics.gauge(id(OPERATION_ACTIVE));
+    active.add(1);
+  }
+
+  static OperationRecorder.Factory factory(ConnectorMetrics metrics, String connectionCode) {
+    return (operation, argument) ->
+        new MetricsRecorder(metrics, connectionCode, operation, argument);
+  }
+
+  @Override
+  public void beforeElement() {}
+
+  @Override
+  public void element(Object element, long latencyNanos) {
+    DataSourceIdentifier source = dataSourceOf(element);
+    items
+        .computeIfAbsent(
+            source, key -> metrics.counter(id(ITEMS).withTag(DATA_SOURCE_TAG, tag(key))))
+        .increment();
+    itemLatencies
+        .computeIfAbsent(
+            source, key -> metrics.histogram(id(ITEM_LATENCY).withTag(DATA_SOURCE_TAG, tag(key))))
+        .record(latencyNanos);
+  }
+
+  @Override
+  public void fail() {
+    metrics.counter(id(OPERATION_ERRORS)).increment();
+  }
+
+  @Override
+  public void end() {
+    MetricId id = id(OPERATION_DURATION);
+    if (dataSource != null) {
+      id = id.withTag(DATA_SOURCE_TAG, dataSource);
+    }
+    metrics.histogram(id).record(System.nanoTime() - start);
+    active.add(-1);
+  }
+
+  private MetricId id(String name) {
+    return MetricId.of(name, CONNECTION_TAG, connectionCode, OPERATION_TAG, operation);
+  }
+
+  private static DataSourceIdentifier dataSourceOf(Object element) {
+    if (element instanceof Item) {
+      return ((Item) element).getDataSourceIdentifier();
+    }
+    if (element instanceof ItemInventory) {
+      return ((ItemInventory) element).getDataSourceIdentifier();
+    }
+    return null;
+  }
+
+  private static String tag(DataSourceIdentifier dataSource) {
+    if (dataSource == null || dataSource.getIdentificationProperties().isEmpty()) {
+      return NO_DATA_SOURCE;
+    }
+    return describe(dataSource.getIdentificationProperties());
+  }
+}
@@ -0,0 +1,58 @@
+package zeenea.connector.metrics;
+
+/** Metrics registry recording nothing, used when the scanner does not collect metrics. */
+final class NoopConnectorMetrics implements ConnectorMetrics, Counter, Gauge, LatencyHistogram {
+
+  static final NoopConnectorMetrics INSTANCE = new NoopConnectorMetrics();
+
+  private NoopConnectorMetrics() {}
+
+  @Override
+  public Counter counter(MetricId id) {
+    return this;
+  }
+
+  @Override
+  public Gauge gauge(MetricId id) {
+    return this;
+  }
+
+  @Override
+  public LatencyHistogram histogram(MetricId id) {
+    return this;
+  }
+
+  @Override
+  public void add(long amount) {}
+
+  @Override
+  public long getCount() {
+    return 0;
+  }
+
+  @Override
+  public void set(long value) {}
+
+  @Override
+  public long getValue() {
+    return 0;
+  }
+
+  @Override
+  public void record(long nanos) {}
+
+  @Override
+  public long getTotalNanos() {
+    return 0;
+  }
+
+  @Override
+  public long getMaxNanos() {
+    return 0;
+  }
+
+  @Override
+  public long getPercentileNanos(double percentile) {
+    return 0;
+  }
+}
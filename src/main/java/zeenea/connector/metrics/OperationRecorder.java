@@ -0,0 +1,42 @@
+package zeenea.connector.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Receives the measurements of one call to an operation of a connection instrumented by {@link
+ * ConnectionInstrumentation}. A recorder is used by one thread at a time.
+ */
+interface OperationRecorder {
+
+  /** Called before the next element of the returned stream is requested from the connection. */
+  void beforeElement();
+
+  /**
+   * Called when the connection produced an element of the returned stream.
+   *
+   * @param element the item or inventory entry
+   * @param latencyNanos the time taken to produce the element
+   */
+  void element(@NotNull Object element, long latencyNanos);
+
+  /** Called when the operation, or its returned stream, failed. */
+  void fail();
+
+  /** Called once, when the call returns or when its returned stream ends or is closed. */
+  void end();
+
+  /** Creates a recorder for each call to an instrumented operation. */
+  interface Factory {
+
+    /**
+     * Starts recording a call.
+     *
+     * @param operation the name of the operation
+     * @param argument the argument of the call, if any
+     * @return the recorder of the call, or null to skip recording it
+     */
+    @Nullable
+    OperationRecorder start(@NotNull String operation, @Nullable Object argument);
+  }
+}
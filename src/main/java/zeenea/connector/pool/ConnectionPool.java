@@ -0,0 +1,500 @@
+package zeenea.connector.pool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zeenea.connector.Connection;
+import zeenea.connector.ConnectionConfiguration;
+import zeenea.connector.Connector;
+import zeenea.connector.fingerprint.Fingerprint;
+import zeenea.connector.fingerprint.FingerprintHasher;
+
+/**
+ * Keeps the connections of a connector open between scans, so that calls arriving close together
+ * reuse a warm connection instead of establishing a new one.
+ *
+ * <p>Connections are pooled by connection code and configuration fingerprint. The fingerprint is
+ * {@link ConnectionConfiguration#getFingerprint()} when the scanner provides one, otherwise a
+ * hash of the connector id, the connection name and the values of the {@link
+ * Builder#fingerprintKeys(String...) fingerprint keys}. When a connection code is acquired with a
+ * new fingerprint, the idle connections of the previous configuration are closed, and borrowed ones
+ * are closed when they are returned.
+ *
+ * <p>Pooling requires a fingerprint: the fingerprint keys must list every configuration key the
+ * connection depends on, such as the URL and the credentials, unless the scanner provides {@link
+ * ConnectionConfiguration#getFingerprint()}. Without either, a configuration change cannot be
+ * detected, so connections are not pooled: each acquired connection is new, and closed when
+ * returned.
+ *
+ * <p>{@link #acquire(ConnectionConfiguration)} returns a connection implementing the same
+ * interfaces as the one created by the connector. Closing it returns the underlying connection to
+ * the pool. Idle connections are checked with the {@link Builder#healthCheck(Predicate) health
+ * check} before being reused, and closed once idle for longer than the {@link
+ * Builder#idleTimeout(Duration) idle timeout}.
+ *
+ * <pre>Example : <br>
+ * ConnectionPool pool =
+ *     ConnectionPool.builder()
+ *         .connector(connector)
+ *         .fingerprintKeys("url", "user", "password")
+ *         .build();
+ * try (Connection connection = pool.acquire(configuration)) {
+ *   ((InventoryConnection) connection).inventory().forEach(consumer);
+ * }
+ * </pre>
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ConnectionPool.class);
+
+  /** Default time an idle connection is kept. */
+  public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+  /** Default maximum number of idle connections kept per connection code. */
+  public static final int DEFAULT_MAX_IDLE = 2;
+
+  @NotNull private final Connector connector;
+  private final long idleTimeoutNanos;
+  private final int maxIdle;
+  @NotNull private final Predicate<Connection> healthCheck;
+  @NotNull private final List<String> fingerprintKeys;
+  private final Map<String, Slot> slots = new HashMap<>();
+  private final ScheduledFuture<?> eviction;
+  private boolean closed;
+
+  private ConnectionPool(Builder builder) {
+    this.connector = Objects.requireNonNull(builder.connector, "connector");
+    this.idleTimeoutNanos = builder.idleTimeout.toNanos();
+    this.maxIdle = builder.maxIdle;
+    this.healthCheck = Objects.requireNonNull(builder.healthCheck, "healthCheck");
+    this.fingerprintKeys = List.copyOf(builder.fingerprintKeys);
+    long period = Math.max(TimeUnit.MILLISECONDS.toNanos(100), idleTimeoutNanos / 2);
+    this.eviction =
+        Evictor.INSTANCE.scheduleWithFixedDelay(
+            this::evictExpired, period, period, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Creates a new builder for the ConnectionPool class.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets a connection for the given configuration, reusing an idle one when possible.
+   *
+   * @param configuration the configuration of the connection
+   * @return a pooled connection, returned to the pool when closed
+   * @throws IllegalStateException if the pool is closed
+   */
+  public @NotNull Connection acquire(@NotNull ConnectionConfiguration configuration) {
+    Objects.requireNonNull(configuration, "configuration");
+    String code = Objects.requireNonNull(configuration.getConnectionCode(), "connectionCode");
+    Fingerprint fingerprint = fingerprint(configuration);
+    List<Connection> stale = new ArrayList<>();
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Connection pool is closed");
+      }
+      Slot slot = slots.get(code);
+      if (fingerprint == null) {
+        // The configuration may have changed unnoticed: neither reuse nor keep connections.
+        if (slot != null) {
+          slot.drainTo(stale);
+          slots.remove(code);
+        }
+      } else if (slot != null && !slot.fingerprint.equals(fingerprint)) {
+        log.info("Configuration of connection {} changed, closing idle connections", code);
+        slot.drainTo(stale);
+        slot = null;
+      }
+      if (slot == null && fingerprint != null) {
+        slots.put(code, new Slot(fingerprint));
+      }
+    }
+    stale.forEach(ConnectionPool::closeQuietly);
+    Connection connection = fingerprint != null ? pollHealthy(code, fingerprint) : null;
+    if (connection == null) {
+      connection = connector.newConnection(configuration);
+    }
+    return wrap(connection, code, fingerprint);
+  }
+
+  /**
+   * Closes a pooled connection instead of returning it to the pool, for instance after a failure
+   * left it in an unknown state.
+   *
+   * @param connection a connection returned by {@link #acquire(ConnectionConfiguration)}
+   * @throws IllegalArgumentException if the connection does not come from this pool
+   */
+  public void invalidate(@NotNull Connection connection) {
+    if (!Proxy.isProxyClass(connection.getClass())
+        || !(Proxy.getInvocationHandler(connection) instanceof Handler)
+        || ((Handler) Proxy.getInvocationHandler(connection)).pool() != this) {
+      throw new IllegalArgumentException("connection does not come from this pool");
+    }
+    ((Handler) Proxy.getInvocationHandler(connection)).invalidate();
+  }
+
+  /**
+   * Gets the number of idle connections kept for a connection code.
+   *
+   * @param connectionCode the connection code
+   * @return the number of idle connections
+   */
+  public synchronized int idleCount(@NotNull String connectionCode) {
+    Slot slot = slots.get(connectionCode);
+    return slot == null ? 0 : slot.idle.size();
+  }
+
+  /** Closes every idle connection. Connections returned afterwards are closed too. */
+  @Override
+  public void close() {
+    List<Connection> idle = new ArrayList<>();
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      slots.values().forEach(slot -> slot.drainTo(idle));
+      slots.clear();
+    }
+    eviction.cancel(false);
+    idle.forEach(ConnectionPool::closeQuietly);
+  }
+
+  /** Computes the fingerprint of a configuration, or returns null if there is none. */
+  private Fingerprint fingerprint(ConnectionConfiguration configuration) {
+    Fingerprint fingerprint = configuration.getFingerprint();
+    if (fingerprint != null || fingerprintKeys.isEmpty()) {
+      return fingerprint;
+    }
+    FingerprintHasher hasher =
+        FingerprintHasher.create()
+            .putString(configuration.getConnectorId())
+            .putString(configuration.getConnectionName());
+    for (String key : fingerprintKeys) {
+      hasher.putString(key).putString(configuration.getString(key));
+    }
+    return hasher.fingerprint();
+  }
+
+  /** Takes the most recently returned idle connection passing the health check. */
+  private Connection pollHealthy(String code, Fingerprint fingerprint) {
+    while (true) {
+      Idle idle;
+      synchronized (this) {
+        Slot slot = slots.get(code);
+        if (slot == null || !slot.fingerprint.equals(fingerprint)) {
+          return null;
+        }
+        idle = slot.idle.pollFirst();
+      }
+      if (idle == null) {
+        return null;
+      }
+      if (idle.isExpired() || !isHealthy(idle.connection)) {
+        closeQuietly(idle.connection);
+      } else {
+        return idle.connection;
+      }
+    }
+  }
+
+  private boolean isHealthy(Connection connection) {
+    try {
+      return healthCheck.test(connection);
+    } catch (RuntimeException e) {
+      log.debug("Health check of pooled connection failed", e);
+      return false;
+    }
+  }
+
+  /** Puts a connection back in the pool, or closes it if it cannot be kept. */
+  private void release(Connection connection, String code, Fingerprint fingerprint) {
+    synchronized (this) {
+      Slot slot = slots.get(code);
+      if (!closed
+          && slot != null
+          && fingerprint != null
+          && slot.fingerprint.equals(fingerprint)
+          && slot.idle.size() < maxIdle) {
+        slot.idle.addFirst(new Idle(connection));
+        return;
+      }
+    }
+    closeQuietly(connection);
+  }
+
+  private void evictExpired() {
+    List<Connection> expired = new ArrayList<>();
+    synchronized (this) {
+      for (Slot slot : slots.values()) {
+        for (Iterator<Idle> it = slot.idle.iterator(); it.hasNext(); ) {
+          Idle idle = it.next();
+          if (idle.isExpired()) {
+            it.remove();
+            expired.add(idle.connection);
+          }
+        }
+      }
+    }
+    expired.forEach(ConnectionPool::closeQuietly);
+  }
+
+  private Connection wrap(Connection connection, String code, Fingerprint fingerprint) {
+    Set<Class<?>> interfaces = new LinkedHashSet<>();
+    for (Class<?> type = connection.getClass(); type != null; type = type.getSuperclass()) {
+      collectInterfaces(type, interfaces);
+    }
+    return (Connection)
+        Proxy.newProxyInstance(
+            connection.getClass().getClassLoader(),
+            interfaces.toArray(new Class<?>[0]),
+            new Handler(connection, code, fingerprint));
+  }
+
+  private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+    for (Class<?> candidate : type.getInterfaces()) {
+      if (interfaces.add(candidate)) {
+        collectInterfaces(candidate, interfaces);
+      }
+    }
+  }
+
+  private static void closeQuietly(Connection connection) {
+    try {
+      connection.close();
+    } catch (Exception e) {
+      log.warn("Failed to close pooled connection", e);
+    }
+  }
+
+  /** The idle connections of a connection code, all created with the same configuration. */
+  private static final class Slot {
+
+    private final Fingerprint fingerprint;
+    private final Deque<Idle> idle = new ArrayDeque<>();
+
+    private Slot(Fingerprint fingerprint) {
+      this.fingerprint = fingerprint;
+    }
+
+    private void drainTo(List<Connection> connections) {
+      idle.forEach(entry -> connections.add(entry.connection));
+      idle.clear();
+    }
+  }
+
+  /** An idle connection, with the time it was returned. */
+  private final class Idle {
+
+    private final Connection connection;
+    private final long idleSince = System.nanoTime();
+
+    private Idle(Connection connection) {
+      this.connection = connection;
+    }
+
+    private boolean isExpired() {
+      return System.nanoTime() - idleSince >= idleTimeoutNanos;
+    }
+  }
+
+  /** Forwards calls to a borrowed connection, returning it to the pool when closed. */
+  private final class Handler implements InvocationHandler {
+
+    private final Connection connection;
+    private final String code;
+    private final Fingerprint fingerprint;
+    private boolean released;
+    private boolean invalid;
+
+    private Handler(Connection connection, String code, Fingerprint fingerprint) {
+      this.connection = connection;
+      this.code = code;
+      this.fingerprint = fingerprint;
+    }
+
+    private ConnectionPool pool() {
+      return ConnectionPool.this;
+    }
+
+    private synchronized void invalidate() {
+      invalid = true;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (method.getDeclaringClass() == Object.class) {
+        switch (name) {
+          case "equals":
+            return proxy == args[0];
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          default:
+            return "Pooled" + connection;
+        }
+      }
+      if (name.equals("close") && method.getParameterCount() == 0) {
+        close();
+        return null;
+      }
+      synchronized (this) {
+        if (released) {
+          throw new IllegalStateException("Connection was returned to the pool");
+        }
+      }
+      try {
+        return method.invoke(connection, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+
+    private void close() {
+      boolean discard;
+      synchronized (this) {
+        if (released) {
+          return;
+        }
+        released = true;
+        discard = invalid;
+      }
+      if (discard) {
+        closeQuietly(connection);
+      } else {
+        release(connection, code, fingerprint);
+      }
+    }
+  }
+
+  /** Daemon thread closing the connections idle for too long. */
+  private static final class Evictor {
+
+    private static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+    private static ScheduledThreadPoolExecutor create() {
+      ScheduledThreadPoolExecutor executor =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                Thread thread = new Thread(runnable, "zeenea-connection-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.setRemoveOnCancelPolicy(true);
+      return executor;
+    }
+  }
+
+  /** Builder class for creating instances of ConnectionPool. */
+  public static class Builder {
+
+    private Connector connector;
+    private Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private int maxIdle = DEFAULT_MAX_IDLE;
+    private Predicate<Connection> healthCheck = connection -> true;
+    private List<String> fingerprintKeys = List.of();
+
+    /** Private constructor to prevent direct instantiation. */
+    private Builder() {}
+
+    /**
+     * Sets the connector creating the connections.
+     *
+     * @param connector the connector
+     * @return the builder instance
+     */
+    public Builder connector(@NotNull Connector connector) {
+      this.connector = connector;
+      return this;
+    }
+
+    /**
+     * Sets the time an idle connection is kept before being closed. Defaults to 5 minutes.
+     *
+     * @param idleTimeout the idle timeout, must be positive
+     * @return the builder instance
+     */
+    public Builder idleTimeout(@NotNull Duration idleTimeout) {
+      if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+        throw new IllegalArgumentException("idleTimeout must be greater than 0");
+      }
+      this.idleTimeout = idleTimeout;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of idle connections kept per connection code. Defaults to {@value
+     * #DEFAULT_MAX_IDLE}.
+     *
+     * @param maxIdle the maximum number of idle connections, 0 to never keep connections
+     * @return the builder instance
+     */
+    public Builder maxIdle(int maxIdle) {
+      if (maxIdle < 0) {
+        throw new IllegalArgumentException("maxIdle must be positive");
+      }
+      this.maxIdle = maxIdle;
+      return this;
+    }
+
+    /**
+     * Sets the check run on an idle connection before it is reused. A connection failing the
+     * check, or throwing, is closed. Defaults to always healthy.
+     *
+     * @param healthCheck the health check
+     * @return the builder instance
+     */
+    public Builder healthCheck(@NotNull Predicate<Connection> healthCheck) {
+      this.healthCheck = healthCheck;
+      return this;
+    }
+
+    /**
+     * Sets the configuration keys whose values make the configuration fingerprint, used when the
+     * scanner does not provide {@link ConnectionConfiguration#getFingerprint()}. They must include
+     * every key the connection depends on. Without them, such configurations are not pooled.
+     *
+     * @param keys the configuration keys
+     * @return the builder instance
+     */
+    public Builder fingerprintKeys(@NotNull String... keys) {
+      this.fingerprintKeys = List.of(keys);
+      return this;
+    }
+
+    /**
+     * Builds and returns a ConnectionPool object.
+     *
+     * @return a new ConnectionPool instance
+     */
+    public ConnectionPool build() {
+      return new ConnectionPool(this);
+    }
+  }
+}
@@ -8,6 +8,7 @@ import zeenea.connector.Item;
 import zeenea.connector.common.ItemReference;
 import zeenea.connector.common.QueryReference;
 import zeenea.connector.exception.ExceptionUtils;
+import zeenea.connector.fingerprint.FingerprintHasher;
 
 /** Represents a data process which extends the Item class. */
 public final class DataProcess extends Item {
@@ -77,6 +78,25 @@ public final class DataProcess extends Item {
     return queries;
   }
 
+  /**
+   * Adds the lineage of this DataProcess to its fingerprint.
+   *
+   * @param hasher the hasher computing the fingerprint
+   */
+  @Override
+  protected void hashContent(@NotNull FingerprintHasher hasher) {
+    hasher
+        .putUnordered(sources, FingerprintHasher::putReference)
+        .putUnordered(targets, FingerprintHasher::putReference)
+        .putUnordered(
+            operations,
+            (operationHasher, operation) ->
+                operationHasher
+                    .putUnordered(operation.getSources(), FingerprintHasher::putReference)
+                    .putUnordered(operation.getTargets(), FingerprintHasher::putReference))
+        .putUnordered(queries, FingerprintHasher::putQuery);
+  }
+
   /**
    * Checks if this DataProcess is equal to another object.
    *
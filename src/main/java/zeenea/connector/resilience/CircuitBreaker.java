@@ -0,0 +1,138 @@
+package zeenea.connector.resilience;
+
+import java.time.Duration;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Stops calling a failing data source for a while, so that a broken source does not keep scanner
+ * threads busy with calls bound to fail.
+ *
+ * <p>The breaker opens after {@code failureThreshold} consecutive failures. While open, calls are
+ * refused. After {@code openDuration}, a single trial call is allowed: its success closes the
+ * breaker, its failure opens it again.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class CircuitBreaker {
+
+  /** State of a circuit breaker. */
+  public enum State {
+    /** Calls are allowed. */
+    CLOSED,
+
+    /** Calls are refused. */
+    OPEN,
+
+    /** A single trial call is allowed. */
+    HALF_OPEN
+  }
+
+  private final int failureThreshold;
+  private final long openNanos;
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+  private boolean trialInFlight;
+
+  private CircuitBreaker(int failureThreshold, Duration openDuration) {
+    if (failureThreshold < 1) {
+      throw new IllegalArgumentException("failureThreshold must be greater than 0");
+    }
+    Objects.requireNonNull(openDuration, "openDuration");
+    if (openDuration.isNegative()) {
+      throw new IllegalArgumentException("openDuration must be positive");
+    }
+    this.failureThreshold = failureThreshold;
+    this.openNanos = openDuration.toNanos();
+  }
+
+  /**
+   * Creates a closed circuit breaker.
+   *
+   * @param failureThreshold the number of consecutive failures opening the breaker
+   * @param openDuration the time during which calls are refused once open
+   * @return a new CircuitBreaker instance
+   */
+  public static @NotNull CircuitBreaker of(int failureThreshold, @NotNull Duration openDuration) {
+    return new CircuitBreaker(failureThreshold, openDuration);
+  }
+
+  /**
+   * Checks if a call may start, moving an open breaker to half open when its open duration ended.
+   * Every allowed call must be followed by {@link #onSuccess()}, {@link #onFailure()} or {@link
+   * #release()}.
+   *
+   * @return true if the call may start
+   */
+  public synchronized boolean tryAcquire() {
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (System.nanoTime() - openedAt < openNanos) {
+          return false;
+        }
+        state = State.HALF_OPEN;
+        trialInFlight = true;
+        return true;
+      default:
+        if (trialInFlight) {
+          return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+  }
+
+  /** Records a successful call, closing the breaker. */
+  public synchronized void onSuccess() {
+    state = State.CLOSED;
+    consecutiveFailures = 0;
+    trialInFlight = false;
+  }
+
+  /** Records a failed call, opening the breaker if needed. */
+  public synchronized void onFailure() {
+    consecutiveFailures++;
+    trialInFlight = false;
+    if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+      state = State.OPEN;
+      openedAt = System.nanoTime();
+    }
+  }
+
+  /**
+   * Releases an allowed call abandoned before its outcome is known, letting a half open breaker
+   * try another call.
+   */
+  public synchronized void release() {
+    trialInFlight = false;
+  }
+
+  /**
+   * Gets the current state of the breaker.
+   *
+   * @return the state
+   */
+  public synchronized @NotNull State getState() {
+    return state;
+  }
+
+  /**
+   * Returns a string representation of this CircuitBreaker.
+   *
+   * @return a string representation of this CircuitBreaker
+   */
+  @Override
+  public synchronized String toString() {
+    return "CircuitBreaker{"
+        + "state="
+        + state
+        + ", consecutiveFailures="
+        + consecutiveFailures
+        + ", failureThreshold="
+        + failureThreshold
+        + "}";
+  }
+}
@@ -0,0 +1,32 @@
+package zeenea.connector.resilience;
+
+import org.jetbrains.annotations.Nullable;
+import zeenea.connector.common.DataSourceIdentifier;
+
+/** Exception thrown when a call is refused because the circuit breaker of its source is open. */
+public final class CircuitBreakerOpenException extends RuntimeException {
+
+  private final transient DataSourceIdentifier dataSource;
+
+  /**
+   * Constructs a new CircuitBreakerOpenException for the given data source.
+   *
+   * @param dataSource the data source whose breaker is open, null for the whole connection
+   */
+  public CircuitBreakerOpenException(@Nullable DataSourceIdentifier dataSource) {
+    super(
+        dataSource == null
+            ? "Circuit breaker open"
+            : "Circuit breaker open for data source " + dataSource);
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Gets the data source whose breaker is open.
+   *
+   * @return the data source, null for the whole connection
+   */
+  public @Nullable DataSourceIdentifier getDataSource() {
+    return dataSource;
+  }
+}
@@ -0,0 +1,591 @@
+package zeenea.connector.resilience;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zeenea.connector.Connection;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.concurrent.Deadline;
+import zeenea.connector.datasampling.DataSampleConnection;
+import zeenea.connector.datasampling.DataSampleRequest;
+import zeenea.connector.inventory.ExtractionRequest;
+import zeenea.connector.inventory.ExtractionResponse;
+import zeenea.connector.inventory.InventoryConnection;
+import zeenea.connector.synchronize.SynchronizeConnection;
+
+/**
+ * Wraps connections so that transient failures are retried and failing data sources are left
+ * alone for a while.
+ *
+ * <p>The wrapper implements every interface of the wrapped connection. The following operations
+ * are protected, every other method is forwarded as is:
+ *
+ * <ul>
+ *   <li>{@link InventoryConnection#extractItems(ExtractionRequest)}: designators are read in
+ *       chunks of {@link Builder#chunkSize(int) chunkSize} and grouped by data source. When the
+ *       extraction of a group fails, only the designators whose item was not returned yet are
+ *       requested again;
+ *   <li>{@link InventoryConnection#inventory()} and {@link SynchronizeConnection#synchronize()}:
+ *       the whole call is made again, skipping the entries already returned;
+ *   <li>{@link DataSampleConnection#collectDataSample(DataSampleRequest)}: the call is made again.
+ * </ul>
+ *
+ * <p>Each data source has its own {@link CircuitBreaker}; calls not bound to a data source share
+ * one. Failures that are not {@link RetryPolicy#isRetryable(Throwable) retryable}, that exhaust
+ * the attempts, or whose next attempt would start after the deadline of the request are not
+ * retried. During an extraction, such a failure does not stop the other groups: it is thrown once
+ * every other item has been returned.
+ *
+ * <pre>Example : <br>
+ * RetryPolicy policy = RetryPolicy.builder().maxAttempts(4).build();
+ * ResilienceDecorator resilience = ResilienceDecorator.builder().retryPolicy(policy).build();
+ * Connection connection = resilience.decorate(connector.newConnection(configuration));
+ * </pre>
+ */
+public final class ResilienceDecorator {
+
+  private static final Logger log = LoggerFactory.getLogger(ResilienceDecorator.class);
+
+  /** Default number of designators read from an extraction request at once. */
+  public static final int DEFAULT_CHUNK_SIZE = 100;
+
+  /** Default number of consecutive failures opening the breaker of a data source. */
+  public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+  /** Key of the breaker of the calls not bound to a data source. */
+  private static final Object NO_DATA_SOURCE = new Object();
+
+  @NotNull private final RetryPolicy retryPolicy;
+  private final int failureThreshold;
+  @NotNull private final Duration openDuration;
+  private final int chunkSize;
+
+  private ResilienceDecorator(Builder builder) {
+    this.retryPolicy = Objects.requireNonNull(builder.retryPolicy, "retryPolicy");
+    this.failureThreshold = builder.failureThreshold;
+    this.openDuration = Objects.requireNonNull(builder.openDuration, "openDuration");
+    this.chunkSize = builder.chunkSize;
+  }
+
+  /**
+   * Creates a new builder for the ResilienceDecorator class.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the retry policy applied to failed calls.
+   *
+   * @return the retry policy
+   */
+  public @NotNull RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  /**
+   * Wraps a connection. Each wrapped connection has its own circuit breakers.
+   *
+   * @param connection the connection to protect
+   * @return the protected connection
+   */
+  public @NotNull Connection decorate(@NotNull Connection connection) {
+    Objects.requireNonNull(connection, "connection");
+    Set<Class<?>> interfaces = new LinkedHashSet<>();
+    for (Class<?> type = connection.getClass(); type != null; type = type.getSuperclass()) {
+      collectInterfaces(type, interfaces);
+    }
+    return (Connection)
+        Proxy.newProxyInstance(
+            connection.getClass().getClassLoader(),
+            interfaces.toArray(new Class<?>[0]),
+            new Handler(connection));
+  }
+
+  private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+    for (Class<?> candidate : type.getInterfaces()) {
+      if (interfaces.add(candidate)) {
+        collectInterfaces(candidate, interfaces);
+      }
+    }
+  }
+
+  /**
+   * Waits before the next attempt.
+   *
+   * @return false if the next attempt would start after the deadline
+   */
+  private boolean awaitRetry(int attempt, Deadline deadline) {
+    long backoff = retryPolicy.backoff(attempt).toNanos();
+    if (backoff >= deadline.remaining(TimeUnit.NANOSECONDS)) {
+      return false;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(backoff);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting to retry");
+    }
+  }
+
+  /** Forwards calls to the connection, retrying the protected operations. */
+  private final class Handler implements InvocationHandler {
+
+    private final Connection connection;
+    private final ConcurrentMap<Object, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private Handler(Connection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      int parameterCount = method.getParameterCount();
+      if (method.getDeclaringClass() == Object.class) {
+        return invokeObjectMethod(proxy, name, args);
+      }
+      if (parameterCount == 0 && name.equals("inventory")) {
+        return retryingStream(
+            () -> ((InventoryConnection) connection).inventory(),
+            ItemInventory::getItemIdentifier);
+      }
+      if (parameterCount == 0 && name.equals("synchronize")) {
+        return retryingStream(
+            () -> ((SynchronizeConnection) connection).synchronize(), Item::getId);
+      }
+      if (parameterCount == 1
+          && name.equals("extractItems")
+          && method.getParameterTypes()[0] == ExtractionRequest.class) {
+        return extractItems((ExtractionRequest) args[0]);
+      }
+      if (parameterCount == 1
+          && name.equals("collectDataSample")
+          && method.getParameterTypes()[0] == DataSampleRequest.class) {
+        return collectDataSample((DataSampleRequest) args[0], method, args);
+      }
+      return forward(method, args);
+    }
+
+    private Object invokeObjectMethod(Object proxy, String name, Object[] args) {
+      switch (name) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return "Resilient" + connection;
+      }
+    }
+
+    private CircuitBreaker breaker(DataSourceIdentifier dataSource) {
+      return breakers.computeIfAbsent(
+          dataSource != null ? dataSource : NO_DATA_SOURCE,
+          key -> CircuitBreaker.of(failureThreshold, openDuration));
+    }
+
+    private Object collectDataSample(DataSampleRequest request, Method method, Object[] args)
+        throws Throwable {
+      ItemDesignator designator = request.getItemDesignator();
+      DataSourceIdentifier dataSource =
+          designator != null ? designator.getDataSourceIdentifier() : null;
+      CircuitBreaker breaker = breaker(dataSource);
+      RuntimeException lastFailure = null;
+      for (int attempt = 1; ; attempt++) {
+        if (!breaker.tryAcquire()) {
+          throw lastFailure != null ? lastFailure : new CircuitBreakerOpenException(dataSource);
+        }
+        try {
+          Object response = forward(method, args);
+          breaker.onSuccess();
+          return response;
+        } catch (RuntimeException e) {
+          breaker.onFailure();
+          lastFailure = e;
+          if (!shouldRetry(e, attempt, request::isCancelled, request.getDeadline())) {
+            throw e;
+          }
+          log.debug("Retrying data sample of {} after attempt {}", designator, attempt, e);
+        } catch (Throwable e) {
+          breaker.release();
+          throw e;
+        }
+      }
+    }
+
+    private <T> Stream<T> retryingStream(
+        Supplier<Stream<T>> call, Function<T, ItemIdentifier> identifierOf) {
+      Set<ItemIdentifier> returned = new HashSet<>();
+      Task<T> task =
+          new Task<>(null) {
+            @Override
+            Stream<T> open() {
+              return call.get().filter(element -> !returned.contains(identifierOf.apply(element)));
+            }
+
+            @Override
+            void returned(T element) {
+              returned.add(identifierOf.apply(element));
+            }
+          };
+      RetryingIterator<T> iterator =
+          new RetryingIterator<>(List.of(task).iterator(), Deadline.none(), () -> false);
+      return StreamSupport.stream(
+              Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+          .onClose(iterator::close);
+    }
+
+    private ExtractionResponse extractItems(ExtractionRequest request) {
+      InventoryConnection inventory = (InventoryConnection) connection;
+      Iterator<Task<Item>> tasks =
+          new ExtractionTasks(request.getItemsToExtract().iterator()) {
+            @Override
+            Task<Item> task(DataSourceIdentifier dataSource, List<ItemDesignator> designators) {
+              Map<ItemIdentifier, ItemDesignator> pending = new LinkedHashMap<>();
+              for (ItemDesignator designator : designators) {
+                pending.put(designator.getItemIdentifier(), designator);
+              }
+              return new Task<>(dataSource) {
+                @Override
+                Stream<Item> open() {
+                  List<ItemDesignator> remaining = new ArrayList<>(pending.values());
+                  return inventory
+                      .extractItems(request.withItemsToExtract(remaining.stream()))
+                      .getExtractedItems();
+                }
+
+                @Override
+                void returned(Item item) {
+                  pending.remove(item.getId());
+                }
+              };
+            }
+          };
+      RetryingIterator<Item> iterator =
+          new RetryingIterator<>(tasks, request.getDeadline(), request::isCancelled);
+      Stream<Item> items =
+          StreamSupport.stream(
+                  Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+              .onClose(iterator::close)
+              .onClose(request.getItemsToExtract()::close);
+      return ExtractionResponse.of(request, items);
+    }
+
+    private Object forward(Method method, Object[] args) throws Throwable {
+      try {
+        return method.invoke(connection, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+
+    /** Returns the elements of successive tasks, retrying each task on failure. */
+    private final class RetryingIterator<T> implements Iterator<T> {
+
+      private final Iterator<Task<T>> tasks;
+      private final Deadline deadline;
+      private final BooleanSupplier cancelled;
+      private Task<T> task;
+      private CircuitBreaker breaker;
+      private boolean acquired;
+      private int attempt;
+      private RuntimeException lastFailure;
+      private Stream<T> stream;
+      private Iterator<T> elements;
+      private T next;
+      private RuntimeException failure;
+
+      private RetryingIterator(
+          Iterator<Task<T>> tasks, Deadline deadline, BooleanSupplier cancelled) {
+        this.tasks = tasks;
+        this.deadline = deadline;
+        this.cancelled = cancelled;
+      }
+
+      @Override
+      public boolean hasNext() {
+        while (next == null) {
+          if (elements == null && !open()) {
+            close();
+            if (failure != null) {
+              RuntimeException thrown = failure;
+              failure = null;
+              throw thrown;
+            }
+            return false;
+          }
+          if (elements == null) {
+            continue;
+          }
+          try {
+            if (elements.hasNext()) {
+              next = elements.next();
+              task.returned(next);
+            } else {
+              closeStream();
+              acquired = false;
+              breaker.onSuccess();
+              task = null;
+            }
+          } catch (RuntimeException e) {
+            closeStream();
+            fail(e);
+          }
+        }
+        return true;
+      }
+
+      @Override
+      public T next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        T element = next;
+        next = null;
+        return element;
+      }
+
+      /**
+       * Opens the stream of the current task, or of the next one.
+       *
+       * @return false if there is no task left
+       */
+      private boolean open() {
+        if (task == null) {
+          if (cancelled.getAsBoolean() || !tasks.hasNext()) {
+            return false;
+          }
+          task = tasks.next();
+          breaker = breaker(task.dataSource);
+          attempt = 0;
+          lastFailure = null;
+        }
+        attempt++;
+        if (!breaker.tryAcquire()) {
+          giveUp(
+              lastFailure != null ? lastFailure : new CircuitBreakerOpenException(task.dataSource));
+          return true;
+        }
+        acquired = true;
+        try {
+          stream = task.open();
+          elements = stream.iterator();
+        } catch (RuntimeException e) {
+          closeStream();
+          fail(e);
+        }
+        return true;
+      }
+
+      private void fail(RuntimeException e) {
+        acquired = false;
+        breaker.onFailure();
+        lastFailure = e;
+        if (shouldRetry(e, attempt, cancelled, deadline)) {
+          log.debug("Retrying {} after attempt {}", task.dataSource, attempt, e);
+        } else {
+          giveUp(e);
+        }
+      }
+
+      private void giveUp(RuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          log.warn("Giving up on data source {}", task.dataSource, e);
+        }
+        task = null;
+      }
+
+      private void closeStream() {
+        if (stream != null) {
+          Stream<T> closing = stream;
+          stream = null;
+          closing.close();
+        }
+        elements = null;
+      }
+
+      private void close() {
+        closeStream();
+        if (acquired) {
+          // An abandoned call has no outcome, it must not keep a half open breaker busy.
+          acquired = false;
+          breaker.release();
+        }
+        task = null;
+      }
+    }
+  }
+
+  /**
+   * Checks if a failed attempt should be followed by another, waiting for the backoff if so.
+   */
+  private boolean shouldRetry(
+      RuntimeException failure, int attempt, BooleanSupplier cancelled, Deadline deadline) {
+    return attempt < retryPolicy.getMaxAttempts()
+        && retryPolicy.isRetryable(failure)
+        && !cancelled.getAsBoolean()
+        && awaitRetry(attempt, deadline);
+  }
+
+  /** A unit of work whose stream can be opened again after a failure. */
+  private abstract static class Task<T> {
+
+    private final DataSourceIdentifier dataSource;
+
+    private Task(DataSourceIdentifier dataSource) {
+      this.dataSource = dataSource;
+    }
+
+    /** Opens the stream of the elements not returned yet. */
+    abstract Stream<T> open();
+
+    /** Records an element returned to the caller. */
+    abstract void returned(T element);
+  }
+
+  /** Reads designators in chunks and turns each data source of a chunk into a task. */
+  private abstract class ExtractionTasks implements Iterator<Task<Item>> {
+
+    private final Iterator<ItemDesignator> designators;
+    private final Deque<Task<Item>> ready = new ArrayDeque<>();
+
+    private ExtractionTasks(Iterator<ItemDesignator> designators) {
+      this.designators = designators;
+    }
+
+    abstract Task<Item> task(DataSourceIdentifier dataSource, List<ItemDesignator> designators);
+
+    @Override
+    public boolean hasNext() {
+      if (ready.isEmpty() && designators.hasNext()) {
+        Map<DataSourceIdentifier, List<ItemDesignator>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < chunkSize && designators.hasNext(); i++) {
+          ItemDesignator designator = designators.next();
+          groups
+              .computeIfAbsent(designator.getDataSourceIdentifier(), key -> new ArrayList<>())
+              .add(designator);
+        }
+        groups.forEach((dataSource, group) -> ready.add(task(dataSource, group)));
+      }
+      return !ready.isEmpty();
+    }
+
+    @Override
+    public Task<Item> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return ready.poll();
+    }
+  }
+
+  /** Builder class for creating instances of ResilienceDecorator. */
+  public static class Builder {
+
+    private RetryPolicy retryPolicy = RetryPolicy.builder().build();
+    private int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+    private Duration openDuration = Duration.ofSeconds(30);
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /** Private constructor to prevent direct instantiation. */
+    private Builder() {}
+
+    /**
+     * Sets the retry policy applied to failed calls.
+     *
+     * @param retryPolicy the retry policy
+     * @return the builder instance
+     */
+    public Builder retryPolicy(@NotNull RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
+    /**
+     * Sets the number of consecutive failures opening the breaker of a data source. Defaults to
+     * {@value #DEFAULT_FAILURE_THRESHOLD}.
+     *
+     * @param failureThreshold the failure threshold, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder failureThreshold(int failureThreshold) {
+      if (failureThreshold < 1) {
+        throw new IllegalArgumentException("failureThreshold must be greater than 0");
+      }
+      this.failureThreshold = failureThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the time during which an open breaker refuses calls. Defaults to 30 seconds.
+     *
+     * @param openDuration the open duration
+     * @return the builder instance
+     */
+    public Builder openDuration(@NotNull Duration openDuration) {
+      this.openDuration = openDuration;
+      return this;
+    }
+
+    /**
+     * Sets the number of designators read from an extraction request at once. Defaults to
+     * {@value #DEFAULT_CHUNK_SIZE}.
+     *
+     * @param chunkSize the chunk size, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder chunkSize(int chunkSize) {
+      if (chunkSize < 1) {
+        throw new IllegalArgumentException("chunkSize must be greater than 0");
+      }
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
+    /**
+     * Builds and returns a ResilienceDecorator object.
+     *
+     * @return a new ResilienceDecorator instance
+     */
+    public ResilienceDecorator build() {
+      return new ResilienceDecorator(this);
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package zeenea.connector.resilience;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+import zeenea.connector.exception.InvalidConfigurationException;
+
+/**
+ * Defines how many times a failed call is attempted and how long to wait between attempts.
+ *
+ * <p>The wait before attempt {@code n + 1} is {@code initialBackoff * multiplier^(n - 1)}, capped
+ * at {@code maxBackoff}, then reduced by a random part of at most {@code jitter} of its value, so
+ * that callers failing together do not retry together.
+ *
+ * <pre>Example : <br>
+ * RetryPolicy policy =
+ *     RetryPolicy.builder().maxAttempts(5).initialBackoff(Duration.ofMillis(100)).build();
+ * </pre>
+ */
+public final class RetryPolicy {
+
+  /** Default maximum number of attempts of a call, including the first one. */
+  public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+  private static final RetryPolicy NONE = builder().maxAttempts(1).build();
+
+  private final int maxAttempts;
+  @NotNull private final Duration initialBackoff;
+  @NotNull private final Duration maxBackoff;
+  private final double multiplier;
+  private final double jitter;
+  @NotNull private final Predicate<Throwable> retryOn;
+
+  private RetryPolicy(Builder builder) {
+    this.maxAttempts = builder.maxAttempts;
+    this.initialBackoff = Objects.requireNonNull(builder.initialBackoff, "initialBackoff");
+    this.maxBackoff = Objects.requireNonNull(builder.maxBackoff, "maxBackoff");
+    this.multiplier = builder.multiplier;
+    this.jitter = builder.jitter;
+    this.retryOn = Objects.requireNonNull(builder.retryOn, "retryOn");
+  }
+
+  /**
+   * Gets the policy making a single attempt.
+   *
+   * @return the policy never retrying
+   */
+  public static @NotNull RetryPolicy none() {
+    return NONE;
+  }
+
+  /**
+   * Creates a new builder for the RetryPolicy class.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the maximum number of attempts of a call, including the first one.
+   *
+   * @return the maximum number of attempts
+   */
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Checks if a failure may be retried. Cancellations and configuration errors never are.
+   *
+   * @param failure the failure of an attempt
+   * @return true if the call may be attempted again
+   */
+  public boolean isRetryable(@NotNull Throwable failure) {
+    return !(failure instanceof CancellationException)
+        && !(failure instanceof InvalidConfigurationException)
+        && retryOn.test(failure);
+  }
+
+  /**
+   * Computes the time to wait after a failed attempt, jitter included.
+   *
+   * @param attempt the number of the failed attempt, starting at 1
+   * @return the time to wait before the next attempt
+   */
+  public @NotNull Duration backoff(int attempt) {
+    if (attempt < 1) {
+      throw new IllegalArgumentException("attempt must be greater than 0");
+    }
+    double nanos = initialBackoff.toNanos() * Math.pow(multiplier, attempt - 1);
+    nanos = Math.min(nanos, maxBackoff.toNanos());
+    nanos -= nanos * jitter * ThreadLocalRandom.current().nextDouble();
+    return Duration.ofNanos((long) nanos);
+  }
+
+  /**
+   * Returns a string representation of this RetryPolicy.
+   *
+   * @return a string representation of this RetryPolicy
+   */
+  @Override
+  public String toString() {
+    return "RetryPolicy{"
+        + "maxAttempts="
+        + maxAttempts
+        + ", initialBackoff="
+        + initialBackoff
+        + ", maxBackoff="
+        + maxBackoff
+        + ", multiplier="
+        + multiplier
+        + ", jitter="
+        + jitter
+        + "}";
+  }
+
+  /** Builder class for creating instances of RetryPolicy. */
+  public static class Builder {
+
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private Duration initialBackoff = Duration.ofMillis(200);
+    private Duration maxBackoff = Duration.ofSeconds(30);
+    private double multiplier = 2;
+    private double jitter = 0.5;
+    private Predicate<Throwable> retryOn = failure -> failure instanceof RuntimeException;
+
+    /** Private constructor to prevent direct instantiation. */
+    private Builder() {}
+
+    /**
+     * Sets the maximum number of attempts of a call, including the first one. Defaults to {@value
+     * #DEFAULT_MAX_ATTEMPTS}.
+     *
+     * @param maxAttempts the maximum number of attempts, must be greater than 0
+     * @return the builder instance
+     */
+    public Builder maxAttempts(int maxAttempts) {
+      if (maxAttempts < 1) {
+        throw new IllegalArgumentException("maxAttempts must be greater than 0");
+      }
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * Sets the wait after the first failed attempt. Defaults to 200 milliseconds.
+     *
+     * @param initialBackoff the initial backoff
+     * @return the builder instance
+     */
+    public Builder initialBackoff(@NotNull Duration initialBackoff) {
+      if (initialBackoff.isNegative()) {
+        throw new IllegalArgumentException("initialBackoff must be positive");
+      }
+      this.initialBackoff = initialBackoff;
+      return this;
+    }
+
+    /**
+     * Sets the longest wait between two attempts. Defaults to 30 seconds.
+     *
+     * @param maxBackoff the maximum backoff
+     * @return the builder instance
+     */
+    public Builder maxBackoff(@NotNull Duration maxBackoff) {
+      if (maxBackoff.isNegative()) {
+        throw new IllegalArgumentException("maxBackoff must be positive");
+      }
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    /**
+     * Sets the factor applied to the wait after each failed attempt. Defaults to 2.
+     *
+     * @param multiplier the backoff multiplier, at least 1
+     * @return the builder instance
+     */
+    public Builder multiplier(double multiplier) {
+      if (!(multiplier >= 1)) {
+        throw new IllegalArgumentException("multiplier must be at least 1");
+      }
+      this.multiplier = multiplier;
+      return this;
+    }
+
+    /**
+     * Sets the largest part of each wait removed at random. Defaults to 0.5.
+     *
+     * @param jitter the jitter, between 0 for fixed waits and 1 for full jitter
+     * @return the builder instance
+     */
+    public Builder jitter(double jitter) {
+      if (!(jitter >= 0 && jitter <= 1)) {
+        throw new IllegalArgumentException("jitter must be between 0 and 1");
+      }
+      this.jitter = jitter;
+      return this;
+    }
+
+    /**
+     * Sets the predicate selecting the failures that may be retried. Defaults to every {@link
+     * RuntimeException}.
+     *
+     * @param retryOn the predicate
+     * @return the builder instance
+     */
+    public Builder retryOn(@NotNull Predicate<Throwable> retryOn) {
+      this.retryOn = retryOn;
+      return this;
+    }
+
+    /**
+     * Builds and returns a RetryPolicy object.
+     *
+     * @return a new RetryPolicy instance
+     */
+    public RetryPolicy build() {
+      return new RetryPolicy(this);
+    }
+  }
+}
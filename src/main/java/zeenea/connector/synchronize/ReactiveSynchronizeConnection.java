@@ -0,0 +1,38 @@
+package zeenea.connector.synchronize;
+
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import zeenea.connector.Item;
+
+/**
+ * Interface representing a synchronize connection publishing its items asynchronously, with
+ * demand-driven backpressure.
+ *
+ * <p>Connectors fetching metadata through non-blocking I/O can emit items as responses arrive,
+ * without holding a thread per request. The blocking {@link #synchronize()} is bridged from the
+ * publisher, so that callers relying on streams keep working.
+ *
+ * @see StreamPublishers
+ */
+public interface ReactiveSynchronizeConnection extends SynchronizeConnection {
+
+  /**
+   * Publishes all available items. Each subscription runs a new synchronization, and must not emit
+   * more items than requested by its subscriber.
+   *
+   * @return a publisher of the synchronized items
+   */
+  @NotNull
+  Flow.Publisher<Item> synchronizePublisher();
+
+  /**
+   * Synchronizes the connection by consuming {@link #synchronizePublisher()}.
+   *
+   * @return a stream of items resulting from the synchronization
+   */
+  @Override
+  default Stream<Item> synchronize() {
+    return StreamPublishers.toStream(synchronizePublisher());
+  }
+}
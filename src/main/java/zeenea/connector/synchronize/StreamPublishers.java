@@ -0,0 +1,345 @@
+package zeenea.connector.synchronize;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import zeenea.connector.Item;
+
+/**
+ * Bridges between pull-based {@link Stream streams} and demand-driven {@link Flow.Publisher
+ * publishers}.
+ *
+ * <p>Publishers created from a stream only pull elements that have been requested by their
+ * subscriber. Streams created from a publisher request elements by batches of at most {@code
+ * prefetch}, so a slow consumer applies backpressure to the publisher.
+ */
+public final class StreamPublishers {
+
+  /** Default number of elements requested ahead when a publisher is read as a stream. */
+  public static final int DEFAULT_PREFETCH = 256;
+
+  /** Private constructor to prevent instantiation. */
+  private StreamPublishers() {}
+
+  /**
+   * Gets the items of a connection as a publisher. Reactive connections publish their items
+   * natively, other connections have their stream bridged.
+   *
+   * @param connection the connection to synchronize
+   * @return a publisher of the synchronized items
+   */
+  public static @NotNull Flow.Publisher<Item> synchronize(
+      @NotNull SynchronizeConnection connection) {
+    if (connection instanceof ReactiveSynchronizeConnection) {
+      return ((ReactiveSynchronizeConnection) connection).synchronizePublisher();
+    }
+    return fromStream(connection::synchronize);
+  }
+
+  /**
+   * Creates a publisher emitting the elements of a stream. Each subscription opens a new stream,
+   * which is closed on completion, on error or on cancellation. Elements are pulled on the thread
+   * requesting them.
+   *
+   * @param streamSupplier the supplier of the stream to publish
+   * @param <T> the type of the elements
+   * @return a publisher of the stream elements
+   */
+  public static <T> @NotNull Flow.Publisher<T> fromStream(
+      @NotNull Supplier<? extends Stream<? extends T>> streamSupplier) {
+    return fromStream(streamSupplier, null);
+  }
+
+  /**
+   * Creates a publisher emitting the elements of a stream. Each subscription opens a new stream,
+   * which is closed on completion, on error or on cancellation. Elements are pulled on the given
+   * executor.
+   *
+   * @param streamSupplier the supplier of the stream to publish
+   * @param executor the executor pulling the stream, or null to pull on the requesting thread
+   * @param <T> the type of the elements
+   * @return a publisher of the stream elements
+   */
+  public static <T> @NotNull Flow.Publisher<T> fromStream(
+      @NotNull Supplier<? extends Stream<? extends T>> streamSupplier,
+      @Nullable Executor executor) {
+    Objects.requireNonNull(streamSupplier, "streamSupplier");
+    return subscriber -> {
+      Objects.requireNonNull(subscriber, "subscriber");
+      StreamSubscription<T> subscription =
+          new StreamSubscription<>(subscriber, streamSupplier, executor);
+      subscriber.onSubscribe(subscription);
+    };
+  }
+
+  /**
+   * Reads a publisher as a stream, requesting {@value #DEFAULT_PREFETCH} elements ahead.
+   *
+   * @param publisher the publisher to read
+   * @param <T> the type of the elements
+   * @return a stream of the published elements
+   */
+  public static <T> @NotNull Stream<T> toStream(@NotNull Flow.Publisher<? extends T> publisher) {
+    return toStream(publisher, DEFAULT_PREFETCH);
+  }
+
+  /**
+   * Reads a publisher as a stream. The publisher is subscribed when the stream is first consumed,
+   * and the subscription is cancelled when the stream is closed.
+   *
+   * <p>A publisher error is rethrown to the stream consumer, wrapped in a {@link
+   * CompletionException} if it is not a runtime exception.
+   *
+   * @param publisher the publisher to read
+   * @param prefetch the maximum number of elements requested ahead of consumption
+   * @param <T> the type of the elements
+   * @return a stream of the published elements
+   */
+  public static <T> @NotNull Stream<T> toStream(
+      @NotNull Flow.Publisher<? extends T> publisher, int prefetch) {
+    Objects.requireNonNull(publisher, "publisher");
+    if (prefetch < 1) {
+      throw new IllegalArgumentException("prefetch must be greater than 0");
+    }
+    PublisherIterator<T> iterator = new PublisherIterator<>(publisher, prefetch);
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(iterator::cancel);
+  }
+
+  /** Subscription pulling a stream as demand is signalled. */
+  private static final class StreamSubscription<T> implements Flow.Subscription {
+
+    private final Flow.Subscriber<? super T> subscriber;
+    private final Supplier<? extends Stream<? extends T>> streamSupplier;
+    private final Executor executor;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger pendingDrains = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+    private Stream<? extends T> stream;
+    private Iterator<? extends T> iterator;
+    private boolean terminated;
+
+    private StreamSubscription(
+        Flow.Subscriber<? super T> subscriber,
+        Supplier<? extends Stream<? extends T>> streamSupplier,
+        Executor executor) {
+      this.subscriber = subscriber;
+      this.streamSupplier = streamSupplier;
+      this.executor = executor;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("non-positive request: " + n);
+      } else {
+        requested.getAndAccumulate(n, StreamSubscription::saturatedAdd);
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      drain();
+    }
+
+    private static long saturatedAdd(long current, long add) {
+      long sum = current + add;
+      return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private void drain() {
+      if (pendingDrains.getAndIncrement() != 0) {
+        return;
+      }
+      if (executor == null) {
+        drainLoop();
+      } else {
+        executor.execute(this::drainLoop);
+      }
+    }
+
+    private void drainLoop() {
+      int missed = 1;
+      do {
+        emit();
+        missed = pendingDrains.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void emit() {
+      if (terminated) {
+        return;
+      }
+      try {
+        if (cancelled) {
+          terminate();
+          return;
+        }
+        if (invalidRequest != null) {
+          terminate();
+          subscriber.onError(invalidRequest);
+          return;
+        }
+        if (iterator == null) {
+          stream = streamSupplier.get();
+          iterator = stream.iterator();
+        }
+        while (requested.get() > 0 && !cancelled) {
+          if (!iterator.hasNext()) {
+            terminate();
+            subscriber.onComplete();
+            return;
+          }
+          T element = iterator.next();
+          requested.decrementAndGet();
+          subscriber.onNext(element);
+        }
+        if (cancelled) {
+          terminate();
+        } else if (!iterator.hasNext()) {
+          terminate();
+          subscriber.onComplete();
+        }
+      } catch (RuntimeException e) {
+        if (!terminated) {
+          terminate();
+          subscriber.onError(e);
+        }
+      }
+    }
+
+    private void terminate() {
+      terminated = true;
+      if (stream != null) {
+        stream.close();
+      }
+    }
+  }
+
+  /** Subscriber buffering published elements for a consuming iterator. */
+  private static final class PublisherIterator<T> implements Iterator<T>, Flow.Subscriber<T> {
+
+    private static final Object COMPLETE = new Object();
+
+    private final Flow.Publisher<? extends T> publisher;
+    private final int prefetch;
+    private final int replenish;
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private volatile Flow.Subscription subscription;
+    private volatile boolean cancelled;
+    private boolean subscribed;
+    private int consumed;
+    private Object next;
+
+    private PublisherIterator(Flow.Publisher<? extends T> publisher, int prefetch) {
+      this.publisher = publisher;
+      this.prefetch = prefetch;
+      this.replenish = Math.max(1, prefetch / 2);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      if (this.subscription != null || cancelled) {
+        subscription.cancel();
+        return;
+      }
+      this.subscription = subscription;
+      subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+      queue.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      queue.add(new Failure(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+      queue.add(COMPLETE);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null) {
+        if (!subscribed) {
+          subscribed = true;
+          publisher.subscribe(this);
+        }
+        try {
+          next = queue.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          cancel();
+          throw new CompletionException(e);
+        }
+      }
+      if (next instanceof Failure) {
+        Throwable cause = ((Failure) next).cause;
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new CompletionException(cause);
+      }
+      return next != COMPLETE;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      T item = (T) next;
+      next = null;
+      if (++consumed == replenish) {
+        consumed = 0;
+        subscription.request(replenish);
+      }
+      return item;
+    }
+
+    private void cancel() {
+      cancelled = true;
+      Flow.Subscription current = subscription;
+      if (current != null) {
+        current.cancel();
+      }
+    }
+
+    /** Terminal error signal. */
+    private static final class Failure {
+      private final Throwable cause;
+
+      private Failure(Throwable cause) {
+        this.cause = cause;
+      }
+    }
+  }
+}
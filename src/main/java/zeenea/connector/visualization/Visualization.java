@@ -8,6 +8,7 @@ import zeenea.connector.Item;
 import zeenea.connector.common.ItemReference;
 import zeenea.connector.exception.ExceptionUtils;
 import zeenea.connector.field.Field;
+import zeenea.connector.fingerprint.FingerprintHasher;
 
 /** Represents a visualization item. */
 public final class Visualization extends Item {
@@ -53,6 +54,18 @@ public final class Visualization extends Item {
     return sourceDatasets;
   }
 
+  /**
+   * Adds the fields and source datasets of this Visualization to its fingerprint.
+   *
+   * @param hasher the hasher computing the fingerprint
+   */
+  @Override
+  protected void hashContent(@NotNull FingerprintHasher hasher) {
+    hasher
+        .putUnordered(fields, FingerprintHasher::putField)
+        .putUnordered(sourceDatasets, FingerprintHasher::putReference);
+  }
+
   /**
    * Checks if this Visualization is equal to another object.
    *
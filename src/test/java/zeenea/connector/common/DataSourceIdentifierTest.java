@@ -2,6 +2,7 @@ package zeenea.connector.common;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
@@ -68,4 +69,21 @@ public class DataSourceIdentifierTest {
 
     assertThat(dataSourceIdentifier).isNotNull();
   }
+
+  @Test
+  @DisplayName("should look up values by key")
+  public void shouldLookUpValuesByKey() {
+    IdentificationProperty prop1 = IdentificationProperty.of("host", "localhost");
+    IdentificationProperty prop2 = IdentificationProperty.of("port", "5432");
+    IdentificationProperty prop3 = IdentificationProperty.of("host", "replica");
+
+    DataSourceIdentifier identifier = DataSourceIdentifier.of(prop1, prop2, prop3);
+
+    List<String> hosts = new ArrayList<>();
+    identifier.forEachValue("host", hosts::add);
+    assertThat(hosts).containsExactly("localhost", "replica");
+    assertThat(identifier.valueAt("port")).isEqualTo("5432");
+    assertThat(identifier.valueAt("database")).isNull();
+    assertThat(identifier.getPropertyValues("host")).containsExactly("localhost", "replica");
+  }
 }
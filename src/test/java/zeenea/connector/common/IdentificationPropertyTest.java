@@ -2,6 +2,7 @@ package zeenea.connector.common;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -44,4 +45,28 @@ class IdentificationPropertyTest {
   void shouldFailWithNullValue() {
     assertThrows(NullPointerException.class, () -> IdentificationProperty.of("key", null));
   }
+
+  @Test
+  @DisplayName("IdentificationProperty canonical should return one shared instance per value")
+  void shouldReturnSharedCanonicalInstance() {
+    IdentificationProperty prop1 = IdentificationProperty.of("schema", new String("public"));
+    IdentificationProperty prop2 =
+        IdentificationProperty.builder().key("schema").value("public").canonical(true).build();
+
+    assertFalse(prop1.isCanonical());
+    assertTrue(prop2.isCanonical());
+    assertSame(prop2, prop1.canonical());
+    assertSame(prop2, prop2.canonical());
+    assertEquals(prop1, prop2);
+    assertNotEquals(prop2, IdentificationProperty.of("schema", "other").canonical());
+  }
+
+  @Test
+  @DisplayName("IdentificationProperty should not expose canonicity as a bean property")
+  void shouldNotExposeCanonicityAsBeanProperty() {
+    for (Class<?> type :
+        List.of(IdentificationProperty.class, ItemIdentifier.class, DataSourceIdentifier.class)) {
+      assertThrows(NoSuchMethodException.class, () -> type.getMethod("isCanonical"));
+    }
+  }
 }
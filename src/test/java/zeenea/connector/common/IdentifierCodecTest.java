@@ -0,0 +1,120 @@
+package zeenea.connector.common;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IdentifierCodecTest {
+
+  private static final DataSourceIdentifier SOURCE =
+      DataSourceIdentifier.of(IdentificationProperty.of("host", "db.example.com"));
+
+  @Test
+  @DisplayName("IdentifierCodec should decode the identifiers it encoded")
+  void shouldRoundTripIdentifiers() throws IOException {
+    ItemIdentifier identifier =
+        ItemIdentifier.of(
+            IdentificationProperty.of("schema", "public"),
+            IdentificationProperty.of("table", "données"));
+    ItemDesignator designator = ItemDesignator.of(identifier, SOURCE);
+
+    byte[] bytes =
+        encode(
+            encoder -> {
+              encoder.writeItemIdentifier(identifier);
+              encoder.writeDataSourceIdentifier(SOURCE);
+              encoder.writeItemDesignator(designator);
+            });
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+    for (ByteBuffer buffer : List.of(ByteBuffer.wrap(bytes), direct)) {
+      IdentifierCodec.Decoder decoder = IdentifierCodec.decoder(buffer);
+      assertEquals(identifier, decoder.readItemIdentifier());
+      assertEquals(SOURCE, decoder.readDataSourceIdentifier());
+      assertEquals(designator, decoder.readItemDesignator());
+      assertFalse(decoder.hasNext());
+      assertThrows(NoSuchElementException.class, decoder::readItemIdentifier);
+    }
+  }
+
+  @Test
+  @DisplayName("IdentifierCodec should write each key once per stream")
+  void shouldWriteKeysOnce() throws IOException {
+    List<ItemDesignator> designators = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      designators.add(
+          ItemDesignator.of(
+              ItemIdentifier.of(
+                  IdentificationProperty.of("schema", "public"),
+                  IdentificationProperty.of("table", "table_" + i)),
+              SOURCE));
+    }
+
+    byte[] bytes =
+        encode(
+            encoder -> {
+              for (ItemDesignator designator : designators) {
+                encoder.writeItemDesignator(designator);
+              }
+            });
+
+    // Per record: tag, counts, key indexes and lengths take 8 bytes, values take 35 bytes at most.
+    assertTrue(bytes.length < designators.size() * 43 + 32, "size " + bytes.length);
+    List<ItemDesignator> decoded =
+        IdentifierCodec.decoder(ByteBuffer.wrap(bytes))
+            .itemDesignators()
+            .collect(Collectors.toList());
+    assertEquals(designators, decoded);
+    assertSame(
+        decoded.get(0).getItemIdentifier().getIdentificationProperties().get(1).getKey(),
+        decoded.get(1).getItemIdentifier().getIdentificationProperties().get(1).getKey());
+  }
+
+  @Test
+  @DisplayName("IdentifierCodec should reject invalid streams")
+  void shouldRejectInvalidStreams() throws IOException {
+    byte[] bytes =
+        encode(
+            encoder ->
+                encoder.writeItemIdentifier(
+                    ItemIdentifier.of(IdentificationProperty.of("table", "orders"))));
+
+    assertThrows(
+        IllegalArgumentException.class, () -> IdentifierCodec.decoder(ByteBuffer.allocate(0)));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> IdentifierCodec.decoder(ByteBuffer.wrap(new byte[] {9})));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> IdentifierCodec.decoder(ByteBuffer.wrap(bytes)).readDataSourceIdentifier());
+    ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> IdentifierCodec.decoder(truncated).readItemIdentifier());
+    byte[] oversized = {1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> IdentifierCodec.decoder(ByteBuffer.wrap(oversized)).readItemIdentifier());
+  }
+
+  private static byte[] encode(Writer writer) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (IdentifierCodec.Encoder encoder = IdentifierCodec.encoder(output)) {
+      writer.write(encoder);
+    }
+    return output.toByteArray();
+  }
+
+  private interface Writer {
+    void write(IdentifierCodec.Encoder encoder) throws IOException;
+  }
+}
@@ -0,0 +1,74 @@
+package zeenea.connector.common;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IdentifierTrieTest {
+
+  private static final IdentificationProperty DATABASE = IdentificationProperty.of("db", "sales");
+  private static final IdentificationProperty PUBLIC =
+      IdentificationProperty.of("schema", "public");
+  private static final IdentificationProperty ARCHIVE =
+      IdentificationProperty.of("schema", "archive");
+
+  @Test
+  @DisplayName("IdentifierTrie should associate values with identifiers")
+  void shouldAssociateValuesWithIdentifiers() {
+    IdentifierTrie<String> trie = new IdentifierTrie<>();
+    ItemIdentifier orders = table(PUBLIC, "orders");
+
+    assertNull(trie.put(orders, "first"));
+    assertEquals("first", trie.put(table(PUBLIC, "orders"), "second"));
+    trie.put(ItemIdentifier.of(DATABASE, PUBLIC), "schema");
+
+    assertEquals(2, trie.size());
+    assertEquals("second", trie.get(orders));
+    assertTrue(trie.containsKey(ItemIdentifier.of(DATABASE, PUBLIC)));
+    assertFalse(trie.containsKey(ItemIdentifier.of(DATABASE)));
+    assertNull(trie.get(table(ARCHIVE, "orders")));
+
+    assertEquals("schema", trie.remove(ItemIdentifier.of(DATABASE, PUBLIC)));
+    assertEquals(1, trie.size());
+    assertEquals("second", trie.get(orders));
+  }
+
+  @Test
+  @DisplayName("IdentifierTrie should count, visit and remove subtrees")
+  void shouldHandleSubtrees() {
+    IdentifierTrie<Integer> trie = new IdentifierTrie<>();
+    for (int i = 0; i < 20; i++) {
+      trie.put(table(PUBLIC, "t" + i), i);
+    }
+    trie.put(table(ARCHIVE, "t0"), 100);
+
+    assertEquals(21, trie.countUnder(List.of(DATABASE)));
+    assertEquals(20, trie.countUnder(List.of(DATABASE, PUBLIC)));
+    assertEquals(0, trie.countUnder(List.of(PUBLIC)));
+    List<Integer> visited = new ArrayList<>();
+    trie.forEachUnder(List.of(DATABASE, PUBLIC), (identifier, value) -> visited.add(value));
+    assertEquals(20, visited.size());
+    assertEquals(List.of(0, 1, 2), visited.subList(0, 3));
+
+    assertEquals(20, trie.removeUnder(List.of(DATABASE, PUBLIC)));
+
+    assertEquals(1, trie.size());
+    assertEquals(0, trie.countUnder(List.of(DATABASE, PUBLIC)));
+    assertNull(trie.get(table(PUBLIC, "t3")));
+    List<Map.Entry<ItemIdentifier, Integer>> remaining =
+        trie.entriesUnder(List.of()).collect(Collectors.toList());
+    assertEquals(List.of(Map.entry(table(ARCHIVE, "t0"), 100)), remaining);
+
+    assertEquals(1, trie.removeUnder(List.of()));
+    assertTrue(trie.isEmpty());
+  }
+
+  private static ItemIdentifier table(IdentificationProperty schema, String name) {
+    return ItemIdentifier.of(DATABASE, schema, IdentificationProperty.of("table", name));
+  }
+}
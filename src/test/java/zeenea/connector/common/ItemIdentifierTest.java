@@ -2,8 +2,13 @@ package zeenea.connector.common;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -98,4 +103,123 @@ class ItemIdentifierTest {
         () -> ItemIdentifier.of(List.of()),
         "identificationProperties cannot be null");
   }
+
+  @Test
+  @DisplayName("ItemIdentifier canonical should share identifiers and their properties")
+  void shouldShareCanonicalIdentifiers() {
+    ItemIdentifier identifier1 =
+        ItemIdentifier.of(
+            IdentificationProperty.of("schema", "public"), IdentificationProperty.of("table", "t"));
+    ItemIdentifier identifier2 =
+        ItemIdentifier.builder()
+            .identificationProperties(identifier1.getIdentificationProperties())
+            .canonical(true)
+            .build();
+    ItemIdentifier identifier3 = ItemIdentifier.of(IdentificationProperty.of("schema", "public"));
+
+    assertTrue(identifier2.isCanonical());
+    assertSame(identifier2, identifier1.canonical());
+    assertEquals(identifier1, identifier2);
+    assertEquals(identifier1.hashCode(), identifier2.hashCode());
+    assertSame(
+        identifier2.getIdentificationProperties().get(0),
+        identifier3.canonical().getIdentificationProperties().get(0));
+    assertNotEquals(identifier2, identifier3.canonical());
+  }
+
+  @Test
+  @DisplayName("ItemIdentifier canonical should return one instance to concurrent callers")
+  void shouldShareCanonicalIdentifiersBetweenThreads() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      for (int round = 0; round < 2_000; round++) {
+        String table = "table_" + round;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ItemIdentifier>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+          futures.add(
+              executor.submit(
+                  () -> {
+                    start.await();
+                    return ItemIdentifier.of(IdentificationProperty.of("table", table)).canonical();
+                  }));
+        }
+        start.countDown();
+        ItemIdentifier first = futures.get(0).get();
+        for (Future<ItemIdentifier> future : futures) {
+          assertSame(first, future.get());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("ItemIdentifier should look up values by key in property order")
+  void shouldLookUpValuesByKey() {
+    ItemIdentifier identifier =
+        ItemIdentifier.of(
+            IdentificationProperty.of("schema", "public"),
+            IdentificationProperty.of("table", "t1"),
+            IdentificationProperty.of("schema", "archive"));
+    List<String> values = new ArrayList<>();
+
+    identifier.forEachValue("schema", values::add);
+
+    assertEquals(List.of("public", "archive"), values);
+    assertEquals("t1", identifier.valueAt("table"));
+    assertEquals("public", identifier.valueAt("schema"));
+    assertNull(identifier.valueAt("database"));
+    assertEquals(Optional.of("t1"), identifier.getUniquePropertyValue("table"));
+    assertEquals(List.of(), identifier.getPropertyValues("database"));
+  }
+
+  @Test
+  @DisplayName("ItemIdentifier should look up values by key among many keys")
+  void shouldLookUpValuesAmongManyKeys() {
+    List<IdentificationProperty> properties = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      properties.add(IdentificationProperty.of("key" + (i % 10), "value" + i));
+    }
+    ItemIdentifier identifier = ItemIdentifier.of(properties);
+
+    assertEquals("value3", identifier.valueAt("key3"));
+    assertEquals(List.of("value7", "value17"), identifier.getPropertyValues("key7"));
+    assertNull(identifier.valueAt("key10"));
+    assertThrows(IllegalStateException.class, () -> identifier.getUniquePropertyValue("key0"));
+  }
+
+  @Test
+  @DisplayName("ItemIdentifier derived by prefix and suffix should equal built identifiers")
+  void shouldDeriveIdentifiersSharingProperties() {
+    IdentificationProperty schema = IdentificationProperty.of("schema", "public");
+    IdentificationProperty table = IdentificationProperty.of("table", "orders");
+    IdentificationProperty database = IdentificationProperty.of("database", "sales");
+    ItemIdentifier tableId = ItemIdentifier.of(schema, table);
+
+    ItemIdentifier fieldId = tableId.withSuffix("field", "id").withPrefix(database);
+    ItemIdentifier expected =
+        ItemIdentifier.of(database, schema, table, IdentificationProperty.of("field", "id"));
+
+    assertEquals(expected, fieldId);
+    assertEquals(expected.hashCode(), fieldId.hashCode());
+    assertEquals(expected.getIdentificationProperties(), fieldId.getIdentificationProperties());
+    assertEquals(expected.toString(), fieldId.toString());
+    assertEquals(List.of(schema, table), tableId.getIdentificationProperties());
+    assertEquals(Optional.of("orders"), fieldId.getUniquePropertyValue("table"));
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> fieldId.getIdentificationProperties().add(database));
+    assertThrows(NullPointerException.class, () -> tableId.withSuffix(null));
+
+    ItemIdentifier deep = tableId;
+    for (int i = 0; i < 30; i++) {
+      deep = deep.withSuffix("level", "l" + i);
+    }
+    List<IdentificationProperty> properties = deep.getIdentificationProperties();
+    assertEquals(32, properties.size());
+    assertEquals(IdentificationProperty.of("level", "l29"), properties.get(31));
+    assertEquals(IdentificationProperty.of("level", "l7"), properties.get(9));
+  }
 }
@@ -3,6 +3,7 @@ package zeenea.connector.common;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -63,6 +64,24 @@ class ItemReferenceTest {
     assertNotEquals(itemReference1, itemReference2);
   }
 
+  @Test
+  @DisplayName("ItemReference should keep the same hash code once cached")
+  void shouldKeepSameHashCodeOnceCached() {
+    IdentificationProperty property = IdentificationProperty.of("key", "value");
+    ItemIdentifier identifier = ItemIdentifier.of(List.of(property));
+    DataSourceIdentifier dataSourceIdentifier =
+        DataSourceIdentifier.of(List.of(IdentificationProperty.of("host", "localhost")));
+    ItemReference itemReference = ItemReference.of(identifier, dataSourceIdentifier);
+
+    int hashCode = itemReference.hashCode();
+
+    assertEquals(hashCode, itemReference.hashCode());
+    assertEquals(Objects.hash(identifier, dataSourceIdentifier), hashCode);
+    assertEquals(Objects.hash("key", "value"), property.hashCode());
+    assertEquals(List.of(property).hashCode(), identifier.hashCode());
+    assertEquals(itemReference, ItemReference.of(identifier, dataSourceIdentifier));
+  }
+
   @Test
   @DisplayName("ItemReference factory should fail with null item identifier")
   void shouldFailWithNullItemIdentifier() {
@@ -0,0 +1,264 @@
+package zeenea.connector.common.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.PatternSyntaxException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CompiledFilterConfigurationTest {
+
+  @Test
+  @DisplayName("CompiledFilterConfiguration should apply the first matching filter")
+  void shouldApplyFirstMatchingFilter() {
+    CompiledFilterConfiguration configuration =
+        CompiledFilterConfiguration.compile(
+            List.of(
+                filter(FilterAction.REJECT, glob("schema", "tmp_*")),
+                filter(FilterAction.ACCEPT, glob("schema", "{public,sales}")),
+                filter(FilterAction.ACCEPT, regex("table", "fact_[0-9]+"))));
+
+    assertTrue(configuration.accepts(Map.of("schema", "public", "table", "orders")));
+    assertFalse(configuration.accepts(Map.of("schema", "tmp_load", "table", "fact_1")));
+    assertTrue(configuration.accepts(Map.of("schema", "hr", "table", "fact_12")));
+    assertFalse(configuration.accepts(Map.of("schema", "hr", "table", "fact_12x")));
+    assertEquals(3, configuration.getFilters().size());
+  }
+
+  @Test
+  @DisplayName("CompiledFilterConfiguration should match missing properties in ACCEPT filters")
+  void shouldMatchMissingPropertiesInAcceptFilters() {
+    CompiledFilterConfiguration rejecting =
+        CompiledFilterConfiguration.compile(
+            List.of(filter(FilterAction.REJECT, glob("schema", "tmp_*"))));
+    CompiledFilterConfiguration accepting =
+        CompiledFilterConfiguration.compile(
+            List.of(filter(FilterAction.ACCEPT, glob("schema", "public"), glob("table", "t*"))));
+
+    assertTrue(rejecting.accepts(Map.of()));
+    assertTrue(rejecting.accepts(Map.of("schema", "public")));
+    assertTrue(accepting.accepts(Map.of("table", "t1")));
+    assertFalse(accepting.accepts(Map.of("table", "x1")));
+    assertTrue(CompiledFilterConfiguration.compile(List.of()).accepts(Map.of("a", "b")));
+  }
+
+  @Test
+  @DisplayName("CompiledFilterConfiguration should evaluate every rule of a key in one pass")
+  void shouldEvaluateManyRules() {
+    Rule[] rules = new Rule[300];
+    for (int i = 0; i < rules.length; i++) {
+      rules[i] = i % 2 == 0 ? glob("table", "t" + i + "_*") : regex("table", "t" + i + "_\\d+");
+    }
+    CompiledFilterConfiguration configuration =
+        CompiledFilterConfiguration.compile(
+            List.of(
+                filter(FilterAction.ACCEPT, rules[250]),
+                filter(FilterAction.ACCEPT, rules[251]),
+                filter(FilterAction.REJECT, regex("table", "(a)\\1"))));
+
+    assertTrue(configuration.accepts(Map.of("table", "t250_orders")));
+    assertTrue(configuration.accepts(Map.of("table", "t251_42")));
+    assertFalse(configuration.accepts(Map.of("table", "t251_x")));
+    assertFalse(configuration.accepts(Map.of("table", "aa")));
+    List<Filter> invalid = List.of(filter(FilterAction.ACCEPT, glob("a", "[x")));
+    assertThrows(PatternSyntaxException.class, () -> CompiledFilterConfiguration.compile(invalid));
+  }
+
+  @Test
+  @DisplayName("CompiledFilterConfiguration should decide like filters evaluated one by one")
+  void shouldDecideLikeFiltersEvaluatedInOrder() {
+    Random random = new Random(7);
+    String[] keys = {"schema", "table", "owner"};
+    String[] patterns = {"a*", "*b", "{a,b}?", "[!c]*", "ab"};
+    for (int n = 0; n < 500; n++) {
+      Filter[] filters = new Filter[1 + random.nextInt(6)];
+      for (int f = 0; f < filters.length; f++) {
+        Rule[] rules = new Rule[random.nextInt(3)];
+        for (int r = 0; r < rules.length; r++) {
+          String key = keys[random.nextInt(keys.length)];
+          rules[r] = glob(key, patterns[random.nextInt(patterns.length)]);
+        }
+        FilterAction action = random.nextBoolean() ? FilterAction.ACCEPT : FilterAction.REJECT;
+        filters[f] = filter(action, rules);
+      }
+      CompiledFilterConfiguration configuration =
+          CompiledFilterConfiguration.compile(List.of(filters));
+      Map<String, String> properties = new HashMap<>();
+      for (String key : keys) {
+        if (random.nextInt(3) > 0) {
+          properties.put(key, List.of("a", "ab", "b", "cb", "abc").get(random.nextInt(5)));
+        }
+      }
+      assertEquals(
+          acceptsInOrder(List.of(filters), properties),
+          configuration.accepts(properties),
+          List.of(filters) + " on " + properties);
+    }
+  }
+
+  @Test
+  @DisplayName("CompiledFilterConfiguration should decide on partial properties like its filters")
+  void shouldDecideLikeFilters() {
+    Random random = new Random(11);
+    List<String> keys = List.of("database", "schema", "table");
+    List<String> values = List.of("a", "ab", "b", "cb");
+    for (int n = 0; n < 300; n++) {
+      Filter[] filters = new Filter[1 + random.nextInt(5)];
+      for (int f = 0; f < filters.length; f++) {
+        Rule[] rules = new Rule[random.nextInt(3)];
+        for (int r = 0; r < rules.length; r++) {
+          rules[r] = glob(keys.get(random.nextInt(3)), List.of("a*", "*b", "ab").get(r % 3));
+        }
+        FilterAction action = random.nextBoolean() ? FilterAction.ACCEPT : FilterAction.REJECT;
+        filters[f] = filter(action, rules);
+      }
+      CompiledFilterConfiguration configuration =
+          CompiledFilterConfiguration.compile(List.of(filters));
+      FilterConfiguration uncompiled =
+          new FilterConfiguration() {
+            @Override
+            public boolean accepts(Map<String, String> filteredProperties) {
+              return acceptsInOrder(getFilters(), filteredProperties);
+            }
+
+            @Override
+            public List<Filter> getFilters() {
+              return List.of(filters);
+            }
+          };
+      Map<String, String> known = Map.of("database", values.get(random.nextInt(4)));
+      FilterDecision decision = configuration.decide(known);
+      assertEquals(uncompiled.decide(known), decision);
+      for (int i = 0; i < 10 && decision != FilterDecision.UNDECIDED; i++) {
+        Map<String, String> properties = new HashMap<>(known);
+        properties.put("schema", values.get(random.nextInt(4)));
+        if (random.nextBoolean()) {
+          properties.put("table", values.get(random.nextInt(4)));
+        }
+        assertEquals(decision == FilterDecision.ACCEPT_ALL, configuration.accepts(properties));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("GlobAutomaton should match like the path matcher of the file system")
+  void shouldMatchLikePathMatcher() {
+    String patterns = "* ** a* *b a?c a/* a/** [abc]* [!a]b [a-c][0-9] {ab,cd}* x{,y}z \\*a";
+    List<String> globs =
+        List.of((patterns + " *.{java,kt} **/test/* a*b*c [-a] [a-]? +*").split(" "));
+    GlobAutomaton automaton = GlobAutomaton.compile(globs);
+    PathMatcher[] matchers =
+        globs.stream()
+            .map(glob -> FileSystems.getDefault().getPathMatcher("glob:" + glob))
+            .toArray(PathMatcher[]::new);
+    Random random = new Random(42);
+    String alphabet = "abcxyz09/.-*+";
+    for (int n = 0; n < 20_000; n++) {
+      StringBuilder value = new StringBuilder();
+      int length = 1 + random.nextInt(8);
+      for (int i = 0; i < length; i++) {
+        value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      String candidate = value.toString();
+      if (candidate.contains("//") || candidate.endsWith("/") || candidate.startsWith("/")) {
+        continue;
+      }
+      BitSet hits = automaton.match(candidate);
+      for (int g = 0; g < globs.size(); g++) {
+        assertEquals(
+            matchers[g].matches(Path.of(candidate)),
+            hits.get(g),
+            "glob " + globs.get(g) + " on " + candidate);
+      }
+    }
+  }
+
+  private static boolean acceptsInOrder(List<Filter> filters, Map<String, String> properties) {
+    for (Filter filter : filters) {
+      boolean accept = filter.getAction() == FilterAction.ACCEPT;
+      boolean matches = true;
+      for (Rule rule : filter.getRules()) {
+        String value = properties.get(rule.getKey());
+        matches &= value == null ? accept : rule.matches(value);
+      }
+      if (matches) {
+        return accept;
+      }
+    }
+    return filters.stream().noneMatch(f -> f.getAction() == FilterAction.ACCEPT);
+  }
+
+  private static Filter filter(FilterAction action, Rule... rules) {
+    return new Filter() {
+      @Override
+      public String getId() {
+        return action + List.of(rules).toString();
+      }
+
+      @Override
+      public String toString() {
+        return getId();
+      }
+
+      @Override
+      public FilterAction getAction() {
+        return action;
+      }
+
+      @Override
+      public List<Rule> getRules() {
+        return List.of(rules);
+      }
+    };
+  }
+
+  private static Rule glob(String key, String value) {
+    return rule(key, RuleType.GLOB, value);
+  }
+
+  private static Rule regex(String key, String value) {
+    return rule(key, RuleType.REGEX, value);
+  }
+
+  private static Rule rule(String key, RuleType type, String value) {
+    return new Rule() {
+      @Override
+      public String getKey() {
+        return key;
+      }
+
+      @Override
+      public RuleType getType() {
+        return type;
+      }
+
+      @Override
+      public String getValue() {
+        return value;
+      }
+
+      @Override
+      public String getRawValue() {
+        return type.name().toLowerCase() + ":" + value;
+      }
+
+      @Override
+      public String toString() {
+        return key + "=" + getRawValue();
+      }
+
+      @Override
+      public boolean matches(String candidate) {
+        return FileSystems.getDefault().getPathMatcher(getRawValue()).matches(Path.of(candidate));
+      }
+    };
+  }
+}
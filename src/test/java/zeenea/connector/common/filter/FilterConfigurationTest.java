@@ -0,0 +1,109 @@
+package zeenea.connector.common.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FilterConfigurationTest {
+
+  @Test
+  @DisplayName("FilterConfiguration should decide on the properties known so far")
+  void shouldDecideOnKnownProperties() {
+    FilterConfiguration configuration =
+        configuration(
+            filter(FilterAction.REJECT, glob("database", "test*")),
+            filter(FilterAction.ACCEPT, glob("database", "prod"), glob("schema", "sales")),
+            filter(FilterAction.ACCEPT, glob("schema", "public")));
+
+    assertEquals(FilterDecision.REJECT_ALL, configuration.decide(Map.of("database", "test1")));
+    assertEquals(FilterDecision.UNDECIDED, configuration.decide(Map.of("database", "prod")));
+    assertEquals(FilterDecision.UNDECIDED, configuration.decide(Map.of()));
+    assertEquals(
+        FilterDecision.ACCEPT_ALL,
+        configuration.decide(Map.of("database", "prod", "schema", "sales")));
+    assertEquals(
+        FilterDecision.REJECT_ALL, configuration.decide(Map.of("database", "dev", "schema", "hr")));
+  }
+
+  @Test
+  @DisplayName("FilterConfiguration should decide on missing properties like accepts")
+  void shouldDecideOnMissingProperties() {
+    FilterConfiguration accepting =
+        configuration(filter(FilterAction.ACCEPT, glob("database", "prod")));
+    FilterConfiguration rejecting =
+        configuration(filter(FilterAction.REJECT, glob("schema", "tmp_*")));
+
+    assertEquals(FilterDecision.REJECT_ALL, accepting.decide(Map.of("database", "dev")));
+    assertEquals(FilterDecision.ACCEPT_ALL, accepting.decide(Map.of("database", "prod")));
+    assertEquals(FilterDecision.UNDECIDED, rejecting.decide(Map.of("database", "dev")));
+    assertEquals(FilterDecision.ACCEPT_ALL, rejecting.decide(Map.of("schema", "public")));
+    assertEquals(FilterDecision.ACCEPT_ALL, configuration().decide(Map.of()));
+  }
+
+  private static FilterConfiguration configuration(Filter... filters) {
+    return new FilterConfiguration() {
+      @Override
+      public boolean accepts(Map<String, String> filteredProperties) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public List<Filter> getFilters() {
+        return List.of(filters);
+      }
+    };
+  }
+
+  private static Filter filter(FilterAction action, Rule... rules) {
+    return new Filter() {
+      @Override
+      public String getId() {
+        return action + List.of(rules).toString();
+      }
+
+      @Override
+      public FilterAction getAction() {
+        return action;
+      }
+
+      @Override
+      public List<Rule> getRules() {
+        return List.of(rules);
+      }
+    };
+  }
+
+  private static Rule glob(String key, String value) {
+    return new Rule() {
+      @Override
+      public String getKey() {
+        return key;
+      }
+
+      @Override
+      public RuleType getType() {
+        return RuleType.GLOB;
+      }
+
+      @Override
+      public String getValue() {
+        return value;
+      }
+
+      @Override
+      public String getRawValue() {
+        return "glob:" + value;
+      }
+
+      @Override
+      public boolean matches(String candidate) {
+        return FileSystems.getDefault().getPathMatcher(getRawValue()).matches(Path.of(candidate));
+      }
+    };
+  }
+}
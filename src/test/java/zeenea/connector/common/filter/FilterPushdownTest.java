@@ -0,0 +1,225 @@
+package zeenea.connector.common.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.common.SqlDialect;
+
+class FilterPushdownTest {
+
+  private static final Map<String, String> COLUMNS =
+      Map.of("schema", "table_schema", "table", "table_name");
+
+  @Test
+  @DisplayName("FilterPushdown should translate filters into an exact condition")
+  void shouldTranslateFiltersExactly() {
+    FilterPushdown.Result result =
+        FilterPushdown.of(SqlDialect.POSTGRES, COLUMNS)
+            .translate(
+                configuration(
+                    filter(FilterAction.REJECT, glob("schema", "tmp_*")),
+                    filter(FilterAction.ACCEPT, glob("schema", "{public,sales}")),
+                    filter(
+                        FilterAction.ACCEPT,
+                        regex("schema", "dw_.*"),
+                        regex("table", "fact_[0-9]+"))));
+
+    assertTrue(result.isExact());
+    assertEquals(
+        "NOT (table_schema IS NOT NULL"
+            + " AND (table_schema LIKE 'tmp!_%' ESCAPE '!' AND table_schema NOT LIKE '%/%'))"
+            + " AND ((table_schema IS NULL OR table_schema IN ('public', 'sales'))"
+            + " OR (table_schema IS NULL OR table_schema LIKE 'dw!_%' ESCAPE '!')"
+            + " AND (table_name IS NULL OR table_name ~ '^(fact_[0-9]+)$'))",
+        result.getPredicate().orElseThrow());
+    assertTrue(result.getResidual().accepts(Map.of("schema", "tmp_load")));
+  }
+
+  @Test
+  @DisplayName("FilterPushdown should approximate the rules it cannot translate")
+  void shouldApproximateUntranslatedRules() {
+    FilterConfiguration configuration =
+        configuration(
+            filter(FilterAction.REJECT, regex("table", "t\\d+")),
+            filter(FilterAction.REJECT, glob("database", "test")),
+            filter(FilterAction.ACCEPT, glob("database", "prod"), glob("schema", "sales")));
+
+    FilterPushdown.Result result =
+        FilterPushdown.of(SqlDialect.POSTGRES, COLUMNS).translate(configuration);
+
+    assertFalse(result.isExact());
+    assertEquals(
+        "(table_schema IS NULL OR table_schema = 'sales')", result.getPredicate().orElseThrow());
+    assertSame(configuration, result.getResidual());
+    Map<String, String> selected = Map.of("database", "prod", "schema", "sales", "table", "t1");
+    assertFalse(result.getResidual().accepts(selected));
+    assertTrue(result.getResidual().accepts(Map.of("database", "prod", "schema", "sales")));
+    FilterPushdown.Result untranslated =
+        FilterPushdown.of(SqlDialect.SOQL, COLUMNS).translate(configuration);
+    assertTrue(untranslated.getPredicate().isEmpty());
+    assertFalse(untranslated.getResidual().accepts(Map.of("database", "test")));
+  }
+
+  @Test
+  @DisplayName("FilterPushdown should use the syntax of the dialect")
+  void shouldUseSyntaxOfDialect() {
+    FilterConfiguration configuration =
+        configuration(filter(FilterAction.REJECT, glob("table", "[a-c]_*")));
+
+    assertEquals(
+        "NOT (table_name IS NOT NULL AND REGEXP_CONTAINS(table_name, '^([a-c]_[^/]*)$'))",
+        predicate(SqlDialect.BIGQUERY, configuration));
+    assertEquals(
+        "NOT (table_name IS NOT NULL AND REGEXP_LIKE(table_name, '^([a-c]_[^/]*)$', 'c'))",
+        predicate(SqlDialect.MYSQL, configuration));
+    assertEquals(
+        "NOT (table_name IS NOT NULL AND table_name LIKE 'x\\\\_%')",
+        predicate(
+            SqlDialect.HIVE, configuration(filter(FilterAction.REJECT, glob("table", "x_**")))));
+    assertEquals(
+        "NOT (table_name IS NOT NULL AND table_name SIMILAR TO '(ab|cd)+!_x' ESCAPE '!')",
+        predicate(
+            SqlDialect.ANSI,
+            configuration(filter(FilterAction.REJECT, regex("table", "(ab|cd)+_x")))));
+    FilterPushdown.Result caseInsensitive =
+        FilterPushdown.of(SqlDialect.TSQL, COLUMNS)
+            .translate(configuration(filter(FilterAction.ACCEPT, glob("table", "\\[x**"))));
+    assertFalse(caseInsensitive.isExact());
+    assertEquals(
+        "(table_name IS NULL OR table_name LIKE '![x%' ESCAPE '!')",
+        caseInsensitive.getPredicate().orElseThrow());
+  }
+
+  @Test
+  @DisplayName("FilterPushdown should read backslashes in patterns and values literally")
+  void shouldReadBackslashesLiterally() {
+    FilterPushdown.Result result =
+        FilterPushdown.of(SqlDialect.POSTGRES, COLUMNS)
+            .translate(configuration(filter(FilterAction.REJECT, glob("schema", "tmp\\\\*"))));
+
+    assertTrue(result.isExact());
+    assertEquals(
+        "NOT (table_schema IS NOT NULL"
+            + " AND (table_schema LIKE 'tmp\\%' ESCAPE '!' AND table_schema NOT LIKE '%/%'))",
+        result.getPredicate().orElseThrow());
+    assertEquals(
+        "NOT (table_name IS NOT NULL AND table_name LIKE 'a\\%' ESCAPE '!')",
+        predicate(
+            SqlDialect.POSTGRES,
+            configuration(filter(FilterAction.REJECT, regex("table", "a\\\\.*")))));
+    assertEquals(
+        "(table_name IS NULL OR table_name = 'a\\b')",
+        predicate(
+            SqlDialect.POSTGRES,
+            configuration(filter(FilterAction.ACCEPT, regex("table", "a\\\\b")))));
+    assertEquals(
+        "NOT (table_name IS NOT NULL AND table_name LIKE 'x\\\\\\\\%')",
+        predicate(
+            SqlDialect.HIVE,
+            configuration(filter(FilterAction.REJECT, glob("table", "x\\\\**")))));
+    assertEquals(
+        "(table_name IS NULL OR table_name LIKE 'tmp\\\\%' ESCAPE '!')",
+        FilterPushdown.of(SqlDialect.MARIADB, COLUMNS)
+            .translate(configuration(filter(FilterAction.ACCEPT, glob("table", "tmp\\\\**"))))
+            .getPredicate()
+            .orElseThrow());
+    assertEquals(
+        "(table_name IS NULL OR table_name IN ('x\\\\', 'a\\\\''b'))",
+        predicate(
+            SqlDialect.REDSHIFT,
+            configuration(filter(FilterAction.ACCEPT, glob("table", "{x\\\\,a\\\\'b}")))));
+  }
+
+  @Test
+  @DisplayName("FilterPushdown should translate globs into regular expressions like the matcher")
+  void shouldTranslateGlobsLikePathMatcher() {
+    Pattern translated = Pattern.compile("table_name ~ '(.*)'\\)$");
+    for (String glob : List.of("[a-c]*", "[!a]?x", "{[ab],c*}z", "a/**/[0-9]", "x.[a]*")) {
+      String predicate =
+          predicate(
+              SqlDialect.POSTGRES,
+              configuration(filter(FilterAction.ACCEPT, glob("table", glob))));
+      Matcher matcher = translated.matcher(predicate);
+      assertTrue(matcher.find(), predicate);
+      Pattern regex = Pattern.compile(matcher.group(1));
+      for (String value : List.of("a", "ax", "bx", "/x", "ab/x", "cz", "bz", "cyz", "a/b/c/1")) {
+        assertEquals(
+            glob("table", glob).matches(value),
+            regex.matcher(value).matches(),
+            glob + " on " + value);
+      }
+    }
+  }
+
+  private static String predicate(SqlDialect dialect, FilterConfiguration configuration) {
+    FilterPushdown.Result result = FilterPushdown.of(dialect, COLUMNS).translate(configuration);
+    return result.getPredicate().orElseThrow();
+  }
+
+  private static FilterConfiguration configuration(Filter... filters) {
+    return CompiledFilterConfiguration.compile(List.of(filters));
+  }
+
+  private static Filter filter(FilterAction action, Rule... rules) {
+    return new Filter() {
+      @Override
+      public String getId() {
+        return action + List.of(rules).toString();
+      }
+
+      @Override
+      public FilterAction getAction() {
+        return action;
+      }
+
+      @Override
+      public List<Rule> getRules() {
+        return List.of(rules);
+      }
+    };
+  }
+
+  private static Rule glob(String key, String value) {
+    return rule(key, RuleType.GLOB, value);
+  }
+
+  private static Rule regex(String key, String value) {
+    return rule(key, RuleType.REGEX, value);
+  }
+
+  private static Rule rule(String key, RuleType type, String value) {
+    return new Rule() {
+      @Override
+      public String getKey() {
+        return key;
+      }
+
+      @Override
+      public RuleType getType() {
+        return type;
+      }
+
+      @Override
+      public String getValue() {
+        return value;
+      }
+
+      @Override
+      public String getRawValue() {
+        return type.name().toLowerCase() + ":" + value;
+      }
+
+      @Override
+      public boolean matches(String candidate) {
+        return FileSystems.getDefault().getPathMatcher(getRawValue()).matches(Path.of(candidate));
+      }
+    };
+  }
+}
@@ -0,0 +1,78 @@
+package zeenea.connector.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CancellationTokenTest {
+
+  @Test
+  @DisplayName("CancellationToken should run registered callbacks once on cancel")
+  void shouldRunCallbacksOnCancel() {
+    CancellationToken token = CancellationToken.create();
+    List<String> calls = new ArrayList<>();
+    token.onCancel(() -> calls.add("first"));
+    token.onCancel(() -> calls.add("removed")).close();
+    token.onCancel(
+        () -> {
+          throw new IllegalStateException("callback failed");
+        });
+    token.onCancel(() -> calls.add("second"));
+
+    token.cancel();
+    token.cancel();
+    token.onCancel(() -> calls.add("late"));
+
+    assertTrue(token.isCancelled());
+    assertEquals(List.of("first", "second", "late"), calls);
+    assertThrows(CancellationException.class, token::throwIfCancelled);
+  }
+
+  @Test
+  @DisplayName("CancellationToken should be cancelled when its deadline passes")
+  void shouldCancelAtDeadline() throws InterruptedException {
+    CancellationToken token = CancellationToken.create();
+    CountDownLatch cancelled = new CountDownLatch(1);
+    token.onCancel(cancelled::countDown);
+
+    token.cancelAt(Deadline.after(Duration.ofHours(1)));
+    token.cancelAt(Deadline.after(Duration.ofMillis(20)));
+    token.cancelAt(Deadline.after(Duration.ofHours(2)));
+
+    assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+    assertTrue(token.isCancelled());
+  }
+
+  @Test
+  @DisplayName("CancellationToken should not be cancelled by an infinite deadline")
+  void shouldIgnoreInfiniteDeadline() {
+    CancellationToken token = CancellationToken.create().cancelAt(Deadline.none());
+
+    assertFalse(token.isCancelled());
+    assertDoesNotThrow(token::throwIfCancelled);
+  }
+
+  @Test
+  @DisplayName("Deadline should report the time left and order deadlines")
+  void shouldReportRemainingTime() {
+    Deadline expired = Deadline.after(Duration.ZERO);
+    Deadline later = Deadline.after(Duration.ofHours(1));
+
+    assertTrue(expired.isExpired());
+    assertEquals(0, expired.remaining(TimeUnit.NANOSECONDS));
+    assertFalse(later.isExpired());
+    assertTrue(later.remaining(TimeUnit.MINUTES) >= 59);
+    assertFalse(Deadline.none().isExpired());
+    assertEquals(Long.MAX_VALUE, Deadline.none().remaining(TimeUnit.SECONDS));
+    assertSame(expired, later.min(expired));
+    assertSame(later, Deadline.none().min(later));
+    assertSame(Deadline.none(), Deadline.after(Duration.ofDays(365_000)));
+  }
+}
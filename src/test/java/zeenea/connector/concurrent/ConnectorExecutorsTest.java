@@ -0,0 +1,46 @@
+package zeenea.connector.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConnectorExecutorsTest {
+
+  @Test
+  @DisplayName("ConnectorExecutors I/O executor should run tasks on named threads")
+  void shouldRunTasksOnNamedThreads() throws Exception {
+    ExecutorService executor = ConnectorExecutors.newIoExecutor("test-io", 2);
+    try {
+      Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+      assertTrue(name.get().startsWith("test-io-"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("ConnectorExecutors platform executor should be bounded and use daemon threads")
+  void shouldBoundPlatformExecutor() throws Exception {
+    ExecutorService executor = ConnectorExecutors.newPlatformExecutor("test-platform", 3);
+    try {
+      assertEquals(3, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+      assertTrue(executor.submit(() -> Thread.currentThread().isDaemon()).get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("ConnectorExecutors should reject a non-positive thread count")
+  void shouldRejectNonPositiveThreadCount() {
+    assertThrows(
+        IllegalArgumentException.class, () -> ConnectorExecutors.newIoExecutor("test-io", 0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ConnectorExecutors.newPlatformExecutor("test-platform", 0));
+  }
+}
@@ -0,0 +1,77 @@
+package zeenea.connector.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+
+class SourceThrottleTest {
+
+  private static final DataSourceIdentifier SOURCE_A =
+      DataSourceIdentifier.of(IdentificationProperty.of("tenant", "a"));
+
+  private static final DataSourceIdentifier SOURCE_B =
+      DataSourceIdentifier.of(IdentificationProperty.of("tenant", "b"));
+
+  @Test
+  @DisplayName("SourceThrottle should limit the calls in flight per data source")
+  void shouldLimitCallsInFlightPerDataSource() throws Exception {
+    SourceThrottle throttle = SourceThrottle.builder().maxInFlight(1).build();
+
+    try (SourceThrottle.Permit permit = throttle.acquire(SOURCE_A)) {
+      assertEquals(1, throttle.inFlight(SOURCE_A));
+      assertThrows(
+          TimeoutException.class,
+          () -> throttle.acquire(SOURCE_A, Deadline.after(Duration.ofMillis(20))));
+      try (SourceThrottle.Permit other = throttle.acquire(SOURCE_B)) {
+        assertEquals(1, throttle.inFlight(SOURCE_B));
+      }
+    }
+
+    assertEquals(0, throttle.inFlight(SOURCE_A));
+    throttle.acquire(SOURCE_A, Deadline.after(Duration.ofMillis(20))).close();
+  }
+
+  @Test
+  @DisplayName("SourceThrottle should space calls according to the rate after the burst")
+  void shouldSpaceCallsAccordingToRate() throws Exception {
+    SourceThrottle throttle = SourceThrottle.builder().permitsPerSecond(20).burst(3).build();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 5; i++) {
+      throttle.acquire(SOURCE_A).close();
+    }
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertTrue(elapsed >= 90, "elapsed " + elapsed);
+    assertThrows(
+        TimeoutException.class, () -> throttle.acquire(SOURCE_A, Deadline.after(Duration.ZERO)));
+    throttle.acquire(SOURCE_B, Deadline.after(Duration.ZERO)).close();
+  }
+
+  @Test
+  @DisplayName("SourceThrottle should never wait when unlimited")
+  void shouldNeverWaitWhenUnlimited() throws Exception {
+    SourceThrottle throttle = SourceThrottle.unlimited();
+
+    for (int i = 0; i < 1_000; i++) {
+      throttle.acquire(SOURCE_A, Deadline.after(Duration.ZERO));
+    }
+
+    assertTrue(throttle.isUnlimited());
+    assertEquals(0, throttle.inFlight(SOURCE_A));
+  }
+
+  @Test
+  @DisplayName("SourceThrottle builder should reject negative limits")
+  void shouldRejectNegativeLimits() {
+    assertThrows(IllegalArgumentException.class, () -> SourceThrottle.builder().maxInFlight(-1));
+    assertThrows(
+        IllegalArgumentException.class, () -> SourceThrottle.builder().permitsPerSecond(-1));
+  }
+}
@@ -0,0 +1,142 @@
+package zeenea.connector.datasampling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.concurrent.SourceThrottle;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.property.PropertyDefinition;
+
+class ParallelDataSamplerTest {
+
+  @Test
+  @DisplayName("ParallelDataSampler should answer every request in order")
+  void shouldAnswerEveryRequestInOrder() {
+    RecordingConnection connection = new RecordingConnection(null);
+    List<DataSampleRequest> requests = requests(50);
+
+    List<DataSampleResponse> responses =
+        ParallelDataSampler.builder().parallelism(8).build().collect(connection, requests);
+
+    assertEquals(50, responses.size());
+    for (int i = 0; i < requests.size(); i++) {
+      assertSame(connection.responses.get(requests.get(i)), responses.get(i));
+    }
+  }
+
+  @Test
+  @DisplayName("ParallelDataSampler should never exceed its parallelism")
+  void shouldNeverExceedParallelism() {
+    RecordingConnection connection = new RecordingConnection(null);
+
+    ParallelDataSampler.builder().parallelism(3).build().collect(connection, requests(30));
+
+    assertTrue(connection.maxInFlight.get() <= 3);
+  }
+
+  @Test
+  @DisplayName("ParallelDataSampler should respect the throttle of each data source")
+  void shouldRespectThrottle() {
+    RecordingConnection connection = new RecordingConnection(null);
+    SourceThrottle throttle = SourceThrottle.builder().maxInFlight(2).build();
+
+    ParallelDataSampler.builder()
+        .parallelism(8)
+        .throttle(throttle)
+        .build()
+        .collect(connection, requests(30));
+
+    assertTrue(connection.maxInFlight.get() <= 2);
+  }
+
+  @Test
+  @DisplayName("ParallelDataSampler should answer a failed request with an empty response")
+  void shouldAnswerFailedRequestWithEmptyResponse() {
+    List<DataSampleRequest> requests = requests(5);
+    RecordingConnection connection = new RecordingConnection(requests.get(2));
+
+    List<DataSampleResponse> responses =
+        ParallelDataSampler.builder().build().collect(connection, requests);
+
+    assertEquals(5, responses.size());
+    assertTrue(responses.get(2).getSample().isEmpty());
+    assertNotNull(responses.get(3));
+  }
+
+  @Test
+  @DisplayName("ParallelDataSampler builder should reject a non-positive parallelism")
+  void shouldRejectNonPositiveParallelism() {
+    assertThrows(
+        IllegalArgumentException.class, () -> ParallelDataSampler.builder().parallelism(0));
+  }
+
+  private static List<DataSampleRequest> requests(int count) {
+    DataSourceIdentifier source = DataSourceIdentifier.of(IdentificationProperty.of("alias", "a"));
+    return IntStream.range(0, count)
+        .mapToObj(
+            i ->
+                new DataSampleRequest(
+                    ItemDesignator.of(
+                        ItemIdentifier.of(IdentificationProperty.of("table", "table" + i)),
+                        source),
+                    10))
+        .collect(Collectors.toList());
+  }
+
+  private static final class RecordingConnection implements DataSampleConnection {
+
+    private final Map<DataSampleRequest, DataSampleResponse> responses = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final DataSampleRequest failing;
+
+    private RecordingConnection(DataSampleRequest failing) {
+      this.failing = failing;
+    }
+
+    @Override
+    public DataSampleResponse collectDataSample(DataSampleRequest request) {
+      int current = inFlight.incrementAndGet();
+      maxInFlight.accumulateAndGet(current, Math::max);
+      try {
+        Thread.sleep(2);
+        if (request == failing) {
+          throw new IllegalStateException("unreadable");
+        }
+        DataSampleResponse response = new DataSampleResponse();
+        responses.put(request, response);
+        return response;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {}
+  }
+}
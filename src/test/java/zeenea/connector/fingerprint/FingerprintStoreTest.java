@@ -0,0 +1,89 @@
+package zeenea.connector.fingerprint;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.dataset.Dataset;
+
+class FingerprintStoreTest {
+
+  @TempDir Path folder;
+
+  @Test
+  @DisplayName("FingerprintStore should drop items unchanged since the committed run")
+  void shouldDropUnchangedItems() {
+    Path file = folder.resolve("fingerprints/conn.fingerprints");
+    FingerprintStore first = new FingerprintStore(file);
+    assertEquals(
+        List.of("a", "b", "c"),
+        names(
+            first.dropUnchanged(
+                Stream.of(dataset("a", "1"), dataset("b", "1"), dataset("c", "1")))));
+    first.commit();
+    assertTrue(Files.isRegularFile(file));
+
+    FingerprintStore second = new FingerprintStore(file);
+    assertEquals(
+        List.of("b", "d"),
+        names(
+            second.dropUnchanged(
+                Stream.of(dataset("a", "1"), dataset("b", "2"), dataset("d", "1")))));
+    assertEquals(3, second.size());
+  }
+
+  @Test
+  @DisplayName("FingerprintStore should only remember the items of the last committed run")
+  void shouldForgetItemsNotSeenDuringRun() {
+    Path file = folder.resolve("conn.fingerprints");
+    FingerprintStore first = new FingerprintStore(file);
+    first.dropUnchanged(Stream.of(dataset("a", "1"), dataset("b", "1"))).forEach(item -> {});
+    first.commit();
+
+    FingerprintStore second = new FingerprintStore(file);
+    second.dropUnchanged(Stream.of(dataset("a", "1"))).forEach(item -> {});
+    second.commit();
+
+    FingerprintStore third = new FingerprintStore(file);
+    assertTrue(third.isUnchanged(dataset("a", "1")));
+    assertFalse(third.isUnchanged(dataset("b", "1")));
+  }
+
+  @Test
+  @DisplayName("FingerprintStore should send every item until a run is committed")
+  void shouldSendEveryItemUntilCommitted() {
+    Path file = folder.resolve("conn.fingerprints");
+    new FingerprintStore(file).isUnchanged(dataset("a", "1"));
+
+    assertFalse(new FingerprintStore(file).isUnchanged(dataset("a", "1")));
+
+    FingerprintStore store = new FingerprintStore(file);
+    store.isUnchanged(dataset("a", "1"));
+    store.commit();
+    store.clear();
+    assertFalse(new FingerprintStore(file).isUnchanged(dataset("a", "1")));
+  }
+
+  private static List<String> names(Stream<? extends Item> items) {
+    return items.map(Item::getName).collect(Collectors.toList());
+  }
+
+  private static Dataset dataset(String name, String description) {
+    return Dataset.builder()
+        .id(ItemIdentifier.of(IdentificationProperty.of("table", name)))
+        .dataSourceIdentifier(DataSourceIdentifier.of(IdentificationProperty.of("alias", "db")))
+        .name(name)
+        .description(description)
+        .build();
+  }
+}
@@ -0,0 +1,125 @@
+package zeenea.connector.fingerprint;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.contact.Contact;
+import zeenea.connector.dataset.DataType;
+import zeenea.connector.dataset.Dataset;
+import zeenea.connector.field.Field;
+import zeenea.connector.property.PropertyValue;
+import zeenea.connector.visualization.Visualization;
+
+class FingerprintTest {
+
+  private static final Field ID = field("id", 0, DataType.Long);
+  private static final Field NAME = field("name", 1, DataType.String);
+  private static final Contact OWNER = Contact.of("owner@zeenea.com", "Owner", null, "owner");
+  private static final Contact STEWARD =
+      Contact.of("steward@zeenea.com", "Steward", null, "steward");
+
+  @Test
+  @DisplayName("Item fingerprint should not depend on the order of collections")
+  void shouldIgnoreCollectionOrder() {
+    Dataset dataset =
+        dataset("table")
+            .fields(List.of(ID, NAME))
+            .contacts(OWNER, STEWARD)
+            .glossaryRefs("a", "b")
+            .properties(
+                Map.of("owner", PropertyValue.string("me"), "rows", PropertyValue.number(42)))
+            .build();
+    Dataset reordered =
+        dataset("table")
+            .fields(List.of(NAME, ID))
+            .contacts(STEWARD, OWNER)
+            .glossaryRefs("b", "a")
+            .properties(
+                Map.of("rows", PropertyValue.number(42), "owner", PropertyValue.string("me")))
+            .build();
+
+    assertEquals(dataset.fingerprint(), reordered.fingerprint());
+  }
+
+  @Test
+  @DisplayName("Item fingerprint should change with the content of the item")
+  void shouldChangeWithContent() {
+    Dataset dataset = dataset("table").fields(List.of(ID, NAME)).build();
+
+    assertNotEquals(
+        dataset.fingerprint(), dataset("table").fields(List.of(ID)).build().fingerprint());
+    assertNotEquals(
+        dataset.fingerprint(),
+        dataset("table")
+            .fields(List.of(ID, field("name", 1, DataType.Unknown)))
+            .build()
+            .fingerprint());
+    assertNotEquals(
+        dataset.fingerprint(),
+        dataset("table").fields(List.of(ID, NAME)).description("changed").build().fingerprint());
+    assertNotEquals(
+        dataset.fingerprint(), dataset("other").fields(List.of(ID, NAME)).build().fingerprint());
+  }
+
+  @Test
+  @DisplayName("Item fingerprint should distinguish item types with the same content")
+  void shouldDistinguishItemTypes() {
+    Dataset dataset = dataset("table").fields(List.of(ID)).build();
+    Visualization visualization =
+        Visualization.builder()
+            .id(dataset.getId())
+            .name(dataset.getName())
+            .dataSourceIdentifier(dataset.getDataSourceIdentifier())
+            .fields(List.of(ID))
+            .build();
+
+    assertNotEquals(dataset.fingerprint(), visualization.fingerprint());
+  }
+
+  @Test
+  @DisplayName("FingerprintHasher should not confuse null and empty values")
+  void shouldDistinguishNullAndEmpty() {
+    assertNotEquals(
+        FingerprintHasher.create().putString(null).fingerprint(),
+        FingerprintHasher.create().putString("").fingerprint());
+    assertNotEquals(
+        FingerprintHasher.create().putString("ab").putString("c").fingerprint(),
+        FingerprintHasher.create().putString("a").putString("bc").fingerprint());
+    assertNotEquals(
+        FingerprintHasher.create().putStrings(List.of("a", "a")).fingerprint(),
+        FingerprintHasher.create().putStrings(List.of("a")).fingerprint());
+  }
+
+  @Test
+  @DisplayName("Fingerprint should round-trip through its hexadecimal representation")
+  void shouldRoundTripHexString() {
+    Fingerprint fingerprint = Fingerprint.of(0x0123456789abcdefL, -1L);
+
+    assertEquals("0123456789abcdefffffffffffffffff", fingerprint.toHexString());
+    assertEquals(fingerprint, Fingerprint.fromHexString(fingerprint.toHexString()));
+    assertThrows(IllegalArgumentException.class, () -> Fingerprint.fromHexString("xyz"));
+  }
+
+  private static Dataset.Builder dataset(String name) {
+    return Dataset.builder()
+        .id(ItemIdentifier.of(IdentificationProperty.of("table", name)))
+        .dataSourceIdentifier(DataSourceIdentifier.of(IdentificationProperty.of("alias", "db")))
+        .name(name);
+  }
+
+  private static Field field(String name, int index, DataType dataType) {
+    return Field.builder()
+        .id(ItemIdentifier.of(IdentificationProperty.of("field", name)))
+        .name(name)
+        .dataType(dataType)
+        .nativeType(dataType.name())
+        .nativeIndex(index)
+        .build();
+  }
+}
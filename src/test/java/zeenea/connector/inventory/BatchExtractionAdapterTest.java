@@ -0,0 +1,154 @@
+package zeenea.connector.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.dataset.Dataset;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.property.PropertyDefinition;
+
+class BatchExtractionAdapterTest {
+
+  private static final DataSourceIdentifier SOURCE_A =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "a"));
+  private static final DataSourceIdentifier SOURCE_B =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "b"));
+
+  @Test
+  @DisplayName("BatchExtractionAdapter should cut designators by count")
+  void shouldCutDesignatorsByCount() {
+    BatchExtractionAdapter adapter = BatchExtractionAdapter.builder().maxBatchSize(4).build();
+
+    List<List<ItemDesignator>> batches =
+        adapter.batches(designators(10, SOURCE_A)).collect(Collectors.toList());
+
+    assertEquals(List.of(4, 4, 2), sizes(batches));
+  }
+
+  @Test
+  @DisplayName("BatchExtractionAdapter should cut designators by estimated cost")
+  void shouldCutDesignatorsByCost() {
+    BatchExtractionAdapter adapter =
+        BatchExtractionAdapter.builder()
+            .maxBatchCost(10)
+            .costEstimator(designator -> table(designator).equals("t2") ? 50 : 3)
+            .build();
+
+    List<List<ItemDesignator>> batches =
+        adapter.batches(designators(6, SOURCE_A)).collect(Collectors.toList());
+
+    assertEquals(List.of(2, 1, 3), sizes(batches));
+  }
+
+  @Test
+  @DisplayName("BatchExtractionAdapter should never mix data sources in a batch")
+  void shouldNeverMixDataSources() {
+    BatchExtractionAdapter adapter = BatchExtractionAdapter.builder().maxBatchSize(3).build();
+
+    List<List<ItemDesignator>> batches =
+        adapter
+            .batches(Stream.concat(designators(4, SOURCE_A), designators(2, SOURCE_B)))
+            .collect(Collectors.toList());
+
+    assertEquals(List.of(3, 1, 2), sizes(batches));
+    for (List<ItemDesignator> batch : batches) {
+      assertEquals(
+          1, batch.stream().map(ItemDesignator::getDataSourceIdentifier).distinct().count());
+    }
+  }
+
+  @Test
+  @DisplayName("BatchExtractionConnection should extract items by batches")
+  void shouldExtractItemsByBatches() {
+    BatchConnection connection = new BatchConnection();
+
+    List<String> names;
+    ExtractionRequest request = new ExtractionRequest(designators(7, SOURCE_A));
+    try (Stream<Item> items = connection.extractItems(request).getExtractedItems()) {
+      names = items.map(Item::getName).collect(Collectors.toList());
+    }
+
+    assertEquals(List.of("t0", "t1", "t2", "t3", "t4", "t5", "t6"), names);
+    assertEquals(List.of(3, 3, 1), sizes(connection.batches));
+  }
+
+  @Test
+  @DisplayName("BatchExtractionAdapter builder should reject invalid settings")
+  void shouldRejectInvalidSettings() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> BatchExtractionAdapter.builder().maxBatchSize(0).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> BatchExtractionAdapter.builder().maxBatchCost(0).build());
+  }
+
+  private static List<Integer> sizes(List<List<ItemDesignator>> batches) {
+    return batches.stream().map(List::size).collect(Collectors.toList());
+  }
+
+  private static String table(ItemDesignator designator) {
+    return designator.getItemIdentifier().getUniquePropertyValue("table").orElseThrow();
+  }
+
+  private static Stream<ItemDesignator> designators(int count, DataSourceIdentifier source) {
+    return IntStream.range(0, count)
+        .mapToObj(
+            i ->
+                ItemDesignator.of(
+                    ItemIdentifier.of(IdentificationProperty.of("table", "t" + i)), source));
+  }
+
+  private static final class BatchConnection implements BatchExtractionConnection {
+
+    private final List<List<ItemDesignator>> batches = new ArrayList<>();
+
+    @Override
+    public Stream<Item> extractBatch(List<ItemDesignator> batch) {
+      batches.add(batch);
+      return batch.stream()
+          .map(
+              designator ->
+                  Dataset.builder()
+                      .id(designator.getItemIdentifier())
+                      .name(table(designator))
+                      .build());
+    }
+
+    @Override
+    public BatchExtractionAdapter getBatchExtractionAdapter() {
+      return BatchExtractionAdapter.builder().maxBatchSize(3).build();
+    }
+
+    @Override
+    public Stream<ItemInventory> inventory() {
+      return Stream.empty();
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {}
+  }
+}
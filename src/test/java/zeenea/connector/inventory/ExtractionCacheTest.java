@@ -0,0 +1,261 @@
+package zeenea.connector.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.dataset.Dataset;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.property.PropertyDefinition;
+
+class ExtractionCacheTest {
+
+  private static final DataSourceIdentifier SOURCE =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "a"));
+
+  private static final ItemCodec NAME_CODEC =
+      new ItemCodec() {
+        @Override
+        public byte[] encode(Item item) {
+          return item.getName().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Item decode(byte[] bytes) {
+          return dataset(new String(bytes, StandardCharsets.UTF_8));
+        }
+      };
+
+  @TempDir Path folder;
+
+  @Test
+  @DisplayName("ExtractionCache should only extract items missing from the cache")
+  void shouldOnlyExtractMissingItems() {
+    RecordingConnection connection = new RecordingConnection();
+    ExtractionCache cache = ExtractionCache.builder().connection(connection).build();
+
+    assertEquals(Set.of("t1", "t2"), extract(cache, "t1", "t2"));
+    assertEquals(Set.of("t1", "t2", "t3"), extract(cache, "t1", "t2", "t3"));
+
+    assertEquals(List.of(List.of("t1", "t2"), List.of("t3")), connection.calls);
+    assertEquals(2, cache.getHitCount());
+    assertEquals(3, cache.getMissCount());
+  }
+
+  @Test
+  @DisplayName("ExtractionCache should extract expired items again")
+  void shouldExtractExpiredItemsAgain() {
+    RecordingConnection connection = new RecordingConnection();
+    MutableClock clock = new MutableClock();
+    ExtractionCache cache =
+        ExtractionCache.builder()
+            .connection(connection)
+            .ttl(Duration.ofMinutes(10))
+            .clock(clock)
+            .build();
+
+    extract(cache, "t1");
+    clock.advance(Duration.ofMinutes(9));
+    extract(cache, "t1");
+    clock.advance(Duration.ofMinutes(2));
+    extract(cache, "t1");
+
+    assertEquals(List.of(List.of("t1"), List.of("t1")), connection.calls);
+  }
+
+  @Test
+  @DisplayName("ExtractionCache should evict the least recently used items")
+  void shouldEvictLeastRecentlyUsedItems() {
+    RecordingConnection connection = new RecordingConnection();
+    ExtractionCache cache = ExtractionCache.builder().connection(connection).maxEntries(2).build();
+
+    extract(cache, "t1", "t2");
+    extract(cache, "t1");
+    extract(cache, "t3");
+    extract(cache, "t1", "t2");
+
+    assertEquals(List.of(List.of("t1", "t2"), List.of("t3"), List.of("t2")), connection.calls);
+    assertEquals(2, cache.getEvictionCount());
+  }
+
+  @Test
+  @DisplayName("ExtractionCache should serve items from the file tier after a restart")
+  void shouldServeItemsFromFileTier() {
+    RecordingConnection connection = new RecordingConnection();
+    extract(
+        ExtractionCache.builder().connection(connection).disk(folder, NAME_CODEC).build(), "t1");
+
+    ExtractionCache restarted =
+        ExtractionCache.builder().connection(connection).disk(folder, NAME_CODEC).build();
+
+    assertEquals(Set.of("t1", "t2"), extract(restarted, "t1", "t2"));
+    assertEquals(List.of(List.of("t1"), List.of("t2")), connection.calls);
+    assertEquals(1, restarted.getHitCount());
+  }
+
+  @Test
+  @DisplayName("ExtractionCache should bound the size of the file tier")
+  void shouldBoundFileTierSize() {
+    RecordingConnection connection = new RecordingConnection();
+    ExtractionCache cache =
+        ExtractionCache.builder()
+            .connection(connection)
+            .maxEntries(1)
+            .disk(folder, NAME_CODEC)
+            .maxDiskBytes(25)
+            .build();
+
+    extract(cache, "t1", "t2", "t3");
+    cache.invalidate(designator("t3"));
+    extract(cache, "t1", "t2");
+
+    assertEquals(List.of(List.of("t1", "t2", "t3"), List.of("t1")), connection.calls);
+  }
+
+  @Test
+  @DisplayName("DiskItemCache should drop temporary files and items replaced by oversize ones")
+  void shouldDropTemporaryFilesAndStaleItems() throws IOException {
+    Path temporary = Files.createFile(folder.resolve("interrupted.tmp"));
+    DiskItemCache disk =
+        new DiskItemCache(folder, NAME_CODEC, 20, Duration.ofHours(1), Clock.systemUTC());
+
+    assertFalse(Files.exists(temporary));
+    disk.put(designator("t1"), dataset("t1"));
+    assertEquals("t1", disk.get(designator("t1")).getName());
+    assertEquals(0, disk.put(designator("t1"), dataset("a much longer name")));
+    assertNull(disk.get(designator("t1")));
+    try (Stream<Path> files = Files.list(folder)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  @DisplayName("ExtractionCache should keep items in the heap when the file tier fails")
+  void shouldKeepItemsWhenFileTierFails() throws IOException {
+    RecordingConnection connection = new RecordingConnection();
+    ItemCodec failingCodec =
+        new ItemCodec() {
+          @Override
+          public byte[] encode(Item item) {
+            throw new IllegalArgumentException("Unsupported item");
+          }
+
+          @Override
+          public Item decode(byte[] bytes) {
+            throw new IllegalArgumentException("Unsupported item");
+          }
+        };
+    ExtractionCache failingEncode =
+        ExtractionCache.builder().connection(connection).disk(folder, failingCodec).build();
+    Path notAFolder = Files.createFile(folder.resolve("file"));
+    ExtractionCache failingWrite =
+        ExtractionCache.builder().connection(connection).disk(notAFolder, NAME_CODEC).build();
+
+    assertEquals(Set.of("t1"), extract(failingEncode, "t1"));
+    assertEquals(Set.of("t1"), extract(failingEncode, "t1"));
+    assertEquals(Set.of("t2"), extract(failingWrite, "t2"));
+    assertEquals(Set.of("t2"), extract(failingWrite, "t2"));
+
+    assertEquals(List.of(List.of("t1"), List.of("t2")), connection.calls);
+  }
+
+  private static Set<String> extract(ExtractionCache cache, String... names) {
+    ExtractionRequest request =
+        new ExtractionRequest(Stream.of(names).map(ExtractionCacheTest::designator));
+    try (Stream<Item> items = cache.extractItems(request).getExtractedItems()) {
+      return items.map(Item::getName).collect(Collectors.toSet());
+    }
+  }
+
+  private static ItemDesignator designator(String name) {
+    return ItemDesignator.of(ItemIdentifier.of(IdentificationProperty.of("table", name)), SOURCE);
+  }
+
+  private static Item dataset(String name) {
+    return Dataset.builder()
+        .id(IdentificationProperty.of("table", name))
+        .name(name)
+        .dataSourceIdentifier(SOURCE)
+        .build();
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    private void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+
+  private static final class RecordingConnection implements InventoryConnection {
+
+    private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Stream<ItemInventory> inventory() {
+      return Stream.empty();
+    }
+
+    @Override
+    public ExtractionResponse extractItems(ExtractionRequest request) {
+      List<String> names =
+          request
+              .getItemsToExtract()
+              .map(designator -> designator.getItemIdentifier().getUniquePropertyValue("table"))
+              .map(name -> name.orElseThrow())
+              .collect(Collectors.toList());
+      calls.add(names);
+      return new ExtractionResponse(names.stream().map(ExtractionCacheTest::dataset));
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {}
+  }
+}
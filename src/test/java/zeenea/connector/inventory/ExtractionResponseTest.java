@@ -0,0 +1,103 @@
+package zeenea.connector.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.concurrent.CancellationToken;
+import zeenea.connector.concurrent.Deadline;
+import zeenea.connector.dataset.Dataset;
+
+class ExtractionResponseTest {
+
+  private static final DataSourceIdentifier SOURCE =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "a"));
+
+  @Test
+  @DisplayName("ExtractionResponse should return every item of a request that is not cancelled")
+  void shouldReturnEveryItem() {
+    ExtractionRequest request = new ExtractionRequest(Stream.empty());
+    ExtractionResponse response =
+        ExtractionResponse.of(request, Stream.of(dataset("t1"), dataset("t2")));
+
+    assertEquals(List.of("t1", "t2"), names(response));
+    assertFalse(response.isPartial());
+  }
+
+  @Test
+  @DisplayName("ExtractionResponse should stop as partial when the request is cancelled")
+  void shouldStopWhenCancelled() {
+    CancellationToken token = CancellationToken.create();
+    ExtractionRequest request = new ExtractionRequest(Stream.empty(), Deadline.none(), token);
+    ExtractionResponse response =
+        ExtractionResponse.of(
+            request,
+            Stream.of("t1", "t2", "t3")
+                .map(ExtractionResponseTest::dataset)
+                .peek(
+                    item -> {
+                      if (item.getName().equals("t2")) {
+                        token.cancel();
+                      }
+                    }));
+
+    assertEquals(List.of("t1", "t2"), names(response));
+    assertTrue(response.isPartial());
+  }
+
+  @Test
+  @DisplayName("ExtractionResponse should end as partial on a failure caused by cancellation")
+  void shouldEndAsPartialOnCancellationFailure() {
+    CancellationToken token = CancellationToken.create();
+    ExtractionRequest request = new ExtractionRequest(Stream.empty(), Deadline.none(), token);
+    ExtractionResponse response =
+        ExtractionResponse.of(
+            request,
+            Stream.of("t1", "t2")
+                .map(
+                    name -> {
+                      if (name.equals("t2")) {
+                        token.cancel();
+                        throw new IllegalStateException("statement cancelled");
+                      }
+                      return dataset(name);
+                    }));
+
+    assertEquals(List.of("t1"), names(response));
+    assertTrue(response.isPartial());
+  }
+
+  @Test
+  @DisplayName("ExtractionResponse should return nothing once the deadline has passed")
+  void shouldReturnNothingAfterDeadline() {
+    ExtractionRequest request =
+        new ExtractionRequest(
+            Stream.empty(), Deadline.after(Duration.ZERO), CancellationToken.create());
+    ExtractionResponse response = ExtractionResponse.of(request, Stream.of(dataset("t1")));
+
+    assertEquals(List.of(), names(response));
+    assertTrue(response.isPartial());
+    assertTrue(request.isCancelled());
+  }
+
+  private static List<String> names(ExtractionResponse response) {
+    try (Stream<Item> items = response.getExtractedItems()) {
+      return items.map(Item::getName).collect(Collectors.toList());
+    }
+  }
+
+  private static Item dataset(String name) {
+    return Dataset.builder()
+        .id(IdentificationProperty.of("table", name))
+        .name(name)
+        .dataSourceIdentifier(SOURCE)
+        .build();
+  }
+}
@@ -0,0 +1,123 @@
+package zeenea.connector.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.common.LabelIdentifier;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.property.PropertyDefinition;
+
+class IncrementalInventoryTest {
+
+  private static final ItemInventory TABLE_1 = inventory("table1");
+  private static final ItemInventory TABLE_2 = inventory("table2");
+
+  @Test
+  @DisplayName("IncrementalInventory should fall back to a full inventory")
+  void shouldFallBackToFullInventory() {
+    FullConnection connection = new FullConnection();
+
+    IncrementalInventory result =
+        IncrementalInventory.of(connection, InventoryCheckpoint.builder().token("a", "b").build());
+
+    assertTrue(result.isFull());
+    assertTrue(result.getCheckpoint().isEmpty());
+    assertEquals(
+        List.of(InventoryChange.added(TABLE_1), InventoryChange.added(TABLE_2)),
+        result.getChanges().collect(Collectors.toList()));
+  }
+
+  @Test
+  @DisplayName("IncrementalInventory should use the connection increments when supported")
+  void shouldUseIncrementsWhenSupported() {
+    InventoryCheckpoint since =
+        InventoryCheckpoint.builder().watermark(Instant.parse("2024-01-01T00:00:00Z")).build();
+    InventoryCheckpoint next =
+        InventoryCheckpoint.builder().watermark(Instant.parse("2024-01-02T00:00:00Z")).build();
+    IncrementalConnection connection = new IncrementalConnection(since, next);
+
+    IncrementalInventory result = IncrementalInventory.of(connection, since);
+
+    assertFalse(result.isFull());
+    assertEquals(next, result.getCheckpoint());
+    assertEquals(
+        List.of(InventoryChange.changed(TABLE_1), InventoryChange.removed(TABLE_2)),
+        result.getChanges().collect(Collectors.toList()));
+  }
+
+  @Test
+  @DisplayName("IncrementalInventoryConnection should return a full inventory without checkpoint")
+  void shouldReturnFullInventoryWithoutCheckpoint() {
+    IncrementalConnection connection =
+        new IncrementalConnection(InventoryCheckpoint.empty(), InventoryCheckpoint.empty());
+
+    IncrementalInventory result = IncrementalInventory.of(connection, null);
+
+    assertTrue(result.isFull());
+    assertEquals(2, result.getChanges().count());
+  }
+
+  private static ItemInventory inventory(String table) {
+    return ItemInventory.of(
+        ItemIdentifier.of(IdentificationProperty.of("table", table)),
+        LabelIdentifier.of(IdentificationProperty.of("table", table)),
+        DataSourceIdentifier.of(IdentificationProperty.of("alias", "db")));
+  }
+
+  private static class FullConnection implements InventoryConnection {
+
+    @Override
+    public Stream<ItemInventory> inventory() {
+      return Stream.of(TABLE_1, TABLE_2);
+    }
+
+    @Override
+    public ExtractionResponse extractItems(ExtractionRequest request) {
+      return new ExtractionResponse(Stream.empty());
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  private static final class IncrementalConnection extends FullConnection
+      implements IncrementalInventoryConnection {
+
+    private final InventoryCheckpoint known;
+    private final InventoryCheckpoint next;
+
+    private IncrementalConnection(InventoryCheckpoint known, InventoryCheckpoint next) {
+      this.known = known;
+      this.next = next;
+    }
+
+    @Override
+    public IncrementalInventory inventory(InventoryCheckpoint since) {
+      if (since == null || since.isEmpty() || !since.equals(known)) {
+        return IncrementalInventory.full(inventory(), next);
+      }
+      return IncrementalInventory.delta(
+          Stream.of(InventoryChange.changed(TABLE_1), InventoryChange.removed(TABLE_2)), next);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package zeenea.connector.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InventoryCheckpointCodecTest {
+
+  @Test
+  @DisplayName("InventoryCheckpointCodec should decode what it encodes")
+  void shouldRoundTripCheckpoint() {
+    InventoryCheckpoint checkpoint =
+        InventoryCheckpoint.builder()
+            .watermark(Instant.parse("2024-03-01T10:15:30.123456789Z"))
+            .token("schema:sales", "42")
+            .token("deltaLink", "https://example.com/delta?token=é&x=1")
+            .build();
+
+    String encoded = InventoryCheckpointCodec.encode(checkpoint);
+
+    assertEquals(checkpoint, InventoryCheckpointCodec.decode(encoded));
+    assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+  }
+
+  @Test
+  @DisplayName("InventoryCheckpointCodec should round trip tokens longer than 64 KiB")
+  void shouldRoundTripLongTokens() {
+    String deltaLink = "https://example.com/delta?token=" + "é".repeat(40_000);
+    InventoryCheckpoint checkpoint =
+        InventoryCheckpoint.builder().token("deltaLink", deltaLink).build();
+
+    assertEquals(
+        checkpoint, InventoryCheckpointCodec.decode(InventoryCheckpointCodec.encode(checkpoint)));
+  }
+
+  @Test
+  @DisplayName("InventoryCheckpointCodec should encode equal checkpoints identically")
+  void shouldEncodeEqualCheckpointsIdentically() {
+    InventoryCheckpoint first =
+        InventoryCheckpoint.builder().token("a", "1").token("b", "2").build();
+    InventoryCheckpoint second =
+        InventoryCheckpoint.builder().token("b", "2").token("a", "1").build();
+
+    assertEquals(InventoryCheckpointCodec.encode(first), InventoryCheckpointCodec.encode(second));
+  }
+
+  @Test
+  @DisplayName("InventoryCheckpointCodec should round trip the empty checkpoint")
+  void shouldRoundTripEmptyCheckpoint() {
+    String encoded = InventoryCheckpointCodec.encode(InventoryCheckpoint.empty());
+
+    InventoryCheckpoint decoded = InventoryCheckpointCodec.decode(encoded);
+
+    assertTrue(decoded.isEmpty());
+    assertTrue(decoded.getWatermark().isEmpty());
+  }
+
+  @Test
+  @DisplayName("InventoryCheckpointCodec should reject invalid values")
+  void shouldRejectInvalidValues() {
+    assertThrows(IllegalArgumentException.class, () -> InventoryCheckpointCodec.decode("%%%"));
+    assertThrows(IllegalArgumentException.class, () -> InventoryCheckpointCodec.decode("AQ"));
+    assertThrows(IllegalArgumentException.class, () -> InventoryCheckpointCodec.decode("Ag"));
+  }
+}
@@ -0,0 +1,126 @@
+package zeenea.connector.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.common.LabelIdentifier;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.property.PropertyDefinition;
+
+class InventoryCursorStoreTest {
+
+  @TempDir Path folder;
+
+  @Test
+  @DisplayName("PaginatedInventoryConnection should list every page")
+  void shouldListEveryPage() {
+    PagedConnection connection = new PagedConnection(7, 3);
+
+    List<String> tables = tables(connection.inventory());
+
+    assertEquals(7, tables.size());
+    assertEquals(List.of("0", "3", "6"), connection.requestedCursors());
+  }
+
+  @Test
+  @DisplayName("InventoryCursorStore should resume from the last committed cursor")
+  void shouldResumeFromLastCommittedCursor() {
+    InventoryCursorStore store = new InventoryCursorStore(folder.resolve("cursors/conn.cursor"));
+    PagedConnection connection = new PagedConnection(10, 4);
+
+    try (Stream<ItemInventory> items = store.inventory(connection)) {
+      assertEquals(6, items.limit(6).count());
+    }
+    assertEquals("4", store.load().orElseThrow());
+
+    List<String> remaining = tables(store.inventory(new PagedConnection(10, 4)));
+
+    assertEquals(List.of("t4", "t5", "t6", "t7", "t8", "t9"), remaining);
+    assertTrue(store.load().isEmpty());
+  }
+
+  @Test
+  @DisplayName("InventoryCursorStore should commit, load and clear a cursor")
+  void shouldCommitLoadAndClearCursor() {
+    InventoryCursorStore store = new InventoryCursorStore(folder.resolve("conn.cursor"));
+
+    assertTrue(store.load().isEmpty());
+    store.commit("first");
+    store.commit("second");
+    assertEquals("second", store.load().orElseThrow());
+    store.clear();
+    assertTrue(store.load().isEmpty());
+  }
+
+  private static List<String> tables(Stream<ItemInventory> items) {
+    try (items) {
+      return items
+          .map(item -> item.getItemIdentifier().getUniquePropertyValue("table").orElseThrow())
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static final class PagedConnection implements PaginatedInventoryConnection {
+
+    private final int count;
+    private final int pageSize;
+    private final List<String> cursors = new ArrayList<>();
+
+    private PagedConnection(int count, int pageSize) {
+      this.count = count;
+      this.pageSize = pageSize;
+    }
+
+    private List<String> requestedCursors() {
+      return cursors;
+    }
+
+    @Override
+    public InventoryPage inventoryPage(String cursor) {
+      int start = cursor == null ? 0 : Integer.parseInt(cursor);
+      cursors.add(String.valueOf(start));
+      int end = Math.min(count, start + pageSize);
+      List<ItemInventory> items =
+          IntStream.range(start, end)
+              .mapToObj(
+                  i ->
+                      ItemInventory.of(
+                          ItemIdentifier.of(IdentificationProperty.of("table", "t" + i)),
+                          LabelIdentifier.of(),
+                          DataSourceIdentifier.of(IdentificationProperty.of("alias", "s3"))))
+              .collect(Collectors.toList());
+      return end < count ? InventoryPage.of(items, String.valueOf(end)) : InventoryPage.last(items);
+    }
+
+    @Override
+    public ExtractionResponse extractItems(ExtractionRequest request) {
+      return new ExtractionResponse(Stream.empty());
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,108 @@
+package zeenea.connector.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.common.LabelIdentifier;
+
+class InventoryDiffTest {
+
+  @TempDir Path folder;
+
+  @Test
+  @DisplayName("InventoryDiff should report added, removed and relabelled entries")
+  void shouldReportChanges() {
+    InventoryDiff diff = InventoryDiff.builder().tempFolder(folder).build();
+
+    Map<String, InventoryChange.Type> changes =
+        changes(
+            diff,
+            Stream.of(entry("a", "x"), entry("b", "x"), entry("c", "x")),
+            Stream.of(entry("c", "x"), entry("d", "x"), entry("b", "y")));
+
+    assertEquals(
+        Map.of(
+            "a", InventoryChange.Type.REMOVED,
+            "b", InventoryChange.Type.CHANGED,
+            "d", InventoryChange.Type.ADDED),
+        changes);
+  }
+
+  @Test
+  @DisplayName("InventoryDiff should spill to disk and clean up its temporary files")
+  void shouldSpillToDiskAndCleanUp() throws IOException {
+    InventoryDiff diff = InventoryDiff.builder().tempFolder(folder).maxEntriesInMemory(3).build();
+    List<Integer> previous = shuffled(0, 500);
+    List<Integer> current = shuffled(250, 800);
+
+    Map<String, InventoryChange.Type> changes =
+        changes(
+            diff,
+            previous.stream().map(i -> entry("t" + i, "x")),
+            current.stream().map(i -> entry("t" + i, i % 100 == 0 ? "y" : "x")));
+
+    assertEquals(250, count(changes, InventoryChange.Type.REMOVED));
+    assertEquals(300, count(changes, InventoryChange.Type.ADDED));
+    assertEquals(2, count(changes, InventoryChange.Type.CHANGED));
+    try (Stream<Path> files = Files.list(folder)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  @DisplayName("InventoryDiff should restore reported entries and ignore duplicates")
+  void shouldRestoreEntriesAndIgnoreDuplicates() {
+    InventoryDiff diff = InventoryDiff.builder().tempFolder(folder).maxEntriesInMemory(1).build();
+    ItemInventory entry = entry("a", "x");
+
+    try (Stream<InventoryChange> changes =
+        diff.compare(Stream.empty(), Stream.of(entry, entry("b", "x"), entry("a", "y")))) {
+      assertEquals(
+          List.of(InventoryChange.added(entry), InventoryChange.added(entry("b", "x"))),
+          changes.collect(Collectors.toList()));
+    }
+  }
+
+  private static Map<String, InventoryChange.Type> changes(
+      InventoryDiff diff, Stream<ItemInventory> previous, Stream<ItemInventory> current) {
+    try (Stream<InventoryChange> changes = diff.compare(previous, current)) {
+      return changes.collect(
+          Collectors.toMap(
+              change -> change.getItem().getItemIdentifier().getUniquePropertyValue("table").get(),
+              InventoryChange::getType));
+    }
+  }
+
+  private static long count(Map<String, InventoryChange.Type> changes, InventoryChange.Type type) {
+    return changes.values().stream().filter(type::equals).count();
+  }
+
+  private static List<Integer> shuffled(int from, int to) {
+    List<Integer> values = IntStream.range(from, to).boxed().collect(Collectors.toList());
+    Collections.shuffle(values, new Random(42));
+    return values;
+  }
+
+  private static ItemInventory entry(String table, String label) {
+    return ItemInventory.of(
+        ItemIdentifier.of(IdentificationProperty.of("table", table)),
+        LabelIdentifier.of(IdentificationProperty.of("schema", label)),
+        DataSourceIdentifier.of(IdentificationProperty.of("alias", "db")));
+  }
+}
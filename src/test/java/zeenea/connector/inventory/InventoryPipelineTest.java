@@ -0,0 +1,220 @@
+package zeenea.connector.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.common.LabelIdentifier;
+import zeenea.connector.common.filter.Filter;
+import zeenea.connector.common.filter.FilterConfiguration;
+import zeenea.connector.dataset.Dataset;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.property.PropertyDefinition;
+
+class InventoryPipelineTest {
+
+  private static final DataSourceIdentifier SOURCE =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "a"));
+
+  @Test
+  @DisplayName("InventoryPipeline should extract entries while the inventory is running")
+  void shouldExtractWhileInventoryIsRunning() {
+    CountDownLatch firstExtracted = new CountDownLatch(1);
+    RecordingConnection connection =
+        new RecordingConnection(
+            () ->
+                Stream.concat(
+                    Stream.of(entry("public", "t1")),
+                    Stream.of("t2")
+                        .map(
+                            name -> {
+                              await(firstExtracted);
+                              return entry("public", name);
+                            })));
+    connection.onExtract = firstExtracted::countDown;
+    InventoryPipeline pipeline = InventoryPipeline.builder().build();
+
+    assertEquals(List.of("t1", "t2"), extract(pipeline, connection));
+    assertEquals(List.of(List.of("t1"), List.of("t2")), connection.calls);
+  }
+
+  @Test
+  @DisplayName("InventoryPipeline should only extract entries accepted by the filter")
+  void shouldOnlyExtractAcceptedEntries() {
+    RecordingConnection connection =
+        new RecordingConnection(
+            () ->
+                Stream.of(entry("public", "t1"), entry("private", "t2"), entry("public", "t3")));
+    InventoryPipeline pipeline =
+        InventoryPipeline.builder()
+            .filter(new SchemaFilter("public"))
+            .queueCapacity(1)
+            .chunkSize(2)
+            .build();
+
+    assertEquals(List.of("t1", "t3"), extract(pipeline, connection));
+  }
+
+  @Test
+  @DisplayName("InventoryPipeline should rethrow inventory failures to the consumer")
+  void shouldRethrowInventoryFailures() {
+    RecordingConnection connection =
+        new RecordingConnection(
+            () ->
+                Stream.of("t1", "t2")
+                    .map(
+                        name -> {
+                          if (name.equals("t2")) {
+                            throw new IllegalStateException("inventory failed");
+                          }
+                          return entry("public", name);
+                        }));
+    InventoryPipeline pipeline = InventoryPipeline.builder().build();
+    List<String> names = new ArrayList<>();
+
+    IllegalStateException exception =
+        assertThrows(
+            IllegalStateException.class,
+            () -> {
+              try (Stream<Item> items = pipeline.extract(connection)) {
+                items.forEach(item -> names.add(item.getName()));
+              }
+            });
+    assertEquals("inventory failed", exception.getMessage());
+    assertEquals(List.of("t1"), names);
+  }
+
+  @Test
+  @DisplayName("InventoryPipeline should hand all the designators to the engine in one request")
+  void shouldExtractWithEngine() {
+    RecordingConnection connection =
+        new RecordingConnection(
+            () -> Stream.of("t1", "t2", "t3", "t4", "t5").map(name -> entry("public", name)));
+    ParallelExtractionEngine engine =
+        ParallelExtractionEngine.builder()
+            .parallelism(2)
+            .chunkSize(2)
+            .ordering(ParallelExtractionEngine.Ordering.ORDERED)
+            .build();
+    InventoryPipeline pipeline = InventoryPipeline.builder().engine(engine).chunkSize(1).build();
+
+    assertEquals(List.of("t1", "t2", "t3", "t4", "t5"), extract(pipeline, connection));
+    assertEquals(
+        Set.of(List.of("t1", "t2"), List.of("t3", "t4"), List.of("t5")),
+        Set.copyOf(connection.calls));
+  }
+
+  @Test
+  @DisplayName("InventoryPipeline should reject invalid settings")
+  void shouldRejectInvalidSettings() {
+    assertThrows(
+        IllegalArgumentException.class, () -> InventoryPipeline.builder().queueCapacity(0));
+    assertThrows(IllegalArgumentException.class, () -> InventoryPipeline.builder().chunkSize(0));
+  }
+
+  private static List<String> extract(InventoryPipeline pipeline, InventoryConnection connection) {
+    try (Stream<Item> items = pipeline.extract(connection)) {
+      return items.map(Item::getName).collect(Collectors.toList());
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static ItemInventory entry(String schema, String table) {
+    return ItemInventory.builder()
+        .itemIdentifier(ItemIdentifier.of(IdentificationProperty.of("table", table)))
+        .labelIdentifier(LabelIdentifier.of(IdentificationProperty.of("schema", schema)))
+        .dataSourceIdentifier(SOURCE)
+        .build();
+  }
+
+  private static final class SchemaFilter implements FilterConfiguration {
+
+    private final String schema;
+
+    private SchemaFilter(String schema) {
+      this.schema = schema;
+    }
+
+    @Override
+    public boolean accepts(Map<String, String> filteredProperties) {
+      return schema.equals(filteredProperties.get("schema"));
+    }
+
+    @Override
+    public List<Filter> getFilters() {
+      return List.of();
+    }
+  }
+
+  private static final class RecordingConnection implements InventoryConnection {
+
+    private final Supplier<Stream<ItemInventory>> inventory;
+    private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+    private Runnable onExtract = () -> {};
+
+    private RecordingConnection(Supplier<Stream<ItemInventory>> inventory) {
+      this.inventory = inventory;
+    }
+
+    @Override
+    public Stream<ItemInventory> inventory() {
+      return inventory.get();
+    }
+
+    @Override
+    public ExtractionResponse extractItems(ExtractionRequest request) {
+      List<String> names =
+          request
+              .getItemsToExtract()
+              .map(designator -> designator.getItemIdentifier().getUniquePropertyValue("table"))
+              .map(name -> name.orElseThrow())
+              .collect(Collectors.toList());
+      calls.add(names);
+      onExtract.run();
+      return new ExtractionResponse(
+          names.stream()
+              .map(
+                  name ->
+                      Dataset.builder()
+                          .id(IdentificationProperty.of("table", name))
+                          .name(name)
+                          .dataSourceIdentifier(SOURCE)
+                          .build()));
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {}
+  }
+}
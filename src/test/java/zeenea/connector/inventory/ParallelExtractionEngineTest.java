@@ -0,0 +1,193 @@
+package zeenea.connector.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.dataset.Dataset;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.property.PropertyDefinition;
+
+class ParallelExtractionEngineTest {
+
+  private static final DataSourceIdentifier SOURCE_A =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "a"));
+  private static final DataSourceIdentifier SOURCE_B =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "b"));
+
+  @Test
+  @DisplayName("ParallelExtractionEngine should extract every requested item")
+  void shouldExtractEveryRequestedItem() {
+    RecordingConnection connection = new RecordingConnection();
+    ParallelExtractionEngine engine =
+        ParallelExtractionEngine.builder().parallelism(4).chunkSize(7).build();
+
+    List<String> names;
+    try (Stream<Item> items = engine.extract(connection, request(100)).getExtractedItems()) {
+      names = items.map(Item::getName).collect(Collectors.toList());
+    }
+
+    assertEquals(100, names.size());
+    assertEquals(
+        IntStream.range(0, 100).mapToObj(i -> "table" + i).collect(Collectors.toSet()),
+        Set.copyOf(names));
+  }
+
+  @Test
+  @DisplayName("ParallelExtractionEngine should never mix partitions nor exceed the chunk size")
+  void shouldRespectPartitionsAndChunkSize() {
+    RecordingConnection connection = new RecordingConnection();
+    ParallelExtractionEngine engine =
+        ParallelExtractionEngine.builder().parallelism(3).chunkSize(5).build();
+
+    try (Stream<Item> items = engine.extract(connection, request(42)).getExtractedItems()) {
+      assertEquals(42, items.count());
+    }
+
+    assertFalse(connection.calls.isEmpty());
+    for (List<ItemDesignator> call : connection.calls) {
+      assertTrue(call.size() <= 5);
+      assertEquals(
+          1, call.stream().map(ItemDesignator::getDataSourceIdentifier).distinct().count());
+    }
+  }
+
+  @Test
+  @DisplayName("ParallelExtractionEngine should keep request order when ordered")
+  void shouldKeepRequestOrderWhenOrdered() {
+    RecordingConnection connection = new RecordingConnection();
+    ParallelExtractionEngine engine =
+        ParallelExtractionEngine.builder()
+            .parallelism(4)
+            .chunkSize(3)
+            .partitionBy(designator -> "single")
+            .ordering(ParallelExtractionEngine.Ordering.ORDERED)
+            .build();
+
+    List<String> names;
+    try (Stream<Item> items = engine.extract(connection, request(50)).getExtractedItems()) {
+      names = items.map(Item::getName).collect(Collectors.toList());
+    }
+
+    assertEquals(
+        IntStream.range(0, 50).mapToObj(i -> "table" + i).collect(Collectors.toList()), names);
+  }
+
+  @Test
+  @DisplayName("ParallelExtractionEngine should rethrow extraction failures")
+  void shouldRethrowExtractionFailures() {
+    RecordingConnection connection = new RecordingConnection();
+    connection.failOn = "table13";
+    ParallelExtractionEngine engine =
+        ParallelExtractionEngine.builder().parallelism(2).chunkSize(4).build();
+
+    try (Stream<Item> items = engine.extract(connection, request(30)).getExtractedItems()) {
+      assertThrows(IllegalStateException.class, items::count);
+    }
+  }
+
+  @Test
+  @DisplayName("ParallelExtractionEngine should not run more chunks than its parallelism")
+  void shouldNotExceedParallelism() {
+    RecordingConnection connection = new RecordingConnection();
+    connection.delayMillis = 5;
+    ParallelExtractionEngine engine =
+        ParallelExtractionEngine.builder().parallelism(2).chunkSize(1).maxPendingChunks(8).build();
+
+    try (Stream<Item> items = engine.extract(connection, request(20)).getExtractedItems()) {
+      assertEquals(20, items.count());
+    }
+
+    assertTrue(connection.maxRunning.get() <= 2);
+  }
+
+  @Test
+  @DisplayName("ParallelExtractionEngine builder should reject invalid settings")
+  void shouldRejectInvalidSettings() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ParallelExtractionEngine.builder().parallelism(0).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ParallelExtractionEngine.builder().chunkSize(0).build());
+  }
+
+  private static ExtractionRequest request(int count) {
+    return new ExtractionRequest(
+        IntStream.range(0, count)
+            .mapToObj(
+                i ->
+                    ItemDesignator.of(
+                        ItemIdentifier.of(IdentificationProperty.of("table", "table" + i)),
+                        i % 2 == 0 ? SOURCE_A : SOURCE_B)));
+  }
+
+  private static final class RecordingConnection implements InventoryConnection {
+
+    private final List<List<ItemDesignator>> calls = new CopyOnWriteArrayList<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private volatile String failOn;
+    private volatile long delayMillis;
+
+    @Override
+    public Stream<ItemInventory> inventory() {
+      return Stream.empty();
+    }
+
+    @Override
+    public ExtractionResponse extractItems(ExtractionRequest request) {
+      List<ItemDesignator> designators = request.getItemsToExtract().collect(Collectors.toList());
+      calls.add(designators);
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(delayMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        running.decrementAndGet();
+      }
+      return new ExtractionResponse(
+          designators.stream()
+              .map(
+                  designator -> {
+                    ItemIdentifier id = designator.getItemIdentifier();
+                    String name = id.getUniquePropertyValue("table").orElseThrow();
+                    if (name.equals(failOn)) {
+                      throw new IllegalStateException("cannot extract " + name);
+                    }
+                    return Dataset.builder()
+                        .id(id)
+                        .dataSourceIdentifier(designator.getDataSourceIdentifier())
+                        .name(name)
+                        .build();
+                  }));
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {}
+  }
+}
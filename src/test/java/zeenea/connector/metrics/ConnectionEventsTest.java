@@ -0,0 +1,122 @@
+package zeenea.connector.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.dataset.Dataset;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.inventory.ExtractionRequest;
+import zeenea.connector.inventory.ExtractionResponse;
+import zeenea.connector.inventory.InventoryConnection;
+import zeenea.connector.property.PropertyDefinition;
+
+class ConnectionEventsTest {
+
+  private static final DataSourceIdentifier SOURCE =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "a"));
+
+  @TempDir Path folder;
+
+  @Test
+  @DisplayName("ConnectionInstrumentation should emit one event per extracted item")
+  void shouldEmitItemExtractEvents() throws IOException {
+    InventoryConnection connection =
+        (InventoryConnection)
+            ConnectionInstrumentation.recordEvents(new FakeConnection(), "jdbc", "pg");
+    Path file = folder.resolve("events.jfr");
+
+    try (Recording recording = new Recording()) {
+      recording.enable(ItemExtractEvent.class).withoutThreshold();
+      recording.start();
+      ExtractionRequest request =
+          new ExtractionRequest(Stream.of(designator("t1"), designator("t2")));
+      try (Stream<Item> items = connection.extractItems(request).getExtractedItems()) {
+        assertEquals(2, items.count());
+      }
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events =
+        RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals("zeenea.connector.ItemExtract"))
+            .collect(Collectors.toList());
+    assertEquals(2, events.size());
+    assertEquals("jdbc", events.get(0).getString("connectorId"));
+    assertEquals("pg", events.get(0).getString("connectionCode"));
+    assertEquals("extractItems", events.get(0).getString("operation"));
+    assertEquals("table=t1", events.get(0).getString("itemIdentifier"));
+    assertEquals("alias=a", events.get(0).getString("dataSource"));
+  }
+
+  @Test
+  @DisplayName("ConnectionInstrumentation should forward calls when no recording is running")
+  void shouldForwardCallsWithoutRecording() {
+    InventoryConnection connection =
+        (InventoryConnection)
+            ConnectionInstrumentation.recordEvents(new FakeConnection(), "jdbc", "pg");
+
+    ExtractionRequest request = new ExtractionRequest(Stream.of(designator("t1")));
+    try (Stream<Item> items = connection.extractItems(request).getExtractedItems()) {
+      assertEquals(
+          List.of(ItemIdentifier.of(IdentificationProperty.of("table", "t1"))),
+          items.map(Item::getId).collect(Collectors.toList()));
+    }
+  }
+
+  private static ItemDesignator designator(String name) {
+    return ItemDesignator.of(ItemIdentifier.of(IdentificationProperty.of("table", name)), SOURCE);
+  }
+
+  private static final class FakeConnection implements InventoryConnection {
+
+    @Override
+    public Stream<ItemInventory> inventory() {
+      return Stream.empty();
+    }
+
+    @Override
+    public ExtractionResponse extractItems(ExtractionRequest request) {
+      return new ExtractionResponse(
+          request
+              .getItemsToExtract()
+              .map(
+                  designator ->
+                      Dataset.builder()
+                          .id(designator.getItemIdentifier())
+                          .name("table")
+                          .dataSourceIdentifier(designator.getDataSourceIdentifier())
+                          .build()));
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,195 @@
+package zeenea.connector.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.Connection;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.common.LabelIdentifier;
+import zeenea.connector.datasampling.DataSampleConnection;
+import zeenea.connector.datasampling.DataSampleRequest;
+import zeenea.connector.datasampling.DataSampleResponse;
+import zeenea.connector.dataset.Dataset;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.inventory.ExtractionRequest;
+import zeenea.connector.inventory.ExtractionResponse;
+import zeenea.connector.inventory.InventoryConnection;
+import zeenea.connector.property.PropertyDefinition;
+import zeenea.connector.synchronize.SynchronizeConnection;
+
+class ConnectionInstrumentationTest {
+
+  private static final DataSourceIdentifier SOURCE_A =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "a"));
+
+  private static final DataSourceIdentifier SOURCE_B =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "b"));
+
+  @Test
+  @DisplayName("ConnectionInstrumentation should keep the interfaces of the connection")
+  void shouldKeepInterfaces() {
+    Connection instrumented =
+        ConnectionInstrumentation.instrument(
+            new FakeConnection(), new InMemoryConnectorMetrics(), "pg");
+
+    assertTrue(instrumented instanceof InventoryConnection);
+    assertTrue(instrumented instanceof DataSampleConnection);
+    assertFalse(instrumented instanceof SynchronizeConnection);
+    assertEquals(List.of(), instrumented.getDataSources());
+  }
+
+  @Test
+  @DisplayName("ConnectionInstrumentation should measure extracted items per data source")
+  void shouldMeasureExtractedItemsPerDataSource() {
+    InMemoryConnectorMetrics metrics = new InMemoryConnectorMetrics();
+    InventoryConnection connection =
+        (InventoryConnection)
+            ConnectionInstrumentation.instrument(new FakeConnection(), metrics, "pg");
+
+    ExtractionRequest request =
+        new ExtractionRequest(Stream.of(designator("t1", SOURCE_A), designator("t2", SOURCE_B)));
+    try (Stream<Item> items = connection.extractItems(request).getExtractedItems()) {
+      assertEquals(2, items.count());
+    }
+
+    assertEquals(1, metrics.counter(itemsId("extractItems", "alias=a")).getCount());
+    assertEquals(1, metrics.counter(itemsId("extractItems", "alias=b")).getCount());
+    assertEquals(1, metrics.histogram(durationId("extractItems")).getCount());
+    assertEquals(0, metrics.gauge(activeId("extractItems")).getValue());
+  }
+
+  @Test
+  @DisplayName("ConnectionInstrumentation should count inventory items and failures")
+  void shouldCountInventoryItemsAndFailures() {
+    InMemoryConnectorMetrics metrics = new InMemoryConnectorMetrics();
+    FakeConnection fake = new FakeConnection();
+    InventoryConnection connection =
+        (InventoryConnection) ConnectionInstrumentation.instrument(fake, metrics, "pg");
+
+    try (Stream<ItemInventory> entries = connection.inventory()) {
+      assertEquals(3, entries.count());
+    }
+    fake.failInventory = true;
+    assertThrows(IllegalStateException.class, connection::inventory);
+
+    assertEquals(3, metrics.counter(itemsId("inventory", "alias=a")).getCount());
+    assertEquals(2, metrics.histogram(durationId("inventory")).getCount());
+    assertEquals(
+        1,
+        metrics
+            .counter(
+                MetricId.of(
+                    ConnectionInstrumentation.OPERATION_ERRORS,
+                    "connection",
+                    "pg",
+                    "operation",
+                    "inventory"))
+            .getCount());
+  }
+
+  @Test
+  @DisplayName("ConnectionInstrumentation should time data samples per data source")
+  void shouldTimeDataSamplesPerDataSource() {
+    InMemoryConnectorMetrics metrics = new InMemoryConnectorMetrics();
+    DataSampleConnection connection =
+        (DataSampleConnection)
+            ConnectionInstrumentation.instrument(new FakeConnection(), metrics, "pg");
+
+    connection.collectDataSample(new DataSampleRequest(designator("t1", SOURCE_B), 10));
+
+    assertEquals(
+        1,
+        metrics
+            .histogram(durationId("collectDataSample").withTag("dataSource", "alias=b"))
+            .getCount());
+  }
+
+  private static MetricId durationId(String operation) {
+    return MetricId.of(
+        ConnectionInstrumentation.OPERATION_DURATION, "operation", operation, "connection", "pg");
+  }
+
+  private static MetricId activeId(String operation) {
+    return MetricId.of(
+        ConnectionInstrumentation.OPERATION_ACTIVE, "connection", "pg", "operation", operation);
+  }
+
+  private static MetricId itemsId(String operation, String dataSource) {
+    return MetricId.of(
+        ConnectionInstrumentation.ITEMS,
+        "connection",
+        "pg",
+        "operation",
+        operation,
+        "dataSource",
+        dataSource);
+  }
+
+  private static ItemDesignator designator(String name, DataSourceIdentifier source) {
+    return ItemDesignator.of(ItemIdentifier.of(IdentificationProperty.of("table", name)), source);
+  }
+
+  private static final class FakeConnection implements InventoryConnection, DataSampleConnection {
+
+    private boolean failInventory;
+
+    @Override
+    public Stream<ItemInventory> inventory() {
+      if (failInventory) {
+        throw new IllegalStateException("inventory failed");
+      }
+      return Stream.of("t1", "t2", "t3")
+          .map(
+              name ->
+                  ItemInventory.builder()
+                      .itemIdentifier(ItemIdentifier.of(IdentificationProperty.of("table", name)))
+                      .labelIdentifier(LabelIdentifier.of(IdentificationProperty.of("table", name)))
+                      .dataSourceIdentifier(SOURCE_A)
+                      .build());
+    }
+
+    @Override
+    public ExtractionResponse extractItems(ExtractionRequest request) {
+      List<Item> items =
+          request
+              .getItemsToExtract()
+              .map(
+                  designator ->
+                      Dataset.builder()
+                          .id(designator.getItemIdentifier())
+                          .name("table")
+                          .dataSourceIdentifier(designator.getDataSourceIdentifier())
+                          .build())
+              .collect(Collectors.toList());
+      return new ExtractionResponse(items.stream());
+    }
+
+    @Override
+    public DataSampleResponse collectDataSample(DataSampleRequest request) {
+      return new DataSampleResponse();
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {}
+  }
+}
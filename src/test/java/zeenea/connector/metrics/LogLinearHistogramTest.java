@@ -0,0 +1,48 @@
+package zeenea.connector.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LogLinearHistogramTest {
+
+  @Test
+  @DisplayName("LogLinearHistogram should estimate percentiles within the bucket precision")
+  void shouldEstimatePercentiles() {
+    LogLinearHistogram histogram = new LogLinearHistogram();
+    for (long value = 1; value <= 10_000; value++) {
+      histogram.record(value * 1_000);
+    }
+
+    assertEquals(10_000, histogram.getCount());
+    assertEquals(10_000_000, histogram.getMaxNanos());
+    assertEquals(50_005_000_000L, histogram.getTotalNanos());
+    assertEquals(5_000_000, histogram.getPercentileNanos(50), 5_000_000 * 0.0625);
+    assertEquals(9_900_000, histogram.getPercentileNanos(99), 9_900_000 * 0.0625);
+    assertEquals(10_000_000, histogram.getPercentileNanos(100));
+  }
+
+  @Test
+  @DisplayName("LogLinearHistogram should map every value to a bucket containing it")
+  void shouldMapValuesToBuckets() {
+    long[] values = {0, 1, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+    for (long value : values) {
+      int index = LogLinearHistogram.indexOf(value);
+      assertTrue(LogLinearHistogram.upperBoundOf(index) >= value);
+      assertTrue(index == 0 || LogLinearHistogram.upperBoundOf(index - 1) < value);
+    }
+  }
+
+  @Test
+  @DisplayName("LogLinearHistogram should report zeros when empty")
+  void shouldReportZerosWhenEmpty() {
+    LogLinearHistogram histogram = new LogLinearHistogram();
+    histogram.record(-5);
+
+    assertEquals(1, histogram.getCount());
+    assertEquals(0, histogram.getPercentileNanos(99));
+    assertEquals(0, new LogLinearHistogram().getPercentileNanos(50));
+    assertThrows(IllegalArgumentException.class, () -> histogram.getPercentileNanos(101));
+  }
+}
@@ -0,0 +1,249 @@
+package zeenea.connector.pool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.Connection;
+import zeenea.connector.ConnectionConfiguration;
+import zeenea.connector.Connector;
+import zeenea.connector.common.filter.FilterConfiguration;
+import zeenea.connector.datasampling.DataSampleConnection;
+import zeenea.connector.datasampling.DataSampleRequest;
+import zeenea.connector.datasampling.DataSampleResponse;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.fingerprint.Fingerprint;
+import zeenea.connector.fingerprint.FingerprintHasher;
+import zeenea.connector.property.PropertyDefinition;
+
+class ConnectionPoolTest {
+
+  @Test
+  @DisplayName("ConnectionPool should reuse a returned connection")
+  void shouldReuseReturnedConnection() throws Exception {
+    FakeConnector connector = new FakeConnector();
+    try (ConnectionPool pool =
+        ConnectionPool.builder().connector(connector).fingerprintKeys("database").build()) {
+      Connection first = pool.acquire(new FakeConfiguration("pg", "db1"));
+      assertEquals(List.of(), first.getDataSources());
+      first.close();
+      first.close();
+      assertEquals(1, pool.idleCount("pg"));
+
+      try (Connection second = pool.acquire(new FakeConfiguration("pg", "db1"))) {
+        assertEquals(1, connector.created.size());
+        assertThrows(IllegalStateException.class, first::getDataSources);
+        assertTrue(second instanceof DataSampleConnection);
+      }
+    }
+    assertTrue(connector.created.get(0).closed);
+  }
+
+  @Test
+  @DisplayName("ConnectionPool should close idle connections when the configuration changes")
+  void shouldCloseIdleConnectionsOnConfigurationChange() throws Exception {
+    FakeConnector connector = new FakeConnector();
+    try (ConnectionPool pool =
+        ConnectionPool.builder().connector(connector).fingerprintKeys("database").build()) {
+      pool.acquire(new FakeConfiguration("pg", "db1")).close();
+
+      Connection changed = pool.acquire(new FakeConfiguration("pg", "db2"));
+
+      assertEquals(2, connector.created.size());
+      assertTrue(connector.created.get(0).closed);
+      changed.close();
+      assertEquals(1, pool.idleCount("pg"));
+    }
+  }
+
+  @Test
+  @DisplayName("ConnectionPool should discard unhealthy and invalidated connections")
+  void shouldDiscardUnhealthyAndInvalidatedConnections() throws Exception {
+    FakeConnector connector = new FakeConnector();
+    try (ConnectionPool pool =
+        ConnectionPool.builder()
+            .connector(connector)
+            .fingerprintKeys("database")
+            .healthCheck(connection -> !((FakeConnection) connection).broken)
+            .build()) {
+      pool.acquire(new FakeConfiguration("pg", "db1")).close();
+      connector.created.get(0).broken = true;
+      Connection connection = pool.acquire(new FakeConfiguration("pg", "db1"));
+      assertEquals(2, connector.created.size());
+      assertTrue(connector.created.get(0).closed);
+
+      pool.invalidate(connection);
+      connection.close();
+
+      assertTrue(connector.created.get(1).closed);
+      assertEquals(0, pool.idleCount("pg"));
+    }
+  }
+
+  @Test
+  @DisplayName("ConnectionPool should close connections idle for longer than the timeout")
+  void shouldCloseExpiredConnections() throws Exception {
+    FakeConnector connector = new FakeConnector();
+    try (ConnectionPool pool =
+        ConnectionPool.builder()
+            .connector(connector)
+            .fingerprintKeys("database")
+            .idleTimeout(Duration.ofMillis(50))
+            .build()) {
+      pool.acquire(new FakeConfiguration("pg", "db1")).close();
+
+      long deadline = System.currentTimeMillis() + 5_000;
+      while (!connector.created.get(0).closed && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+
+      assertEquals(0, pool.idleCount("pg"));
+      assertTrue(connector.created.get(0).closed);
+    }
+  }
+
+  @Test
+  @DisplayName("ConnectionPool should only pool configurations with a fingerprint")
+  void shouldOnlyPoolConfigurationsWithFingerprint() throws Exception {
+    FakeConnector connector = new FakeConnector();
+    try (ConnectionPool pool = ConnectionPool.builder().connector(connector).build()) {
+      FakeConfiguration fingerprinted = new FakeConfiguration("pg", "db1");
+      fingerprinted.fingerprint = FingerprintHasher.create().putString("db1").fingerprint();
+      pool.acquire(fingerprinted).close();
+      assertEquals(1, pool.idleCount("pg"));
+
+      Connection connection = pool.acquire(new FakeConfiguration("pg", "db2"));
+      assertEquals(2, connector.created.size());
+      assertTrue(connector.created.get(0).closed);
+      pool.invalidate(connection);
+      connection.close();
+      pool.acquire(new FakeConfiguration("pg", "db2")).close();
+
+      assertEquals(3, connector.created.size());
+      assertTrue(connector.created.get(2).closed);
+      assertEquals(0, pool.idleCount("pg"));
+    }
+  }
+
+  private static final class FakeConnector implements Connector {
+
+    private final List<FakeConnection> created = new ArrayList<>();
+
+    @Override
+    public String getConnectorId() {
+      return "fake";
+    }
+
+    @Override
+    public Connection newConnection(ConnectionConfiguration configuration) {
+      FakeConnection connection = new FakeConnection();
+      created.add(connection);
+      return connection;
+    }
+  }
+
+  private static final class FakeConnection implements DataSampleConnection {
+
+    private boolean broken;
+    private volatile boolean closed;
+
+    @Override
+    public DataSampleResponse collectDataSample(DataSampleRequest request) {
+      return new DataSampleResponse();
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  private static final class FakeConfiguration implements ConnectionConfiguration {
+
+    private final String code;
+    private final Map<String, String> values = new HashMap<>();
+    private Fingerprint fingerprint;
+
+    private FakeConfiguration(String code, String database) {
+      this.code = code;
+      values.put("database", database);
+    }
+
+    @Override
+    public Path getScannerHomeFolder() {
+      return Path.of(".");
+    }
+
+    @Override
+    public String getConnectorId() {
+      return "fake";
+    }
+
+    @Override
+    public String getConnectionName() {
+      return code;
+    }
+
+    @Override
+    public String getConnectionCode() {
+      return code;
+    }
+
+    @Override
+    public Fingerprint getFingerprint() {
+      return fingerprint;
+    }
+
+    @Override
+    public String getString(String key) {
+      return values.get(key);
+    }
+
+    @Override
+    public Long getLong(String key) {
+      return null;
+    }
+
+    @Override
+    public Boolean getBoolean(String key) {
+      return null;
+    }
+
+    @Override
+    public Path getPath(String key) {
+      return null;
+    }
+
+    @Override
+    public FilterConfiguration getFilters() {
+      return null;
+    }
+
+    @Override
+    public Map<String, String> getMap(String key) {
+      return Map.of();
+    }
+
+    @Override
+    public List<String> getList(String key) {
+      return List.of();
+    }
+  }
+}
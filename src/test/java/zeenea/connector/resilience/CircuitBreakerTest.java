@@ -0,0 +1,78 @@
+package zeenea.connector.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  @Test
+  @DisplayName("CircuitBreaker should open after consecutive failures")
+  void shouldOpenAfterConsecutiveFailures() {
+    CircuitBreaker breaker = CircuitBreaker.of(2, Duration.ofMinutes(1));
+
+    assertTrue(breaker.tryAcquire());
+    breaker.onFailure();
+    assertTrue(breaker.tryAcquire());
+    breaker.onSuccess();
+    assertTrue(breaker.tryAcquire());
+    breaker.onFailure();
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertTrue(breaker.tryAcquire());
+    breaker.onFailure();
+
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertFalse(breaker.tryAcquire());
+  }
+
+  @Test
+  @DisplayName("CircuitBreaker should allow a single trial once the open duration ended")
+  void shouldAllowSingleTrialWhenHalfOpen() {
+    CircuitBreaker breaker = CircuitBreaker.of(1, Duration.ZERO);
+    breaker.onFailure();
+
+    assertTrue(breaker.tryAcquire());
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    assertFalse(breaker.tryAcquire());
+    breaker.onFailure();
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+    assertTrue(breaker.tryAcquire());
+    breaker.onSuccess();
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  @DisplayName("CircuitBreaker should allow another trial once an abandoned one is released")
+  void shouldAllowAnotherTrialWhenReleased() {
+    CircuitBreaker breaker = CircuitBreaker.of(1, Duration.ZERO);
+    breaker.onFailure();
+
+    assertTrue(breaker.tryAcquire());
+    assertFalse(breaker.tryAcquire());
+    breaker.release();
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    assertTrue(breaker.tryAcquire());
+  }
+
+  @Test
+  @DisplayName("RetryPolicy should grow the backoff exponentially up to its maximum")
+  void shouldGrowBackoffExponentially() {
+    RetryPolicy policy =
+        RetryPolicy.builder()
+            .initialBackoff(Duration.ofMillis(100))
+            .maxBackoff(Duration.ofMillis(350))
+            .jitter(0)
+            .build();
+
+    assertEquals(Duration.ofMillis(100), policy.backoff(1));
+    assertEquals(Duration.ofMillis(200), policy.backoff(2));
+    assertEquals(Duration.ofMillis(350), policy.backoff(3));
+    Duration jittered = RetryPolicy.builder().jitter(1).build().backoff(1);
+    assertTrue(jittered.compareTo(Duration.ofMillis(200)) <= 0);
+    assertFalse(policy.isRetryable(new CancellationException()));
+  }
+}
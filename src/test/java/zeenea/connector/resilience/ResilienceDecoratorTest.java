@@ -0,0 +1,261 @@
+package zeenea.connector.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.Item;
+import zeenea.connector.common.DataSourceIdentifier;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.common.ItemDesignator;
+import zeenea.connector.common.ItemIdentifier;
+import zeenea.connector.common.ItemInventory;
+import zeenea.connector.common.LabelIdentifier;
+import zeenea.connector.datasampling.DataSampleConnection;
+import zeenea.connector.datasampling.DataSampleRequest;
+import zeenea.connector.datasampling.DataSampleResponse;
+import zeenea.connector.dataset.Dataset;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.inventory.ExtractionRequest;
+import zeenea.connector.inventory.ExtractionResponse;
+import zeenea.connector.inventory.InventoryConnection;
+import zeenea.connector.property.PropertyDefinition;
+
+class ResilienceDecoratorTest {
+
+  private static final DataSourceIdentifier SOURCE_A =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "a"));
+
+  private static final DataSourceIdentifier SOURCE_B =
+      DataSourceIdentifier.of(IdentificationProperty.of("alias", "b"));
+
+  private static final RetryPolicy FAST_RETRY =
+      RetryPolicy.builder().maxAttempts(3).initialBackoff(Duration.ofMillis(1)).build();
+
+  @Test
+  @DisplayName("ResilienceDecorator should retry only the designators not extracted yet")
+  void shouldRetryOnlyRemainingDesignators() {
+    FlakyConnection flaky = new FlakyConnection();
+    flaky.failAfter = 2;
+    InventoryConnection connection = decorate(flaky, 5);
+
+    List<Item> items =
+        extract(
+            connection,
+            designator("t1", SOURCE_A),
+            designator("t2", SOURCE_A),
+            designator("t3", SOURCE_A),
+            designator("t4", SOURCE_A));
+
+    assertEquals(List.of("t1", "t2", "t3", "t4"), names(items));
+    assertEquals(2, flaky.requests.size());
+    assertEquals(List.of("t3", "t4"), flaky.requests.get(1));
+  }
+
+  @Test
+  @DisplayName("ResilienceDecorator should keep extracting other sources when one is broken")
+  void shouldKeepExtractingOtherSources() {
+    FlakyConnection flaky = new FlakyConnection();
+    flaky.broken = SOURCE_A;
+    InventoryConnection connection = decorate(flaky, 2);
+    List<Item> items = new ArrayList<>();
+
+    ExtractionRequest request =
+        new ExtractionRequest(
+            Stream.of(
+                designator("a1", SOURCE_A),
+                designator("b1", SOURCE_B),
+                designator("a2", SOURCE_A),
+                designator("b2", SOURCE_B)));
+    IllegalStateException failure =
+        assertThrows(
+            IllegalStateException.class,
+            () -> connection.extractItems(request).getExtractedItems().forEach(items::add));
+
+    assertEquals("broken", failure.getMessage());
+    assertEquals(List.of("b1", "b2"), names(items));
+    // Two attempts open the breaker of source a, its second chunk is refused without a call.
+    assertEquals(4, flaky.requests.size());
+  }
+
+  @Test
+  @DisplayName("ResilienceDecorator should resume the inventory without duplicates")
+  void shouldResumeInventoryWithoutDuplicates() {
+    FlakyConnection flaky = new FlakyConnection();
+    flaky.failInventoryAfter = 2;
+    InventoryConnection connection = decorate(flaky, 10);
+
+    List<String> names =
+        connection
+            .inventory()
+            .map(entry -> entry.getItemIdentifier().getIdentificationProperties().get(0).getValue())
+            .collect(Collectors.toList());
+
+    assertEquals(List.of("t1", "t2", "t3"), names);
+  }
+
+  @Test
+  @DisplayName("ResilienceDecorator should fail fast on data samples once the breaker is open")
+  void shouldFailFastWhenBreakerIsOpen() {
+    FlakyConnection flaky = new FlakyConnection();
+    flaky.broken = SOURCE_A;
+    DataSampleConnection connection =
+        (DataSampleConnection)
+            ResilienceDecorator.builder()
+                .retryPolicy(FAST_RETRY)
+                .failureThreshold(2)
+                .build()
+                .decorate(flaky);
+    DataSampleRequest request = new DataSampleRequest(designator("a1", SOURCE_A), 10);
+
+    assertThrows(IllegalStateException.class, () -> connection.collectDataSample(request));
+    assertEquals(2, flaky.samples);
+    CircuitBreakerOpenException refused =
+        assertThrows(
+            CircuitBreakerOpenException.class, () -> connection.collectDataSample(request));
+    assertEquals(SOURCE_A, refused.getDataSource());
+    assertEquals(2, flaky.samples);
+  }
+
+  @Test
+  @DisplayName("ResilienceDecorator should release the trial of an abandoned extraction")
+  void shouldReleaseTrialOfAbandonedExtraction() {
+    FlakyConnection flaky = new FlakyConnection();
+    flaky.broken = SOURCE_A;
+    InventoryConnection connection =
+        (InventoryConnection)
+            ResilienceDecorator.builder()
+                .retryPolicy(FAST_RETRY)
+                .failureThreshold(2)
+                .openDuration(Duration.ZERO)
+                .build()
+                .decorate(flaky);
+    assertThrows(
+        IllegalStateException.class, () -> extract(connection, designator("a1", SOURCE_A)));
+    flaky.broken = null;
+
+    ExtractionRequest request =
+        new ExtractionRequest(Stream.of(designator("a1", SOURCE_A), designator("a2", SOURCE_A)));
+    try (Stream<Item> items = connection.extractItems(request).getExtractedItems()) {
+      assertTrue(items.iterator().hasNext());
+    }
+
+    assertEquals(List.of("a3"), names(extract(connection, designator("a3", SOURCE_A))));
+  }
+
+  private static InventoryConnection decorate(FlakyConnection flaky, int chunkSize) {
+    return (InventoryConnection)
+        ResilienceDecorator.builder()
+            .retryPolicy(FAST_RETRY)
+            .failureThreshold(2)
+            .chunkSize(chunkSize)
+            .build()
+            .decorate(flaky);
+  }
+
+  private static List<Item> extract(InventoryConnection connection, ItemDesignator... designators) {
+    ExtractionRequest request = new ExtractionRequest(Stream.of(designators));
+    try (Stream<Item> items = connection.extractItems(request).getExtractedItems()) {
+      return items.collect(Collectors.toList());
+    }
+  }
+
+  private static List<String> names(List<Item> items) {
+    return items.stream()
+        .map(item -> item.getId().getIdentificationProperties().get(0).getValue())
+        .collect(Collectors.toList());
+  }
+
+  private static ItemDesignator designator(String name, DataSourceIdentifier source) {
+    return ItemDesignator.of(ItemIdentifier.of(IdentificationProperty.of("table", name)), source);
+  }
+
+  private static final class FlakyConnection implements InventoryConnection, DataSampleConnection {
+
+    private final List<List<String>> requests = new ArrayList<>();
+    private int failAfter = -1;
+    private int failInventoryAfter = -1;
+    private DataSourceIdentifier broken;
+    private int samples;
+
+    @Override
+    public Stream<ItemInventory> inventory() {
+      int fail = failInventoryAfter;
+      failInventoryAfter = -1;
+      return Stream.of("t1", "t2", "t3")
+          .limit(fail < 0 ? 3 : fail + 1)
+          .map(
+              name -> {
+                if (name.equals("t" + (fail + 1))) {
+                  throw new IllegalStateException("inventory interrupted");
+                }
+                ItemIdentifier id = ItemIdentifier.of(IdentificationProperty.of("table", name));
+                return ItemInventory.builder()
+                    .itemIdentifier(id)
+                    .labelIdentifier(LabelIdentifier.of(IdentificationProperty.of("table", name)))
+                    .dataSourceIdentifier(SOURCE_A)
+                    .build();
+              });
+    }
+
+    @Override
+    public ExtractionResponse extractItems(ExtractionRequest request) {
+      List<ItemDesignator> designators = request.getItemsToExtract().collect(Collectors.toList());
+      requests.add(
+          designators.stream()
+              .map(d -> d.getItemIdentifier().getIdentificationProperties().get(0).getValue())
+              .collect(Collectors.toList()));
+      if (designators.get(0).getDataSourceIdentifier().equals(broken)) {
+        throw new IllegalStateException("broken");
+      }
+      int fail = failAfter;
+      failAfter = -1;
+      List<Item> items = new ArrayList<>();
+      for (ItemDesignator designator : designators) {
+        items.add(
+            Dataset.builder()
+                .id(designator.getItemIdentifier())
+                .name("table")
+                .dataSourceIdentifier(designator.getDataSourceIdentifier())
+                .build());
+      }
+      Stream<Item> stream = items.stream();
+      if (fail >= 0) {
+        stream =
+            Stream.concat(
+                stream.limit(fail),
+                Stream.<Item>generate(
+                        () -> {
+                          throw new IllegalStateException("connection reset");
+                        })
+                    .limit(1));
+      }
+      return new ExtractionResponse(stream);
+    }
+
+    @Override
+    public DataSampleResponse collectDataSample(DataSampleRequest request) {
+      samples++;
+      throw new IllegalStateException("broken");
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {}
+  }
+}
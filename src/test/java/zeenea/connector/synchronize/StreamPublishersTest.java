@@ -0,0 +1,211 @@
+package zeenea.connector.synchronize;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zeenea.connector.Item;
+import zeenea.connector.common.IdentificationProperty;
+import zeenea.connector.dataset.Dataset;
+import zeenea.connector.datasource.DataSource;
+import zeenea.connector.property.PropertyDefinition;
+
+class StreamPublishersTest {
+
+  @Test
+  @DisplayName("StreamPublishers should only pull requested elements from a stream")
+  void shouldOnlyPullRequestedElements() {
+    AtomicInteger pulled = new AtomicInteger();
+    AtomicBoolean closed = new AtomicBoolean();
+    Flow.Publisher<Integer> publisher =
+        StreamPublishers.fromStream(
+            () ->
+                IntStream.range(0, 100)
+                    .boxed()
+                    .peek(i -> pulled.incrementAndGet())
+                    .onClose(() -> closed.set(true)));
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+
+    publisher.subscribe(subscriber);
+    subscriber.subscription.request(3);
+
+    assertEquals(List.of(0, 1, 2), subscriber.items);
+    assertTrue(pulled.get() <= 4);
+
+    subscriber.subscription.cancel();
+
+    assertTrue(closed.get());
+    assertFalse(subscriber.completed);
+  }
+
+  @Test
+  @DisplayName("StreamPublishers should complete once the stream is exhausted")
+  void shouldCompleteOnceStreamIsExhausted() {
+    RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+
+    StreamPublishers.fromStream(() -> Stream.of("a", "b")).subscribe(subscriber);
+    subscriber.subscription.request(Long.MAX_VALUE);
+
+    assertEquals(List.of("a", "b"), subscriber.items);
+    assertTrue(subscriber.completed);
+  }
+
+  @Test
+  @DisplayName("StreamPublishers should signal an error on a non-positive request")
+  void shouldSignalErrorOnNonPositiveRequest() {
+    RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+
+    StreamPublishers.fromStream(() -> Stream.of("a")).subscribe(subscriber);
+    subscriber.subscription.request(0);
+
+    assertTrue(subscriber.error instanceof IllegalArgumentException);
+  }
+
+  @Test
+  @DisplayName("StreamPublishers should read a publisher as a stream")
+  void shouldReadPublisherAsStream() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Flow.Publisher<Integer> publisher =
+          StreamPublishers.fromStream(() -> IntStream.range(0, 1000).boxed(), executor);
+
+      List<Integer> items;
+      try (Stream<Integer> stream = StreamPublishers.toStream(publisher, 16)) {
+        items = stream.collect(Collectors.toList());
+      }
+
+      assertEquals(IntStream.range(0, 1000).boxed().collect(Collectors.toList()), items);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("StreamPublishers should rethrow publisher errors to the stream consumer")
+  void shouldRethrowPublisherErrors() {
+    Flow.Publisher<Integer> publisher =
+        StreamPublishers.fromStream(
+            () ->
+                Stream.of(1, 2, 3)
+                    .map(
+                        i -> {
+                          if (i == 3) {
+                            throw new IllegalStateException("boom");
+                          }
+                          return i;
+                        }));
+
+    try (Stream<Integer> stream = StreamPublishers.toStream(publisher)) {
+      assertThrows(IllegalStateException.class, stream::count);
+    }
+  }
+
+  @Test
+  @DisplayName("StreamPublishers should cancel the subscription when the stream is closed")
+  void shouldCancelSubscriptionWhenStreamIsClosed() {
+    AtomicBoolean closed = new AtomicBoolean();
+    Flow.Publisher<Integer> publisher =
+        StreamPublishers.fromStream(
+            () -> IntStream.iterate(0, i -> i + 1).boxed().onClose(() -> closed.set(true)));
+
+    try (Stream<Integer> stream = StreamPublishers.toStream(publisher, 4)) {
+      assertEquals(List.of(0, 1, 2), stream.limit(3).collect(Collectors.toList()));
+    }
+
+    assertTrue(closed.get());
+  }
+
+  @Test
+  @DisplayName("ReactiveSynchronizeConnection should be synchronized as a stream")
+  void shouldSynchronizeReactiveConnectionAsStream() throws Exception {
+    ReactiveConnection connection = new ReactiveConnection();
+
+    List<String> names;
+    try (Stream<Item> items = connection.synchronize()) {
+      names = items.map(Item::getName).collect(Collectors.toList());
+    }
+
+    assertEquals(List.of("dataset0", "dataset1", "dataset2"), names);
+    assertSame(connection.publisher, StreamPublishers.synchronize(connection));
+    connection.close();
+  }
+
+  private static final class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+
+    private final List<T> items = new ArrayList<>();
+    private Flow.Subscription subscription;
+    private boolean completed;
+    private Throwable error;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(T item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      this.error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      this.completed = true;
+    }
+  }
+
+  private static final class ReactiveConnection implements ReactiveSynchronizeConnection {
+
+    private final Flow.Publisher<Item> publisher =
+        subscriber -> {
+          SubmissionPublisher<Item> submission = new SubmissionPublisher<>();
+          submission.subscribe(subscriber);
+          new Thread(
+                  () -> {
+                    for (int i = 0; i < 3; i++) {
+                      submission.submit(
+                          Dataset.builder()
+                              .id(IdentificationProperty.of("dataset", String.valueOf(i)))
+                              .name("dataset" + i)
+                              .build());
+                    }
+                    submission.close();
+                  })
+              .start();
+        };
+
+    @Override
+    public Flow.Publisher<Item> synchronizePublisher() {
+      return publisher;
+    }
+
+    @Override
+    public List<DataSource> getDataSources() {
+      return List.of();
+    }
+
+    @Override
+    public Set<PropertyDefinition> getProperties() {
+      return Set.of();
+    }
+
+    @Override
+    public void close() {}
+  }
+}